@@ -75,6 +75,7 @@ val DEPENDENCY_SETS = listOf(
 )
 
 val DEPENDENCIES = listOf(
+  "com.github.luben:zstd-jni:1.5.5-11",
   "com.github.stefanbirkner:system-rules:1.19.0",
   "com.google.api.grpc:proto-google-common-protos:2.9.6",
   "com.google.code.findbugs:jsr305:3.0.2",
@@ -96,6 +97,7 @@ val DEPENDENCIES = listOf(
   "org.awaitility:awaitility:4.2.0",
   "org.bouncycastle:bcpkix-jdk15on:1.70",
   "org.codehaus.mojo:animal-sniffer-annotations:1.22",
+  "org.iq80.snappy:snappy:0.4",
   "org.jctools:jctools-core:4.0.1",
   "org.junit-pioneer:junit-pioneer:1.7.1",
   "org.skyscreamer:jsonassert:1.5.1",
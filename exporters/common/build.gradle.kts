@@ -20,19 +20,24 @@ dependencies {
 
   // We include helpers shared by gRPC or okhttp exporters but do not want to impose these
   // dependency on all of our consumers.
-  compileOnly("com.fasterxml.jackson.core:jackson-core")
   compileOnly("com.squareup.okhttp3:okhttp")
   compileOnly("io.grpc:grpc-netty")
   compileOnly("io.grpc:grpc-netty-shaded")
   compileOnly("io.grpc:grpc-okhttp")
   compileOnly("io.grpc:grpc-stub")
 
+  // Optional compression libraries, used when present on the classpath.
+  compileOnly("com.github.luben:zstd-jni")
+  compileOnly("org.iq80.snappy:snappy")
+
   testImplementation(project(":sdk:common"))
 
   testImplementation("com.google.protobuf:protobuf-java-util")
+  testImplementation("com.github.luben:zstd-jni")
   testImplementation("com.squareup.okhttp3:okhttp")
   testImplementation("com.linecorp.armeria:armeria-junit5")
   testImplementation("org.skyscreamer:jsonassert")
+  testImplementation("org.iq80.snappy:snappy")
   testImplementation("com.google.api.grpc:proto-google-common-protos")
   testImplementation("io.grpc:grpc-testing")
   testRuntimeOnly("io.grpc:grpc-netty-shaded")
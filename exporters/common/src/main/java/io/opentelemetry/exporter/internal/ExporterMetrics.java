@@ -6,11 +6,13 @@
 package io.opentelemetry.exporter.internal;
 
 import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongUpDownCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
 
@@ -24,9 +26,11 @@ public class ExporterMetrics {
 
   private static final AttributeKey<String> ATTRIBUTE_KEY_TYPE = stringKey("type");
   private static final AttributeKey<Boolean> ATTRIBUTE_KEY_SUCCESS = booleanKey("success");
+  private static final AttributeKey<Long> ATTRIBUTE_KEY_CONNECTION = longKey("connection");
 
   private final LongCounter seen;
   private final LongCounter exported;
+  private final LongUpDownCounter inFlight;
 
   private final Attributes seenAttrs;
   private final Attributes successAttrs;
@@ -39,6 +43,7 @@ public class ExporterMetrics {
     seenAttrs = Attributes.builder().put(ATTRIBUTE_KEY_TYPE, type).build();
     seen = meter.counterBuilder(exporterName + ".exporter.seen").build();
     exported = meter.counterBuilder(exporterName + ".exporter.exported").build();
+    inFlight = meter.upDownCounterBuilder(exporterName + ".exporter.inflight").build();
     successAttrs = seenAttrs.toBuilder().put(ATTRIBUTE_KEY_SUCCESS, true).build();
     failedAttrs = seenAttrs.toBuilder().put(ATTRIBUTE_KEY_SUCCESS, false).build();
   }
@@ -58,6 +63,19 @@ public class ExporterMetrics {
     exported.add(value, failedAttrs);
   }
 
+  /** Returns the attributes to record exports in flight on the connection with the index. */
+  public Attributes connectionAttributes(int connection) {
+    return seenAttrs.toBuilder().put(ATTRIBUTE_KEY_CONNECTION, connection).build();
+  }
+
+  /**
+   * Record a change in the number of exports in flight on a connection, with attributes from {@link
+   * #connectionAttributes(int)}.
+   */
+  public void addInFlight(long value, Attributes connectionAttrs) {
+    inFlight.add(value, connectionAttrs);
+  }
+
   /**
    * Create an instance for recording exporter metrics under the meter {@code
    * "io.opentelemetry.exporters." + exporterName + "-grpc}".
@@ -54,7 +54,12 @@ public final class TlsUtil {
   /** Returns a {@link SSLSocketFactory} configured to use the given key and trust manager. */
   public static SSLSocketFactory sslSocketFactory(
       @Nullable KeyManager keyManager, TrustManager trustManager) throws SSLException {
+    return sslContext(keyManager, trustManager).getSocketFactory();
+  }
 
+  /** Returns a {@link SSLContext} configured to use the given key and trust manager. */
+  public static SSLContext sslContext(@Nullable KeyManager keyManager, TrustManager trustManager)
+      throws SSLException {
     SSLContext sslContext;
     try {
       sslContext = SSLContext.getInstance("TLS");
@@ -69,7 +74,7 @@ public final class TlsUtil {
               + "X.509 in PEM format?",
           e);
     }
-    return sslContext.getSocketFactory();
+    return sslContext;
   }
 
   /**
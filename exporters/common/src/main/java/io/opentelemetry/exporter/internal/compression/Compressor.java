@@ -0,0 +1,32 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A compression method for export requests.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+@ThreadSafe
+public interface Compressor {
+
+  /**
+   * Returns the name of the encoding, used as the value of the {@code Content-Encoding} header for
+   * HTTP and {@code grpc-encoding} header for gRPC, and to select this with {@code setCompression}.
+   */
+  String getEncoding();
+
+  /**
+   * Wraps the {@link OutputStream} so that bytes written to the returned stream are compressed into
+   * it. Closing the returned stream finishes compression and closes {@code outputStream}.
+   */
+  OutputStream compress(OutputStream outputStream) throws IOException;
+}
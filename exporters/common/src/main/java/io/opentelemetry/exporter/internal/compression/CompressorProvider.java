@@ -0,0 +1,21 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+/**
+ * A service provider interface (SPI) for providing a {@link Compressor} for exporters. Providers
+ * are loaded with {@link java.util.ServiceLoader}, and take precedence over the built-in {@link
+ * Compressor} with the same {@linkplain Compressor#getEncoding() encoding}, e.g. to use gzip with a
+ * different compression level.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface CompressorProvider {
+
+  /** Returns the {@link Compressor}. */
+  Compressor getInstance();
+}
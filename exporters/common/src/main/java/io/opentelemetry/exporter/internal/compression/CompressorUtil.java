@@ -0,0 +1,77 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import javax.annotation.Nullable;
+
+/**
+ * Utilities for resolving the {@link Compressor} for a compression method.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class CompressorUtil {
+
+  private static final Map<String, Compressor> COMPRESSORS = loadCompressors();
+
+  /**
+   * Returns the {@link Compressor} for the compression method, or {@code null} for {@code none}.
+   *
+   * @throws IllegalArgumentException if the compression method is not supported
+   */
+  @Nullable
+  public static Compressor validateAndResolveCompressor(String compressionMethod) {
+    if (compressionMethod.equals("none")) {
+      return null;
+    }
+    Compressor compressor = COMPRESSORS.get(compressionMethod);
+    checkArgument(
+        compressor != null,
+        "Unsupported compression method. Supported compression methods include: "
+            + String.join(", ", COMPRESSORS.keySet())
+            + ", none.");
+    return compressor;
+  }
+
+  private static Map<String, Compressor> loadCompressors() {
+    Map<String, Compressor> compressors = new LinkedHashMap<>();
+    addCompressor(compressors, GzipCompressor.getInstance());
+    // Only reference the optional compressors when their libraries are present.
+    if (isClassPresent("com.github.luben.zstd.ZstdOutputStream")
+        && ZstdCompressor.isNativeLibraryAvailable()) {
+      addCompressor(compressors, ZstdCompressor.getInstance());
+    }
+    if (isClassPresent("org.iq80.snappy.SnappyFramedOutputStream")) {
+      addCompressor(compressors, SnappyCompressor.getInstance());
+    }
+    for (CompressorProvider provider :
+        ServiceLoader.load(CompressorProvider.class, CompressorUtil.class.getClassLoader())) {
+      addCompressor(compressors, provider.getInstance());
+    }
+    return Collections.unmodifiableMap(compressors);
+  }
+
+  private static void addCompressor(Map<String, Compressor> compressors, Compressor compressor) {
+    compressors.put(compressor.getEncoding(), compressor);
+  }
+
+  private static boolean isClassPresent(String className) {
+    try {
+      Class.forName(className, false, CompressorUtil.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  private CompressorUtil() {}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link Compressor} using gzip with a configurable compression level.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class GzipCompressor implements Compressor {
+
+  private static final GzipCompressor INSTANCE = new GzipCompressor(Deflater.DEFAULT_COMPRESSION);
+
+  private final int level;
+
+  /** Returns a {@link GzipCompressor} using the default compression level, which is 6. */
+  public static GzipCompressor getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns a {@link GzipCompressor} using the compression {@code level}, from 1 (fastest) to 9
+   * (smallest output).
+   */
+  public static GzipCompressor create(int level) {
+    checkArgument(
+        level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION,
+        "level must be in range [1, 9]");
+    return new GzipCompressor(level);
+  }
+
+  private GzipCompressor(int level) {
+    this.level = level;
+  }
+
+  @Override
+  public String getEncoding() {
+    return "gzip";
+  }
+
+  @Override
+  public OutputStream compress(OutputStream outputStream) throws IOException {
+    return new LevelGzipOutputStream(outputStream, level);
+  }
+
+  private static final class LevelGzipOutputStream extends GZIPOutputStream {
+    private LevelGzipOutputStream(OutputStream outputStream, int level) throws IOException {
+      super(outputStream);
+      def.setLevel(level);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "GzipCompressor{level=" + level + "}";
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.iq80.snappy.SnappyFramedOutputStream;
+
+/**
+ * {@link Compressor} using the snappy framing format, which is very fast but compresses less than
+ * gzip. Requires {@code org.iq80.snappy:snappy}, a pure Java implementation, on the classpath.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class SnappyCompressor implements Compressor {
+
+  private static final SnappyCompressor INSTANCE = new SnappyCompressor();
+
+  /** Returns the {@link SnappyCompressor}. */
+  public static SnappyCompressor getInstance() {
+    return INSTANCE;
+  }
+
+  private SnappyCompressor() {}
+
+  @Override
+  public String getEncoding() {
+    return "snappy";
+  }
+
+  @Override
+  public OutputStream compress(OutputStream outputStream) throws IOException {
+    return new SnappyFramedOutputStream(outputStream);
+  }
+
+  @Override
+  public String toString() {
+    return "SnappyCompressor{}";
+  }
+}
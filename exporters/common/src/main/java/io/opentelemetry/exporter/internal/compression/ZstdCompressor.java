@@ -0,0 +1,58 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link Compressor} using zstd, which compresses about as well as gzip with much less CPU.
+ * Requires {@code com.github.luben:zstd-jni} on the classpath.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ZstdCompressor implements Compressor {
+
+  // The zstd default, a good tradeoff for small messages such as export requests.
+  private static final int DEFAULT_LEVEL = 3;
+
+  private static final ZstdCompressor INSTANCE = new ZstdCompressor();
+
+  /** Returns a {@link ZstdCompressor} using the default compression level, which is 3. */
+  public static ZstdCompressor getInstance() {
+    return INSTANCE;
+  }
+
+  /** Returns whether the native zstd library can be loaded on this platform. */
+  static boolean isNativeLibraryAvailable() {
+    try {
+      Native.load();
+      return true;
+    } catch (UnsatisfiedLinkError e) {
+      return false;
+    }
+  }
+
+  private ZstdCompressor() {}
+
+  @Override
+  public String getEncoding() {
+    return "zstd";
+  }
+
+  @Override
+  public OutputStream compress(OutputStream outputStream) throws IOException {
+    return new ZstdOutputStream(outputStream, DEFAULT_LEVEL);
+  }
+
+  @Override
+  public String toString() {
+    return "ZstdCompressor{level=" + DEFAULT_LEVEL + "}";
+  }
+}
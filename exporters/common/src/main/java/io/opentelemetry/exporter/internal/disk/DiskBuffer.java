@@ -0,0 +1,364 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.disk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+/**
+ * Serialized export requests stored in append-only segment files under a directory, which are read
+ * back in the order they were appended.
+ *
+ * <p>Each segment file is memory-mapped and starts with a header holding the offset of the first
+ * record which has not been removed, followed by records of the form {@code [length][numItems]
+ * [bytes]}. The length of a record is written after the rest of it, so a record torn by the process
+ * exiting reads as the end of the segment. Records which were read but not removed when the process
+ * exited are read again once the directory is opened again, so a request may be exported more than
+ * once.
+ */
+final class DiskBuffer implements Closeable {
+
+  // Visible for testing
+  static final String SEGMENT_SUFFIX = ".segment";
+
+  private static final String LOCK_FILE = "lock";
+  private static final int MAGIC = 0x4f544c50;
+  private static final int HEADER_SIZE = 8;
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  private final Path directory;
+  private final long maxSizeBytes;
+  private final int segmentSizeBytes;
+  private final boolean fsync;
+  private final FileChannel lockChannel;
+  private final FileLock lock;
+
+  private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+  @Nullable private Segment writeSegment;
+  private long sizeBytes;
+  private long nextSequence;
+  private boolean closed;
+
+  /**
+   * Opens the buffer stored under {@code directory}, creating it if needed.
+   *
+   * @throws IOException if the directory cannot be read or is in use by another buffer.
+   */
+  static DiskBuffer open(Path directory, long maxSizeBytes, int segmentSizeBytes, boolean fsync)
+      throws IOException {
+    Files.createDirectories(directory);
+    FileChannel lockChannel =
+        FileChannel.open(
+            directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    FileLock lock;
+    try {
+      lock = lockChannel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      lock = null;
+    }
+    if (lock == null) {
+      lockChannel.close();
+      throw new IOException("Directory is in use by another exporter: " + directory);
+    }
+    DiskBuffer buffer =
+        new DiskBuffer(directory, maxSizeBytes, segmentSizeBytes, fsync, lockChannel, lock);
+    try {
+      buffer.load();
+    } catch (IOException e) {
+      buffer.close();
+      throw e;
+    }
+    return buffer;
+  }
+
+  private DiskBuffer(
+      Path directory,
+      long maxSizeBytes,
+      int segmentSizeBytes,
+      boolean fsync,
+      FileChannel lockChannel,
+      FileLock lock) {
+    this.directory = directory;
+    this.maxSizeBytes = maxSizeBytes;
+    this.segmentSizeBytes = segmentSizeBytes;
+    this.fsync = fsync;
+    this.lockChannel = lockChannel;
+    this.lock = lock;
+  }
+
+  /**
+   * Appends a serialized request of {@code numItems} items. Returns {@code false} if it was not
+   * stored because the buffer is full or closed.
+   */
+  synchronized boolean append(byte[] data, int numItems) throws IOException {
+    if (closed) {
+      return false;
+    }
+    if (data.length == 0) {
+      // Nothing to export.
+      return true;
+    }
+    int recordSize = RECORD_HEADER_SIZE + data.length;
+    Segment segment = writeSegment;
+    if (segment == null || segment.remaining() < recordSize) {
+      int size = Math.max(segmentSizeBytes, HEADER_SIZE + recordSize);
+      if (sizeBytes + size > maxSizeBytes) {
+        return false;
+      }
+      segment = Segment.create(directory.resolve(segmentName(nextSequence++)), size, fsync);
+      segments.add(segment);
+      sizeBytes += size;
+      writeSegment = segment;
+      removeReadSegments();
+    }
+    segment.append(data, numItems, fsync);
+    return true;
+  }
+
+  /** Returns the oldest record which has not been removed, or {@code null} if there is none. */
+  @Nullable
+  synchronized Record peek() throws IOException {
+    if (closed) {
+      return null;
+    }
+    removeReadSegments();
+    Segment segment = segments.peekFirst();
+    if (segment == null || segment.isRead()) {
+      return null;
+    }
+    return segment.read();
+  }
+
+  /** Removes the {@code record}, which must have been returned by {@link #peek()}. */
+  synchronized void remove(Record record) throws IOException {
+    if (closed) {
+      return;
+    }
+    record.segment.remove(record, fsync);
+    removeReadSegments();
+  }
+
+  /** Returns whether all records have been removed. */
+  synchronized boolean isEmpty() {
+    for (Segment segment : segments) {
+      if (!segment.isRead()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Visible for testing
+  synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    // The mappings are released once the buffers are garbage collected.
+    segments.clear();
+    writeSegment = null;
+    try {
+      lock.release();
+    } finally {
+      lockChannel.close();
+    }
+  }
+
+  private void load() throws IOException {
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      for (Path file : stream) {
+        files.add(file);
+      }
+    }
+    // Segment names are zero-padded so they sort in the order they were created.
+    Collections.sort(files);
+    for (Path file : files) {
+      String name = file.getFileName().toString();
+      long sequence;
+      try {
+        sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      nextSequence = Math.max(nextSequence, sequence + 1);
+      Segment segment = Segment.load(file);
+      if (segment == null || segment.isRead()) {
+        Files.deleteIfExists(file);
+        continue;
+      }
+      segments.add(segment);
+      sizeBytes += segment.capacity();
+    }
+  }
+
+  /** Deletes the segments at the head which have been read, except the one being appended to. */
+  private void removeReadSegments() throws IOException {
+    Segment segment;
+    while ((segment = segments.peekFirst()) != null
+        && segment != writeSegment
+        && segment.isRead()) {
+      segments.pollFirst();
+      sizeBytes -= segment.capacity();
+      Files.deleteIfExists(segment.file);
+    }
+  }
+
+  private static String segmentName(long sequence) {
+    return String.format(Locale.ROOT, "%019d%s", sequence, SEGMENT_SUFFIX);
+  }
+
+  /** A stored request. */
+  static final class Record {
+    private final Segment segment;
+    private final int offset;
+    private final byte[] data;
+    private final int numItems;
+
+    private Record(Segment segment, int offset, byte[] data, int numItems) {
+      this.segment = segment;
+      this.offset = offset;
+      this.data = data;
+      this.numItems = numItems;
+    }
+
+    /** Returns the serialized request. */
+    byte[] getData() {
+      return data;
+    }
+
+    /** Returns the number of items in the request. */
+    int getNumItems() {
+      return numItems;
+    }
+  }
+
+  private static final class Segment {
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private int readOffset;
+    private int writeOffset;
+
+    static Segment create(Path file, int size, boolean fsync) throws IOException {
+      MappedByteBuffer buffer;
+      try (FileChannel channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE)) {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, HEADER_SIZE);
+        if (fsync) {
+          buffer.force();
+          channel.force(true);
+        }
+      }
+      return new Segment(file, buffer, HEADER_SIZE, HEADER_SIZE);
+    }
+
+    /** Maps an existing segment, returning {@code null} if it is not a valid segment. */
+    @Nullable
+    static Segment load(Path file) throws IOException {
+      MappedByteBuffer buffer;
+      try (FileChannel channel =
+          FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+          return null;
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      }
+      int readOffset = buffer.getInt(4);
+      if (buffer.getInt(0) != MAGIC || readOffset < HEADER_SIZE || readOffset > buffer.capacity()) {
+        return null;
+      }
+      int writeOffset = readOffset;
+      while (writeOffset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+        int length = buffer.getInt(writeOffset);
+        if (length <= 0 || length > buffer.capacity() - writeOffset - RECORD_HEADER_SIZE) {
+          break;
+        }
+        writeOffset += RECORD_HEADER_SIZE + length;
+      }
+      return new Segment(file, buffer, readOffset, writeOffset);
+    }
+
+    private Segment(Path file, MappedByteBuffer buffer, int readOffset, int writeOffset) {
+      this.file = file;
+      this.buffer = buffer;
+      this.readOffset = readOffset;
+      this.writeOffset = writeOffset;
+    }
+
+    int capacity() {
+      return buffer.capacity();
+    }
+
+    int remaining() {
+      return buffer.capacity() - writeOffset;
+    }
+
+    boolean isRead() {
+      return readOffset >= writeOffset;
+    }
+
+    void append(byte[] data, int numItems, boolean fsync) {
+      buffer.putInt(writeOffset + 4, numItems);
+      ByteBuffer content = buffer.duplicate();
+      content.position(writeOffset + RECORD_HEADER_SIZE);
+      content.put(data);
+      // Written last so the record is only read once it is complete.
+      buffer.putInt(writeOffset, data.length);
+      writeOffset += RECORD_HEADER_SIZE + data.length;
+      if (fsync) {
+        buffer.force();
+      }
+    }
+
+    Record read() {
+      int length = buffer.getInt(readOffset);
+      int numItems = buffer.getInt(readOffset + 4);
+      byte[] data = new byte[length];
+      ByteBuffer content = buffer.duplicate();
+      content.position(readOffset + RECORD_HEADER_SIZE);
+      content.get(data);
+      return new Record(this, readOffset, data, numItems);
+    }
+
+    void remove(Record record, boolean fsync) {
+      if (record.offset != readOffset) {
+        return;
+      }
+      readOffset += RECORD_HEADER_SIZE + record.data.length;
+      buffer.putInt(4, readOffset);
+      if (fsync) {
+        buffer.force();
+      }
+    }
+  }
+}
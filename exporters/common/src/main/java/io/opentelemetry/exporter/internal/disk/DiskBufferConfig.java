@@ -0,0 +1,73 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.disk;
+
+import com.google.auto.value.AutoValue;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the on-disk buffer of an exporter, which stores export requests that failed and
+ * replays them once the endpoint accepts requests again.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+@AutoValue
+public abstract class DiskBufferConfig {
+
+  DiskBufferConfig() {}
+
+  /**
+   * Returns a new {@link DiskBufferConfigBuilder} to construct a {@link DiskBufferConfig} storing
+   * requests under {@code directory}.
+   */
+  public static DiskBufferConfigBuilder builder(Path directory) {
+    return new DiskBufferConfigBuilder(directory);
+  }
+
+  /**
+   * Returns the directory requests are stored under. Each exporter uses a sub-directory named after
+   * the type of data it exports, which must not be shared with another exporter.
+   */
+  public abstract Path getDirectory();
+
+  /** Returns the max number of bytes stored on disk, after which new requests are dropped. */
+  public abstract long getMaxSizeBytes();
+
+  /** Returns the size of each segment file requests are appended to. */
+  public abstract int getSegmentSizeBytes();
+
+  /** Returns whether each stored request is synced to the storage device before returning. */
+  public abstract boolean getFsync();
+
+  /** Returns the initial backoff before replaying requests after a failure. */
+  public abstract Duration getInitialBackoff();
+
+  /** Returns the max backoff before replaying requests after a failure. */
+  public abstract Duration getMaxBackoff();
+
+  /** Returns the backoff multiplier. */
+  public abstract double getBackoffMultiplier();
+
+  static DiskBufferConfig create(
+      Path directory,
+      long maxSizeBytes,
+      int segmentSizeBytes,
+      boolean fsync,
+      Duration initialBackoff,
+      Duration maxBackoff,
+      double backoffMultiplier) {
+    return new AutoValue_DiskBufferConfig(
+        directory,
+        maxSizeBytes,
+        segmentSizeBytes,
+        fsync,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.disk;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+public final class DiskBufferConfigBuilder {
+
+  private static final long DEFAULT_MAX_SIZE_BYTES = 64 * 1024 * 1024;
+  private static final int DEFAULT_SEGMENT_SIZE_BYTES = 4 * 1024 * 1024;
+  private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+  private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+  private static final double DEFAULT_BACKOFF_MULTIPLIER = 2;
+
+  private final Path directory;
+  private long maxSizeBytes = DEFAULT_MAX_SIZE_BYTES;
+  private int segmentSizeBytes = DEFAULT_SEGMENT_SIZE_BYTES;
+  private boolean fsync;
+  private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+  private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+  private double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+
+  DiskBufferConfigBuilder(Path directory) {
+    this.directory = requireNonNull(directory, "directory");
+  }
+
+  /** Set the max number of bytes stored on disk. Must be greater than 0. */
+  public DiskBufferConfigBuilder setMaxSizeBytes(long maxSizeBytes) {
+    checkArgument(maxSizeBytes > 0, "maxSizeBytes must be greater than 0");
+    this.maxSizeBytes = maxSizeBytes;
+    return this;
+  }
+
+  /**
+   * Set the size of each segment file. Must be greater than 0. Requests larger than a segment are
+   * stored in a segment of their own.
+   */
+  public DiskBufferConfigBuilder setSegmentSizeBytes(int segmentSizeBytes) {
+    checkArgument(segmentSizeBytes > 0, "segmentSizeBytes must be greater than 0");
+    this.segmentSizeBytes = segmentSizeBytes;
+    return this;
+  }
+
+  /**
+   * Set whether each stored request is synced to the storage device before returning. Defaults to
+   * {@code false}, which only protects stored requests from the process exiting, not the host.
+   */
+  public DiskBufferConfigBuilder setFsync(boolean fsync) {
+    this.fsync = fsync;
+    return this;
+  }
+
+  /** Set the initial backoff. Must be greater than 0. */
+  public DiskBufferConfigBuilder setInitialBackoff(Duration initialBackoff) {
+    requireNonNull(initialBackoff, "initialBackoff");
+    checkArgument(initialBackoff.toNanos() > 0, "initialBackoff must be greater than 0");
+    this.initialBackoff = initialBackoff;
+    return this;
+  }
+
+  /** Set the maximum backoff. Must be greater than 0. */
+  public DiskBufferConfigBuilder setMaxBackoff(Duration maxBackoff) {
+    requireNonNull(maxBackoff, "maxBackoff");
+    checkArgument(maxBackoff.toNanos() > 0, "maxBackoff must be greater than 0");
+    this.maxBackoff = maxBackoff;
+    return this;
+  }
+
+  /** Set the backoff multiplier. Must be greater than 0.0. */
+  public DiskBufferConfigBuilder setBackoffMultiplier(double backoffMultiplier) {
+    checkArgument(backoffMultiplier > 0, "backoffMultiplier must be greater than 0");
+    this.backoffMultiplier = backoffMultiplier;
+    return this;
+  }
+
+  /** Build and return a {@link DiskBufferConfig} with the values of this builder. */
+  public DiskBufferConfig build() {
+    return DiskBufferConfig.create(
+        directory,
+        maxSizeBytes,
+        segmentSizeBytes,
+        fsync,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.disk;
+
+import io.opentelemetry.exporter.internal.grpc.GrpcExporterBuilder;
+import io.opentelemetry.exporter.internal.okhttp.OkHttpExporterBuilder;
+import java.lang.reflect.Field;
+
+/**
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+public final class DiskBufferUtil {
+
+  private DiskBufferUtil() {}
+
+  /**
+   * Reflectively access a {@link GrpcExporterBuilder}, or {@link OkHttpExporterBuilder} instance in
+   * field called "delegate" of the instance, and set the {@link DiskBufferConfig}.
+   *
+   * @throws IllegalArgumentException if the instance does not contain a field called "delegate" of
+   *     a supported type.
+   */
+  public static void setDiskBufferOnDelegate(Object instance, DiskBufferConfig diskBufferConfig) {
+    try {
+      Field field = instance.getClass().getDeclaredField("delegate");
+      field.setAccessible(true);
+      Object value = field.get(instance);
+      if (value instanceof GrpcExporterBuilder) {
+        ((GrpcExporterBuilder<?>) value).setDiskBuffer(diskBufferConfig);
+      } else if (value instanceof OkHttpExporterBuilder) {
+        ((OkHttpExporterBuilder<?>) value).setDiskBuffer(diskBufferConfig);
+      } else {
+        throw new IllegalArgumentException(
+            "delegate field is not type GrpcExporterBuilder or OkHttpExporterBuilder");
+      }
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      throw new IllegalArgumentException("Unable to access delegate reflectively.", e);
+    }
+  }
+}
@@ -0,0 +1,438 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.disk;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.internal.marshal.StreamingMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Exports requests with a sender, storing the requests which fail to export in a {@link
+ * DiskBuffer}. Stored requests are replayed one at a time in the order they were stored, backing
+ * off after each failure, and right away once a request succeeds to export.
+ *
+ * <p>Requests are serialized before they are sent, so they can be stored after the items they were
+ * created from are discarded. A {@link StreamingMarshaler} is sent from its pooled buffer, which is
+ * only copied if the request has to be stored. Requests the endpoint rejects with an error which is
+ * not retryable, see {@link #rejected(Marshaler)}, are not stored.
+ *
+ * <p>A stored request which keeps failing while other requests succeed is assumed to be rejected by
+ * the endpoint, e.g. for being too large, and is dropped after {@value #MAX_FAILURES_WHILE_HEALTHY}
+ * attempts so it does not hold up the requests stored after it.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class DiskBufferingExporter {
+
+  private static final Logger internalLogger =
+      Logger.getLogger(DiskBufferingExporter.class.getName());
+
+  // Visible for testing
+  static final int MAX_FAILURES_WHILE_HEALTHY = 3;
+
+  private final ThrottlingLogger logger = new ThrottlingLogger(internalLogger);
+
+  private final String type;
+  private final DiskBuffer buffer;
+  private final boolean exportAsJson;
+  private final BiFunction<Marshaler, Integer, CompletableResultCode> sender;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+  private final double backoffMultiplier;
+  private final ScheduledExecutorService executor;
+
+  private final AtomicLong successfulExports = new AtomicLong();
+
+  // Guarded by this.
+  @Nullable private ScheduledFuture<?> scheduledReplay;
+  private boolean replaying;
+  private boolean shutdown;
+
+  // Only accessed by the replay, which never runs concurrently with itself.
+  private long backoffNanos;
+  private long successfulExportsAtLastFailure;
+  private int failuresWhileHealthy;
+
+  /**
+   * Returns a {@link DiskBufferingExporter} storing requests for {@code type}s under a
+   * sub-directory of the configured directory named after the {@code type}, which replays any
+   * requests stored there before. The {@code sender} exports a request {@link Marshaler} for a
+   * number of items, in JSON if {@code exportAsJson} is set or else in the binary format.
+   *
+   * @throws IllegalStateException if the directory cannot be opened.
+   */
+  public static DiskBufferingExporter create(
+      String type,
+      DiskBufferConfig config,
+      boolean exportAsJson,
+      BiFunction<Marshaler, Integer, CompletableResultCode> sender) {
+    Path directory = config.getDirectory().resolve(type);
+    DiskBuffer buffer;
+    try {
+      buffer =
+          DiskBuffer.open(
+              directory, config.getMaxSizeBytes(), config.getSegmentSizeBytes(), config.getFsync());
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Could not open the disk buffer for " + type + "s at " + directory, e);
+    }
+    DiskBufferingExporter exporter =
+        new DiskBufferingExporter(type, buffer, exportAsJson, sender, config);
+    exporter.scheduleReplay(0);
+    return exporter;
+  }
+
+  private DiskBufferingExporter(
+      String type,
+      DiskBuffer buffer,
+      boolean exportAsJson,
+      BiFunction<Marshaler, Integer, CompletableResultCode> sender,
+      DiskBufferConfig config) {
+    this.type = type;
+    this.buffer = buffer;
+    this.exportAsJson = exportAsJson;
+    this.sender = sender;
+    this.initialBackoffNanos = config.getInitialBackoff().toNanos();
+    this.maxBackoffNanos = config.getMaxBackoff().toNanos();
+    this.backoffMultiplier = config.getBackoffMultiplier();
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory("otel-disk-buffer-" + type));
+  }
+
+  /**
+   * Exports the {@code exportRequest} for {@code numItems} items. The result succeeds if the
+   * request was exported or stored to be replayed.
+   */
+  public CompletableResultCode export(Marshaler exportRequest, int numItems) {
+    // Serialize the request before sending it, the items it was created from may be discarded by
+    // the caller by the time the send fails, e.g. once the export timed out.
+    BufferedRequest request;
+    if (!exportAsJson && exportRequest instanceof StreamingMarshaler) {
+      // Serializes it into its pooled buffer.
+      exportRequest.getBinarySerializedSize();
+      request = new PooledRequestMarshaler(exportRequest);
+    } else {
+      try {
+        request = new SerializedRequestMarshaler(serialize(exportRequest), exportAsJson);
+      } finally {
+        StreamingMarshaler.release(exportRequest);
+      }
+    }
+    CompletableResultCode result = new CompletableResultCode();
+    CompletableResultCode sent = sender.apply(request, numItems);
+    sent.whenComplete(
+        () -> {
+          if (sent.isSuccess()) {
+            request.done();
+            successfulExports.incrementAndGet();
+            result.succeed();
+            // The endpoint is accepting requests again, replay the stored ones without waiting for
+            // the backoff.
+            if (!buffer.isEmpty()) {
+              scheduleReplay(0);
+            }
+            return;
+          }
+          boolean stored;
+          try {
+            stored = !request.rejected && store(request.serialized(), numItems);
+          } finally {
+            request.done();
+          }
+          if (stored) {
+            result.succeed();
+          } else {
+            result.fail();
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Records that the endpoint rejected the {@code exportRequest} with an error which is not
+   * retryable, e.g. an HTTP 400 or a gRPC {@code INVALID_ARGUMENT}, if it was sent by a {@link
+   * DiskBufferingExporter}. A rejected request is not stored, or is dropped if it was replayed.
+   */
+  public static void rejected(Marshaler exportRequest) {
+    if (exportRequest instanceof BufferedRequest) {
+      ((BufferedRequest) exportRequest).rejected = true;
+    }
+  }
+
+  /**
+   * Stops replaying and closes the buffer. Requests which have not been replayed yet are replayed
+   * once an exporter opens the directory again.
+   */
+  public CompletableResultCode shutdown() {
+    synchronized (this) {
+      shutdown = true;
+    }
+    executor.shutdownNow();
+    try {
+      buffer.close();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to close the disk buffer for " + type + "s.", e);
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  private boolean store(byte[] serialized, int numItems) {
+    try {
+      if (!buffer.append(serialized, numItems)) {
+        logger.log(
+            Level.WARNING,
+            "Failed to store "
+                + type
+                + "s on disk, the disk buffer is full or shut down. Dropping "
+                + numItems
+                + " "
+                + type
+                + "s.");
+        return false;
+      }
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Failed to store " + type + "s on disk.", e);
+      return false;
+    }
+    scheduleReplay(initialBackoffNanos);
+    return true;
+  }
+
+  private byte[] serialize(Marshaler exportRequest) {
+    if (exportAsJson) {
+      return MarshalerUtil.preserializeJsonFields(exportRequest);
+    }
+    return serializeBinary(exportRequest);
+  }
+
+  private static byte[] serializeBinary(Marshaler exportRequest) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream(exportRequest.getBinarySerializedSize());
+    try {
+      exportRequest.writeBinaryTo(bos);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Serialization error, this is likely a bug in OpenTelemetry.", e);
+    }
+    return bos.toByteArray();
+  }
+
+  /** Schedules a replay in {@code delayNanos}, unless one is running or scheduled sooner. */
+  private synchronized void scheduleReplay(long delayNanos) {
+    if (shutdown || replaying) {
+      return;
+    }
+    ScheduledFuture<?> scheduled = scheduledReplay;
+    if (scheduled != null) {
+      if (scheduled.getDelay(TimeUnit.NANOSECONDS) <= delayNanos) {
+        return;
+      }
+      scheduled.cancel(false);
+    }
+    scheduledReplay = executor.schedule(this::replay, delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void replay() {
+    synchronized (this) {
+      if (shutdown || replaying) {
+        return;
+      }
+      replaying = true;
+      scheduledReplay = null;
+    }
+
+    DiskBuffer.Record record;
+    try {
+      record = buffer.peek();
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Failed to read " + type + "s stored on disk.", e);
+      record = null;
+    }
+    if (record == null) {
+      backoffNanos = 0;
+      finishReplay(-1);
+      return;
+    }
+
+    DiskBuffer.Record replayed = record;
+    SerializedRequestMarshaler request =
+        new SerializedRequestMarshaler(replayed.getData(), exportAsJson);
+    CompletableResultCode sent = sender.apply(request, replayed.getNumItems());
+    sent.whenComplete(
+        () -> {
+          if (sent.isSuccess()) {
+            remove(replayed);
+            backoffNanos = 0;
+            finishReplay(0);
+            return;
+          }
+          if (request.rejected) {
+            logger.log(
+                Level.WARNING,
+                "Dropping "
+                    + replayed.getNumItems()
+                    + " "
+                    + type
+                    + "s stored on disk, which were rejected by the endpoint.");
+            remove(replayed);
+            finishReplay(0);
+            return;
+          }
+          // Other requests succeeding since the last failure means the endpoint is healthy.
+          long successful = successfulExports.get();
+          boolean healthy = successful != successfulExportsAtLastFailure;
+          successfulExportsAtLastFailure = successful;
+          if (healthy && ++failuresWhileHealthy >= MAX_FAILURES_WHILE_HEALTHY) {
+            logger.log(
+                Level.WARNING,
+                "Dropping "
+                    + replayed.getNumItems()
+                    + " "
+                    + type
+                    + "s stored on disk, which failed to export while other requests succeeded.");
+            remove(replayed);
+            finishReplay(0);
+            return;
+          }
+          backoffNanos =
+              backoffNanos == 0
+                  ? initialBackoffNanos
+                  : Math.min((long) (backoffNanos * backoffMultiplier), maxBackoffNanos);
+          // https://github.com/grpc/proposal/blob/master/A6-client-retries.md#exponential-backoff
+          finishReplay(ThreadLocalRandom.current().nextLong(backoffNanos));
+        });
+  }
+
+  // Visible for testing
+  boolean hasStoredRequests() {
+    return !buffer.isEmpty();
+  }
+
+  private void remove(DiskBuffer.Record record) {
+    failuresWhileHealthy = 0;
+    try {
+      buffer.remove(record);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Failed to remove " + type + "s stored on disk.", e);
+    }
+  }
+
+  /** Ends the running replay and schedules the next one in {@code delayNanos}, if not negative. */
+  private void finishReplay(long delayNanos) {
+    synchronized (this) {
+      replaying = false;
+    }
+    if (delayNanos >= 0) {
+      scheduleReplay(delayNanos);
+    }
+  }
+
+  /** A request sent by a {@link DiskBufferingExporter}. */
+  private abstract static class BufferedRequest extends Marshaler {
+    // Set by the sender before completing the result, see rejected(Marshaler).
+    volatile boolean rejected;
+
+    /** Returns the request serialized in the format it is exported in, to be stored. */
+    abstract byte[] serialized();
+
+    /** Called once the result of sending the request is handled. */
+    void done() {}
+  }
+
+  /** A request which was serialized in the format it is exported in. */
+  private static final class SerializedRequestMarshaler extends BufferedRequest {
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private final byte[] serialized;
+    private final boolean json;
+
+    private SerializedRequestMarshaler(byte[] serialized, boolean json) {
+      this.serialized = serialized;
+      this.json = json;
+    }
+
+    @Override
+    byte[] serialized() {
+      return serialized;
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return serialized.length;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      if (json) {
+        output.writeSerializedMessage(EMPTY_BYTES, serialized);
+      } else {
+        output.writeSerializedMessage(serialized, EMPTY_BYTES);
+      }
+    }
+  }
+
+  /**
+   * A {@link StreamingMarshaler} exported in the binary format, which is sent from its pooled
+   * buffer. The buffer is released once both the sender, see {@link
+   * StreamingMarshaler#release(Marshaler)}, and the exporter, after storing a copy of it if needed,
+   * are done with it.
+   */
+  private static final class PooledRequestMarshaler extends BufferedRequest
+      implements StreamingMarshaler.Releasable {
+    private final Marshaler exportRequest;
+    private final AtomicInteger references = new AtomicInteger(2);
+
+    private PooledRequestMarshaler(Marshaler exportRequest) {
+      this.exportRequest = exportRequest;
+    }
+
+    @Override
+    byte[] serialized() {
+      return serializeBinary(exportRequest);
+    }
+
+    @Override
+    void done() {
+      release();
+    }
+
+    @Override
+    public void release() {
+      if (references.decrementAndGet() == 0) {
+        StreamingMarshaler.release(exportRequest);
+      }
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return exportRequest.getBinarySerializedSize();
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      output.writeMessageFields(exportRequest);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.grpc;
+
+import io.opentelemetry.exporter.internal.disk.DiskBufferConfig;
+import io.opentelemetry.exporter.internal.disk.DiskBufferingExporter;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+
+/** A {@link GrpcExporter} which stores the requests that fail to export on disk to replay them. */
+final class DiskBufferingGrpcExporter<T extends Marshaler> implements GrpcExporter<T> {
+
+  private final GrpcExporter<T> delegate;
+  private final DiskBufferingExporter diskBufferingExporter;
+
+  DiskBufferingGrpcExporter(String type, GrpcExporter<T> delegate, DiskBufferConfig config) {
+    this.delegate = delegate;
+    this.diskBufferingExporter =
+        DiskBufferingExporter.create(type, config, /* exportAsJson= */ false, this::send);
+  }
+
+  @Override
+  public CompletableResultCode export(T exportRequest, int numItems) {
+    return diskBufferingExporter.export(exportRequest, numItems);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    diskBufferingExporter.shutdown();
+    return delegate.shutdown();
+  }
+
+  // The exporters only ever write the request, so a stored request can be sent in place of a T.
+  @SuppressWarnings("unchecked")
+  private CompletableResultCode send(Marshaler exportRequest, int numItems) {
+    return delegate.export((T) exportRequest, numItems);
+  }
+}
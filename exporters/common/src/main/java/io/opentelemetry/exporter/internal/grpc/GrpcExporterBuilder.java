@@ -8,16 +8,25 @@ package io.opentelemetry.exporter.internal.grpc;
 import io.grpc.Channel;
 import io.grpc.ClientInterceptors;
 import io.grpc.Codec;
+import io.grpc.CompressorRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.Metadata;
 import io.grpc.stub.MetadataUtils;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterBuilderUtil;
 import io.opentelemetry.exporter.internal.TlsUtil;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.compression.CompressorUtil;
+import io.opentelemetry.exporter.internal.disk.DiskBufferConfig;
+import io.opentelemetry.exporter.internal.http.HttpTransportConfig;
+import io.opentelemetry.exporter.internal.http.HttpTransportProvider;
+import io.opentelemetry.exporter.internal.http.HttpTransportUtil;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.okhttp.OkHttpUtil;
 import io.opentelemetry.exporter.internal.retry.RetryInterceptor;
 import io.opentelemetry.exporter.internal.retry.RetryPolicy;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Arrays;
@@ -31,6 +40,8 @@ import javax.annotation.Nullable;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.X509KeyManager;
 import javax.net.ssl.X509TrustManager;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
@@ -52,13 +63,16 @@ public class GrpcExporterBuilder<T extends Marshaler> {
 
   private long timeoutNanos;
   private URI endpoint;
-  private boolean compressionEnabled = false;
+  @Nullable private Compressor compressor;
   private final Map<String, String> headers = new HashMap<>();
   @Nullable private byte[] trustedCertificatesPem;
   @Nullable private byte[] privateKeyPem;
   @Nullable private byte[] certificatePem;
   @Nullable private RetryPolicy retryPolicy;
   private MeterProvider meterProvider = MeterProvider.noop();
+  private int connectionCount = 1;
+  private int maxConcurrentExports;
+  @Nullable private DiskBufferConfig diskBufferConfig;
 
   // Use Object type since gRPC may not be on the classpath.
   @Nullable private Object grpcChannel;
@@ -98,7 +112,7 @@ public class GrpcExporterBuilder<T extends Marshaler> {
   }
 
   public GrpcExporterBuilder<T> setCompression(String compressionMethod) {
-    this.compressionEnabled = true;
+    this.compressor = CompressorUtil.validateAndResolveCompressor(compressionMethod);
     return this;
   }
 
@@ -128,25 +142,42 @@ public class GrpcExporterBuilder<T extends Marshaler> {
     return this;
   }
 
+  public GrpcExporterBuilder<T> setConnectionCount(int connectionCount) {
+    this.connectionCount = connectionCount;
+    return this;
+  }
+
+  public GrpcExporterBuilder<T> setMaxConcurrentExports(int maxConcurrentExports) {
+    this.maxConcurrentExports = maxConcurrentExports;
+    return this;
+  }
+
+  public GrpcExporterBuilder<T> setDiskBuffer(DiskBufferConfig diskBufferConfig) {
+    this.diskBufferConfig = diskBufferConfig;
+    return this;
+  }
+
   public GrpcExporter<T> build() {
+    GrpcExporter<T> exporter = buildExporter();
+    if (diskBufferConfig != null) {
+      return new DiskBufferingGrpcExporter<>(type, exporter, diskBufferConfig);
+    }
+    return exporter;
+  }
+
+  private GrpcExporter<T> buildExporter() {
     if (grpcChannel != null) {
       return new UpstreamGrpcExporterFactory().buildWithChannel((Channel) grpcChannel);
     }
 
-    OkHttpClient.Builder clientBuilder =
-        new OkHttpClient.Builder().dispatcher(OkHttpUtil.newDispatcher());
-
-    clientBuilder.callTimeout(Duration.ofNanos(timeoutNanos));
-
+    X509TrustManager trustManager = null;
+    X509KeyManager keyManager = null;
     if (trustedCertificatesPem != null) {
       try {
-        X509TrustManager trustManager = TlsUtil.trustManager(trustedCertificatesPem);
-        X509KeyManager keyManager = null;
+        trustManager = TlsUtil.trustManager(trustedCertificatesPem);
         if (privateKeyPem != null && certificatePem != null) {
           keyManager = TlsUtil.keyManager(privateKeyPem, certificatePem);
         }
-        clientBuilder.sslSocketFactory(
-            TlsUtil.sslSocketFactory(keyManager, trustManager), trustManager);
       } catch (SSLException e) {
         throw new IllegalStateException(
             "Could not set trusted certificates, are they valid X.509 in PEM format?", e);
@@ -154,33 +185,94 @@ public class GrpcExporterBuilder<T extends Marshaler> {
     }
 
     String endpoint = this.endpoint.resolve(grpcEndpointPath).toString();
-    if (endpoint.startsWith("http://")) {
-      clientBuilder.protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
-    } else {
-      clientBuilder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+
+    HttpTransportProvider provider = HttpTransportUtil.getProvider();
+    if (provider != null) {
+      GrpcExporter<T> exporter =
+          provider.createGrpcExporter(
+              HttpTransportConfig.builder()
+                  .setExporterName(exporterName)
+                  .setType(type)
+                  .setEndpoint(endpoint)
+                  .setHeaders(Collections.unmodifiableMap(new HashMap<>(headers)))
+                  .setCompressor(compressor)
+                  .setTimeoutNanos(timeoutNanos)
+                  .setTrustManager(trustManager)
+                  .setKeyManager(keyManager)
+                  .setRetryPolicy(retryPolicy)
+                  .setMeterProvider(meterProvider)
+                  .setConnectionCount(connectionCount)
+                  .setMaxConcurrentExports(maxConcurrentExports)
+                  .build());
+      if (exporter != null) {
+        return exporter;
+      }
     }
 
-    Headers.Builder headers = new Headers.Builder();
-    this.headers.forEach(headers::add);
+    return new OkHttpGrpcExporterFactory().build(endpoint, trustManager, keyManager);
+  }
 
-    headers.add("te", "trailers");
-    if (compressionEnabled) {
-      headers.add("grpc-encoding", "gzip");
-    }
+  // Use an inner class to ensure GrpcExporterBuilder does not have classloading dependencies on
+  // OkHttp, which is not needed when exporting with an HttpTransportProvider.
+  private class OkHttpGrpcExporterFactory {
+    private GrpcExporter<T> build(
+        String endpoint,
+        @Nullable X509TrustManager trustManager,
+        @Nullable X509KeyManager keyManager) {
+      // All connections share the dispatcher, which queues exports beyond the limit.
+      Dispatcher dispatcher = OkHttpUtil.newDispatcher();
+      if (maxConcurrentExports > 0) {
+        dispatcher.setMaxRequests(maxConcurrentExports);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentExports);
+      } else {
+        // Every connection goes to the same host, so scale OkHttp's default limit per host.
+        dispatcher.setMaxRequestsPerHost(dispatcher.getMaxRequestsPerHost() * connectionCount);
+      }
 
-    if (retryPolicy != null) {
-      clientBuilder.addInterceptor(
-          new RetryInterceptor(retryPolicy, OkHttpGrpcExporter::isRetryable));
-    }
+      OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder().dispatcher(dispatcher);
+
+      clientBuilder.callTimeout(Duration.ofNanos(timeoutNanos));
+
+      if (trustManager != null) {
+        try {
+          clientBuilder.sslSocketFactory(
+              TlsUtil.sslSocketFactory(keyManager, trustManager), trustManager);
+        } catch (SSLException e) {
+          throw new IllegalStateException(
+              "Could not set trusted certificates, are they valid X.509 in PEM format?", e);
+        }
+      }
+
+      if (endpoint.startsWith("http://")) {
+        clientBuilder.protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+      } else {
+        clientBuilder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+      }
+
+      Headers.Builder okHttpHeaders = new Headers.Builder();
+      headers.forEach(okHttpHeaders::add);
+
+      okHttpHeaders.add("te", "trailers");
+      if (compressor != null) {
+        okHttpHeaders.add("grpc-encoding", compressor.getEncoding());
+      }
+
+      if (retryPolicy != null) {
+        clientBuilder.addInterceptor(
+            new RetryInterceptor(retryPolicy, OkHttpGrpcExporter::isRetryable));
+      }
 
-    return new OkHttpGrpcExporter<>(
-        exporterName,
-        type,
-        clientBuilder.build(),
-        meterProvider,
-        endpoint,
-        headers.build(),
-        compressionEnabled);
+      // OkHttp multiplexes every request to a host over a single HTTP/2 connection, so each
+      // additional connection is a client with its own connection pool.
+      OkHttpClient[] clients = new OkHttpClient[connectionCount];
+      clients[0] = clientBuilder.build();
+      for (int i = 1; i < connectionCount; i++) {
+        clients[i] = clients[0].newBuilder().connectionPool(new ConnectionPool()).build();
+      }
+
+      return new OkHttpGrpcExporter<>(
+          exporterName, type, clients, meterProvider, endpoint, okHttpHeaders.build(), compressor);
+    }
   }
 
   // Use an inner class to ensure GrpcExporterBuilder does not have classloading dependencies on
@@ -203,13 +295,39 @@ public class GrpcExporterBuilder<T extends Marshaler> {
           ClientInterceptors.intercept(
               channel, MetadataUtils.newAttachHeadersInterceptor(metadata));
 
-      Codec codec = compressionEnabled ? new Codec.Gzip() : Codec.Identity.NONE;
+      String messageEncoding = Codec.Identity.NONE.getMessageEncoding();
+      if (compressor != null) {
+        messageEncoding = compressor.getEncoding();
+        // gRPC only knows gzip by default. Channels use the default registry unless built with
+        // another one. Compressors gRPC already knows, including gzip, are not replaced since the
+        // registry is shared.
+        CompressorRegistry registry = CompressorRegistry.getDefaultInstance();
+        if (registry.lookupCompressor(messageEncoding) == null) {
+          registry.register(new GrpcCompressor(compressor));
+        }
+      }
       MarshalerServiceStub<T, ?, ?> stub =
-          grpcStubFactory
-              .get()
-              .apply(channel, authorityOverride)
-              .withCompression(codec.getMessageEncoding());
+          grpcStubFactory.get().apply(channel, authorityOverride).withCompression(messageEncoding);
       return new UpstreamGrpcExporter<>(exporterName, type, stub, meterProvider, timeoutNanos);
     }
   }
+
+  private static final class GrpcCompressor implements io.grpc.Compressor {
+
+    private final Compressor compressor;
+
+    private GrpcCompressor(Compressor compressor) {
+      this.compressor = compressor;
+    }
+
+    @Override
+    public String getMessageEncoding() {
+      return compressor.getEncoding();
+    }
+
+    @Override
+    public OutputStream compress(OutputStream os) throws IOException {
+      return compressor.compress(os);
+    }
+  }
 }
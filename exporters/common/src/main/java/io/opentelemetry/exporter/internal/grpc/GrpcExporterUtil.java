@@ -9,9 +9,17 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
-final class GrpcExporterUtil {
+/**
+ * Utilities shared by the gRPC exporters.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class GrpcExporterUtil {
 
-  static void logUnimplemented(Logger logger, String type, @Nullable String fullErrorMessage) {
+  /** Logs that the server does not implement the export service for the {@code type}. */
+  public static void logUnimplemented(
+      Logger logger, String type, @Nullable String fullErrorMessage) {
     String envVar;
     switch (type) {
       case "span":
@@ -32,11 +40,10 @@ final class GrpcExporterUtil {
         Level.SEVERE,
         "Failed to export "
             + type
-            + "s. Server responded with UNIMPLEMENTED. "
-            + "This usually means that your collector is not configured with an otlp "
-            + "receiver in the \"pipelines\" section of the configuration. "
-            + "If export is not desired and you are using OpenTelemetry autoconfiguration or the javaagent, "
-            + "disable export by setting "
+            + "s. Server responded with UNIMPLEMENTED. This usually means that your collector is"
+            + " not configured with an otlp receiver in the \"pipelines\" section of the"
+            + " configuration. If export is not desired and you are using OpenTelemetry"
+            + " autoconfiguration or the javaagent, disable export by setting "
             + envVar
             + "=none. "
             + "Full error message: "
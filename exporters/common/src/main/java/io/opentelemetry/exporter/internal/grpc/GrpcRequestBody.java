@@ -5,15 +5,16 @@
 
 package io.opentelemetry.exporter.internal.grpc;
 
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.marshal.BufferPool;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import javax.annotation.Nullable;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
-import okio.Buffer;
 import okio.BufferedSink;
-import okio.GzipSink;
-import okio.Okio;
 
 /**
  * A {@link RequestBody} for reading from a {@link Marshaler} and writing in gRPC wire format.
@@ -33,15 +34,18 @@ public final class GrpcRequestBody extends RequestBody {
   private final Marshaler marshaler;
   private final int messageSize;
   private final int contentLength;
-  private final boolean compressed;
+  @Nullable private final Compressor compressor;
 
-  /** Creates a new {@link GrpcRequestBody}. */
-  public GrpcRequestBody(Marshaler marshaler, boolean compressed) {
+  /**
+   * Creates a new {@link GrpcRequestBody}, compressing the message with the {@link Compressor} if
+   * not {@code null}.
+   */
+  public GrpcRequestBody(Marshaler marshaler, @Nullable Compressor compressor) {
     this.marshaler = marshaler;
-    this.compressed = compressed;
+    this.compressor = compressor;
 
     messageSize = marshaler.getBinarySerializedSize();
-    if (compressed) {
+    if (compressor != null) {
       // Content length not known since we want to compress on the I/O thread.
       contentLength = -1;
     } else {
@@ -62,19 +66,24 @@ public final class GrpcRequestBody extends RequestBody {
 
   @Override
   public void writeTo(BufferedSink sink) throws IOException {
-    if (!compressed) {
+    if (compressor == null) {
       sink.writeByte(UNCOMPRESSED_FLAG);
       sink.writeInt(messageSize);
       marshaler.writeBinaryTo(sink.outputStream());
     } else {
-      try (Buffer compressedBody = new Buffer()) {
-        try (BufferedSink gzipSink = Okio.buffer(new GzipSink(compressedBody))) {
-          marshaler.writeBinaryTo(gzipSink.outputStream());
+      // The compressed size must be written before the compressed body, so compress into a pooled
+      // buffer first.
+      BufferPool bufferPool = BufferPool.getDefault();
+      ProtoWriter compressedBody = bufferPool.acquire();
+      try {
+        try (OutputStream compressedStream = compressor.compress(compressedBody.outputStream())) {
+          marshaler.writeBinaryTo(compressedStream);
         }
         sink.writeByte(COMPRESSED_FLAG);
-        int compressedBytes = (int) compressedBody.size();
-        sink.writeInt(compressedBytes);
-        sink.write(compressedBody, compressedBytes);
+        sink.writeInt(compressedBody.size());
+        compressedBody.writeTo(sink.outputStream());
+      } finally {
+        bufferPool.release(compressedBody);
       }
     }
   }
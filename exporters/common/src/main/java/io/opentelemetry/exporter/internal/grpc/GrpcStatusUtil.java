@@ -3,10 +3,32 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
+// Includes work from:
+
+/*
+ * Copyright 2014 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
 package io.opentelemetry.exporter.internal.grpc;
 
 import io.opentelemetry.exporter.internal.marshal.CodedInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * Utilities for working with gRPC status without requiring dependencies on gRPC.
@@ -25,6 +47,11 @@ public final class GrpcStatusUtil {
   public static final String GRPC_STATUS_UNAVAILABLE = "14";
   public static final String GRPC_STATUS_DATA_LOSS = "15";
 
+  /** The metadata key of the serialized gRPC Status, including its details. */
+  public static final String GRPC_STATUS_DETAILS = "grpc-status-details-bin";
+
+  private static final String RETRY_INFO_TYPE = "type.googleapis.com/google.rpc.RetryInfo";
+
   /** Parses the message out of a serialized gRPC Status. */
   public static String getStatusMessage(byte[] serializedStatus) throws IOException {
     CodedInputStream input = CodedInputStream.newInstance(serializedStatus);
@@ -46,5 +73,127 @@ public final class GrpcStatusUtil {
     return "";
   }
 
+  /**
+   * Parses the retry delay out of the {@code google.rpc.RetryInfo} detail of a serialized gRPC
+   * Status, returning -1 if it has none.
+   */
+  public static long getRetryDelayNanos(byte[] serializedStatus) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(serializedStatus);
+    while (true) {
+      int tag = input.readTag();
+      switch (tag) {
+        case 0:
+          return -1;
+        case 26:
+          long retryDelayNanos = getRetryInfoDelayNanos(input.readBytes());
+          if (retryDelayNanos >= 0) {
+            return retryDelayNanos;
+          }
+          break;
+        default:
+          input.skipField(tag);
+          break;
+      }
+    }
+  }
+
+  // Parses a google.protobuf.Any, returning -1 if it is not a RetryInfo with a delay.
+  private static long getRetryInfoDelayNanos(byte[] serializedAny) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(serializedAny);
+    String typeUrl = "";
+    @Nullable byte[] value = null;
+    boolean done = false;
+    while (!done) {
+      int tag = input.readTag();
+      switch (tag) {
+        case 0:
+          done = true;
+          break;
+        case 10:
+          typeUrl = input.readStringRequireUtf8();
+          break;
+        case 18:
+          value = input.readBytes();
+          break;
+        default:
+          input.skipField(tag);
+          break;
+      }
+    }
+    if (!typeUrl.equals(RETRY_INFO_TYPE) || value == null) {
+      return -1;
+    }
+    input = CodedInputStream.newInstance(value);
+    while (true) {
+      int tag = input.readTag();
+      switch (tag) {
+        case 0:
+          return -1;
+        case 10:
+          return getDurationNanos(input.readBytes());
+        default:
+          input.skipField(tag);
+          break;
+      }
+    }
+  }
+
+  // Parses a google.protobuf.Duration.
+  private static long getDurationNanos(byte[] serializedDuration) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(serializedDuration);
+    long seconds = 0;
+    long nanos = 0;
+    boolean done = false;
+    while (!done) {
+      int tag = input.readTag();
+      switch (tag) {
+        case 0:
+          done = true;
+          break;
+        case 8:
+          seconds = input.readRawVarint64();
+          break;
+        case 16:
+          nanos = input.readRawVarint32();
+          break;
+        default:
+          input.skipField(tag);
+          break;
+      }
+    }
+    return Math.max(0, TimeUnit.SECONDS.toNanos(seconds) + nanos);
+  }
+
+  // From grpc-java
+
+  /** Unescape the provided ascii {@code grpc-message} to a unicode {@link String}. */
+  public static String unescapeMessage(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < ' ' || c >= '~' || (c == '%' && i + 2 < value.length())) {
+        return doUnescape(value.getBytes(StandardCharsets.US_ASCII));
+      }
+    }
+    return value;
+  }
+
+  private static String doUnescape(byte[] value) {
+    ByteBuffer buf = ByteBuffer.allocate(value.length);
+    for (int i = 0; i < value.length; ) {
+      if (value[i] == '%' && i + 2 < value.length) {
+        try {
+          buf.put((byte) Integer.parseInt(new String(value, i + 1, 2, StandardCharsets.UTF_8), 16));
+          i += 3;
+          continue;
+        } catch (NumberFormatException e) {
+          // ignore, fall through, just push the bytes.
+        }
+      }
+      buf.put(value[i]);
+      i += 1;
+    }
+    return new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8);
+  }
+
   private GrpcStatusUtil() {}
 }
@@ -23,16 +23,22 @@
 
 package io.opentelemetry.exporter.internal.grpc;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.disk.DiskBufferingExporter;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.StreamingMarshaler;
 import io.opentelemetry.exporter.internal.retry.RetryUtil;
+import io.opentelemetry.exporter.internal.retry.Throttle;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -65,45 +71,73 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
 
   private final String type;
   private final ExporterMetrics exporterMetrics;
-  private final OkHttpClient client;
+  private final OkHttpClient[] clients;
+  private final Attributes[] connectionAttributes;
+  private final AtomicIntegerArray inFlight;
+  private final AtomicInteger nextClient = new AtomicInteger();
   private final HttpUrl url;
   private final Headers headers;
-  private final boolean compressionEnabled;
+  @Nullable private final Compressor compressor;
+  private final Throttle throttle = new Throttle();
 
   /** Creates a new {@link OkHttpGrpcExporter}. */
   OkHttpGrpcExporter(
       String exporterName,
       String type,
-      OkHttpClient client,
+      OkHttpClient[] clients,
       MeterProvider meterProvider,
       String endpoint,
       Headers headers,
-      boolean compressionEnabled) {
+      @Nullable Compressor compressor) {
     this.type = type;
     this.exporterMetrics = ExporterMetrics.createGrpcOkHttp(exporterName, type, meterProvider);
-    this.client = client;
+    this.clients = clients;
+    this.connectionAttributes = new Attributes[clients.length];
+    for (int i = 0; i < clients.length; i++) {
+      connectionAttributes[i] = exporterMetrics.connectionAttributes(i);
+    }
+    this.inFlight = new AtomicIntegerArray(clients.length);
     this.url = HttpUrl.get(endpoint);
     this.headers = headers;
-    this.compressionEnabled = compressionEnabled;
+    this.compressor = compressor;
   }
 
   @Override
   public CompletableResultCode export(T exportRequest, int numItems) {
     exporterMetrics.addSeen(numItems);
 
+    long throttledNanos = throttle.remainingNanos();
+    if (throttledNanos > 0) {
+      exporterMetrics.addFailed(numItems);
+      logger.log(
+          Level.WARNING,
+          "Failed to export "
+              + type
+              + "s. The server asked to wait "
+              + TimeUnit.NANOSECONDS.toMillis(throttledNanos)
+              + " ms before sending more requests.");
+      return CompletableResultCode.ofFailure();
+    }
+
     Request.Builder requestBuilder = new Request.Builder().url(url).headers(headers);
 
-    RequestBody requestBody = new GrpcRequestBody(exportRequest, compressionEnabled);
+    RequestBody requestBody = new GrpcRequestBody(exportRequest, compressor);
     requestBuilder.post(requestBody);
 
     CompletableResultCode result = new CompletableResultCode();
 
-    client
+    int connection = nextConnection();
+    inFlight.incrementAndGet(connection);
+    exporterMetrics.addInFlight(1, connectionAttributes[connection]);
+
+    clients[connection]
         .newCall(requestBuilder.build())
         .enqueue(
             new Callback() {
               @Override
               public void onFailure(Call call, IOException e) {
+                completed(connection);
+                StreamingMarshaler.release(exportRequest);
                 exporterMetrics.addFailed(numItems);
                 logger.log(
                     Level.SEVERE,
@@ -116,6 +150,9 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
 
               @Override
               public void onResponse(Call call, Response response) {
+                completed(connection);
+                // The request body, including any retries, has been written by now.
+                StreamingMarshaler.release(exportRequest);
                 // Response body is empty but must be consumed to access trailers.
                 try {
                   response.body().bytes();
@@ -137,6 +174,10 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
                 }
 
                 exporterMetrics.addFailed(numItems);
+                throttle.throttle(retryDelayNanos(response));
+                if (status != null && !RetryUtil.retryableGrpcStatusCodes().contains(status)) {
+                  DiskBufferingExporter.rejected(exportRequest);
+                }
 
                 String codeMessage =
                     status != null
@@ -174,6 +215,34 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
     return result;
   }
 
+  /**
+   * Returns the connection with the fewest exports in flight, starting from the next one in
+   * round-robin order so that idle connections take turns.
+   */
+  private int nextConnection() {
+    int count = clients.length;
+    if (count == 1) {
+      return 0;
+    }
+    int start = Math.floorMod(nextClient.getAndIncrement(), count);
+    int best = start;
+    int bestInFlight = inFlight.get(start);
+    for (int i = 1; i < count && bestInFlight > 0; i++) {
+      int candidate = (start + i) % count;
+      int candidateInFlight = inFlight.get(candidate);
+      if (candidateInFlight < bestInFlight) {
+        best = candidate;
+        bestInFlight = candidateInFlight;
+      }
+    }
+    return best;
+  }
+
+  private void completed(int connection) {
+    inFlight.decrementAndGet(connection);
+    exporterMetrics.addInFlight(-1, connectionAttributes[connection]);
+  }
+
   @Nullable
   private static String grpcStatus(Response response) {
     // Status can either be in the headers or trailers depending on error
@@ -189,6 +258,18 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
     return grpcStatus;
   }
 
+  private static long retryDelayNanos(Response response) {
+    long retryDelayNanos = RetryUtil.retryDelayNanos(response.headers());
+    if (retryDelayNanos < 0) {
+      try {
+        retryDelayNanos = RetryUtil.retryDelayNanos(response.trailers());
+      } catch (IOException e) {
+        // Fall through
+      }
+    }
+    return retryDelayNanos;
+  }
+
   private static String grpcMessage(Response response) {
     String message = response.header(GRPC_MESSAGE);
     if (message == null) {
@@ -199,7 +280,7 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
       }
     }
     if (message != null) {
-      return unescape(message);
+      return GrpcStatusUtil.unescapeMessage(message);
     }
     // Couldn't get message for some reason, use the HTTP status.
     return response.message();
@@ -207,9 +288,12 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
 
   @Override
   public CompletableResultCode shutdown() {
-    client.dispatcher().cancelAll();
-    client.dispatcher().executorService().shutdownNow();
-    client.connectionPool().evictAll();
+    // The clients share the dispatcher.
+    clients[0].dispatcher().cancelAll();
+    clients[0].dispatcher().executorService().shutdownNow();
+    for (OkHttpClient client : clients) {
+      client.connectionPool().evictAll();
+    }
     return CompletableResultCode.ofSuccess();
   }
 
@@ -225,35 +309,4 @@ public final class OkHttpGrpcExporter<T extends Marshaler> implements GrpcExport
     String grpcStatus = response.header(GRPC_STATUS);
     return RetryUtil.retryableGrpcStatusCodes().contains(grpcStatus);
   }
-
-  // From grpc-java
-
-  /** Unescape the provided ascii to a unicode {@link String}. */
-  private static String unescape(String value) {
-    for (int i = 0; i < value.length(); i++) {
-      char c = value.charAt(i);
-      if (c < ' ' || c >= '~' || (c == '%' && i + 2 < value.length())) {
-        return doUnescape(value.getBytes(StandardCharsets.US_ASCII));
-      }
-    }
-    return value;
-  }
-
-  private static String doUnescape(byte[] value) {
-    ByteBuffer buf = ByteBuffer.allocate(value.length);
-    for (int i = 0; i < value.length; ) {
-      if (value[i] == '%' && i + 2 < value.length) {
-        try {
-          buf.put((byte) Integer.parseInt(new String(value, i + 1, 2, StandardCharsets.UTF_8), 16));
-          i += 3;
-          continue;
-        } catch (NumberFormatException e) {
-          // ignore, fall through, just push the bytes.
-        }
-      }
-      buf.put(value[i]);
-      i += 1;
-    }
-    return new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8);
-  }
 }
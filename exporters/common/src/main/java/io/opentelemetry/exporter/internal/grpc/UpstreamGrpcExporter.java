@@ -8,12 +8,17 @@ package io.opentelemetry.exporter.internal.grpc;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Metadata;
 import io.grpc.Status;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.disk.DiskBufferingExporter;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.retry.RetryUtil;
+import io.opentelemetry.exporter.internal.retry.Throttle;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -31,6 +36,9 @@ public final class UpstreamGrpcExporter<T extends Marshaler> implements GrpcExpo
   private static final Logger internalLogger =
       Logger.getLogger(UpstreamGrpcExporter.class.getName());
 
+  private static final Metadata.Key<byte[]> STATUS_DETAILS_KEY =
+      Metadata.Key.of(GrpcStatusUtil.GRPC_STATUS_DETAILS, Metadata.BINARY_BYTE_MARSHALLER);
+
   private final ThrottlingLogger logger = new ThrottlingLogger(internalLogger);
 
   // We only log unavailable once since it's a configuration issue that won't be recovered.
@@ -40,6 +48,7 @@ public final class UpstreamGrpcExporter<T extends Marshaler> implements GrpcExpo
   private final ExporterMetrics exporterMetrics;
   private final MarshalerServiceStub<T, ?, ?> stub;
   private final long timeoutNanos;
+  private final Throttle throttle = new Throttle();
 
   /** Creates a new {@link UpstreamGrpcExporter}. */
   UpstreamGrpcExporter(
@@ -58,6 +67,19 @@ public final class UpstreamGrpcExporter<T extends Marshaler> implements GrpcExpo
   public CompletableResultCode export(T exportRequest, int numItems) {
     exporterMetrics.addSeen(numItems);
 
+    long throttledNanos = throttle.remainingNanos();
+    if (throttledNanos > 0) {
+      exporterMetrics.addFailed(numItems);
+      logger.log(
+          Level.WARNING,
+          "Failed to export "
+              + type
+              + "s. The server asked to wait "
+              + TimeUnit.NANOSECONDS.toMillis(throttledNanos)
+              + " ms before sending more requests.");
+      return CompletableResultCode.ofFailure();
+    }
+
     CompletableResultCode result = new CompletableResultCode();
 
     MarshalerServiceStub<T, ?, ?> stub = this.stub;
@@ -76,7 +98,12 @@ public final class UpstreamGrpcExporter<T extends Marshaler> implements GrpcExpo
           @Override
           public void onFailure(Throwable t) {
             exporterMetrics.addFailed(numItems);
+            throttle.throttle(retryDelayNanos(t));
             Status status = Status.fromThrowable(t);
+            if (!RetryUtil.retryableGrpcStatusCodes()
+                .contains(String.valueOf(status.getCode().value()))) {
+              DiskBufferingExporter.rejected(exportRequest);
+            }
             switch (status.getCode()) {
               case UNIMPLEMENTED:
                 if (loggedUnimplemented.compareAndSet(false, true)) {
@@ -115,6 +142,19 @@ public final class UpstreamGrpcExporter<T extends Marshaler> implements GrpcExpo
     return result;
   }
 
+  private static long retryDelayNanos(Throwable t) {
+    Metadata trailers = Status.trailersFromThrowable(t);
+    byte[] details = trailers != null ? trailers.get(STATUS_DETAILS_KEY) : null;
+    if (details == null) {
+      return -1;
+    }
+    try {
+      return GrpcStatusUtil.getRetryDelayNanos(details);
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
   @Override
   public CompletableResultCode shutdown() {
     return CompletableResultCode.ofSuccess();
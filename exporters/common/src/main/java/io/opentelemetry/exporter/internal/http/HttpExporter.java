@@ -0,0 +1,27 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.http;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+
+/**
+ * An exporter of a {@link Marshaler} for http/protobuf or http/json.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface HttpExporter<T extends Marshaler> {
+
+  /**
+   * Exports the {@code exportRequest} which is a request {@link Marshaler} for {@code numItems}
+   * items.
+   */
+  CompletableResultCode export(T exportRequest, int numItems);
+
+  /** Shuts the exporter down. */
+  CompletableResultCode shutdown();
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.http;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.exporter.internal.auth.Authenticator;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.retry.RetryPolicy;
+import java.util.Collections;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.net.ssl.X509KeyManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * The configuration of an exporter created by an {@link HttpTransportProvider}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+@AutoValue
+public abstract class HttpTransportConfig {
+
+  /** Returns a new {@link Builder} with the defaults of the exporter builders. */
+  public static Builder builder() {
+    return new AutoValue_HttpTransportConfig.Builder()
+        .setHeaders(Collections.emptyMap())
+        .setExportAsJson(false)
+        .setMeterProvider(MeterProvider.noop())
+        .setConnectionCount(1)
+        .setMaxConcurrentExports(0);
+  }
+
+  HttpTransportConfig() {}
+
+  /** Returns the name of the exporter, used for its metrics. */
+  public abstract String getExporterName();
+
+  /** Returns the type of the exported items, e.g. {@code span}. */
+  public abstract String getType();
+
+  /** Returns the full URL requests are sent to, including the path of a gRPC method. */
+  public abstract String getEndpoint();
+
+  /** Returns the headers to add to every request. */
+  public abstract Map<String, String> getHeaders();
+
+  /** Returns the {@link Compressor} of the requests, or {@code null} to not compress them. */
+  @Nullable
+  public abstract Compressor getCompressor();
+
+  /** Returns the timeout of an export, including its retries, or 0 for none. */
+  public abstract long getTimeoutNanos();
+
+  /** Returns whether http exporters send http/json rather than http/protobuf. */
+  public abstract boolean getExportAsJson();
+
+  /** Returns the trusted certificates, or {@code null} to use the default ones. */
+  @Nullable
+  public abstract X509TrustManager getTrustManager();
+
+  /** Returns the client certificate, or {@code null} for none. */
+  @Nullable
+  public abstract X509KeyManager getKeyManager();
+
+  /** Returns the {@link RetryPolicy}, or {@code null} to not retry failed requests. */
+  @Nullable
+  public abstract RetryPolicy getRetryPolicy();
+
+  /**
+   * Returns the {@link Authenticator} asked for headers when the server responds with 401, or
+   * {@code null} for none.
+   */
+  @Nullable
+  public abstract Authenticator getAuthenticator();
+
+  /** Returns the {@link MeterProvider} to record the metrics of the exporter with. */
+  public abstract MeterProvider getMeterProvider();
+
+  /** Returns the number of connections to spread gRPC exports over. */
+  public abstract int getConnectionCount();
+
+  /** Returns the max number of exports in flight at the same time, or 0 for no limit. */
+  public abstract int getMaxConcurrentExports();
+
+  /** A builder for {@link HttpTransportConfig}. */
+  @AutoValue.Builder
+  @SuppressWarnings("checkstyle:JavadocMethod")
+  public abstract static class Builder {
+
+    Builder() {}
+
+    public abstract Builder setExporterName(String exporterName);
+
+    public abstract Builder setType(String type);
+
+    public abstract Builder setEndpoint(String endpoint);
+
+    public abstract Builder setHeaders(Map<String, String> headers);
+
+    public abstract Builder setCompressor(@Nullable Compressor compressor);
+
+    public abstract Builder setTimeoutNanos(long timeoutNanos);
+
+    public abstract Builder setExportAsJson(boolean exportAsJson);
+
+    public abstract Builder setTrustManager(@Nullable X509TrustManager trustManager);
+
+    public abstract Builder setKeyManager(@Nullable X509KeyManager keyManager);
+
+    public abstract Builder setRetryPolicy(@Nullable RetryPolicy retryPolicy);
+
+    public abstract Builder setAuthenticator(@Nullable Authenticator authenticator);
+
+    public abstract Builder setMeterProvider(MeterProvider meterProvider);
+
+    public abstract Builder setConnectionCount(int connectionCount);
+
+    public abstract Builder setMaxConcurrentExports(int maxConcurrentExports);
+
+    public abstract HttpTransportConfig build();
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.http;
+
+import io.opentelemetry.exporter.internal.grpc.GrpcExporter;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import java.util.ServiceLoader;
+import javax.annotation.Nullable;
+
+/**
+ * A provider of an HTTP client for exporters, loaded with {@link ServiceLoader}. When one is on the
+ * classpath, the OTLP exporters send with it instead of OkHttp, unless configured with a gRPC
+ * {@code ManagedChannel}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface HttpTransportProvider {
+
+  /** Returns a new {@link HttpExporter} for http/protobuf, or http/json if configured. */
+  <T extends Marshaler> HttpExporter<T> createHttpExporter(HttpTransportConfig config);
+
+  /**
+   * Returns a new {@link GrpcExporter}, or {@code null} if the client cannot export to the
+   * configured endpoint, in which case OkHttp is used.
+   */
+  @Nullable
+  <T extends Marshaler> GrpcExporter<T> createGrpcExporter(HttpTransportConfig config);
+}
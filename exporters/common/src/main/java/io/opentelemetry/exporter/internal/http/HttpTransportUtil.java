@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.http;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Utilities for looking up the {@link HttpTransportProvider}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class HttpTransportUtil {
+
+  private static final Logger logger = Logger.getLogger(HttpTransportUtil.class.getName());
+
+  @Nullable private static final HttpTransportProvider PROVIDER = loadProvider();
+
+  private HttpTransportUtil() {}
+
+  /**
+   * Returns the {@link HttpTransportProvider} found on the classpath, or {@code null} if there is
+   * none and exporters should use OkHttp.
+   */
+  @Nullable
+  public static HttpTransportProvider getProvider() {
+    return PROVIDER;
+  }
+
+  @Nullable
+  private static HttpTransportProvider loadProvider() {
+    Iterator<HttpTransportProvider> providers =
+        ServiceLoader.load(HttpTransportProvider.class, HttpTransportUtil.class.getClassLoader())
+            .iterator();
+    while (true) {
+      try {
+        if (!providers.hasNext()) {
+          return null;
+        }
+        return providers.next();
+      } catch (ServiceConfigurationError | LinkageError e) {
+        // e.g. a provider built for a newer Java version than the runtime.
+        logger.log(Level.FINE, "Could not load an HttpTransportProvider, skipping it.", e);
+      }
+    }
+  }
+}
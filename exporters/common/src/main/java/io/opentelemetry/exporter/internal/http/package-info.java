@@ -0,0 +1,10 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/** Pluggable HTTP clients for exporters. */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.exporter.internal.http;
+
+import javax.annotation.ParametersAreNonnullByDefault;
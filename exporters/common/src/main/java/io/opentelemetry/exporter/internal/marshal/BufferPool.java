@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of {@link ProtoWriter}s, used as reusable buffers for serialized requests so that
+ * exporting does not allocate a new array for every request. Buffers that are not released are
+ * simply garbage collected, and new ones are allocated when the pool is empty.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class BufferPool {
+
+  // Enough for a few concurrent exports of each signal.
+  private static final int DEFAULT_MAX_POOLED_BUFFERS = 8;
+  // Don't keep very large buffers around after unusually large requests.
+  private static final int DEFAULT_MAX_RETAINED_CAPACITY = 4 * 1024 * 1024;
+
+  private static final BufferPool DEFAULT =
+      new BufferPool(DEFAULT_MAX_POOLED_BUFFERS, DEFAULT_MAX_RETAINED_CAPACITY);
+
+  private final BlockingQueue<ProtoWriter> buffers;
+  private final int maxRetainedCapacity;
+
+  /** Returns the {@link BufferPool} shared by exporters. */
+  public static BufferPool getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Creates a {@link BufferPool} retaining at most {@code maxPooledBuffers} released buffers, each
+   * with a capacity of at most {@code maxRetainedCapacity} bytes.
+   */
+  public BufferPool(int maxPooledBuffers, int maxRetainedCapacity) {
+    buffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+    this.maxRetainedCapacity = maxRetainedCapacity;
+  }
+
+  /** Returns an empty buffer, reusing a released one if available. */
+  public ProtoWriter acquire() {
+    ProtoWriter buffer = buffers.poll();
+    if (buffer == null) {
+      return new ProtoWriter();
+    }
+    buffer.reset();
+    return buffer;
+  }
+
+  /**
+   * Returns the buffer to the pool. It must not be used after calling this method, by the caller or
+   * anything it was passed to.
+   */
+  public void release(ProtoWriter buffer) {
+    if (buffer.capacity() <= maxRetainedCapacity) {
+      buffers.offer(buffer);
+    }
+  }
+
+  // Visible for testing
+  int size() {
+    return buffers.size();
+  }
+}
@@ -42,6 +42,7 @@ import static io.opentelemetry.exporter.internal.marshal.WireFormat.MAX_VARINT_S
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Minimal copy of protobuf-java's CodedInputStream, currently only used in GrpcStatusUtil.
@@ -102,6 +103,20 @@ public final class CodedInputStream {
     throw newTruncatedException();
   }
 
+  /** Reads a bytes field. */
+  public byte[] readBytes() throws IOException {
+    final int size = readRawVarint32();
+    if (size < 0) {
+      throw newNegativeException();
+    }
+    if (size > limit - pos) {
+      throw newTruncatedException();
+    }
+    byte[] result = Arrays.copyOfRange(buffer, pos, pos + size);
+    pos += size;
+    return result;
+  }
+
   /** Skips a field. */
   public boolean skipField(final int tag) throws IOException {
     switch (WireFormat.getTagWireType(tag)) {
@@ -169,6 +184,11 @@ public final class CodedInputStream {
     return (int) readRawVarint64SlowPath();
   }
 
+  /** Read varint64. */
+  public long readRawVarint64() throws IOException {
+    return readRawVarint64SlowPath();
+  }
+
   private long readRawVarint64SlowPath() throws IOException {
     long result = 0;
     for (int shift = 0; shift < 64; shift += 7) {
@@ -87,15 +87,22 @@ public abstract class CodedOutputStream {
    * <p>NOTE: The provided {@link OutputStream} <strong>MUST NOT</strong> retain access or modify
    * the provided byte arrays. Doing so may result in corrupted data, which would be difficult to
    * debug.
+   *
+   * <p>The instance is reused by the thread once {@link #release()} is called. If the thread's
+   * instance is still in use, e.g. when a message is serialized while serializing another, a new
+   * instance is returned.
    */
   static CodedOutputStream newInstance(final OutputStream output) {
     OutputStreamEncoder cos = THREAD_LOCAL_CODED_OUTPUT_STREAM.get();
     if (cos == null) {
       cos = new OutputStreamEncoder(output);
       THREAD_LOCAL_CODED_OUTPUT_STREAM.set(cos);
+    } else if (cos.inUse) {
+      return new OutputStreamEncoder(output);
     } else {
       cos.reset(output);
     }
+    cos.inUse = true;
     return cos;
   }
 
@@ -365,6 +372,9 @@ public abstract class CodedOutputStream {
    */
   abstract void flush() throws IOException;
 
+  /** Allows this instance to be returned again by {@link #newInstance(OutputStream)}. */
+  abstract void release();
+
   // =================================================================
 
   /** Write a {@code bytes} field to the stream. */
@@ -465,6 +475,7 @@ public abstract class CodedOutputStream {
    */
   private static final class OutputStreamEncoder extends AbstractBufferedEncoder {
     private OutputStream out;
+    private boolean inUse;
 
     OutputStreamEncoder(OutputStream out) {
       super(DEFAULT_BUFFER_SIZE);
@@ -534,6 +545,11 @@ public abstract class CodedOutputStream {
       }
     }
 
+    @Override
+    void release() {
+      inUse = false;
+    }
+
     @Override
     void write(byte[] value, int offset, int length) throws IOException {
       if (limit - position >= length) {
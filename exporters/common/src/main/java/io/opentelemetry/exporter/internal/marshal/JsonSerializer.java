@@ -5,181 +5,493 @@
 
 package io.opentelemetry.exporter.internal.marshal;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Serializes into protobuf JSON format, writing UTF-8 directly into a buffer which is flushed to
+ * the {@link OutputStream} whenever it fills up. Strings are already encoded as UTF-8 by the
+ * marshalers, so they are only escaped, field names are encoded once per {@link ProtoFieldInfo},
+ * and numbers are written digit by digit without creating a {@link String}. As in the protobuf JSON
+ * mapping, 64-bit integers are written as strings and {@code bytes} as base64.
+ */
 final class JsonSerializer extends Serializer {
 
-  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final int BUFFER_SIZE = 8192;
+  // Enough for a few concurrent exports of each signal, like BufferPool.
+  private static final int MAX_POOLED_BUFFERS = 8;
+  private static final BlockingQueue<byte[]> BUFFERS = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+  private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+  private static final byte[] LONG_MIN_VALUE =
+      Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] NAN = {'"', 'N', 'a', 'N', '"'};
+  private static final byte[] POSITIVE_INFINITY = {
+    '"', 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y', '"'
+  };
+  private static final byte[] NEGATIVE_INFINITY = {
+    '"', '-', 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y', '"'
+  };
+  private static final byte[] HEX_DIGITS = {
+    '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+  };
+  private static final byte[] BASE64_DIGITS =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+          .getBytes(StandardCharsets.US_ASCII);
+
+  // Doubles below this are written as a long followed by .0 when they have no fraction, the same as
+  // Double.toString.
+  private static final double MAX_PLAIN_INTEGRAL_DOUBLE = 1e7;
+
+  // The character following a backslash to escape each ASCII byte, 'u' for \\u00XX, or 0 if the
+  // byte is written as is. Bytes of multi-byte UTF-8 characters are always written as is.
+  private static final byte[] ESCAPES = new byte[128];
+
+  static {
+    for (int i = 0; i < 0x20; i++) {
+      ESCAPES[i] = 'u';
+    }
+    ESCAPES['\b'] = 'b';
+    ESCAPES['\t'] = 't';
+    ESCAPES['\n'] = 'n';
+    ESCAPES['\f'] = 'f';
+    ESCAPES['\r'] = 'r';
+    ESCAPES['"'] = '"';
+    ESCAPES['\\'] = '\\';
+  }
+
+  private final OutputStream output;
+  private final byte[] buffer;
+  private int position;
+  private boolean closed;
 
-  private final JsonGenerator generator;
+  // Whether the object or array at each depth has a value already, which the next one follows
+  // after a comma.
+  private boolean[] hasValue = new boolean[16];
+  private int depth;
 
-  JsonSerializer(OutputStream output) throws IOException {
-    this(JSON_FACTORY.createGenerator(output));
+  JsonSerializer(OutputStream output) {
+    this.output = output;
+    byte[] buffer = BUFFERS.poll();
+    this.buffer = buffer != null ? buffer : new byte[BUFFER_SIZE];
   }
 
-  JsonSerializer(JsonGenerator generator) {
-    this.generator = generator;
+  /** Returns the JSON encoding of a field name, quoted and followed by a colon. */
+  static byte[] encodeFieldName(String jsonName) {
+    byte[] utf8 = jsonName.getBytes(StandardCharsets.UTF_8);
+    byte[] fieldName = new byte[utf8.length + 3];
+    fieldName[0] = '"';
+    System.arraycopy(utf8, 0, fieldName, 1, utf8.length);
+    fieldName[utf8.length + 1] = '"';
+    fieldName[utf8.length + 2] = ':';
+    for (byte b : utf8) {
+      if (b >= 0 && ESCAPES[b] != 0) {
+        throw new IllegalArgumentException("JSON name must not need escaping: " + jsonName);
+      }
+    }
+    return fieldName;
   }
 
   @Override
   protected void writeTraceId(ProtoFieldInfo field, String traceId) throws IOException {
-    generator.writeStringField(field.getJsonName(), traceId);
+    writeFieldName(field);
+    writeAsciiString(traceId);
   }
 
   @Override
   protected void writeSpanId(ProtoFieldInfo field, String spanId) throws IOException {
-    generator.writeStringField(field.getJsonName(), spanId);
+    writeFieldName(field);
+    writeAsciiString(spanId);
   }
 
   @Override
   public void writeBool(ProtoFieldInfo field, boolean value) throws IOException {
-    generator.writeBooleanField(field.getJsonName(), value);
+    writeFieldName(field);
+    writeRaw(value ? TRUE : FALSE);
   }
 
   @Override
   protected void writeEnum(ProtoFieldInfo field, ProtoEnumInfo enumValue) throws IOException {
-    generator.writeNumberField(field.getJsonName(), enumValue.getEnumNumber());
+    writeFieldName(field);
+    writeLong(enumValue.getEnumNumber());
   }
 
   @Override
   protected void writeUint32(ProtoFieldInfo field, int value) throws IOException {
-    generator.writeNumberField(field.getJsonName(), value);
+    writeFieldName(field);
+    writeLong(value);
   }
 
   @Override
   protected void writeSInt32(ProtoFieldInfo field, int value) throws IOException {
-    generator.writeNumberField(field.getJsonName(), value);
+    writeFieldName(field);
+    writeLong(value);
   }
 
   @Override
   protected void writeint32(ProtoFieldInfo field, int value) throws IOException {
-    generator.writeNumberField(field.getJsonName(), value);
+    writeFieldName(field);
+    writeLong(value);
   }
 
   @Override
   public void writeInt64(ProtoFieldInfo field, long value) throws IOException {
-    generator.writeStringField(field.getJsonName(), Long.toString(value));
+    writeFieldName(field);
+    writeQuotedLong(value);
   }
 
   @Override
   protected void writeFixed64(ProtoFieldInfo field, long value) throws IOException {
-    generator.writeStringField(field.getJsonName(), Long.toString(value));
+    writeFieldName(field);
+    writeQuotedUnsignedLong(value);
+  }
+
+  @Override
+  protected void writeSFixed64(ProtoFieldInfo field, long value) throws IOException {
+    writeFieldName(field);
+    writeQuotedLong(value);
   }
 
   @Override
   protected void writeFixed64Value(long value) throws IOException {
-    generator.writeString(Long.toString(value));
+    beforeValue();
+    writeQuotedUnsignedLong(value);
   }
 
   @Override
   protected void writeUInt64Value(long value) throws IOException {
-    generator.writeString(Long.toString(value));
+    beforeValue();
+    writeQuotedUnsignedLong(value);
   }
 
   @Override
   protected void writeFixed32(ProtoFieldInfo field, int value) throws IOException {
-    generator.writeNumberField(field.getJsonName(), value);
+    writeFieldName(field);
+    writeLong(value);
   }
 
   @Override
   public void writeDouble(ProtoFieldInfo field, double value) throws IOException {
-    generator.writeNumberField(field.getJsonName(), value);
+    writeFieldName(field);
+    writeDouble(value);
   }
 
   @Override
   protected void writeDoubleValue(double value) throws IOException {
-    generator.writeNumber(value);
+    beforeValue();
+    writeDouble(value);
   }
 
   @Override
   public void writeString(ProtoFieldInfo field, byte[] utf8Bytes) throws IOException {
-    generator.writeFieldName(field.getJsonName());
-    // Marshalers encoded String into UTF-8 bytes to optimize for binary serialization where
-    // we are able to avoid the encoding process happening twice, one for size computation and one
-    // for actual writing. JsonGenerator actually has a writeUTF8String that would be able to accept
-    // this, but it only works when writing to an OutputStream, but not to a String like we do for
-    // writing to logs. It's wasteful to take a String, convert it to bytes, and convert back to
-    // the same String but we can see if this can be improved in the future.
-    generator.writeString(new String(utf8Bytes, StandardCharsets.UTF_8));
+    writeFieldName(field);
+    writeByte('"');
+    writeEscaped(utf8Bytes);
+    writeByte('"');
   }
 
   @Override
   protected void writeBytes(ProtoFieldInfo field, byte[] value) throws IOException {
-    generator.writeBinaryField(field.getJsonName(), value);
+    writeFieldName(field);
+    writeByte('"');
+    writeBase64(value);
+    writeByte('"');
   }
 
   @Override
   protected void writeStartMessage(ProtoFieldInfo field, int protoMessageSize) throws IOException {
-    generator.writeObjectFieldStart(field.getJsonName());
+    writeFieldName(field);
+    startContainer('{');
   }
 
   @Override
   protected void writeEndMessage() throws IOException {
-    generator.writeEndObject();
+    endContainer('}');
   }
 
   @Override
   protected void writeStartRepeatedPrimitive(
       ProtoFieldInfo field, int protoSizePerElement, int numElements) throws IOException {
-    generator.writeArrayFieldStart(field.getJsonName());
+    writeFieldName(field);
+    startContainer('[');
   }
 
   @Override
   protected void writeEndRepeatedPrimitive() throws IOException {
-    generator.writeEndArray();
+    endContainer(']');
   }
 
   @Override
   protected void writeStartRepeatedVarint(ProtoFieldInfo field, int payloadSize)
       throws IOException {
-    generator.writeArrayFieldStart(field.getJsonName());
+    writeFieldName(field);
+    startContainer('[');
   }
 
   @Override
   protected void writeEndRepeatedVarint() throws IOException {
-    generator.writeEndArray();
+    endContainer(']');
   }
 
   @Override
   public void serializeRepeatedMessage(ProtoFieldInfo field, Marshaler[] repeatedMessage)
       throws IOException {
-    generator.writeArrayFieldStart(field.getJsonName());
+    writeFieldName(field);
+    startContainer('[');
     for (Marshaler marshaler : repeatedMessage) {
       writeMessageValue(marshaler);
     }
-    generator.writeEndArray();
+    endContainer(']');
   }
 
   @Override
   public void serializeRepeatedMessage(
       ProtoFieldInfo field, List<? extends Marshaler> repeatedMessage) throws IOException {
-    generator.writeArrayFieldStart(field.getJsonName());
+    writeFieldName(field);
+    startContainer('[');
     for (Marshaler marshaler : repeatedMessage) {
       writeMessageValue(marshaler);
     }
-    generator.writeEndArray();
+    endContainer(']');
   }
 
   // Not a field.
   void writeMessageValue(Marshaler message) throws IOException {
-    generator.writeStartObject();
+    beforeValue();
+    startContainer('{');
     message.writeTo(this);
-    generator.writeEndObject();
+    endContainer('}');
   }
 
   @Override
-  public void writeSerializedMessage(byte[] protoSerialized, String jsonSerialized)
+  public void writeSerializedMessage(byte[] protoSerialized, byte[] jsonSerialized)
       throws IOException {
-    generator.writeRaw(jsonSerialized);
+    writeSerializedJson(jsonSerialized);
+  }
+
+  @Override
+  public void writeSerializedFields(PreserializedFields fields) throws IOException {
+    writeSerializedJson(fields.getSerializedJson());
+  }
+
+  /** Writes fields serialized with {@link #writeMessageFields(Marshaler)}. */
+  private void writeSerializedJson(byte[] fields) throws IOException {
+    if (fields.length == 0) {
+      return;
+    }
+    beforeValue();
+    writeRaw(fields);
   }
 
   @Override
   public void close() throws IOException {
-    generator.close();
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      flushBuffer();
+      output.flush();
+    } finally {
+      BUFFERS.offer(buffer);
+    }
+  }
+
+  private void writeFieldName(ProtoFieldInfo field) throws IOException {
+    beforeValue();
+    writeRaw(field.getJsonFieldName());
+  }
+
+  private void beforeValue() throws IOException {
+    if (hasValue[depth]) {
+      writeByte(',');
+    } else {
+      hasValue[depth] = true;
+    }
+  }
+
+  private void startContainer(char start) throws IOException {
+    writeByte(start);
+    depth++;
+    if (depth == hasValue.length) {
+      hasValue = Arrays.copyOf(hasValue, depth * 2);
+    }
+    hasValue[depth] = false;
+  }
+
+  private void endContainer(char end) throws IOException {
+    depth--;
+    writeByte(end);
+  }
+
+  /** Writes a string known to be ASCII without characters to escape, e.g. a hex ID. */
+  private void writeAsciiString(String value) throws IOException {
+    int length = value.length();
+    if (length + 2 > buffer.length) {
+      writeByte('"');
+      writeEscaped(value.getBytes(StandardCharsets.UTF_8));
+      writeByte('"');
+      return;
+    }
+    ensureCapacity(length + 2);
+    byte[] buffer = this.buffer;
+    int position = this.position;
+    buffer[position++] = '"';
+    for (int i = 0; i < length; i++) {
+      buffer[position++] = (byte) value.charAt(i);
+    }
+    buffer[position++] = '"';
+    this.position = position;
+  }
+
+  private void writeEscaped(byte[] utf8Bytes) throws IOException {
+    int start = 0;
+    for (int i = 0; i < utf8Bytes.length; i++) {
+      byte b = utf8Bytes[i];
+      if (b < 0 || ESCAPES[b] == 0) {
+        continue;
+      }
+      writeRaw(utf8Bytes, start, i - start);
+      start = i + 1;
+      byte escape = ESCAPES[b];
+      ensureCapacity(6);
+      buffer[position++] = '\\';
+      buffer[position++] = escape;
+      if (escape == 'u') {
+        buffer[position++] = '0';
+        buffer[position++] = '0';
+        buffer[position++] = HEX_DIGITS[b >> 4];
+        buffer[position++] = HEX_DIGITS[b & 0xF];
+      }
+    }
+    writeRaw(utf8Bytes, start, utf8Bytes.length - start);
+  }
+
+  private void writeBase64(byte[] value) throws IOException {
+    int i = 0;
+    for (; i + 3 <= value.length; i += 3) {
+      int bits = (value[i] & 0xFF) << 16 | (value[i + 1] & 0xFF) << 8 | (value[i + 2] & 0xFF);
+      ensureCapacity(4);
+      buffer[position++] = BASE64_DIGITS[bits >>> 18];
+      buffer[position++] = BASE64_DIGITS[(bits >>> 12) & 0x3F];
+      buffer[position++] = BASE64_DIGITS[(bits >>> 6) & 0x3F];
+      buffer[position++] = BASE64_DIGITS[bits & 0x3F];
+    }
+    int remaining = value.length - i;
+    if (remaining == 0) {
+      return;
+    }
+    int bits = (value[i] & 0xFF) << 16 | (remaining == 2 ? (value[i + 1] & 0xFF) << 8 : 0);
+    ensureCapacity(4);
+    buffer[position++] = BASE64_DIGITS[bits >>> 18];
+    buffer[position++] = BASE64_DIGITS[(bits >>> 12) & 0x3F];
+    buffer[position++] = remaining == 2 ? BASE64_DIGITS[(bits >>> 6) & 0x3F] : (byte) '=';
+    buffer[position++] = '=';
+  }
+
+  private void writeDouble(double value) throws IOException {
+    if (Double.isNaN(value)) {
+      writeRaw(NAN);
+    } else if (Double.isInfinite(value)) {
+      writeRaw(value > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+    } else if (value == (long) value
+        && Math.abs(value) < MAX_PLAIN_INTEGRAL_DOUBLE
+        && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+      // Common for metrics, e.g. counts recorded as doubles.
+      writeLong((long) value);
+      ensureCapacity(2);
+      buffer[position++] = '.';
+      buffer[position++] = '0';
+    } else {
+      String string = Double.toString(value);
+      int length = string.length();
+      ensureCapacity(length);
+      for (int i = 0; i < length; i++) {
+        buffer[position++] = (byte) string.charAt(i);
+      }
+    }
+  }
+
+  private void writeQuotedLong(long value) throws IOException {
+    writeByte('"');
+    writeLong(value);
+    writeByte('"');
+  }
+
+  private void writeQuotedUnsignedLong(long value) throws IOException {
+    writeByte('"');
+    if (value >= 0) {
+      writeLong(value);
+    } else {
+      // Same as Long.toUnsignedString, without creating a String.
+      long quotient = (value >>> 1) / 5;
+      writeLong(quotient);
+      writeByte((char) ('0' + (value - quotient * 10)));
+    }
+    writeByte('"');
+  }
+
+  private void writeLong(long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      writeRaw(LONG_MIN_VALUE);
+      return;
+    }
+    // At most 19 digits and a sign.
+    ensureCapacity(20);
+    if (value < 0) {
+      buffer[position++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+      digits++;
+    }
+    int end = position + digits;
+    for (int i = end - 1; i >= position; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    position = end;
+  }
+
+  private void writeByte(char b) throws IOException {
+    ensureCapacity(1);
+    buffer[position++] = (byte) b;
+  }
+
+  private void writeRaw(byte[] bytes) throws IOException {
+    writeRaw(bytes, 0, bytes.length);
+  }
+
+  private void writeRaw(byte[] bytes, int offset, int length) throws IOException {
+    if (length > buffer.length - position) {
+      flushBuffer();
+      if (length > buffer.length) {
+        output.write(bytes, offset, length);
+        return;
+      }
+    }
+    System.arraycopy(bytes, offset, buffer, position, length);
+    position += length;
+  }
+
+  /** Makes room for {@code bytes} in the buffer, which must not be more than its size. */
+  private void ensureCapacity(int bytes) throws IOException {
+    if (bytes > buffer.length - position) {
+      flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    if (position > 0) {
+      output.write(buffer, 0, position);
+      position = 0;
+    }
   }
 }
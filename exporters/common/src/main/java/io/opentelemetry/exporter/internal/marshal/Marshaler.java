@@ -5,7 +5,6 @@
 
 package io.opentelemetry.exporter.internal.marshal;
 
-import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -31,13 +30,6 @@ public abstract class Marshaler {
     }
   }
 
-  /** Marshals into the {@link JsonGenerator} in proto JSON format. */
-  public final void writeJsonTo(JsonGenerator output) throws IOException {
-    try (JsonSerializer serializer = new JsonSerializer(output)) {
-      serializer.writeMessageValue(this);
-    }
-  }
-
   /** Returns the number of bytes this Marshaler will write in proto binary format. */
   public abstract int getBinarySerializedSize();
 
@@ -33,19 +33,6 @@ public final class MarshalerUtil {
   private static final int SPAN_ID_VALUE_SIZE =
       CodedOutputStream.computeLengthDelimitedFieldSize(SpanId.getLength() / 2);
 
-  private static final boolean JSON_AVAILABLE;
-
-  static {
-    boolean jsonAvailable = false;
-    try {
-      Class.forName("com.fasterxml.jackson.core.JsonFactory");
-      jsonAvailable = true;
-    } catch (ClassNotFoundException e) {
-      // Not available
-    }
-    JSON_AVAILABLE = jsonAvailable;
-  }
-
   private static final byte[] EMPTY_BYTES = new byte[0];
 
   /** Groups SDK items by resource and instrumentation scope. */
@@ -69,27 +56,19 @@ public final class MarshalerUtil {
     return result;
   }
 
-  /** Preserialize into JSON format. */
-  public static String preserializeJsonFields(Marshaler marshaler) {
-    if (!MarshalerUtil.JSON_AVAILABLE) {
-      return "";
-    }
-
+  /**
+   * Preserialize into JSON format, returning the UTF-8 encoded fields of the message without the
+   * enclosing braces, to be written with {@link Serializer#writeSerializedMessage(byte[], byte[])}.
+   */
+  public static byte[] preserializeJsonFields(Marshaler marshaler) {
     ByteArrayOutputStream jsonBos = new ByteArrayOutputStream();
-    try {
-      marshaler.writeJsonTo(jsonBos);
+    try (JsonSerializer serializer = new JsonSerializer(jsonBos)) {
+      serializer.writeMessageFields(marshaler);
     } catch (IOException e) {
       throw new UncheckedIOException(
           "Serialization error, this is likely a bug in OpenTelemetry.", e);
     }
-
-    // We effectively cache `writeTo`, however Jackson would not allow us to only write out
-    // fields
-    // which is what writeTo does. So we need to write to an object but skip the object start
-    // /
-    // end.
-    byte[] jsonBytes = jsonBos.toByteArray();
-    return new String(jsonBytes, 1, jsonBytes.length - 2, StandardCharsets.UTF_8);
+    return jsonBos.toByteArray();
   }
 
   /** Returns the size of a repeated fixed64 field. */
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.annotation.Nullable;
+
+/**
+ * Some of the fields of a message which do not change between exports, e.g. the name and unit of a
+ * metric, serialized once so they can be cached and written as is with {@link
+ * Serializer#writeSerializedFields(PreserializedFields)}. The binary format is serialized up front,
+ * while JSON is only serialized the first time it is written.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class PreserializedFields {
+
+  private final byte[] serializedBinary;
+  private final Marshaler fields;
+
+  @Nullable private volatile byte[] serializedJson;
+
+  /** Returns {@link PreserializedFields} of the fields written by the {@link Marshaler}. */
+  public static PreserializedFields create(Marshaler fields) {
+    ByteArrayOutputStream binaryBos = new ByteArrayOutputStream(fields.getBinarySerializedSize());
+    try {
+      fields.writeBinaryTo(binaryBos);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Serialization error, this is likely a bug in OpenTelemetry.", e);
+    }
+    return new PreserializedFields(binaryBos.toByteArray(), fields);
+  }
+
+  private PreserializedFields(byte[] serializedBinary, Marshaler fields) {
+    this.serializedBinary = serializedBinary;
+    this.fields = fields;
+  }
+
+  /** Returns the size of the fields in the binary format. */
+  public int getBinarySerializedSize() {
+    return serializedBinary.length;
+  }
+
+  byte[] getSerializedBinary() {
+    return serializedBinary;
+  }
+
+  byte[] getSerializedJson() {
+    byte[] serializedJson = this.serializedJson;
+    if (serializedJson == null) {
+      // Serializing more than once if written concurrently is fine.
+      serializedJson = MarshalerUtil.preserializeJsonFields(fields);
+      this.serializedJson = serializedJson;
+    }
+    return serializedJson;
+  }
+}
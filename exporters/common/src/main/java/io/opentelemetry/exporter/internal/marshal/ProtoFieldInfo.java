@@ -18,7 +18,11 @@ public abstract class ProtoFieldInfo {
 
   public static ProtoFieldInfo create(int fieldNumber, int tag, String jsonName) {
     return new AutoValue_ProtoFieldInfo(
-        fieldNumber, tag, CodedOutputStream.computeTagSize(fieldNumber), jsonName);
+        fieldNumber,
+        tag,
+        CodedOutputStream.computeTagSize(fieldNumber),
+        jsonName,
+        JsonSerializer.encodeFieldName(jsonName));
   }
 
   public abstract int getFieldNumber();
@@ -28,4 +32,8 @@ public abstract class ProtoFieldInfo {
   public abstract int getTagSize();
 
   public abstract String getJsonName();
+
+  /** Returns the JSON name as written before the value of the field, i.e. quoted with a colon. */
+  @SuppressWarnings("mutable")
+  abstract byte[] getJsonFieldName();
 }
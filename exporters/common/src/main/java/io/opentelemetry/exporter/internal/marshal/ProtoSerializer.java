@@ -90,6 +90,12 @@ final class ProtoSerializer extends Serializer implements AutoCloseable {
     output.writeFixed64NoTag(value);
   }
 
+  @Override
+  protected void writeSFixed64(ProtoFieldInfo field, long value) throws IOException {
+    output.writeUInt32NoTag(field.getTag());
+    output.writeSFixed64NoTag(value);
+  }
+
   @Override
   protected void writeFixed64Value(long value) throws IOException {
     output.writeFixed64NoTag(value);
@@ -180,15 +186,29 @@ final class ProtoSerializer extends Serializer implements AutoCloseable {
   }
 
   @Override
-  public void writeSerializedMessage(byte[] protoSerialized, String jsonSerialized)
+  public void writeSerializedMessage(byte[] protoSerialized, byte[] jsonSerialized)
       throws IOException {
     output.writeRawBytes(protoSerialized);
   }
 
+  @Override
+  public void writeSerializedFields(PreserializedFields fields) throws IOException {
+    output.writeRawBytes(fields.getSerializedBinary());
+  }
+
+  /** Writes the value for a message field that has been pre-serialized into the writer. */
+  void writeSerializedMessage(ProtoWriter protoSerialized) throws IOException {
+    protoSerialized.writeTo(output);
+  }
+
   @Override
   public void close() throws IOException {
-    output.flush();
-    idCache.clear();
+    try {
+      output.flush();
+    } finally {
+      output.release();
+      idCache.clear();
+    }
   }
 
   private static Map<String, byte[]> getIdCache() {
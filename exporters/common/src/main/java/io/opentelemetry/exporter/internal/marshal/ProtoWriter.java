@@ -0,0 +1,477 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.TraceId;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * Writes protobuf binary wire format into a growable byte array in a single pass. Unlike {@link
+ * Marshaler}, embedded messages do not need their size to be known before they are written: {@link
+ * #startMessage(ProtoFieldInfo)} reserves space for the length, which is filled in by {@link
+ * #endMessage()}, moving the message body if the length does not fit in the reserved space. {@link
+ * #startLargeMessage(ProtoFieldInfo)} instead reserves space for any length, leaving the unused
+ * part as a gap which is removed in a single pass once all messages have ended, so containers are
+ * not moved again each time an enclosing message ends. This allows writing SDK data directly
+ * without creating intermediate objects for it.
+ *
+ * <p>Methods follow the naming of {@link Serializer}: {@code serialize*} methods skip fields with
+ * the default value, while {@code write*} methods always write them.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ProtoWriter {
+
+  private static final int INITIAL_CAPACITY = 4096;
+  // Most messages are smaller than 128 bytes, which have a single byte length.
+  private static final int RESERVED_LENGTH_SIZE = 1;
+  private static final int INITIAL_GAPS = 16;
+  private static final byte UTF8_REPLACEMENT = '?';
+
+  private final OutputStream outputStream = new BufferOutputStream();
+  private byte[] buffer;
+  private int position;
+  // For each open message, where its length is written, complemented for large messages, and the
+  // total size of the gaps before it.
+  private int[] messageStarts = new int[16];
+  private int[] messageGapBytes = new int[16];
+  private int depth;
+  // Unused space reserved for the length of large messages, in order of position.
+  private int[] gapStarts = new int[INITIAL_GAPS];
+  private int[] gapSizes = new int[INITIAL_GAPS];
+  private int gapCount;
+  private int gapBytes;
+
+  /** Creates a {@link ProtoWriter} with an initial capacity of 4 KiB. */
+  public ProtoWriter() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /** Creates a {@link ProtoWriter} with the given initial capacity in bytes. */
+  public ProtoWriter(int initialCapacity) {
+    buffer = new byte[initialCapacity];
+  }
+
+  /** Discards everything written so far so the buffer can be reused. */
+  public void reset() {
+    position = 0;
+    depth = 0;
+    gapCount = 0;
+    gapBytes = 0;
+  }
+
+  /** Returns the number of bytes written. */
+  public int size() {
+    return position - gapBytes;
+  }
+
+  /** Returns the current capacity of the buffer in bytes. */
+  public int capacity() {
+    return buffer.length;
+  }
+
+  /** Returns a copy of the bytes written. */
+  public byte[] toByteArray() {
+    removeGaps();
+    return Arrays.copyOf(buffer, position);
+  }
+
+  /** Writes the bytes written to the {@link OutputStream}. */
+  public void writeTo(OutputStream output) throws IOException {
+    removeGaps();
+    output.write(buffer, 0, position);
+  }
+
+  /** Returns the bytes written decoded as UTF-8, e.g. when used as the buffer for JSON. */
+  public String toUtf8String() {
+    removeGaps();
+    return new String(buffer, 0, position, StandardCharsets.UTF_8);
+  }
+
+  /** Writes the bytes written to the {@link CodedOutputStream}. */
+  void writeTo(CodedOutputStream output) throws IOException {
+    removeGaps();
+    output.write(buffer, 0, position);
+  }
+
+  /**
+   * Returns an {@link OutputStream} which appends raw bytes, e.g. to use this as the buffer for
+   * other formats.
+   */
+  public OutputStream outputStream() {
+    return outputStream;
+  }
+
+  /** Serializes a trace ID field. */
+  public void serializeTraceId(ProtoFieldInfo field, @Nullable String traceId) {
+    if (traceId == null) {
+      return;
+    }
+    writeBase16(field, traceId, TraceId.getLength());
+  }
+
+  /** Serializes a span ID field. */
+  public void serializeSpanId(ProtoFieldInfo field, @Nullable String spanId) {
+    if (spanId == null) {
+      return;
+    }
+    writeBase16(field, spanId, SpanId.getLength());
+  }
+
+  private void writeBase16(ProtoFieldInfo field, String value, int length) {
+    int numBytes = length / 2;
+    writeTag(field);
+    ensureCapacity(WireFormat.MAX_VARINT32_SIZE + numBytes);
+    bufferUInt32(numBytes);
+    for (int i = 0; i < length; i += 2) {
+      buffer[position++] = OtelEncodingUtils.byteFromBase16(value.charAt(i), value.charAt(i + 1));
+    }
+  }
+
+  /** Writes a protobuf {@code bool} field, even if it matches the default value. */
+  public void writeBool(ProtoFieldInfo field, boolean value) {
+    writeTag(field);
+    ensureCapacity(1);
+    buffer[position++] = (byte) (value ? 1 : 0);
+  }
+
+  /** Serializes a protobuf {@code enum} field. */
+  public void serializeEnum(ProtoFieldInfo field, ProtoEnumInfo enumValue) {
+    if (enumValue.getEnumNumber() == 0) {
+      return;
+    }
+    writeTag(field);
+    writeUInt64(enumValue.getEnumNumber());
+  }
+
+  /** Serializes a protobuf {@code uint32} field. */
+  public void serializeUInt32(ProtoFieldInfo field, int value) {
+    if (value == 0) {
+      return;
+    }
+    writeTag(field);
+    ensureCapacity(WireFormat.MAX_VARINT32_SIZE);
+    bufferUInt32(value);
+  }
+
+  /** Writes a protobuf {@code int64} field, even if it matches the default value. */
+  public void writeInt64(ProtoFieldInfo field, long value) {
+    writeTag(field);
+    writeUInt64(value);
+  }
+
+  /** Serializes a protobuf {@code fixed64} field. */
+  public void serializeFixed64(ProtoFieldInfo field, long value) {
+    if (value == 0) {
+      return;
+    }
+    writeTag(field);
+    writeFixed64(value);
+  }
+
+  /** Serializes a protobuf {@code fixed32} field. */
+  public void serializeFixed32(ProtoFieldInfo field, int value) {
+    if (value == 0) {
+      return;
+    }
+    writeTag(field);
+    ensureCapacity(WireFormat.FIXED32_SIZE);
+    buffer[position++] = (byte) value;
+    buffer[position++] = (byte) (value >> 8);
+    buffer[position++] = (byte) (value >> 16);
+    buffer[position++] = (byte) (value >> 24);
+  }
+
+  /** Writes a protobuf {@code double} field, even if it matches the default value. */
+  public void writeDouble(ProtoFieldInfo field, double value) {
+    writeTag(field);
+    writeFixed64(Double.doubleToRawLongBits(value));
+  }
+
+  /** Serializes a protobuf {@code string} field, encoding it as UTF-8. */
+  public void serializeString(ProtoFieldInfo field, @Nullable String value) {
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    writeString(field, value);
+  }
+
+  /**
+   * Serializes a protobuf {@code string} field. {@code utf8Bytes} is the UTF8 encoded bytes of the
+   * string to serialize.
+   */
+  public void serializeString(ProtoFieldInfo field, byte[] utf8Bytes) {
+    if (utf8Bytes.length == 0) {
+      return;
+    }
+    writeTag(field);
+    ensureCapacity(WireFormat.MAX_VARINT32_SIZE + utf8Bytes.length);
+    bufferUInt32(utf8Bytes.length);
+    System.arraycopy(utf8Bytes, 0, buffer, position, utf8Bytes.length);
+    position += utf8Bytes.length;
+  }
+
+  /**
+   * Writes a protobuf {@code string} field, even if it matches the default value, encoding it as
+   * UTF-8 the same way as {@link String#getBytes(java.nio.charset.Charset)}.
+   */
+  public void writeString(ProtoFieldInfo field, String value) {
+    int utf8Length = encodedUtf8Length(value);
+    writeTag(field);
+    ensureCapacity(WireFormat.MAX_VARINT32_SIZE + utf8Length);
+    bufferUInt32(utf8Length);
+    if (utf8Length == value.length()) {
+      for (int i = 0; i < utf8Length; i++) {
+        buffer[position++] = (byte) value.charAt(i);
+      }
+    } else {
+      encodeUtf8(value);
+    }
+  }
+
+  /**
+   * Serializes a protobuf embedded {@code message} from a {@link Marshaler}, e.g., one which caches
+   * its serialized form.
+   */
+  public void serializeMessage(ProtoFieldInfo field, Marshaler message) {
+    writeTag(field);
+    ensureCapacity(WireFormat.MAX_VARINT32_SIZE);
+    bufferUInt32(message.getBinarySerializedSize());
+    try {
+      message.writeBinaryTo(outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Serialization error, this is likely a bug in OpenTelemetry.", e);
+    }
+  }
+
+  /**
+   * Starts a protobuf embedded {@code message}. Its fields are written next, until the matching
+   * call to {@link #endMessage()}.
+   */
+  public void startMessage(ProtoFieldInfo field) {
+    writeTag(field);
+    pushMessage(position);
+    position += RESERVED_LENGTH_SIZE;
+  }
+
+  /**
+   * Starts a protobuf embedded {@code message} which is likely to contain many others, e.g. a
+   * container of spans. Its fields are written next, until the matching call to {@link
+   * #endMessage()}.
+   */
+  public void startLargeMessage(ProtoFieldInfo field) {
+    writeTag(field);
+    pushMessage(~position);
+    position += WireFormat.MAX_VARINT32_SIZE;
+  }
+
+  private void pushMessage(int start) {
+    ensureCapacity(WireFormat.MAX_VARINT32_SIZE);
+    if (depth == messageStarts.length) {
+      messageStarts = Arrays.copyOf(messageStarts, depth * 2);
+      messageGapBytes = Arrays.copyOf(messageGapBytes, depth * 2);
+    }
+    messageStarts[depth] = start;
+    messageGapBytes[depth++] = gapBytes;
+  }
+
+  /** Ends the protobuf embedded {@code message} started last, writing its length. */
+  public void endMessage() {
+    if (depth == 0) {
+      throw new IllegalStateException("No message to end.");
+    }
+    int lengthPosition = messageStarts[--depth];
+    int reservedLengthSize = RESERVED_LENGTH_SIZE;
+    if (lengthPosition < 0) {
+      lengthPosition = ~lengthPosition;
+      reservedLengthSize = WireFormat.MAX_VARINT32_SIZE;
+    }
+    int bodyStart = lengthPosition + reservedLengthSize;
+    // Gaps left by nested large messages are not part of the length.
+    int nestedGapBytes = gapBytes - messageGapBytes[depth];
+    int length = position - bodyStart - nestedGapBytes;
+    int lengthSize = CodedOutputStream.computeUInt32SizeNoTag(length);
+    if (lengthSize > reservedLengthSize) {
+      int shift = lengthSize - reservedLengthSize;
+      ensureCapacity(shift);
+      System.arraycopy(buffer, bodyStart, buffer, bodyStart + shift, position - bodyStart);
+      position += shift;
+      for (int i = firstNestedGap(nestedGapBytes); i < gapCount; i++) {
+        gapStarts[i] += shift;
+      }
+    } else if (lengthSize < reservedLengthSize) {
+      addGap(
+          firstNestedGap(nestedGapBytes),
+          lengthPosition + lengthSize,
+          reservedLengthSize - lengthSize);
+    }
+    int end = position;
+    position = lengthPosition;
+    bufferUInt32(length);
+    position = end;
+  }
+
+  // Gaps are never empty, so those nested in a message are the last ones adding up to its size.
+  private int firstNestedGap(int nestedGapBytes) {
+    int index = gapCount;
+    while (nestedGapBytes > 0) {
+      nestedGapBytes -= gapSizes[--index];
+    }
+    return index;
+  }
+
+  // Gaps are added when messages end, so the gap of a message goes before those nested in it.
+  private void addGap(int index, int start, int size) {
+    if (gapCount == gapStarts.length) {
+      gapStarts = Arrays.copyOf(gapStarts, gapCount * 2);
+      gapSizes = Arrays.copyOf(gapSizes, gapCount * 2);
+    }
+    System.arraycopy(gapStarts, index, gapStarts, index + 1, gapCount - index);
+    System.arraycopy(gapSizes, index, gapSizes, index + 1, gapCount - index);
+    gapStarts[index] = start;
+    gapSizes[index] = size;
+    gapCount++;
+    gapBytes += size;
+  }
+
+  // Moves the bytes between gaps once, after all messages have ended.
+  void removeGaps() {
+    if (depth != 0) {
+      throw new IllegalStateException("Message not ended.");
+    }
+    if (gapCount == 0) {
+      return;
+    }
+    int write = gapStarts[0];
+    int read = write + gapSizes[0];
+    for (int i = 1; i < gapCount; i++) {
+      int length = gapStarts[i] - read;
+      System.arraycopy(buffer, read, buffer, write, length);
+      write += length;
+      read = gapStarts[i] + gapSizes[i];
+    }
+    System.arraycopy(buffer, read, buffer, write, position - read);
+    position = write + position - read;
+    gapCount = 0;
+    gapBytes = 0;
+  }
+
+  private void writeTag(ProtoFieldInfo field) {
+    ensureCapacity(WireFormat.MAX_VARINT32_SIZE);
+    bufferUInt32(field.getTag());
+  }
+
+  private void writeUInt64(long value) {
+    ensureCapacity(WireFormat.MAX_VARINT_SIZE);
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) (((int) value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  private void writeFixed64(long value) {
+    ensureCapacity(WireFormat.FIXED64_SIZE);
+    buffer[position++] = (byte) value;
+    buffer[position++] = (byte) (value >> 8);
+    buffer[position++] = (byte) (value >> 16);
+    buffer[position++] = (byte) (value >> 24);
+    buffer[position++] = (byte) (value >> 32);
+    buffer[position++] = (byte) (value >> 40);
+    buffer[position++] = (byte) (value >> 48);
+    buffer[position++] = (byte) (value >> 56);
+  }
+
+  // Does not check bounds, callers ensure capacity.
+  private void bufferUInt32(int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  private void ensureCapacity(int bytes) {
+    if (buffer.length - position < bytes) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+    }
+  }
+
+  // Unpaired surrogates are replaced with '?' to match String.getBytes(UTF_8).
+  private static int encodedUtf8Length(String value) {
+    int length = value.length();
+    int utf8Length = length;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        utf8Length += 1;
+      } else if (!Character.isSurrogate(c)) {
+        utf8Length += 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        // Two chars encoded in four bytes.
+        utf8Length += 2;
+        i++;
+      }
+    }
+    return utf8Length;
+  }
+
+  private void encodeUtf8(String value) {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer[position++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xC0 | (c >>> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (!Character.isSurrogate(c)) {
+        buffer[position++] = (byte) (0xE0 | (c >>> 12));
+        buffer[position++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer[position++] = (byte) (0xF0 | (codePoint >>> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3F));
+        buffer[position++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else {
+        buffer[position++] = UTF8_REPLACEMENT;
+      }
+    }
+  }
+
+  private final class BufferOutputStream extends OutputStream {
+    @Override
+    public void write(int b) {
+      ensureCapacity(1);
+      buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      ensureCapacity(len);
+      System.arraycopy(b, off, buffer, position, len);
+      position += len;
+    }
+  }
+}
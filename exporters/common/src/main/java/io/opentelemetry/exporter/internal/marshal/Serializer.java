@@ -123,6 +123,13 @@ public abstract class Serializer implements AutoCloseable {
 
   protected abstract void writeFixed64(ProtoFieldInfo field, long value) throws IOException;
 
+  /** Serializes a protobuf {@code sfixed64} field. */
+  public void serializeSFixed64Optional(ProtoFieldInfo field, long value) throws IOException {
+    writeSFixed64(field, value);
+  }
+
+  protected abstract void writeSFixed64(ProtoFieldInfo field, long value) throws IOException;
+
   protected abstract void writeFixed64Value(long value) throws IOException;
 
   protected abstract void writeUInt64Value(long value) throws IOException;
@@ -263,10 +270,24 @@ public abstract class Serializer implements AutoCloseable {
   public abstract void serializeRepeatedMessage(
       ProtoFieldInfo field, List<? extends Marshaler> repeatedMessage) throws IOException;
 
-  /** Writes the value for a message field that has been pre-serialized. */
-  public abstract void writeSerializedMessage(byte[] protoSerialized, String jsonSerialized)
+  /**
+   * Writes the fields of the {@code message}, without the braces of the object containing them in
+   * JSON, e.g. to write a {@link Marshaler} wrapped by another one.
+   */
+  public void writeMessageFields(Marshaler message) throws IOException {
+    message.writeTo(this);
+  }
+
+  /**
+   * Writes the value for a message field that has been pre-serialized. {@code jsonSerialized} is
+   * the UTF-8 encoded JSON of the fields of the message, without the enclosing braces.
+   */
+  public abstract void writeSerializedMessage(byte[] protoSerialized, byte[] jsonSerialized)
       throws IOException;
 
+  /** Writes fields of the current message that have been pre-serialized. */
+  public abstract void writeSerializedFields(PreserializedFields fields) throws IOException;
+
   @Override
   public abstract void close() throws IOException;
 }
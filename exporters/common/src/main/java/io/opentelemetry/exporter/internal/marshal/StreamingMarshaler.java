@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Marshaler} which writes its binary format directly with a {@link ProtoWriter} instead of
+ * building a tree of {@link Marshaler}s sized up front. It is serialized the first time its size or
+ * content is needed, into a buffer from the {@link BufferPool}, which is kept until {@link
+ * #release()} is called so the request can be written more than once, e.g. when retrying.
+ *
+ * <p>Other formats, i.e. JSON, are written with the {@link Marshaler} returned by {@link
+ * #createJsonMarshaler()}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public abstract class StreamingMarshaler extends Marshaler {
+
+  private final BufferPool bufferPool;
+
+  @Nullable private ProtoWriter serialized;
+
+  protected StreamingMarshaler() {
+    this(BufferPool.getDefault());
+  }
+
+  protected StreamingMarshaler(BufferPool bufferPool) {
+    this.bufferPool = bufferPool;
+  }
+
+  /**
+   * Returns the buffer of the {@link Marshaler} to the {@link BufferPool} if it is a {@link
+   * StreamingMarshaler}, see {@link #release()}.
+   */
+  public static void release(Marshaler marshaler) {
+    if (marshaler instanceof StreamingMarshaler) {
+      ((StreamingMarshaler) marshaler).release();
+    } else if (marshaler instanceof Releasable) {
+      ((Releasable) marshaler).release();
+    }
+  }
+
+  /**
+   * A {@link Marshaler} wrapping a {@link StreamingMarshaler}, which is notified when a sender is
+   * done with it through {@link #release(Marshaler)}.
+   */
+  public interface Releasable {
+    /** Called once the sender no longer writes the request. */
+    void release();
+  }
+
+  /** Writes the fields of this message. */
+  protected abstract void writeTo(ProtoWriter output);
+
+  /** Returns a {@link Marshaler} of the same message, used for formats other than binary. */
+  protected abstract Marshaler createJsonMarshaler();
+
+  @Override
+  public final int getBinarySerializedSize() {
+    return serialized().size();
+  }
+
+  @Override
+  protected final void writeTo(Serializer output) throws IOException {
+    if (output instanceof ProtoSerializer) {
+      ((ProtoSerializer) output).writeSerializedMessage(serialized());
+    } else {
+      createJsonMarshaler().writeTo(output);
+    }
+  }
+
+  /**
+   * Returns the buffer holding the serialized message to the {@link BufferPool}. This must only be
+   * called once the message is no longer being written. If it is written again, it will be
+   * serialized again.
+   */
+  public final void release() {
+    ProtoWriter serialized = this.serialized;
+    if (serialized != null) {
+      this.serialized = null;
+      bufferPool.release(serialized);
+    }
+  }
+
+  private ProtoWriter serialized() {
+    ProtoWriter serialized = this.serialized;
+    if (serialized == null) {
+      serialized = bufferPool.acquire();
+      writeTo(serialized);
+      // Compacted right away, so the buffer is only read from now on, possibly concurrently.
+      serialized.removeGaps();
+      this.serialized = serialized;
+    }
+    return serialized;
+  }
+}
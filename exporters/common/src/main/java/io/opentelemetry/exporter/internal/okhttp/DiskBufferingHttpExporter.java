@@ -0,0 +1,43 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.okhttp;
+
+import io.opentelemetry.exporter.internal.disk.DiskBufferConfig;
+import io.opentelemetry.exporter.internal.disk.DiskBufferingExporter;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+
+/** An {@link HttpExporter} which stores the requests that fail to export on disk to replay them. */
+final class DiskBufferingHttpExporter<T extends Marshaler> implements HttpExporter<T> {
+
+  private final HttpExporter<T> delegate;
+  private final DiskBufferingExporter diskBufferingExporter;
+
+  DiskBufferingHttpExporter(
+      String type, HttpExporter<T> delegate, DiskBufferConfig config, boolean exportAsJson) {
+    this.delegate = delegate;
+    this.diskBufferingExporter =
+        DiskBufferingExporter.create(type, config, exportAsJson, this::send);
+  }
+
+  @Override
+  public CompletableResultCode export(T exportRequest, int numItems) {
+    return diskBufferingExporter.export(exportRequest, numItems);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    diskBufferingExporter.shutdown();
+    return delegate.shutdown();
+  }
+
+  // The exporters only ever write the request, so a stored request can be sent in place of a T.
+  @SuppressWarnings("unchecked")
+  private CompletableResultCode send(Marshaler exportRequest, int numItems) {
+    return delegate.export((T) exportRequest, numItems);
+  }
+}
@@ -7,12 +7,18 @@ package io.opentelemetry.exporter.internal.okhttp;
 
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.disk.DiskBufferingExporter;
 import io.opentelemetry.exporter.internal.grpc.GrpcStatusUtil;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.StreamingMarshaler;
 import io.opentelemetry.exporter.internal.retry.RetryUtil;
+import io.opentelemetry.exporter.internal.retry.Throttle;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,7 +34,6 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.BufferedSink;
-import okio.GzipSink;
 import okio.Okio;
 
 /**
@@ -38,7 +43,7 @@ import okio.Okio;
  * at any time.
  */
 @SuppressWarnings("checkstyle:JavadocMethod")
-public final class OkHttpExporter<T extends Marshaler> {
+public final class OkHttpExporter<T extends Marshaler> implements HttpExporter<T> {
 
   private static final Logger internalLogger = Logger.getLogger(OkHttpExporter.class.getName());
 
@@ -48,10 +53,11 @@ public final class OkHttpExporter<T extends Marshaler> {
   private final OkHttpClient client;
   private final HttpUrl url;
   @Nullable private final Headers headers;
-  private final boolean compressionEnabled;
-  private final Function<T, RequestBody> requestBodyCreator;
+  @Nullable private final Compressor compressor;
+  private final Function<Marshaler, RequestBody> requestBodyCreator;
 
   private final ExporterMetrics exporterMetrics;
+  private final Throttle throttle = new Throttle();
 
   OkHttpExporter(
       String exporterName,
@@ -60,13 +66,13 @@ public final class OkHttpExporter<T extends Marshaler> {
       MeterProvider meterProvider,
       String endpoint,
       @Nullable Headers headers,
-      boolean compressionEnabled,
+      @Nullable Compressor compressor,
       boolean exportAsJson) {
     this.type = type;
     this.client = client;
     this.url = HttpUrl.get(endpoint);
     this.headers = headers;
-    this.compressionEnabled = compressionEnabled;
+    this.compressor = compressor;
     this.requestBodyCreator = exportAsJson ? JsonRequestBody::new : ProtoRequestBody::new;
     this.exporterMetrics =
         exportAsJson
@@ -74,17 +80,31 @@ public final class OkHttpExporter<T extends Marshaler> {
             : ExporterMetrics.createHttpProtobuf(exporterName, type, meterProvider);
   }
 
+  @Override
   public CompletableResultCode export(T exportRequest, int numItems) {
     exporterMetrics.addSeen(numItems);
 
+    long throttledNanos = throttle.remainingNanos();
+    if (throttledNanos > 0) {
+      exporterMetrics.addFailed(numItems);
+      logger.log(
+          Level.WARNING,
+          "Failed to export "
+              + type
+              + "s. The server asked to wait "
+              + TimeUnit.NANOSECONDS.toMillis(throttledNanos)
+              + " ms before sending more requests.");
+      return CompletableResultCode.ofFailure();
+    }
+
     Request.Builder requestBuilder = new Request.Builder().url(url);
     if (headers != null) {
       requestBuilder.headers(headers);
     }
     RequestBody requestBody = requestBodyCreator.apply(exportRequest);
-    if (compressionEnabled) {
-      requestBuilder.addHeader("Content-Encoding", "gzip");
-      requestBuilder.post(gzipRequestBody(requestBody));
+    if (compressor != null) {
+      requestBuilder.addHeader("Content-Encoding", compressor.getEncoding());
+      requestBuilder.post(compressedRequestBody(requestBody, compressor));
     } else {
       requestBuilder.post(requestBody);
     }
@@ -97,6 +117,7 @@ public final class OkHttpExporter<T extends Marshaler> {
             new Callback() {
               @Override
               public void onFailure(Call call, IOException e) {
+                StreamingMarshaler.release(exportRequest);
                 exporterMetrics.addFailed(numItems);
                 logger.log(
                     Level.SEVERE,
@@ -109,6 +130,8 @@ public final class OkHttpExporter<T extends Marshaler> {
 
               @Override
               public void onResponse(Call call, Response response) {
+                // The request body, including any retries, has been written by now.
+                StreamingMarshaler.release(exportRequest);
                 try (ResponseBody body = response.body()) {
                   if (response.isSuccessful()) {
                     exporterMetrics.addSuccess(numItems);
@@ -117,9 +140,13 @@ public final class OkHttpExporter<T extends Marshaler> {
                   }
 
                   exporterMetrics.addFailed(numItems);
+                  throttle.throttle(RetryUtil.retryDelayNanos(response.headers()));
                   int code = response.code();
 
                   String status = extractErrorStatus(response, body);
+                  if (!isRetryable(response)) {
+                    DiskBufferingExporter.rejected(exportRequest);
+                  }
 
                   logger.log(
                       Level.WARNING,
@@ -137,6 +164,7 @@ public final class OkHttpExporter<T extends Marshaler> {
     return result;
   }
 
+  @Override
   public CompletableResultCode shutdown() {
     CompletableResultCode result = CompletableResultCode.ofSuccess();
     client.dispatcher().cancelAll();
@@ -149,7 +177,7 @@ public final class OkHttpExporter<T extends Marshaler> {
     return RetryUtil.retryableHttpResponseCodes().contains(response.code());
   }
 
-  private static RequestBody gzipRequestBody(RequestBody requestBody) {
+  private static RequestBody compressedRequestBody(RequestBody requestBody, Compressor compressor) {
     return new RequestBody() {
       @Override
       public MediaType contentType() {
@@ -163,9 +191,10 @@ public final class OkHttpExporter<T extends Marshaler> {
 
       @Override
       public void writeTo(BufferedSink bufferedSink) throws IOException {
-        BufferedSink gzipSink = Okio.buffer(new GzipSink(bufferedSink));
-        requestBody.writeTo(gzipSink);
-        gzipSink.close();
+        BufferedSink compressedSink =
+            Okio.buffer(Okio.sink(compressor.compress(bufferedSink.outputStream())));
+        requestBody.writeTo(compressedSink);
+        compressedSink.close();
       }
     };
   }
@@ -9,11 +9,21 @@ import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterBuilderUtil;
 import io.opentelemetry.exporter.internal.TlsUtil;
 import io.opentelemetry.exporter.internal.auth.Authenticator;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.compression.CompressorUtil;
+import io.opentelemetry.exporter.internal.disk.DiskBufferConfig;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
+import io.opentelemetry.exporter.internal.http.HttpTransportConfig;
+import io.opentelemetry.exporter.internal.http.HttpTransportProvider;
+import io.opentelemetry.exporter.internal.http.HttpTransportUtil;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.retry.RetryInterceptor;
 import io.opentelemetry.exporter.internal.retry.RetryPolicy;
 import java.net.URI;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLException;
@@ -24,7 +34,8 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 
 /**
- * A builder for {@link OkHttpExporter}.
+ * A builder for an {@link HttpExporter}, which uses the {@link HttpTransportProvider} on the
+ * classpath if there is one, or else an {@link OkHttpExporter}.
  *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
@@ -39,15 +50,16 @@ public final class OkHttpExporterBuilder<T extends Marshaler> {
   private String endpoint;
 
   private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECS);
-  private boolean compressionEnabled = false;
+  @Nullable private Compressor compressor;
   private boolean exportAsJson = false;
-  @Nullable private Headers.Builder headersBuilder;
+  private final Map<String, String> headers = new HashMap<>();
   @Nullable private byte[] trustedCertificatesPem;
   @Nullable private byte[] privateKeyPem;
   @Nullable private byte[] certificatePem;
   @Nullable private RetryPolicy retryPolicy;
   private MeterProvider meterProvider = MeterProvider.noop();
   @Nullable private Authenticator authenticator;
+  @Nullable private DiskBufferConfig diskBufferConfig;
 
   public OkHttpExporterBuilder(String exporterName, String type, String defaultEndpoint) {
     this.exporterName = exporterName;
@@ -72,17 +84,12 @@ public final class OkHttpExporterBuilder<T extends Marshaler> {
   }
 
   public OkHttpExporterBuilder<T> setCompression(String compressionMethod) {
-    if (compressionMethod.equals("gzip")) {
-      this.compressionEnabled = true;
-    }
+    this.compressor = CompressorUtil.validateAndResolveCompressor(compressionMethod);
     return this;
   }
 
   public OkHttpExporterBuilder<T> addHeader(String key, String value) {
-    if (headersBuilder == null) {
-      headersBuilder = new Headers.Builder();
-    }
-    headersBuilder.add(key, value);
+    headers.put(key, value);
     return this;
   }
 
@@ -112,26 +119,25 @@ public final class OkHttpExporterBuilder<T extends Marshaler> {
     return this;
   }
 
+  public OkHttpExporterBuilder<T> setDiskBuffer(DiskBufferConfig diskBufferConfig) {
+    this.diskBufferConfig = diskBufferConfig;
+    return this;
+  }
+
   public OkHttpExporterBuilder<T> exportAsJson() {
     this.exportAsJson = true;
     return this;
   }
 
-  public OkHttpExporter<T> build() {
-    OkHttpClient.Builder clientBuilder =
-        new OkHttpClient.Builder()
-            .dispatcher(OkHttpUtil.newDispatcher())
-            .callTimeout(Duration.ofNanos(timeoutNanos));
-
+  public HttpExporter<T> build() {
+    X509TrustManager trustManager = null;
+    X509KeyManager keyManager = null;
     if (trustedCertificatesPem != null) {
       try {
-        X509TrustManager trustManager = TlsUtil.trustManager(trustedCertificatesPem);
-        X509KeyManager keyManager = null;
+        trustManager = TlsUtil.trustManager(trustedCertificatesPem);
         if (privateKeyPem != null && certificatePem != null) {
           keyManager = TlsUtil.keyManager(privateKeyPem, certificatePem);
         }
-        clientBuilder.sslSocketFactory(
-            TlsUtil.sslSocketFactory(keyManager, trustManager), trustManager);
       } catch (SSLException e) {
         throw new IllegalStateException(
             "Could not set trusted certificate for OTLP HTTP connection, are they valid X.509 in PEM format?",
@@ -139,31 +145,88 @@ public final class OkHttpExporterBuilder<T extends Marshaler> {
       }
     }
 
-    Headers headers = headersBuilder == null ? null : headersBuilder.build();
-
-    if (retryPolicy != null) {
-      clientBuilder.addInterceptor(new RetryInterceptor(retryPolicy, OkHttpExporter::isRetryable));
+    HttpTransportProvider provider = HttpTransportUtil.getProvider();
+    HttpExporter<T> exporter;
+    if (provider != null) {
+      exporter =
+          provider.createHttpExporter(
+              HttpTransportConfig.builder()
+                  .setExporterName(exporterName)
+                  .setType(type)
+                  .setEndpoint(endpoint)
+                  .setHeaders(Collections.unmodifiableMap(new HashMap<>(headers)))
+                  .setCompressor(compressor)
+                  .setTimeoutNanos(timeoutNanos)
+                  .setExportAsJson(exportAsJson)
+                  .setTrustManager(trustManager)
+                  .setKeyManager(keyManager)
+                  .setRetryPolicy(retryPolicy)
+                  .setAuthenticator(authenticator)
+                  .setMeterProvider(meterProvider)
+                  .build());
+    } else {
+      exporter = new OkHttpExporterFactory().build(trustManager, keyManager);
     }
 
-    if (authenticator != null) {
-      Authenticator finalAuthenticator = authenticator;
-      // Generate and attach OkHttp Authenticator implementation
-      clientBuilder.authenticator(
-          (route, response) -> {
-            Request.Builder requestBuilder = response.request().newBuilder();
-            finalAuthenticator.getHeaders().forEach(requestBuilder::header);
-            return requestBuilder.build();
-          });
+    if (diskBufferConfig != null) {
+      return new DiskBufferingHttpExporter<>(type, exporter, diskBufferConfig, exportAsJson);
     }
+    return exporter;
+  }
+
+  // Use an inner class to ensure OkHttpExporterBuilder does not have classloading dependencies on
+  // OkHttp, which is not needed when exporting with an HttpTransportProvider.
+  private class OkHttpExporterFactory {
+    private OkHttpExporter<T> build(
+        @Nullable X509TrustManager trustManager, @Nullable X509KeyManager keyManager) {
+      OkHttpClient.Builder clientBuilder =
+          new OkHttpClient.Builder()
+              .dispatcher(OkHttpUtil.newDispatcher())
+              .callTimeout(Duration.ofNanos(timeoutNanos));
+
+      if (trustManager != null) {
+        try {
+          clientBuilder.sslSocketFactory(
+              TlsUtil.sslSocketFactory(keyManager, trustManager), trustManager);
+        } catch (SSLException e) {
+          throw new IllegalStateException(
+              "Could not set trusted certificate for OTLP HTTP connection, are they valid X.509 in PEM format?",
+              e);
+        }
+      }
 
-    return new OkHttpExporter<>(
-        exporterName,
-        type,
-        clientBuilder.build(),
-        meterProvider,
-        endpoint,
-        headers,
-        compressionEnabled,
-        exportAsJson);
+      Headers okHttpHeaders = null;
+      if (!headers.isEmpty()) {
+        Headers.Builder headersBuilder = new Headers.Builder();
+        headers.forEach(headersBuilder::add);
+        okHttpHeaders = headersBuilder.build();
+      }
+
+      if (retryPolicy != null) {
+        clientBuilder.addInterceptor(
+            new RetryInterceptor(retryPolicy, OkHttpExporter::isRetryable));
+      }
+
+      if (authenticator != null) {
+        Authenticator finalAuthenticator = authenticator;
+        // Generate and attach OkHttp Authenticator implementation
+        clientBuilder.authenticator(
+            (route, response) -> {
+              Request.Builder requestBuilder = response.request().newBuilder();
+              finalAuthenticator.getHeaders().forEach(requestBuilder::header);
+              return requestBuilder.build();
+            });
+      }
+
+      return new OkHttpExporter<>(
+          exporterName,
+          type,
+          clientBuilder.build(),
+          meterProvider,
+          endpoint,
+          okHttpHeaders,
+          compressor,
+          exportAsJson);
+    }
   }
 }
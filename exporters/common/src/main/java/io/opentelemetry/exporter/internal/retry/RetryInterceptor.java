@@ -57,6 +57,9 @@ public final class RetryInterceptor implements Interceptor {
     IOException exception = null;
     int attempt = 0;
     long nextBackoffNanos = retryPolicy.getInitialBackoff().toNanos();
+    // The call timeout starts when the call is executed, right before this interceptor runs.
+    long timeoutNanos = chain.call().timeout().timeoutNanos();
+    long deadlineNanos = System.nanoTime() + timeoutNanos;
     do {
       if (attempt > 0) {
         // Compute and sleep for backoff
@@ -64,6 +67,18 @@ public final class RetryInterceptor implements Interceptor {
         long upperBoundNanos = Math.min(nextBackoffNanos, retryPolicy.getMaxBackoff().toNanos());
         long backoffNanos = randomLong.get(upperBoundNanos);
         nextBackoffNanos = (long) (nextBackoffNanos * retryPolicy.getBackoffMultiplier());
+        // The server's pushback takes the place of the computed backoff, like in gRPC, up to the
+        // maximum backoff.
+        long retryDelayNanos =
+            response != null ? RetryUtil.retryDelayNanos(response.headers()) : -1;
+        if (retryDelayNanos >= 0) {
+          backoffNanos = Math.min(retryDelayNanos, retryPolicy.getMaxBackoff().toNanos());
+        }
+        if (timeoutNanos > 0 && System.nanoTime() + backoffNanos - deadlineNanos >= 0) {
+          // The retry could not complete before the call times out, the sleep would not be
+          // interrupted by it.
+          break; // Return response or throw
+        }
         try {
           sleeper.sleep(backoffNanos);
         } catch (InterruptedException e) {
@@ -8,11 +8,19 @@ package io.opentelemetry.exporter.internal.retry;
 import io.opentelemetry.exporter.internal.grpc.GrpcExporterBuilder;
 import io.opentelemetry.exporter.internal.grpc.GrpcStatusUtil;
 import io.opentelemetry.exporter.internal.okhttp.OkHttpExporterBuilder;
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import okhttp3.Headers;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -48,6 +56,51 @@ public class RetryUtil {
     return RETRYABLE_HTTP_STATUS_CODES;
   }
 
+  /**
+   * Returns the delay the server asked to wait before sending another request in the {@code
+   * headers} of a response, either with an HTTP {@code Retry-After} header or with the {@code
+   * google.rpc.RetryInfo} detail of a gRPC status, or -1 if it did not ask for one.
+   */
+  public static long retryDelayNanos(Headers headers) {
+    return retryDelayNanos(
+        headers.get("Retry-After"), headers.get(GrpcStatusUtil.GRPC_STATUS_DETAILS));
+  }
+
+  /**
+   * Returns the delay the server asked to wait before sending another request with the value of an
+   * HTTP {@code Retry-After} header, or else with the base64-encoded {@code
+   * grpc-status-details-bin} header holding a {@code google.rpc.RetryInfo}, or -1 if it did not ask
+   * for one.
+   */
+  public static long retryDelayNanos(
+      @Nullable String retryAfter, @Nullable String grpcStatusDetails) {
+    if (retryAfter != null) {
+      retryAfter = retryAfter.trim();
+      try {
+        return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter)));
+      } catch (NumberFormatException e) {
+        try {
+          long epochMillis =
+              ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME)
+                  .toInstant()
+                  .toEpochMilli();
+          return TimeUnit.MILLISECONDS.toNanos(
+              Math.max(0, epochMillis - System.currentTimeMillis()));
+        } catch (DateTimeParseException ignored) {
+          // Ignore a malformed date.
+        }
+      }
+    }
+    if (grpcStatusDetails != null) {
+      try {
+        return GrpcStatusUtil.getRetryDelayNanos(Base64.getDecoder().decode(grpcStatusDetails));
+      } catch (IllegalArgumentException | IOException e) {
+        // Ignore malformed details.
+      }
+    }
+    return -1;
+  }
+
   /**
    * Reflectively access a {@link GrpcExporterBuilder}, or {@link OkHttpExporterBuilder} instance in
    * field called "delegate" of the instance, and set the {@link RetryPolicy}.
@@ -0,0 +1,52 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.retry;
+
+/**
+ * Tracks the time until which the server asked an exporter not to send requests, e.g. with an HTTP
+ * {@code Retry-After} header or a gRPC {@code RetryInfo}. Exports in the meantime fail without
+ * being sent, rather than adding to the load of a server which is already shedding it.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class Throttle {
+
+  private final Object lock = new Object();
+
+  // Guarded by lock.
+  private boolean throttled;
+  private long throttledUntilNanos;
+
+  /** Stops requests from being sent for {@code delayNanos}, if it is positive. */
+  public void throttle(long delayNanos) {
+    if (delayNanos <= 0) {
+      return;
+    }
+    long until = System.nanoTime() + delayNanos;
+    synchronized (lock) {
+      if (!throttled || until - throttledUntilNanos > 0) {
+        throttledUntilNanos = until;
+      }
+      throttled = true;
+    }
+  }
+
+  /** Returns how long until requests can be sent again, or 0 if they can be sent now. */
+  public long remainingNanos() {
+    synchronized (lock) {
+      if (!throttled) {
+        return 0;
+      }
+      long remaining = throttledUntilNanos - System.nanoTime();
+      if (remaining <= 0) {
+        throttled = false;
+        return 0;
+      }
+      return remaining;
+    }
+  }
+}
@@ -10,9 +10,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.testing.junit5.server.mock.MockWebServerExtension;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
-import io.opentelemetry.exporter.internal.okhttp.OkHttpExporter;
 import io.opentelemetry.exporter.internal.okhttp.OkHttpExporterBuilder;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import java.io.IOException;
@@ -43,7 +43,7 @@ class AuthenticatingExporterTest {
 
   @Test
   void export() throws Exception {
-    OkHttpExporter<Marshaler> exporter =
+    HttpExporter<Marshaler> exporter =
         new OkHttpExporterBuilder<>("otlp", "test", server.httpUri().toASCIIString())
             .setAuthenticator(
                 () -> {
@@ -68,7 +68,7 @@ class AuthenticatingExporterTest {
   /** Ensure that exporter gives up if a request is always considered UNAUTHORIZED. */
   @Test
   void export_giveup() throws Exception {
-    OkHttpExporter<Marshaler> exporter =
+    HttpExporter<Marshaler> exporter =
         new OkHttpExporterBuilder<>("otlp", "test", server.httpUri().toASCIIString())
             .setAuthenticator(
                 () -> {
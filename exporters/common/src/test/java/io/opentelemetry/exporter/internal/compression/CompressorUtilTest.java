@@ -0,0 +1,105 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import org.iq80.snappy.SnappyFramedInputStream;
+import org.junit.jupiter.api.Test;
+
+class CompressorUtilTest {
+
+  private static final byte[] DATA =
+      String.join(",", Collections.nCopies(1000, "some repetitive payload"))
+          .getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  void validateAndResolveCompressor() {
+    assertThat(CompressorUtil.validateAndResolveCompressor("none")).isNull();
+    assertThat(CompressorUtil.validateAndResolveCompressor("gzip"))
+        .isSameAs(GzipCompressor.getInstance());
+    assertThat(CompressorUtil.validateAndResolveCompressor("zstd"))
+        .isSameAs(ZstdCompressor.getInstance());
+    assertThat(CompressorUtil.validateAndResolveCompressor("snappy"))
+        .isSameAs(SnappyCompressor.getInstance());
+    assertThat(CompressorUtil.validateAndResolveCompressor("test"))
+        .satisfies(compressor -> assertThat(compressor.getEncoding()).isEqualTo("test"));
+
+    assertThatThrownBy(() -> CompressorUtil.validateAndResolveCompressor("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported compression method. Supported compression methods include: "
+                + "gzip, zstd, snappy, test, none.");
+  }
+
+  @Test
+  void gzip() throws IOException {
+    byte[] compressed = compress(GzipCompressor.getInstance());
+    assertThat(compressed.length).isLessThan(DATA.length);
+    assertThat(decompress(new GZIPInputStream(new ByteArrayInputStream(compressed))))
+        .isEqualTo(DATA);
+
+    byte[] fastCompressed = compress(GzipCompressor.create(1));
+    assertThat(decompress(new GZIPInputStream(new ByteArrayInputStream(fastCompressed))))
+        .isEqualTo(DATA);
+  }
+
+  @Test
+  void gzip_InvalidLevel() {
+    assertThatThrownBy(() -> GzipCompressor.create(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("level must be in range [1, 9]");
+    assertThatThrownBy(() -> GzipCompressor.create(10))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("level must be in range [1, 9]");
+  }
+
+  @Test
+  void zstd() throws IOException {
+    byte[] compressed = compress(ZstdCompressor.getInstance());
+    assertThat(compressed.length).isLessThan(DATA.length);
+    assertThat(decompress(new ZstdInputStream(new ByteArrayInputStream(compressed))))
+        .isEqualTo(DATA);
+  }
+
+  @Test
+  void snappy() throws IOException {
+    byte[] compressed = compress(SnappyCompressor.getInstance());
+    assertThat(compressed.length).isLessThan(DATA.length);
+    assertThat(decompress(new SnappyFramedInputStream(new ByteArrayInputStream(compressed), true)))
+        .isEqualTo(DATA);
+  }
+
+  private static byte[] compress(Compressor compressor) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (OutputStream compressed = compressor.compress(bos)) {
+      compressed.write(DATA);
+    }
+    return bos.toByteArray();
+  }
+
+  private static byte[] decompress(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (InputStream in = inputStream) {
+      byte[] buffer = new byte[1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        bos.write(buffer, 0, read);
+      }
+    }
+    return bos.toByteArray();
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import java.io.OutputStream;
+
+public class TestCompressorProvider implements CompressorProvider {
+
+  @Override
+  public Compressor getInstance() {
+    return new Compressor() {
+      @Override
+      public String getEncoding() {
+        return "test";
+      }
+
+      @Override
+      public OutputStream compress(OutputStream outputStream) {
+        return outputStream;
+      }
+    };
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.disk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskBufferTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void readsInOrder() throws IOException {
+    try (DiskBuffer buffer = DiskBuffer.open(directory, 1024 * 1024, 1024, false)) {
+      assertThat(buffer.isEmpty()).isTrue();
+      assertThat(buffer.peek()).isNull();
+
+      assertThat(buffer.append(bytes("first"), 1)).isTrue();
+      assertThat(buffer.append(bytes("second"), 2)).isTrue();
+      assertThat(buffer.isEmpty()).isFalse();
+
+      DiskBuffer.Record record = buffer.peek();
+      assertThat(record).isNotNull();
+      assertThat(string(record)).isEqualTo("first");
+      assertThat(record.getNumItems()).isEqualTo(1);
+      // Stays at the head until removed.
+      assertThat(string(buffer.peek())).isEqualTo("first");
+      buffer.remove(record);
+
+      record = buffer.peek();
+      assertThat(string(record)).isEqualTo("second");
+      assertThat(record.getNumItems()).isEqualTo(2);
+      buffer.remove(record);
+
+      assertThat(buffer.peek()).isNull();
+      assertThat(buffer.isEmpty()).isTrue();
+    }
+  }
+
+  @Test
+  void rollsOverSegments() throws IOException {
+    try (DiskBuffer buffer = DiskBuffer.open(directory, 1024 * 1024, 64, false)) {
+      for (int i = 0; i < 10; i++) {
+        assertThat(buffer.append(bytes("request-" + i), 1)).isTrue();
+      }
+      assertThat(segmentCount()).isGreaterThan(1);
+
+      for (int i = 0; i < 10; i++) {
+        DiskBuffer.Record record = buffer.peek();
+        assertThat(string(record)).isEqualTo("request-" + i);
+        buffer.remove(record);
+      }
+      assertThat(buffer.peek()).isNull();
+      // Only the segment being appended to is kept.
+      assertThat(segmentCount()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void largeRequestGetsOwnSegment() throws IOException {
+    try (DiskBuffer buffer = DiskBuffer.open(directory, 1024 * 1024, 64, false)) {
+      byte[] large = new byte[1000];
+      large[999] = 1;
+      assertThat(buffer.append(large, 1)).isTrue();
+      assertThat(buffer.peek().getData()).isEqualTo(large);
+    }
+  }
+
+  @Test
+  void boundedSize() throws IOException {
+    try (DiskBuffer buffer = DiskBuffer.open(directory, 128, 64, false)) {
+      int appended = 0;
+      while (buffer.append(bytes("request"), 1)) {
+        appended++;
+      }
+      assertThat(appended).isPositive();
+      assertThat(buffer.getSizeBytes()).isLessThanOrEqualTo(128);
+
+      // Room is made once the oldest segment is read.
+      for (int i = 0; i < appended; i++) {
+        buffer.remove(buffer.peek());
+      }
+      assertThat(buffer.append(bytes("request"), 1)).isTrue();
+    }
+  }
+
+  @Test
+  void persistsAcrossReopen() throws IOException {
+    try (DiskBuffer buffer = DiskBuffer.open(directory, 1024 * 1024, 64, true)) {
+      for (int i = 0; i < 5; i++) {
+        buffer.append(bytes("request-" + i), 1);
+      }
+      buffer.remove(buffer.peek());
+    }
+
+    try (DiskBuffer buffer = DiskBuffer.open(directory, 1024 * 1024, 64, false)) {
+      buffer.append(bytes("request-5"), 1);
+      for (int i = 1; i < 6; i++) {
+        DiskBuffer.Record record = buffer.peek();
+        assertThat(string(record)).isEqualTo("request-" + i);
+        buffer.remove(record);
+      }
+      assertThat(buffer.peek()).isNull();
+    }
+  }
+
+  @Test
+  void ignoresInvalidSegments() throws IOException {
+    Files.write(directory.resolve("0000000000000000000" + DiskBuffer.SEGMENT_SUFFIX), bytes("bad"));
+    Files.write(directory.resolve("other" + DiskBuffer.SEGMENT_SUFFIX), bytes("other"));
+
+    try (DiskBuffer buffer = DiskBuffer.open(directory, 1024 * 1024, 64, false)) {
+      assertThat(buffer.peek()).isNull();
+      buffer.append(bytes("request"), 1);
+      assertThat(string(buffer.peek())).isEqualTo("request");
+    }
+  }
+
+  @Test
+  void lockedWhileOpen() throws IOException {
+    try (DiskBuffer unused = DiskBuffer.open(directory, 1024 * 1024, 64, false)) {
+      assertThatThrownBy(() -> DiskBuffer.open(directory, 1024 * 1024, 64, false))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("in use");
+    }
+    DiskBuffer.open(directory, 1024 * 1024, 64, false).close();
+  }
+
+  @Test
+  void closed() throws IOException {
+    DiskBuffer buffer = DiskBuffer.open(directory, 1024 * 1024, 64, false);
+    buffer.append(bytes("request"), 1);
+    buffer.close();
+
+    assertThat(buffer.append(bytes("request"), 1)).isFalse();
+    assertThat(buffer.peek()).isNull();
+  }
+
+  private long segmentCount() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.toString().endsWith(DiskBuffer.SEGMENT_SUFFIX)).count();
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String string(DiskBuffer.Record record) {
+    return new String(record.getData(), StandardCharsets.UTF_8);
+  }
+}
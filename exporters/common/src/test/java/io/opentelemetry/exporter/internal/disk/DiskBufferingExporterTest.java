@@ -0,0 +1,369 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.disk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.testing.junit5.server.mock.MockWebServerExtension;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
+import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoFieldInfo;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.internal.marshal.StreamingMarshaler;
+import io.opentelemetry.exporter.internal.okhttp.OkHttpExporterBuilder;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskBufferingExporterTest {
+
+  private static final ProtoFieldInfo FIELD = ProtoFieldInfo.create(1, 10, "field");
+
+  @RegisterExtension static final MockWebServerExtension server = new MockWebServerExtension();
+
+  @TempDir Path directory;
+
+  private final List<String> sent = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean healthy = new AtomicBoolean();
+
+  private final List<DiskBufferingExporter> exporters = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  void shutdown() {
+    exporters.forEach(DiskBufferingExporter::shutdown);
+  }
+
+  @Test
+  void exportsWhileHealthy() {
+    healthy.set(true);
+    DiskBufferingExporter exporter = newExporter();
+
+    assertThat(exporter.export(request("first"), 1).join(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(sent).containsExactly("first");
+  }
+
+  @Test
+  void replaysStoredRequestsOnceHealthy() {
+    DiskBufferingExporter exporter = newExporter();
+
+    assertThat(exporter.export(request("first"), 1).join(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(exporter.export(request("second"), 1).join(1, TimeUnit.SECONDS).isSuccess())
+        .isTrue();
+    // Replays back off while the endpoint is failing.
+    await().untilAsserted(() -> assertThat(sent).hasSizeGreaterThan(3));
+
+    healthy.set(true);
+    await().untilAsserted(() -> assertThat(exporter.hasStoredRequests()).isFalse());
+    assertThat(sent.subList(sent.size() - 2, sent.size())).containsExactly("first", "second");
+  }
+
+  @Test
+  void replaysRequestsStoredBeforeRestart() {
+    DiskBufferingExporter exporter = newExporter();
+    exporter.export(request("first"), 1).join(1, TimeUnit.SECONDS);
+    exporter.shutdown();
+
+    sent.clear();
+    healthy.set(true);
+    DiskBufferingExporter restarted = newExporter();
+    await().untilAsserted(() -> assertThat(restarted.hasStoredRequests()).isFalse());
+    assertThat(sent).contains("first");
+  }
+
+  @Test
+  void dropsRequestRejectedWhileHealthy() {
+    DiskBufferingExporter exporter =
+        track(
+            DiskBufferingExporter.create(
+                "test",
+                config(),
+                /* exportAsJson= */ false,
+                (request, numItems) -> {
+                  String value = serialize(request);
+                  sent.add(value);
+                  return value.equals("rejected")
+                      ? CompletableResultCode.ofFailure()
+                      : CompletableResultCode.ofSuccess();
+                }));
+
+    exporter.export(request("rejected"), 1).join(1, TimeUnit.SECONDS);
+    // Each request which succeeds marks the following failure of the stored one as a rejection.
+    await()
+        .untilAsserted(
+            () -> {
+              exporter.export(request("accepted"), 1).join(1, TimeUnit.SECONDS);
+              assertThat(exporter.hasStoredRequests()).isFalse();
+            });
+
+    long attempts = sent.stream().filter("rejected"::equals).count();
+    await()
+        .pollDelay(Duration.ofMillis(100))
+        .untilAsserted(
+            () -> assertThat(sent.stream().filter("rejected"::equals)).hasSize((int) attempts));
+  }
+
+  @Test
+  void storesRequestAfterItemsDiscarded() {
+    List<String> items = new ArrayList<>(Collections.singletonList("first"));
+    Marshaler request =
+        new Marshaler() {
+          @Override
+          public int getBinarySerializedSize() {
+            return items.isEmpty() ? 0 : MarshalerUtil.sizeBytes(FIELD, utf8(items.get(0)));
+          }
+
+          @Override
+          protected void writeTo(Serializer output) throws IOException {
+            for (String item : items) {
+              output.serializeString(FIELD, utf8(item));
+            }
+          }
+        };
+    CompletableResultCode firstSend = new CompletableResultCode();
+    DiskBufferingExporter exporter =
+        track(
+            DiskBufferingExporter.create(
+                "test",
+                config(),
+                /* exportAsJson= */ false,
+                (sentRequest, numItems) -> {
+                  sent.add(serialize(sentRequest));
+                  if (sent.size() == 1) {
+                    return firstSend;
+                  }
+                  return healthy.get()
+                      ? CompletableResultCode.ofSuccess()
+                      : CompletableResultCode.ofFailure();
+                }));
+
+    CompletableResultCode result = exporter.export(request, 1);
+    // Like the batch processors do once an export times out.
+    items.clear();
+    healthy.set(true);
+    firstSend.fail();
+
+    assertThat(result.join(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+    await().untilAsserted(() -> assertThat(exporter.hasStoredRequests()).isFalse());
+    assertThat(sent).containsExactly("first", "first");
+  }
+
+  @Test
+  void storesPooledRequestAfterItemsDiscarded() {
+    List<String> items = new ArrayList<>(Collections.singletonList("first"));
+    AtomicInteger serializations = new AtomicInteger();
+    StreamingMarshaler request =
+        new StreamingMarshaler() {
+          @Override
+          protected void writeTo(ProtoWriter output) {
+            serializations.incrementAndGet();
+            for (String item : items) {
+              output.writeString(FIELD, item);
+            }
+          }
+
+          @Override
+          protected Marshaler createJsonMarshaler() {
+            throw new UnsupportedOperationException();
+          }
+        };
+    CompletableResultCode firstSend = new CompletableResultCode();
+    List<Marshaler> sentRequests = new CopyOnWriteArrayList<>();
+    DiskBufferingExporter exporter =
+        track(
+            DiskBufferingExporter.create(
+                "test",
+                config(),
+                /* exportAsJson= */ false,
+                (sentRequest, numItems) -> {
+                  sentRequests.add(sentRequest);
+                  sent.add(serialize(sentRequest));
+                  if (sent.size() == 1) {
+                    return firstSend;
+                  }
+                  return healthy.get()
+                      ? CompletableResultCode.ofSuccess()
+                      : CompletableResultCode.ofFailure();
+                }));
+
+    CompletableResultCode result = exporter.export(request, 1);
+    items.clear();
+    healthy.set(true);
+    // The sender is done with the request before failing.
+    StreamingMarshaler.release(sentRequests.get(0));
+    firstSend.fail();
+
+    assertThat(result.join(1, TimeUnit.SECONDS).isSuccess()).isTrue();
+    await().untilAsserted(() -> assertThat(exporter.hasStoredRequests()).isFalse());
+    // Sent and stored from the pooled buffer, which is only released afterwards.
+    assertThat(sent).containsExactly("first", "first");
+    assertThat(serializations).hasValue(1);
+    assertThat(request.getBinarySerializedSize()).isEqualTo(0);
+  }
+
+  @Test
+  void doesNotStoreRejectedRequest() {
+    DiskBufferingExporter exporter =
+        track(
+            DiskBufferingExporter.create(
+                "test",
+                config(),
+                /* exportAsJson= */ false,
+                (request, numItems) -> {
+                  sent.add(serialize(request));
+                  DiskBufferingExporter.rejected(request);
+                  return CompletableResultCode.ofFailure();
+                }));
+
+    assertThat(exporter.export(request("first"), 1).join(1, TimeUnit.SECONDS).isSuccess())
+        .isFalse();
+    assertThat(exporter.hasStoredRequests()).isFalse();
+    assertThat(sent).containsExactly("first");
+  }
+
+  @Test
+  void storesJson() {
+    List<String> sentJson = new CopyOnWriteArrayList<>();
+    DiskBufferingExporter exporter =
+        track(
+            DiskBufferingExporter.create(
+                "test",
+                config(),
+                /* exportAsJson= */ true,
+                (request, numItems) -> {
+                  ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                  try {
+                    request.writeJsonTo(bos);
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                  sentJson.add(new String(bos.toByteArray(), StandardCharsets.UTF_8));
+                  return healthy.get()
+                      ? CompletableResultCode.ofSuccess()
+                      : CompletableResultCode.ofFailure();
+                }));
+
+    exporter.export(request("first"), 1).join(1, TimeUnit.SECONDS);
+    await().untilAsserted(() -> assertThat(sentJson).hasSizeGreaterThan(1));
+
+    sentJson.clear();
+    healthy.set(true);
+    await().untilAsserted(() -> assertThat(sentJson).contains("{\"field\":\"first\"}"));
+  }
+
+  @Test
+  void okHttpExporter() {
+    HttpExporter<Marshaler> exporter =
+        new OkHttpExporterBuilder<>("otlp", "test", server.httpUri().toASCIIString())
+            .setDiskBuffer(config())
+            .build();
+    try {
+      server.enqueue(HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE));
+      server.enqueue(HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE));
+      server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+      assertThat(exporter.export(request("first"), 1).join(10, TimeUnit.SECONDS).isSuccess())
+          .isTrue();
+
+      assertThat(server.takeRequest().request().content().toStringUtf8()).contains("first");
+      assertThat(server.takeRequest().request().content().toStringUtf8()).contains("first");
+      assertThat(server.takeRequest().request().content().toStringUtf8()).contains("first");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void okHttpExporter_NotRetryable() {
+    HttpExporter<Marshaler> exporter =
+        new OkHttpExporterBuilder<>("otlp", "test", server.httpUri().toASCIIString())
+            .setDiskBuffer(config())
+            .build();
+    try {
+      server.enqueue(HttpResponse.of(HttpStatus.BAD_REQUEST));
+
+      assertThat(exporter.export(request("first"), 1).join(10, TimeUnit.SECONDS).isSuccess())
+          .isFalse();
+      assertThat(server.takeRequest()).isNotNull();
+      assertThat(server.takeRequest(100, TimeUnit.MILLISECONDS)).isNull();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  private DiskBufferingExporter newExporter() {
+    return track(
+        DiskBufferingExporter.create(
+            "test",
+            config(),
+            /* exportAsJson= */ false,
+            (request, numItems) -> {
+              sent.add(serialize(request));
+              return healthy.get()
+                  ? CompletableResultCode.ofSuccess()
+                  : CompletableResultCode.ofFailure();
+            }));
+  }
+
+  private DiskBufferingExporter track(DiskBufferingExporter exporter) {
+    exporters.add(exporter);
+    return exporter;
+  }
+
+  private DiskBufferConfig config() {
+    return DiskBufferConfig.builder(directory)
+        .setSegmentSizeBytes(64)
+        .setInitialBackoff(Duration.ofMillis(1))
+        .setMaxBackoff(Duration.ofMillis(10))
+        .build();
+  }
+
+  private static Marshaler request(String value) {
+    byte[] utf8 = utf8(value);
+    return new MarshalerWithSize(MarshalerUtil.sizeBytes(FIELD, utf8)) {
+      @Override
+      protected void writeTo(Serializer output) throws IOException {
+        output.serializeString(FIELD, utf8);
+      }
+    };
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String serialize(Marshaler request) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try {
+      request.writeBinaryTo(bos);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    byte[] bytes = bos.toByteArray();
+    // Skip the tag and length of the single field.
+    return new String(bytes, 2, bytes.length - 2, StandardCharsets.UTF_8);
+  }
+}
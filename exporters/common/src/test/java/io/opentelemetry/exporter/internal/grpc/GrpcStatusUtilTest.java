@@ -10,8 +10,11 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.Duration;
+import com.google.rpc.RetryInfo;
 import com.google.rpc.Status;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 class GrpcStatusUtilTest {
@@ -48,4 +51,29 @@ class GrpcStatusUtilTest {
     assertThatThrownBy(() -> GrpcStatusUtil.getStatusMessage(new byte[] {0, 1, 3, 0}))
         .isInstanceOf(IOException.class);
   }
+
+  @Test
+  void parseRetryDelay() throws Exception {
+    Any retryInfo =
+        Any.pack(
+            RetryInfo.newBuilder()
+                .setRetryDelay(Duration.newBuilder().setSeconds(2).setNanos(500))
+                .build());
+    assertThat(
+            GrpcStatusUtil.getRetryDelayNanos(
+                Status.newBuilder()
+                    .setCode(8)
+                    .setMessage("throttled")
+                    .addDetails(Any.newBuilder().setValue(ByteString.copyFromUtf8("any")).build())
+                    .addDetails(retryInfo)
+                    .build()
+                    .toByteArray()))
+        .isEqualTo(TimeUnit.SECONDS.toNanos(2) + 500);
+    assertThat(
+            GrpcStatusUtil.getRetryDelayNanos(
+                Status.newBuilder().setCode(8).setMessage("throttled").build().toByteArray()))
+        .isEqualTo(-1);
+    assertThat(GrpcStatusUtil.getRetryDelayNanos(Status.getDefaultInstance().toByteArray()))
+        .isEqualTo(-1);
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class BufferPoolTest {
+
+  private static final ProtoFieldInfo FIELD = ProtoFieldInfo.create(1, 10, "field");
+
+  @Test
+  void reusesReleasedBuffers() {
+    BufferPool pool = new BufferPool(1, 1024 * 1024);
+
+    ProtoWriter buffer = pool.acquire();
+    buffer.writeString(FIELD, "value");
+    pool.release(buffer);
+    assertThat(pool.size()).isEqualTo(1);
+
+    ProtoWriter reused = pool.acquire();
+    assertThat(reused).isSameAs(buffer);
+    assertThat(reused.size()).isZero();
+    assertThat(pool.size()).isZero();
+  }
+
+  @Test
+  void bounded() {
+    BufferPool pool = new BufferPool(1, 1024 * 1024);
+
+    ProtoWriter buffer1 = pool.acquire();
+    ProtoWriter buffer2 = pool.acquire();
+    assertThat(buffer2).isNotSameAs(buffer1);
+    pool.release(buffer1);
+    pool.release(buffer2);
+    assertThat(pool.size()).isEqualTo(1);
+    assertThat(pool.acquire()).isSameAs(buffer1);
+  }
+
+  @Test
+  void doesNotRetainLargeBuffers() {
+    BufferPool pool = new BufferPool(1, 8192);
+
+    ProtoWriter buffer = pool.acquire();
+    buffer.writeString(FIELD, String.join("", Collections.nCopies(10000, "a")));
+    assertThat(buffer.capacity()).isGreaterThan(8192);
+    pool.release(buffer);
+    assertThat(pool.size()).isZero();
+  }
+}
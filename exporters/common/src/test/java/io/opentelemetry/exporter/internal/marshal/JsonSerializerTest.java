@@ -0,0 +1,202 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class JsonSerializerTest {
+
+  private static final ProtoFieldInfo FIELD = ProtoFieldInfo.create(1, 10, "field");
+  private static final ProtoFieldInfo OTHER = ProtoFieldInfo.create(2, 18, "other");
+
+  @Test
+  void strings() {
+    assertThat(toJson(output -> output.serializeString(FIELD, utf8("plain"))))
+        .isEqualTo("{\"field\":\"plain\"}");
+    assertThat(toJson(output -> output.serializeString(FIELD, utf8("a\"b\\c/d"))))
+        .isEqualTo("{\"field\":\"a\\\"b\\\\c/d\"}");
+    assertThat(toJson(output -> output.serializeString(FIELD, utf8("\b\t\n\f\r\u0000\u001f"))))
+        .isEqualTo("{\"field\":\"\\b\\t\\n\\f\\r\\u0000\\u001F\"}");
+    assertThat(toJson(output -> output.serializeString(FIELD, utf8("héllo 世界 🌍"))))
+        .isEqualTo("{\"field\":\"héllo 世界 🌍\"}");
+    // Default values are skipped.
+    assertThat(toJson(output -> output.serializeString(FIELD, new byte[0]))).isEqualTo("{}");
+  }
+
+  @Test
+  void longString() {
+    char[] chars = new char[20_000];
+    Arrays.fill(chars, 'a');
+    chars[10_000] = '"';
+    String value = new String(chars);
+
+    assertThat(toJson(output -> output.serializeString(FIELD, utf8(value))))
+        .isEqualTo("{\"field\":\"" + value.replace("\"", "\\\"") + "\"}");
+  }
+
+  @Test
+  void integers() {
+    assertThat(
+            toJson(
+                output -> {
+                  output.serializeUInt32(FIELD, Integer.MIN_VALUE);
+                  output.writeInt64(OTHER, Long.MIN_VALUE);
+                }))
+        .isEqualTo("{\"field\":-2147483648,\"other\":\"-9223372036854775808\"}");
+    assertThat(
+            toJson(
+                output -> {
+                  output.serializeInt64(FIELD, 1234567890123L);
+                  output.serializeFixed64(OTHER, -1L);
+                }))
+        .isEqualTo("{\"field\":\"1234567890123\",\"other\":\"18446744073709551615\"}");
+    assertThat(
+            toJson(
+                output -> output.serializeRepeatedUInt64(FIELD, new long[] {0, 9, Long.MAX_VALUE})))
+        .isEqualTo("{\"field\":[\"0\",\"9\",\"9223372036854775807\"]}");
+    // sfixed64, e.g. the value of a long data point, is signed.
+    assertThat(
+            toJson(
+                output -> {
+                  output.serializeSFixed64Optional(FIELD, -1L);
+                  output.serializeSFixed64Optional(OTHER, 0L);
+                }))
+        .isEqualTo("{\"field\":\"-1\",\"other\":\"0\"}");
+  }
+
+  @Test
+  void doubles() {
+    assertThat(
+            toJson(
+                output ->
+                    output.serializeRepeatedDouble(
+                        FIELD,
+                        Arrays.asList(
+                            1.0, -2.0, 0.5, -0.0, 1e7, 123456789.0, 1e-5, Double.MAX_VALUE))))
+        .isEqualTo(
+            "{\"field\":[1.0,-2.0,0.5,-0.0,1.0E7,1.23456789E8,1.0E-5,1.7976931348623157E308]}");
+    assertThat(
+            toJson(
+                output ->
+                    output.serializeRepeatedDouble(
+                        FIELD,
+                        Arrays.asList(
+                            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY))))
+        .isEqualTo("{\"field\":[\"NaN\",\"Infinity\",\"-Infinity\"]}");
+  }
+
+  @Test
+  void bytes() {
+    for (int length = 1; length <= 5; length++) {
+      byte[] value = new byte[length];
+      for (int i = 0; i < length; i++) {
+        value[i] = (byte) (0xF0 + i * 37);
+      }
+      assertThat(toJson(output -> output.serializeBytes(FIELD, value)))
+          .isEqualTo("{\"field\":\"" + Base64.getEncoder().encodeToString(value) + "\"}");
+    }
+  }
+
+  @Test
+  void ids() {
+    assertThat(
+            toJson(
+                output -> {
+                  output.serializeTraceId(FIELD, "0123456789abcdef0123456789abcdef");
+                  output.serializeSpanId(OTHER, "0123456789abcdef");
+                }))
+        .isEqualTo(
+            "{\"field\":\"0123456789abcdef0123456789abcdef\",\"other\":\"0123456789abcdef\"}");
+  }
+
+  @Test
+  void nested() {
+    Marshaler inner = marshaler(output -> output.writeBool(FIELD, true));
+    Marshaler empty = marshaler(output -> {});
+
+    assertThat(
+            toJson(
+                output -> {
+                  output.serializeMessage(FIELD, inner);
+                  output.serializeRepeatedMessage(OTHER, Arrays.asList(inner, empty, inner));
+                }))
+        .isEqualTo("{\"field\":{\"field\":true},\"other\":[{\"field\":true},{},{\"field\":true}]}");
+    assertThat(toJson(output -> output.serializeRepeatedMessage(FIELD, Collections.emptyList())))
+        .isEqualTo("{\"field\":[]}");
+  }
+
+  @Test
+  void preserialized() {
+    Marshaler fields =
+        marshaler(
+            output -> {
+              output.serializeString(FIELD, utf8("name"));
+              output.serializeInt64(OTHER, 1);
+            });
+    assertThat(new String(MarshalerUtil.preserializeJsonFields(fields), StandardCharsets.UTF_8))
+        .isEqualTo("\"field\":\"name\",\"other\":\"1\"");
+
+    PreserializedFields preserialized = PreserializedFields.create(fields);
+    assertThat(
+            toJson(
+                output -> {
+                  output.writeSerializedFields(preserialized);
+                  output.writeBool(FIELD, false);
+                }))
+        .isEqualTo("{\"field\":\"name\",\"other\":\"1\",\"field\":false}");
+    assertThat(
+            toJson(
+                output -> {
+                  output.writeBool(FIELD, false);
+                  output.writeSerializedMessage(
+                      new byte[0], MarshalerUtil.preserializeJsonFields(fields));
+                  output.writeSerializedMessage(new byte[0], new byte[0]);
+                }))
+        .isEqualTo("{\"field\":false,\"field\":\"name\",\"other\":\"1\"}");
+  }
+
+  @FunctionalInterface
+  private interface Fields {
+    void writeTo(Serializer output) throws IOException;
+  }
+
+  private static Marshaler marshaler(Fields fields) {
+    return new Marshaler() {
+      @Override
+      public int getBinarySerializedSize() {
+        return 0;
+      }
+
+      @Override
+      protected void writeTo(Serializer output) throws IOException {
+        fields.writeTo(output);
+      }
+    };
+  }
+
+  private static String toJson(Fields fields) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try {
+      marshaler(fields).writeJsonTo(bos);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
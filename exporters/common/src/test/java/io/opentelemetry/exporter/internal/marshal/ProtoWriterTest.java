@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ProtoWriterTest {
+
+  private static final ProtoFieldInfo FIELD = ProtoFieldInfo.create(1, 10, "field");
+  private static final ProtoFieldInfo OTHER = ProtoFieldInfo.create(2, 18, "other");
+
+  @Test
+  void nestedMessages() {
+    char[] chars = new char[300];
+    Arrays.fill(chars, 'a');
+    String longValue = new String(chars);
+
+    ProtoWriter writer = new ProtoWriter(16);
+    writer.startLargeMessage(FIELD);
+    writer.startMessage(OTHER);
+    writer.startLargeMessage(FIELD);
+    writer.writeString(OTHER, longValue);
+    writer.endMessage();
+    writer.startLargeMessage(FIELD);
+    writer.endMessage();
+    writer.endMessage();
+    writer.startMessage(OTHER);
+    writer.writeString(OTHER, "b");
+    writer.endMessage();
+    writer.endMessage();
+
+    byte[] expected =
+        message(
+            10,
+            concat(
+                message(18, concat(message(10, string(18, longValue)), message(10, new byte[0]))),
+                message(18, string(18, "b"))));
+    assertThat(writer.size()).isEqualTo(expected.length);
+    assertThat(writer.toByteArray()).isEqualTo(expected);
+    // Reading again does not change the bytes written.
+    assertThat(writer.toByteArray()).isEqualTo(expected);
+
+    writer.reset();
+    writer.startLargeMessage(FIELD);
+    writer.endMessage();
+    assertThat(writer.size()).isEqualTo(2);
+    assertThat(writer.toByteArray()).isEqualTo(new byte[] {10, 0});
+  }
+
+  @Test
+  void messageNotEnded() {
+    ProtoWriter writer = new ProtoWriter();
+    writer.startLargeMessage(FIELD);
+    assertThatThrownBy(writer::toByteArray).isInstanceOf(IllegalStateException.class);
+    writer.endMessage();
+    assertThatThrownBy(writer::endMessage).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static byte[] string(int tag, String value) {
+    return message(tag, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static byte[] message(int tag, byte[] body) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    bos.write(tag);
+    int length = body.length;
+    while ((length & ~0x7F) != 0) {
+      bos.write((length & 0x7F) | 0x80);
+      length >>>= 7;
+    }
+    bos.write(length);
+    bos.write(body, 0, body.length);
+    return bos.toByteArray();
+  }
+
+  private static byte[] concat(byte[]... parts) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      bos.write(part, 0, part.length);
+    }
+    return bos.toByteArray();
+  }
+}
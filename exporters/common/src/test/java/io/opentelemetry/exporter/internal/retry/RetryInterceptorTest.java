@@ -20,6 +20,7 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.testing.junit5.server.mock.MockWebServerExtension;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
@@ -139,6 +140,55 @@ class RetryInterceptorTest {
     }
   }
 
+  @Test
+  void honorsRetryAfter() throws Exception {
+    server.enqueue(
+        HttpResponse.of(ResponseHeaders.of(HttpStatus.SERVICE_UNAVAILABLE, "retry-after", "1")));
+    server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+    when(random.get(anyLong())).thenReturn(100L);
+    doNothing().when(sleeper).sleep(TimeUnit.SECONDS.toNanos(1));
+
+    try (Response response = sendRequest()) {
+      assertThat(response.isSuccessful()).isTrue();
+    }
+    verify(sleeper).sleep(TimeUnit.SECONDS.toNanos(1));
+
+    for (int i = 0; i < 2; i++) {
+      server.takeRequest(0, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Test
+  void retryAfterCappedAtMaxBackoff() throws Exception {
+    server.enqueue(
+        HttpResponse.of(ResponseHeaders.of(HttpStatus.SERVICE_UNAVAILABLE, "retry-after", "3600")));
+    server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+    when(random.get(anyLong())).thenReturn(100L);
+    doNothing().when(sleeper).sleep(TimeUnit.SECONDS.toNanos(2));
+
+    try (Response response = sendRequest()) {
+      assertThat(response.isSuccessful()).isTrue();
+    }
+    verify(sleeper).sleep(TimeUnit.SECONDS.toNanos(2));
+  }
+
+  @Test
+  void retryAfterBeyondCallTimeout() throws Exception {
+    client = client.newBuilder().callTimeout(Duration.ofSeconds(1)).build();
+    server.enqueue(
+        HttpResponse.of(ResponseHeaders.of(HttpStatus.SERVICE_UNAVAILABLE, "retry-after", "2")));
+
+    when(random.get(anyLong())).thenReturn(100L);
+
+    // Gives up instead of sleeping past the call timeout.
+    try (Response response = sendRequest()) {
+      assertThat(response.code()).isEqualTo(503);
+    }
+    verify(sleeper, never()).sleep(anyLong());
+  }
+
   @Test
   void connectTimeout() throws Exception {
     client = connectTimeoutClient();
@@ -9,11 +9,19 @@ import static org.assertj.core.api.Assertions.as;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.protobuf.Any;
+import com.google.protobuf.Duration;
+import com.google.rpc.RetryInfo;
+import com.google.rpc.Status;
 import io.opentelemetry.exporter.internal.grpc.GrpcExporter;
 import io.opentelemetry.exporter.internal.grpc.GrpcExporterBuilder;
 import io.opentelemetry.exporter.internal.okhttp.OkHttpExporterBuilder;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Headers;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
 
@@ -58,6 +66,37 @@ class RetryUtilTest {
             "delegate field is not type DefaultGrpcExporterBuilder or OkHttpGrpcExporterBuilder");
   }
 
+  @Test
+  void retryDelayNanos() {
+    assertThat(RetryUtil.retryDelayNanos(Headers.of())).isEqualTo(-1);
+    assertThat(RetryUtil.retryDelayNanos(Headers.of("Retry-After", "3")))
+        .isEqualTo(TimeUnit.SECONDS.toNanos(3));
+    assertThat(
+            RetryUtil.retryDelayNanos(
+                new Headers.Builder()
+                    .add("Retry-After", new Date(System.currentTimeMillis() + 60_000))
+                    .build()))
+        .isBetween(TimeUnit.SECONDS.toNanos(50), TimeUnit.SECONDS.toNanos(60));
+    assertThat(RetryUtil.retryDelayNanos(Headers.of("Retry-After", "soon"))).isEqualTo(-1);
+
+    byte[] status =
+        Status.newBuilder()
+            .setCode(8)
+            .addDetails(
+                Any.pack(
+                    RetryInfo.newBuilder()
+                        .setRetryDelay(Duration.newBuilder().setSeconds(5))
+                        .build()))
+            .build()
+            .toByteArray();
+    assertThat(
+            RetryUtil.retryDelayNanos(
+                Headers.of(
+                    "grpc-status-details-bin",
+                    Base64.getEncoder().withoutPadding().encodeToString(status))))
+        .isEqualTo(TimeUnit.SECONDS.toNanos(5));
+  }
+
   @SuppressWarnings({"UnusedVariable", "FieldCanBeLocal"})
   private static class WithDelegate {
     private final Object delegate;
@@ -0,0 +1,30 @@
+plugins {
+  id("otel.java-conventions")
+  id("otel.publish-conventions")
+}
+
+description = "OpenTelemetry Exporter JDK HTTP Client"
+otelJava.moduleName.set("io.opentelemetry.exporter.internal.jdkhttp")
+
+dependencies {
+  implementation(project(":exporters:common"))
+
+  compileOnly(project(":sdk:common"))
+
+  testImplementation(project(":sdk:common"))
+
+  testImplementation("com.linecorp.armeria:armeria-junit5")
+}
+
+tasks {
+  withType<JavaCompile>().configureEach {
+    with(options) {
+      // java.net.http was added in Java 11.
+      release.set(11)
+    }
+  }
+
+  withType<Test>().configureEach {
+    enabled = gradle.startParameter.projectProperties.get("testJavaVersion") != "8"
+  }
+}
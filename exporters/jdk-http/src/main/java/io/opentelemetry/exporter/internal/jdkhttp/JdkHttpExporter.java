@@ -0,0 +1,201 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.jdkhttp;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.disk.DiskBufferingExporter;
+import io.opentelemetry.exporter.internal.grpc.GrpcStatusUtil;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.StreamingMarshaler;
+import io.opentelemetry.exporter.internal.retry.RetryUtil;
+import io.opentelemetry.exporter.internal.retry.Throttle;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * An {@link HttpExporter} for http/protobuf or http/json which uses the {@link HttpClient} of the
+ * JDK. The request is streamed to the server as it is serialized.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class JdkHttpExporter<T extends Marshaler> implements HttpExporter<T> {
+
+  private static final Logger internalLogger = Logger.getLogger(JdkHttpExporter.class.getName());
+
+  private final ThrottlingLogger logger = new ThrottlingLogger(internalLogger);
+
+  private final String type;
+  private final HttpClient client;
+  private final JdkHttpSender sender;
+  private final HttpRequest.Builder requestTemplate;
+  @Nullable private final Compressor compressor;
+  private final boolean exportAsJson;
+
+  private final ExporterMetrics exporterMetrics;
+  private final Throttle throttle = new Throttle();
+
+  JdkHttpExporter(
+      String exporterName,
+      String type,
+      HttpClient client,
+      JdkHttpSender sender,
+      MeterProvider meterProvider,
+      URI endpoint,
+      Map<String, String> headers,
+      @Nullable Compressor compressor,
+      boolean exportAsJson) {
+    this.type = type;
+    this.client = client;
+    this.sender = sender;
+    this.compressor = compressor;
+    this.exportAsJson = exportAsJson;
+    this.exporterMetrics =
+        exportAsJson
+            ? ExporterMetrics.createHttpJson(exporterName, type, meterProvider)
+            : ExporterMetrics.createHttpProtobuf(exporterName, type, meterProvider);
+
+    requestTemplate = JdkHttpSender.newRequestBuilder(endpoint, headers);
+    requestTemplate.header(
+        "Content-Type", exportAsJson ? "application/json" : "application/x-protobuf");
+    if (compressor != null) {
+      requestTemplate.header("Content-Encoding", compressor.getEncoding());
+    }
+  }
+
+  @Override
+  public CompletableResultCode export(T exportRequest, int numItems) {
+    exporterMetrics.addSeen(numItems);
+
+    long throttledNanos = throttle.remainingNanos();
+    if (throttledNanos > 0) {
+      exporterMetrics.addFailed(numItems);
+      logger.log(
+          Level.WARNING,
+          "Failed to export "
+              + type
+              + "s. The server asked to wait "
+              + TimeUnit.NANOSECONDS.toMillis(throttledNanos)
+              + " ms before sending more requests.");
+      return CompletableResultCode.ofFailure();
+    }
+
+    MarshalerBodyPublisher bodyPublisher = bodyPublisher(exportRequest);
+    HttpRequest.Builder request = requestTemplate.copy().POST(bodyPublisher);
+
+    CompletableResultCode result = new CompletableResultCode();
+
+    sender
+        .send(client, request)
+        .whenComplete(
+            (response, error) -> {
+              // A writer may still be running, e.g. after a timeout, and keeps using the request.
+              bodyPublisher.release(() -> StreamingMarshaler.release(exportRequest));
+              if (response == null) {
+                exporterMetrics.addFailed(numItems);
+                logger.log(
+                    Level.SEVERE,
+                    "Failed to export "
+                        + type
+                        + "s. The request could not be executed. Full error message: "
+                        + JdkHttpSender.errorMessage(error));
+                result.fail();
+                return;
+              }
+
+              int code = response.statusCode();
+              if (code >= 200 && code < 300) {
+                exporterMetrics.addSuccess(numItems);
+                result.succeed();
+                return;
+              }
+
+              exporterMetrics.addFailed(numItems);
+              throttle.throttle(JdkHttpSender.retryDelayNanos(response.headers()));
+              if (!isRetryable(response)) {
+                DiskBufferingExporter.rejected(exportRequest);
+              }
+
+              logger.log(
+                  Level.WARNING,
+                  "Failed to export "
+                      + type
+                      + "s. Server responded with HTTP status code "
+                      + code
+                      + ". Error message: "
+                      + extractErrorStatus(response));
+              result.fail();
+            });
+
+    return result;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    sender.shutdown();
+    return CompletableResultCode.ofSuccess();
+  }
+
+  static boolean isRetryable(HttpResponse<?> response) {
+    return RetryUtil.retryableHttpResponseCodes().contains(response.statusCode());
+  }
+
+  private MarshalerBodyPublisher bodyPublisher(Marshaler exportRequest) {
+    Compressor compressor = this.compressor;
+    if (compressor != null) {
+      return new MarshalerBodyPublisher(
+          output -> {
+            try (OutputStream compressed = compressor.compress(output)) {
+              writeTo(exportRequest, compressed);
+            }
+          },
+          -1,
+          sender.getExecutor());
+    }
+    if (exportAsJson) {
+      return new MarshalerBodyPublisher(
+          output -> writeTo(exportRequest, output), -1, sender.getExecutor());
+    }
+    return new MarshalerBodyPublisher(
+        exportRequest::writeBinaryTo,
+        exportRequest.getBinarySerializedSize(),
+        sender.getExecutor());
+  }
+
+  private void writeTo(Marshaler exportRequest, OutputStream output) throws IOException {
+    if (exportAsJson) {
+      exportRequest.writeJsonTo(output);
+    } else {
+      exportRequest.writeBinaryTo(output);
+    }
+  }
+
+  private static String extractErrorStatus(HttpResponse<byte[]> response) {
+    byte[] body = response.body();
+    if (body == null || body.length == 0) {
+      return "Response body missing, HTTP status code: " + response.statusCode();
+    }
+    try {
+      return GrpcStatusUtil.getStatusMessage(body);
+    } catch (IOException e) {
+      return "Unable to parse response body, HTTP status code: " + response.statusCode();
+    }
+  }
+}
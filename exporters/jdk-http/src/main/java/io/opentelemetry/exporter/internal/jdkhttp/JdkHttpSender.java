@@ -0,0 +1,322 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.jdkhttp;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.exporter.internal.auth.Authenticator;
+import io.opentelemetry.exporter.internal.grpc.GrpcStatusUtil;
+import io.opentelemetry.exporter.internal.retry.RetryPolicy;
+import io.opentelemetry.exporter.internal.retry.RetryUtil;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Sends the requests of an exporter with a {@link HttpClient}, retrying them according to the
+ * {@link RetryPolicy} within the timeout of the export, and limiting how many exports are in flight
+ * at the same time. The retries are scheduled rather than slept so no thread is held while backing
+ * off.
+ */
+final class JdkHttpSender {
+
+  private static final Logger internalLogger = Logger.getLogger(JdkHttpSender.class.getName());
+
+  private static final int UNAUTHORIZED = 401;
+
+  private final ExecutorService executor;
+  private final long timeoutNanos;
+  @Nullable private final RetryPolicy retryPolicy;
+  @Nullable private final Authenticator authenticator;
+  private final Predicate<HttpResponse<?>> isRetryable;
+  private final int maxConcurrentExports;
+
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private final Set<Exchange> inFlight = new HashSet<>();
+
+  @GuardedBy("lock")
+  private final ArrayDeque<Exchange> pending = new ArrayDeque<>();
+
+  @GuardedBy("lock")
+  private boolean shutdown;
+
+  /**
+   * Creates a {@link JdkHttpSender} which writes requests on the {@code executor} and shuts it down
+   * with the exporter. The {@code authenticator}, if not {@code null}, is asked for headers when
+   * the server responds with 401. A {@code maxConcurrentExports} of 0 means no limit.
+   */
+  JdkHttpSender(
+      ExecutorService executor,
+      long timeoutNanos,
+      @Nullable RetryPolicy retryPolicy,
+      @Nullable Authenticator authenticator,
+      Predicate<HttpResponse<?>> isRetryable,
+      int maxConcurrentExports) {
+    this.executor = executor;
+    this.timeoutNanos = timeoutNanos;
+    this.retryPolicy = retryPolicy;
+    this.authenticator = authenticator;
+    this.isRetryable = isRetryable;
+    this.maxConcurrentExports = maxConcurrentExports;
+  }
+
+  /**
+   * Returns a {@link HttpRequest.Builder} for the {@code uri} with the {@code headers}, skipping
+   * the ones the JDK does not allow to be set, e.g. {@code host}.
+   */
+  static HttpRequest.Builder newRequestBuilder(URI uri, Map<String, String> headers) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+    headers.forEach(
+        (name, value) -> {
+          try {
+            builder.header(name, value);
+          } catch (IllegalArgumentException e) {
+            internalLogger.log(
+                Level.WARNING,
+                "Not sending the header " + name + ", the JDK HTTP client does not allow it.",
+                e);
+          }
+        });
+    return builder;
+  }
+
+  /**
+   * Returns the delay the server asked to wait before sending another request in the {@code
+   * headers} of a response, or -1 if it did not ask for one.
+   */
+  static long retryDelayNanos(HttpHeaders headers) {
+    return RetryUtil.retryDelayNanos(
+        headers.firstValue("Retry-After").orElse(null),
+        headers.firstValue(GrpcStatusUtil.GRPC_STATUS_DETAILS).orElse(null));
+  }
+
+  /** Returns the message of an error sending a request, which the JDK often leaves empty. */
+  static String errorMessage(@Nullable Throwable error) {
+    if (error == null) {
+      return "Unknown error";
+    }
+    String message = error.getMessage();
+    return message != null ? message : error.toString();
+  }
+
+  /** Returns the executor requests are written on. */
+  ExecutorService getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Sends the {@code request} with the {@code client}, completing with the response of the last
+   * attempt, or exceptionally if no response was received. The {@code request} is built once per
+   * attempt.
+   */
+  CompletableFuture<HttpResponse<byte[]>> send(HttpClient client, HttpRequest.Builder request) {
+    Exchange exchange = new Exchange(client, request);
+    synchronized (lock) {
+      if (shutdown) {
+        exchange.result.completeExceptionally(new IOException("The exporter is shut down."));
+        return exchange.result;
+      }
+      if (maxConcurrentExports > 0 && inFlight.size() >= maxConcurrentExports) {
+        pending.add(exchange);
+        return exchange.result;
+      }
+      inFlight.add(exchange);
+    }
+    exchange.start();
+    return exchange.result;
+  }
+
+  /** Fails the exports in flight and stops the executor. */
+  void shutdown() {
+    List<Exchange> exchanges;
+    synchronized (lock) {
+      shutdown = true;
+      exchanges = new ArrayList<>(inFlight);
+      exchanges.addAll(pending);
+      pending.clear();
+    }
+    for (Exchange exchange : exchanges) {
+      exchange.cancel();
+    }
+    executor.shutdownNow();
+  }
+
+  private void completed(Exchange exchange) {
+    Exchange next;
+    synchronized (lock) {
+      inFlight.remove(exchange);
+      next = shutdown ? null : pending.poll();
+      if (next == null) {
+        return;
+      }
+      inFlight.add(next);
+    }
+    next.start();
+  }
+
+  private boolean isShutdown() {
+    synchronized (lock) {
+      return shutdown;
+    }
+  }
+
+  private final class Exchange {
+    private final HttpClient client;
+    private final HttpRequest.Builder request;
+    private final CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    // Only accessed by one attempt at a time.
+    private long deadlineNanos;
+    private int attempts;
+    private long nextBackoffNanos;
+    @Nullable private volatile CompletableFuture<?> attempt;
+
+    private Exchange(HttpClient client, HttpRequest.Builder request) {
+      this.client = client;
+      this.request = request;
+    }
+
+    private void start() {
+      deadlineNanos = System.nanoTime() + timeoutNanos;
+      if (retryPolicy != null) {
+        nextBackoffNanos = retryPolicy.getInitialBackoff().toNanos();
+      }
+      send(/* authenticate= */ false);
+    }
+
+    private void send(boolean authenticate) {
+      if (isShutdown()) {
+        complete(null, new IOException("The exporter is shut down."));
+        return;
+      }
+      HttpRequest.Builder builder = request.copy();
+      if (timeoutNanos > 0) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+          complete(null, new HttpTimeoutException("The export timed out."));
+          return;
+        }
+        builder.timeout(Duration.ofNanos(remainingNanos));
+      }
+      CompletableFuture<HttpResponse<byte[]>> sent;
+      try {
+        if (authenticate && authenticator != null) {
+          authenticator.getHeaders().forEach(builder::setHeader);
+        }
+        sent = client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+      } catch (RuntimeException e) {
+        complete(null, e);
+        return;
+      }
+      attempts++;
+      attempt = sent;
+      sent.whenComplete((response, error) -> onResponse(response, error, authenticate));
+    }
+
+    private void onResponse(
+        @Nullable HttpResponse<byte[]> response, @Nullable Throwable error, boolean authenticated) {
+      if (error instanceof CompletionException && error.getCause() != null) {
+        error = error.getCause();
+      }
+      if (response != null
+          && response.statusCode() == UNAUTHORIZED
+          && authenticator != null
+          && !authenticated) {
+        // Like OkHttp's authenticator, this does not count as a retry.
+        attempts--;
+        send(/* authenticate= */ true);
+        return;
+      }
+
+      RetryPolicy retryPolicy = JdkHttpSender.this.retryPolicy;
+      boolean retryable =
+          response != null
+              ? isRetryable.test(response)
+              : error instanceof HttpConnectTimeoutException;
+      if (retryPolicy == null || !retryable || attempts >= retryPolicy.getMaxAttempts()) {
+        complete(response, error);
+        return;
+      }
+
+      // https://github.com/grpc/proposal/blob/master/A6-client-retries.md#exponential-backoff
+      long upperBoundNanos = Math.min(nextBackoffNanos, retryPolicy.getMaxBackoff().toNanos());
+      long backoffNanos =
+          upperBoundNanos > 0 ? ThreadLocalRandom.current().nextLong(upperBoundNanos) : 0;
+      nextBackoffNanos = (long) (nextBackoffNanos * retryPolicy.getBackoffMultiplier());
+      // The server's pushback takes the place of the computed backoff, like in gRPC, up to the
+      // maximum backoff.
+      long retryDelayNanos = response != null ? retryDelayNanos(response.headers()) : -1;
+      if (retryDelayNanos >= 0) {
+        backoffNanos = Math.min(retryDelayNanos, retryPolicy.getMaxBackoff().toNanos());
+      }
+      if (timeoutNanos > 0 && System.nanoTime() + backoffNanos - deadlineNanos >= 0) {
+        // The retry could not complete before the export times out.
+        complete(response, error);
+        return;
+      }
+
+      HttpResponse<byte[]> lastResponse = response;
+      Throwable lastError = error;
+      CompletableFuture.delayedExecutor(
+              backoffNanos,
+              TimeUnit.NANOSECONDS,
+              retry -> {
+                try {
+                  executor.execute(retry);
+                } catch (RejectedExecutionException e) {
+                  complete(lastResponse, lastError);
+                }
+              })
+          .execute(() -> send(authenticated));
+    }
+
+    private void cancel() {
+      CompletableFuture<?> attempt = this.attempt;
+      if (attempt != null) {
+        attempt.cancel(true);
+      }
+      complete(null, new IOException("The exporter is shut down."));
+    }
+
+    private void complete(@Nullable HttpResponse<byte[]> response, @Nullable Throwable error) {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+      completed(this);
+      if (response != null) {
+        result.complete(response);
+      } else {
+        result.completeExceptionally(
+            error != null ? error : new IOException("The request failed without a response."));
+      }
+    }
+  }
+}
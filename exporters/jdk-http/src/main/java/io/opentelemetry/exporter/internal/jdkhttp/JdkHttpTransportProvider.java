@@ -0,0 +1,124 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.jdkhttp;
+
+import io.opentelemetry.exporter.internal.TlsUtil;
+import io.opentelemetry.exporter.internal.grpc.GrpcExporter;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
+import io.opentelemetry.exporter.internal.http.HttpTransportConfig;
+import io.opentelemetry.exporter.internal.http.HttpTransportProvider;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * A {@link HttpTransportProvider} which exports with the {@code java.net.http} client of the JDK,
+ * on virtual threads when the runtime has them.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class JdkHttpTransportProvider implements HttpTransportProvider {
+
+  @Override
+  public <T extends Marshaler> HttpExporter<T> createHttpExporter(HttpTransportConfig config) {
+    URI endpoint = URI.create(config.getEndpoint());
+    ExecutorService executor = newExecutor(config.getType());
+    // Negotiates HTTP/2 with ALPN over TLS. Over plaintext the JDK would send HTTP/1.1 requests
+    // asking to upgrade to h2c, which not all servers handle.
+    HttpClient.Version version =
+        "https".equals(endpoint.getScheme())
+            ? HttpClient.Version.HTTP_2
+            : HttpClient.Version.HTTP_1_1;
+    JdkHttpSender sender =
+        new JdkHttpSender(
+            executor,
+            config.getTimeoutNanos(),
+            config.getRetryPolicy(),
+            config.getAuthenticator(),
+            JdkHttpExporter::isRetryable,
+            config.getMaxConcurrentExports());
+    return new JdkHttpExporter<>(
+        config.getExporterName(),
+        config.getType(),
+        newClient(config, version, sslContext(config), executor),
+        sender,
+        config.getMeterProvider(),
+        endpoint,
+        config.getHeaders(),
+        config.getCompressor(),
+        config.getExportAsJson());
+  }
+
+  /**
+   * Returns {@code null}, so gRPC is exported with OkHttp. gRPC servers send the status of a call
+   * which returned a message in HTTP/2 trailers, which the client does not expose, so a failed call
+   * could not be told apart from a successful one.
+   */
+  @Override
+  @Nullable
+  public <T extends Marshaler> GrpcExporter<T> createGrpcExporter(HttpTransportConfig config) {
+    return null;
+  }
+
+  private static HttpClient newClient(
+      HttpTransportConfig config,
+      HttpClient.Version version,
+      @Nullable SSLContext sslContext,
+      ExecutorService executor) {
+    HttpClient.Builder builder =
+        HttpClient.newBuilder()
+            .version(version)
+            .executor(executor)
+            // Like OkHttp.
+            .followRedirects(HttpClient.Redirect.NORMAL);
+    if (config.getTimeoutNanos() > 0) {
+      builder.connectTimeout(Duration.ofNanos(config.getTimeoutNanos()));
+    }
+    if (sslContext != null) {
+      builder.sslContext(sslContext);
+    }
+    return builder.build();
+  }
+
+  @Nullable
+  private static SSLContext sslContext(HttpTransportConfig config) {
+    X509TrustManager trustManager = config.getTrustManager();
+    if (trustManager == null) {
+      return null;
+    }
+    try {
+      return TlsUtil.sslContext(config.getKeyManager(), trustManager);
+    } catch (SSLException e) {
+      throw new IllegalStateException(
+          "Could not set trusted certificates, are they valid X.509 in PEM format?", e);
+    }
+  }
+
+  /**
+   * Returns an executor running each task on a new virtual thread if the runtime has them, i.e.
+   * Java 21 or later, or else on a pool of daemon threads. Writing a request blocks until the
+   * client is ready for more of it, which costs next to nothing on a virtual thread.
+   */
+  // Visible for testing
+  static ExecutorService newExecutor(String type) {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Not available, or a preview feature which is not enabled.
+      return Executors.newCachedThreadPool(new DaemonThreadFactory("otel-jdk-http-" + type));
+    }
+  }
+}
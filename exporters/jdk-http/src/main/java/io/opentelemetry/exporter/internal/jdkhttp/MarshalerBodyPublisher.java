@@ -0,0 +1,239 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.jdkhttp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link HttpRequest.BodyPublisher} which streams a request as it is written, e.g. by a {@link
+ * io.opentelemetry.exporter.internal.marshal.Marshaler}, instead of serializing it to a byte array
+ * first. The request is written on the {@link Executor} into chunks which are only handed to the
+ * client as it asks for them, so at most one chunk is buffered per request. The request is written
+ * again for each subscription, e.g. when the request is retried.
+ *
+ * <p>A writer may still be running after the exchange completes, e.g. when it timed out, so
+ * resources used by the writer are only freed through {@link #release(Runnable)}.
+ */
+final class MarshalerBodyPublisher implements HttpRequest.BodyPublisher {
+
+  // Visible for testing
+  static final int CHUNK_SIZE = 16 * 1024;
+
+  /** Writes the body of a request. */
+  @FunctionalInterface
+  interface BodyWriter {
+    void writeTo(OutputStream output) throws IOException;
+  }
+
+  private final BodyWriter writer;
+  private final long contentLength;
+  private final int chunkSize;
+  private final Executor executor;
+
+  // Guarded by this.
+  private int activeWriters;
+  private boolean released;
+  @Nullable private Runnable onReleased;
+
+  /**
+   * Creates a {@link MarshalerBodyPublisher} of a body of {@code contentLength} bytes, or -1 if it
+   * is not known up front.
+   */
+  MarshalerBodyPublisher(BodyWriter writer, long contentLength, Executor executor) {
+    this.writer = writer;
+    this.contentLength = contentLength;
+    this.chunkSize =
+        contentLength >= 0 && contentLength < CHUNK_SIZE ? (int) contentLength : CHUNK_SIZE;
+    this.executor = executor;
+  }
+
+  @Override
+  public long contentLength() {
+    return contentLength;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    ChunkingSubscription subscription = new ChunkingSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+    synchronized (this) {
+      if (released) {
+        subscription.fail(new IOException("The request was already released."));
+        return;
+      }
+      activeWriters++;
+    }
+    try {
+      executor.execute(subscription::write);
+    } catch (RejectedExecutionException e) {
+      writerDone();
+      subscription.fail(new IOException("The exporter is shut down.", e));
+    }
+  }
+
+  /**
+   * Runs {@code action} once no writer is running, i.e. right away unless one is still writing the
+   * request, and prevents further subscriptions. Called once the exchange completed.
+   */
+  void release(Runnable action) {
+    synchronized (this) {
+      released = true;
+      if (activeWriters > 0) {
+        onReleased = action;
+        return;
+      }
+    }
+    action.run();
+  }
+
+  private void writerDone() {
+    Runnable action;
+    synchronized (this) {
+      activeWriters--;
+      if (activeWriters > 0 || !released) {
+        return;
+      }
+      action = onReleased;
+      onReleased = null;
+    }
+    if (action != null) {
+      action.run();
+    }
+  }
+
+  private final class ChunkingSubscription extends OutputStream implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+    // Guarded by this.
+    private long demand;
+    private boolean cancelled;
+
+    // Only accessed by the writing thread.
+    @Nullable private byte[] chunk;
+    private int position;
+
+    private ChunkingSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        cancel();
+        subscriber.onError(
+            new IllegalArgumentException("Requested a non-positive number of chunks: " + n));
+        return;
+      }
+      synchronized (this) {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        notifyAll();
+      }
+    }
+
+    @Override
+    public synchronized void cancel() {
+      cancelled = true;
+      notifyAll();
+    }
+
+    private void write() {
+      try {
+        writer.writeTo(this);
+        byte[] chunk = this.chunk;
+        if (chunk != null && position > 0) {
+          emit(chunk);
+        }
+      } catch (IOException | RuntimeException e) {
+        writerDone();
+        fail(e);
+        return;
+      }
+      writerDone();
+      if (!isCancelled()) {
+        subscriber.onComplete();
+      }
+    }
+
+    private void fail(Throwable t) {
+      if (!isCancelled()) {
+        subscriber.onError(t);
+      }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      nextChunk()[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        byte[] chunk = nextChunk();
+        int length = Math.min(len, chunk.length - position);
+        System.arraycopy(b, off, chunk, position, length);
+        position += length;
+        off += length;
+        len -= length;
+      }
+    }
+
+    @Override
+    public void close() {
+      // The chunk being written is emitted once the writer returns.
+    }
+
+    /** Returns the chunk to write to, emitting the current one if it is full. */
+    private byte[] nextChunk() throws IOException {
+      byte[] chunk = this.chunk;
+      if (chunk != null && position == chunk.length) {
+        emit(chunk);
+        chunk = null;
+      }
+      if (chunk == null) {
+        // A body longer than its declared length still gets written, for the client to reject.
+        chunk = new byte[Math.max(chunkSize, 1)];
+        this.chunk = chunk;
+      }
+      return chunk;
+    }
+
+    /** Hands the chunk to the client once it asks for one, blocking the writer until then. */
+    private void emit(byte[] chunk) throws IOException {
+      synchronized (this) {
+        while (demand == 0 && !cancelled) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing the request.");
+          }
+        }
+        if (cancelled) {
+          // Stops the writer, the exception is not propagated to the subscriber.
+          throw new IOException("The request was cancelled.");
+        }
+        demand--;
+      }
+      // The client may still hold on to the chunk after returning, so it is not reused.
+      subscriber.onNext(ByteBuffer.wrap(chunk, 0, position));
+      this.chunk = null;
+      position = 0;
+    }
+
+    private synchronized boolean isCancelled() {
+      return cancelled;
+    }
+  }
+}
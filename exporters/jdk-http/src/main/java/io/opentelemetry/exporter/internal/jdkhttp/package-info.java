@@ -0,0 +1,10 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/** Exporters which send with the {@code java.net.http} client of the JDK. */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.exporter.internal.jdkhttp;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,152 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.jdkhttp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.testing.junit5.server.mock.MockWebServerExtension;
+import io.opentelemetry.exporter.internal.http.HttpExporter;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.internal.okhttp.OkHttpExporterBuilder;
+import io.opentelemetry.exporter.internal.retry.RetryPolicy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class JdkHttpExporterTest {
+
+  @RegisterExtension static final MockWebServerExtension server = new MockWebServerExtension();
+
+  private static final byte[] BODY = new byte[MarshalerBodyPublisher.CHUNK_SIZE + 100];
+
+  private final Marshaler marshaler =
+      new Marshaler() {
+        @Override
+        public int getBinarySerializedSize() {
+          return BODY.length;
+        }
+
+        @Override
+        protected void writeTo(Serializer output) throws IOException {
+          output.writeSerializedMessage(BODY, new byte[0]);
+        }
+      };
+
+  @Test
+  void usesJdkHttpClient() {
+    HttpExporter<Marshaler> exporter = builder().build();
+    try {
+      assertThat(exporter).isInstanceOf(JdkHttpExporter.class);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export() throws Exception {
+    HttpExporter<Marshaler> exporter = builder().addHeader("key", "value").build();
+    server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+    assertThat(exporter.export(marshaler, 1).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+    AggregatedHttpRequest request = server.takeRequest().request();
+    assertThat(request.path()).isEqualTo("/v1/traces");
+    assertThat(request.headers().get("key")).isEqualTo("value");
+    assertThat(request.headers().get("Content-Type")).isEqualTo("application/x-protobuf");
+    assertThat(request.content().array()).isEqualTo(BODY);
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_Gzip() throws Exception {
+    HttpExporter<Marshaler> exporter = builder().setCompression("gzip").build();
+    server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+    assertThat(exporter.export(marshaler, 1).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+    AggregatedHttpRequest request = server.takeRequest().request();
+    assertThat(request.headers().get("Content-Encoding")).isEqualTo("gzip");
+    assertThat(gunzip(request.content().array())).isEqualTo(BODY);
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_Retry() throws Exception {
+    HttpExporter<Marshaler> exporter =
+        builder()
+            .setRetryPolicy(RetryPolicy.builder().setInitialBackoff(Duration.ofMillis(10)).build())
+            .build();
+    server.enqueue(HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE));
+    server.enqueue(HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE));
+    server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+    assertThat(exporter.export(marshaler, 1).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(server.takeRequest().request().content().array()).isEqualTo(BODY);
+    }
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_NotRetryable() throws Exception {
+    HttpExporter<Marshaler> exporter = builder().setRetryPolicy(RetryPolicy.getDefault()).build();
+    server.enqueue(HttpResponse.of(HttpStatus.BAD_REQUEST));
+
+    assertThat(exporter.export(marshaler, 1).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+    assertThat(server.takeRequest()).isNotNull();
+    assertThat(server.takeRequest(100, TimeUnit.MILLISECONDS)).isNull();
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_Authenticator() throws Exception {
+    HttpExporter<Marshaler> exporter =
+        builder().setAuthenticator(() -> Collections.singletonMap("Authorization", "auth")).build();
+    server.enqueue(HttpResponse.of(HttpStatus.UNAUTHORIZED));
+    server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+    assertThat(exporter.export(marshaler, 1).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+    assertThat(server.takeRequest().request().headers().get("Authorization")).isNull();
+    assertThat(server.takeRequest().request().headers().get("Authorization")).isEqualTo("auth");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_Shutdown() {
+    HttpExporter<Marshaler> exporter = builder().build();
+    exporter.shutdown();
+
+    assertThat(exporter.export(marshaler, 1).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+  }
+
+  private static OkHttpExporterBuilder<Marshaler> builder() {
+    return new OkHttpExporterBuilder<>("otlp", "span", server.httpUri() + "/v1/traces");
+  }
+
+  private static byte[] gunzip(byte[] compressed) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    }
+    return out.toByteArray();
+  }
+}
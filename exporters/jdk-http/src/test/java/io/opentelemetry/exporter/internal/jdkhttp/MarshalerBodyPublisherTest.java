@@ -0,0 +1,324 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.jdkhttp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MarshalerBodyPublisherTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void writesBodyInChunks() {
+    byte[] body = body(MarshalerBodyPublisher.CHUNK_SIZE * 2 + 10);
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(output -> output.write(body), body.length, executor);
+    assertThat(publisher.contentLength()).isEqualTo(body.length);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(Long.MAX_VALUE);
+
+    await().untilAsserted(() -> assertThat(subscriber.isCompleted()).isTrue());
+    assertThat(subscriber.chunkSizes())
+        .containsExactly(MarshalerBodyPublisher.CHUNK_SIZE, MarshalerBodyPublisher.CHUNK_SIZE, 10);
+    assertThat(subscriber.bytes()).isEqualTo(body);
+  }
+
+  @Test
+  void smallBody() {
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(
+            output -> {
+              output.write(1);
+              output.write(new byte[] {2, 3});
+            },
+            3,
+            executor);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(1);
+
+    await().untilAsserted(() -> assertThat(subscriber.isCompleted()).isTrue());
+    assertThat(subscriber.bytes()).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void unknownLength() {
+    byte[] body = body(MarshalerBodyPublisher.CHUNK_SIZE + 1);
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(output -> output.write(body), -1, executor);
+    assertThat(publisher.contentLength()).isEqualTo(-1);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(Long.MAX_VALUE);
+
+    await().untilAsserted(() -> assertThat(subscriber.isCompleted()).isTrue());
+    assertThat(subscriber.bytes()).isEqualTo(body);
+  }
+
+  @Test
+  void waitsForDemand() throws Exception {
+    byte[] body = body(MarshalerBodyPublisher.CHUNK_SIZE * 3);
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(output -> output.write(body), body.length, executor);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(1);
+
+    await().untilAsserted(() -> assertThat(subscriber.chunkSizes()).hasSize(1));
+    Thread.sleep(50);
+    assertThat(subscriber.chunkSizes()).hasSize(1);
+    assertThat(subscriber.isCompleted()).isFalse();
+
+    subscriber.request(2);
+    await().untilAsserted(() -> assertThat(subscriber.isCompleted()).isTrue());
+    assertThat(subscriber.bytes()).isEqualTo(body);
+  }
+
+  @Test
+  void cancelStopsWriter() {
+    AtomicBoolean writerStopped = new AtomicBoolean();
+    byte[] chunk = body(MarshalerBodyPublisher.CHUNK_SIZE);
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(
+            output -> {
+              try {
+                while (true) {
+                  output.write(chunk);
+                }
+              } finally {
+                writerStopped.set(true);
+              }
+            },
+            -1,
+            executor);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(1);
+    await().untilAsserted(() -> assertThat(subscriber.chunkSizes()).hasSize(1));
+
+    subscriber.cancel();
+    await().untilTrue(writerStopped);
+    assertThat(subscriber.chunkSizes()).hasSize(1);
+    assertThat(subscriber.isCompleted()).isFalse();
+    assertThat(subscriber.error()).isNull();
+  }
+
+  @Test
+  void writerError() {
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(
+            output -> {
+              throw new IOException("boom");
+            },
+            -1,
+            executor);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(1);
+
+    await().untilAsserted(() -> assertThat(subscriber.error()).hasMessage("boom"));
+    assertThat(subscriber.isCompleted()).isFalse();
+  }
+
+  @Test
+  void invalidDemand() {
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(output -> output.write(1), 1, executor);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(0);
+
+    await()
+        .untilAsserted(
+            () -> assertThat(subscriber.error()).isInstanceOf(IllegalArgumentException.class));
+    assertThat(subscriber.isCompleted()).isFalse();
+  }
+
+  @Test
+  void rejectedByExecutor() {
+    executor.shutdown();
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(output -> output.write(1), 1, executor);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+
+    assertThat(subscriber.error()).hasMessage("The exporter is shut down.");
+  }
+
+  @Test
+  void writesAgainForEachSubscription() {
+    AtomicInteger writes = new AtomicInteger();
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(
+            output -> output.write(writes.incrementAndGet()), /* contentLength= */ 1, executor);
+
+    RecordingSubscriber first = new RecordingSubscriber();
+    publisher.subscribe(first);
+    first.request(1);
+    await().untilAsserted(() -> assertThat(first.isCompleted()).isTrue());
+
+    RecordingSubscriber second = new RecordingSubscriber();
+    publisher.subscribe(second);
+    second.request(1);
+    await().untilAsserted(() -> assertThat(second.isCompleted()).isTrue());
+
+    assertThat(first.bytes()).containsExactly(1);
+    assertThat(second.bytes()).containsExactly(2);
+  }
+
+  @Test
+  void releaseWaitsForWriter() throws Exception {
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch finishWriting = new CountDownLatch(1);
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(
+            output -> {
+              writing.countDown();
+              try {
+                finishWriting.await();
+              } catch (InterruptedException e) {
+                throw new AssertionError(e);
+              }
+              output.write(1);
+            },
+            1,
+            executor);
+
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    subscriber.request(1);
+    writing.await();
+
+    AtomicBoolean released = new AtomicBoolean();
+    publisher.release(() -> released.set(true));
+    assertThat(released).isFalse();
+
+    finishWriting.countDown();
+    await().untilTrue(released);
+    assertThat(subscriber.isCompleted()).isTrue();
+
+    // Nothing is written once released.
+    RecordingSubscriber late = new RecordingSubscriber();
+    publisher.subscribe(late);
+    assertThat(late.error()).hasMessage("The request was already released.");
+  }
+
+  @Test
+  void releaseWithoutWriter() {
+    MarshalerBodyPublisher publisher =
+        new MarshalerBodyPublisher(output -> output.write(1), 1, executor);
+
+    AtomicBoolean released = new AtomicBoolean();
+    publisher.release(() -> released.set(true));
+    assertThat(released).isTrue();
+  }
+
+  private static byte[] body(int length) {
+    byte[] body = new byte[length];
+    for (int i = 0; i < length; i++) {
+      body[i] = (byte) i;
+    }
+    return body;
+  }
+
+  private static final class RecordingSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    @Nullable private Flow.Subscription subscription;
+    private boolean completed;
+    @Nullable private Throwable error;
+
+    @Override
+    public synchronized void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public synchronized void onNext(ByteBuffer item) {
+      byte[] chunk = new byte[item.remaining()];
+      item.get(chunk);
+      chunks.add(chunk);
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public synchronized void onComplete() {
+      completed = true;
+    }
+
+    void request(long n) {
+      subscription().request(n);
+    }
+
+    void cancel() {
+      subscription().cancel();
+    }
+
+    private synchronized Flow.Subscription subscription() {
+      return Objects.requireNonNull(subscription);
+    }
+
+    synchronized List<Integer> chunkSizes() {
+      List<Integer> sizes = new ArrayList<>();
+      for (byte[] chunk : chunks) {
+        sizes.add(chunk.length);
+      }
+      return sizes;
+    }
+
+    synchronized byte[] bytes() {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      for (byte[] chunk : chunks) {
+        bytes.write(chunk, 0, chunk.length);
+      }
+      return bytes.toByteArray();
+    }
+
+    synchronized boolean isCompleted() {
+      return completed;
+    }
+
+    @Nullable
+    synchronized Throwable error() {
+      return error;
+    }
+  }
+}
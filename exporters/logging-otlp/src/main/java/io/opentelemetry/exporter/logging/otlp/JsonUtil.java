@@ -5,20 +5,31 @@
 
 package io.opentelemetry.exporter.logging.otlp;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import io.opentelemetry.exporter.internal.marshal.BufferPool;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import java.io.IOException;
+import javax.annotation.Nullable;
 
 final class JsonUtil {
 
-  static final JsonFactory JSON_FACTORY = new JsonFactory();
-
-  static JsonGenerator create(SegmentedStringWriter stringWriter) {
+  /**
+   * Returns the {@code marshaler} serialized in OTLP JSON format, or {@code null} if it could not
+   * be serialized. The JSON is written into a pooled buffer, so the returned {@link String} is the
+   * only copy of it which is allocated.
+   */
+  @Nullable
+  static String toJson(Marshaler marshaler) {
+    BufferPool bufferPool = BufferPool.getDefault();
+    ProtoWriter buffer = bufferPool.acquire();
     try {
-      return JSON_FACTORY.createGenerator(stringWriter);
+      marshaler.writeJsonTo(buffer.outputStream());
+      return buffer.toUtf8String();
     } catch (IOException e) {
-      throw new IllegalStateException("Unable to create in-memory JsonGenerator, can't happen.", e);
+      // Shouldn't happen in practice, just skip it.
+      return null;
+    } finally {
+      bufferPool.release(buffer);
     }
   }
 
@@ -5,15 +5,10 @@
 
 package io.opentelemetry.exporter.logging.otlp;
 
-import static io.opentelemetry.exporter.logging.otlp.JsonUtil.JSON_FACTORY;
-
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.io.SegmentedStringWriter;
 import io.opentelemetry.exporter.internal.otlp.logs.ResourceLogsMarshaler;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.logs.export.LogRecordExporter;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -38,16 +33,15 @@ public final class OtlpJsonLoggingLogRecordExporter implements LogRecordExporter
 
   @Override
   public CompletableResultCode export(Collection<LogRecordData> logs) {
+    if (!logger.isLoggable(Level.INFO)) {
+      return CompletableResultCode.ofSuccess();
+    }
     ResourceLogsMarshaler[] allResourceLogs = ResourceLogsMarshaler.create(logs);
     for (ResourceLogsMarshaler resourceLogs : allResourceLogs) {
-      SegmentedStringWriter sw = new SegmentedStringWriter(JSON_FACTORY._getBufferRecycler());
-      try (JsonGenerator gen = JsonUtil.create(sw)) {
-        resourceLogs.writeJsonTo(gen);
-      } catch (IOException e) {
-        // Shouldn't happen in practice, just skip it.
-        continue;
+      String json = JsonUtil.toJson(resourceLogs);
+      if (json != null) {
+        logger.log(Level.INFO, json);
       }
-      logger.log(Level.INFO, sw.getAndClear());
     }
     return CompletableResultCode.ofSuccess();
   }
@@ -112,13 +112,16 @@ public final class OtlpGrpcMetricExporterBuilder {
 
   /**
    * Sets the method used to compress payloads. If unset, compression is disabled. Currently
-   * supported compression methods include "gzip" and "none".
+   * supported compression methods include "gzip" and "none", as well as "zstd" and "snappy" when
+   * {@code com.github.luben:zstd-jni} and {@code org.iq80.snappy:snappy} respectively are on the
+   * classpath.
+   *
+   * <p>gzip uses the default compression level. The level can only be changed by registering a
+   * {@code io.opentelemetry.exporter.internal.compression.CompressorProvider} for gzip with {@link
+   * java.util.ServiceLoader}.
    */
   public OtlpGrpcMetricExporterBuilder setCompression(String compressionMethod) {
     requireNonNull(compressionMethod, "compressionMethod");
-    checkArgument(
-        compressionMethod.equals("gzip") || compressionMethod.equals("none"),
-        "Unsupported compression method. Supported compression methods include: gzip, none.");
     delegate.setCompression(compressionMethod);
     return this;
   }
@@ -155,6 +158,29 @@ public final class OtlpGrpcMetricExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets the number of connections to the endpoint that exports are spread over, sending each
+   * export on the connection with the fewest exports in flight. Each connection is a separate
+   * HTTP/2 connection, which a layer 4 load balancer can route to a different backend. If unset,
+   * defaults to 1. Not applicable if {@link #setChannel(ManagedChannel)} is called.
+   */
+  public OtlpGrpcMetricExporterBuilder setConnectionCount(int connectionCount) {
+    checkArgument(connectionCount > 0, "connectionCount must be positive");
+    delegate.setConnectionCount(connectionCount);
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of exports in flight across all connections. Further exports are queued
+   * until one completes. If unset, at most 5 exports are in flight per connection. Not applicable
+   * if {@link #setChannel(ManagedChannel)} is called.
+   */
+  public OtlpGrpcMetricExporterBuilder setMaxConcurrentExports(int maxConcurrentExports) {
+    checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive");
+    delegate.setMaxConcurrentExports(maxConcurrentExports);
+    return this;
+  }
+
   /**
    * Set the {@link AggregationTemporalitySelector} used for {@link
    * MetricExporter#getAggregationTemporality(InstrumentType)}.
@@ -35,9 +35,10 @@ dependencies {
 
   jmhImplementation(project(":sdk:testing"))
   jmhImplementation(project(":sdk-extensions:resources"))
-  jmhImplementation("com.fasterxml.jackson.core:jackson-core")
   jmhImplementation("io.opentelemetry.proto:opentelemetry-proto")
   jmhImplementation("io.grpc:grpc-netty")
+  jmhImplementation("com.github.luben:zstd-jni")
+  jmhImplementation("org.iq80.snappy:snappy")
 }
 
 wire {
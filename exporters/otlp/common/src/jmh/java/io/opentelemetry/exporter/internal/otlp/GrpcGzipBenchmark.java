@@ -14,6 +14,10 @@ import io.opentelemetry.api.metrics.DoubleUpDownCounter;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.LongUpDownCounter;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.compression.GzipCompressor;
+import io.opentelemetry.exporter.internal.compression.SnappyCompressor;
+import io.opentelemetry.exporter.internal.compression.ZstdCompressor;
 import io.opentelemetry.exporter.internal.otlp.metrics.ResourceMetricsMarshaler;
 import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
 import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
@@ -28,6 +32,7 @@ import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -36,6 +41,10 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
 @BenchmarkMode({Mode.AverageTime})
@@ -157,4 +166,57 @@ public class GrpcGzipBenchmark {
     gzos.close();
     return baos;
   }
+
+  @Benchmark
+  public ByteArrayOutputStream exporterCompressor(CompressorState state) throws IOException {
+    return compress(state.compressor);
+  }
+
+  @State(Scope.Benchmark)
+  public static class CompressorState {
+
+    @Param({"gzip", "gzip-1", "zstd", "snappy"})
+    public String method;
+
+    Compressor compressor;
+
+    @Setup
+    public void setup() throws IOException {
+      switch (method) {
+        case "gzip":
+          compressor = GzipCompressor.getInstance();
+          break;
+        case "gzip-1":
+          compressor = GzipCompressor.create(1);
+          break;
+        case "zstd":
+          compressor = ZstdCompressor.getInstance();
+          break;
+        case "snappy":
+          compressor = SnappyCompressor.getInstance();
+          break;
+        default:
+          throw new IllegalArgumentException(method);
+      }
+      // Printed with the benchmark output to compare the compression ratio with the time taken.
+      int uncompressedSize = METRICS_REQUEST.getSerializedSize();
+      int compressedSize = compress(compressor).size();
+      System.out.println(
+          String.format(
+              Locale.ROOT,
+              "%s: %d bytes compressed to %d bytes (%.1f%%)",
+              method,
+              uncompressedSize,
+              compressedSize,
+              100.0 * compressedSize / uncompressedSize));
+    }
+  }
+
+  private static ByteArrayOutputStream compress(Compressor compressor) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (OutputStream compressed = compressor.compress(baos)) {
+      METRICS_REQUEST.writeTo(compressed);
+    }
+    return baos;
+  }
 }
@@ -112,6 +112,15 @@ public class MetricsRequestMarshalerBenchmark {
     histogram.record(3.0);
     histogram.record(4.0);
     histogram.record(5.0);
+    DoubleHistogram latency =
+        meter2
+            .histogramBuilder("latency")
+            .setDescription("latency description")
+            .setUnit("ms")
+            .build();
+    for (int i = 0; i < 10; i++) {
+      latency.record(i * 10.0, Attributes.of(AttributeKey.stringKey("route"), "/route/" + i));
+    }
 
     METRICS = metricReader.collectAllMetrics();
   }
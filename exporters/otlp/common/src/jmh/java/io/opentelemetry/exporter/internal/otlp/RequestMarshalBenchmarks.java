@@ -5,7 +5,13 @@
 
 package io.opentelemetry.exporter.internal.otlp;
 
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
+import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.internal.otlp.traces.ResourceSpansMarshaler;
 import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.proto.collector.trace.v1.internal.ExportTraceServiceRequest;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
@@ -42,6 +48,29 @@ public class RequestMarshalBenchmarks {
     return customOutput;
   }
 
+  // The marshaler tree TraceRequestMarshaler used before writing requests in a single pass, for
+  // comparison.
+  @Benchmark
+  @Threads(1)
+  public ByteArrayOutputStream marshalTree(RequestMarshalState state) throws IOException {
+    ResourceSpansMarshaler[] resourceSpansMarshalers =
+        ResourceSpansMarshaler.create(state.spanDataList);
+    Marshaler requestMarshaler =
+        new MarshalerWithSize(
+            MarshalerUtil.sizeRepeatedMessage(
+                ExportTraceServiceRequest.RESOURCE_SPANS, resourceSpansMarshalers)) {
+          @Override
+          protected void writeTo(Serializer output) throws IOException {
+            output.serializeRepeatedMessage(
+                ExportTraceServiceRequest.RESOURCE_SPANS, resourceSpansMarshalers);
+          }
+        };
+    ByteArrayOutputStream customOutput =
+        new ByteArrayOutputStream(requestMarshaler.getBinarySerializedSize());
+    requestMarshaler.writeBinaryTo(customOutput);
+    return customOutput;
+  }
+
   @Benchmark
   @Threads(1)
   public ByteArrayOutputStream marshalJson(RequestMarshalState state) throws IOException {
@@ -27,7 +27,8 @@ public final class InstrumentationScopeMarshaler extends MarshalerWithSize {
       SCOPE_MARSHALER_CACHE = new WeakConcurrentMap.WithInlinedExpunction<>();
 
   private final byte[] serializedBinary;
-  private final String serializedJson;
+  private final byte[] serializedJson;
+  private final byte[] schemaUrlUtf8;
 
   /** Returns a Marshaler for InstrumentationScopeInfo. */
   public static InstrumentationScopeMarshaler create(InstrumentationScopeInfo scopeInfo) {
@@ -52,18 +53,29 @@ public final class InstrumentationScopeMarshaler extends MarshalerWithSize {
             "Serialization error, this is likely a bug in OpenTelemetry.", e);
       }
 
-      String json = MarshalerUtil.preserializeJsonFields(realMarshaler);
+      byte[] json = MarshalerUtil.preserializeJsonFields(realMarshaler);
 
-      cached = new InstrumentationScopeMarshaler(binaryBos.toByteArray(), json);
+      cached =
+          new InstrumentationScopeMarshaler(
+              binaryBos.toByteArray(), json, MarshalerUtil.toBytes(scopeInfo.getSchemaUrl()));
       SCOPE_MARSHALER_CACHE.put(scopeInfo, cached);
     }
     return cached;
   }
 
-  private InstrumentationScopeMarshaler(byte[] binary, String json) {
+  private InstrumentationScopeMarshaler(byte[] binary, byte[] json, byte[] schemaUrlUtf8) {
     super(binary.length);
     serializedBinary = binary;
     serializedJson = json;
+    this.schemaUrlUtf8 = schemaUrlUtf8;
+  }
+
+  /**
+   * Returns the schema URL encoded as UTF-8, which is serialized in the message containing this
+   * one.
+   */
+  public byte[] getSchemaUrlUtf8() {
+    return schemaUrlUtf8;
   }
 
   @Override
@@ -12,14 +12,16 @@ import io.opentelemetry.exporter.internal.marshal.CodedOutputStream;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoFieldInfo;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.proto.common.v1.internal.AnyValue;
 import io.opentelemetry.proto.common.v1.internal.ArrayValue;
 import io.opentelemetry.proto.common.v1.internal.KeyValue;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 
 /**
  * A Marshaler of {@link Attributes}.
@@ -31,6 +33,23 @@ public final class KeyValueMarshaler extends MarshalerWithSize {
   private static final byte[] EMPTY_BYTES = new byte[0];
   private static final KeyValueMarshaler[] EMPTY_REPEATED = new KeyValueMarshaler[0];
 
+  // The SDK's AttributeKey keeps its UTF-8 encoding, other implementations are cached here.
+  private static final Utf8Cache KEY_CACHE = new Utf8Cache(256, Integer.MAX_VALUE);
+
+  // Disabled by default since only attributes with few distinct values benefit from it.
+  @Nullable private static final Utf8Cache STRING_VALUE_CACHE;
+
+  static {
+    int stringValueCacheSize = 0;
+    try {
+      stringValueCacheSize =
+          Integer.parseInt(System.getProperty("otel.experimental.otlp.string-value-cache-size"));
+    } catch (Throwable t) {
+      // Ignore.
+    }
+    STRING_VALUE_CACHE = stringValueCacheSize > 0 ? new Utf8Cache(stringValueCacheSize, 64) : null;
+  }
+
   /** Returns Marshalers for the given Attributes. */
   public static KeyValueMarshaler[] createRepeated(Attributes attributes) {
     if (attributes.isEmpty()) {
@@ -50,23 +69,90 @@ public final class KeyValueMarshaler extends MarshalerWithSize {
     return attributeMarshalers;
   }
 
+  /**
+   * Writes the given Attributes as the repeated {@code field} directly, without creating
+   * Marshalers.
+   */
+  public static void writeRepeated(
+      ProtoWriter output, ProtoFieldInfo field, Attributes attributes) {
+    if (attributes.isEmpty()) {
+      return;
+    }
+    attributes.forEach(
+        (attributeKey, value) -> {
+          output.startMessage(field);
+          writeTo(output, attributeKey, value);
+          output.endMessage();
+        });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeTo(ProtoWriter output, AttributeKey<?> attributeKey, Object value) {
+    output.serializeString(KeyValue.KEY, keyUtf8(attributeKey));
+    output.startMessage(KeyValue.VALUE);
+    switch (attributeKey.getType()) {
+      case STRING:
+        output.writeString(AnyValue.STRING_VALUE, (String) value);
+        break;
+      case LONG:
+        output.writeInt64(AnyValue.INT_VALUE, (long) value);
+        break;
+      case BOOLEAN:
+        output.writeBool(AnyValue.BOOL_VALUE, (boolean) value);
+        break;
+      case DOUBLE:
+        output.writeDouble(AnyValue.DOUBLE_VALUE, (double) value);
+        break;
+      case STRING_ARRAY:
+        output.startMessage(AnyValue.ARRAY_VALUE);
+        for (String element : (List<String>) value) {
+          output.startMessage(ArrayValue.VALUES);
+          output.writeString(AnyValue.STRING_VALUE, element);
+          output.endMessage();
+        }
+        output.endMessage();
+        break;
+      case LONG_ARRAY:
+        output.startMessage(AnyValue.ARRAY_VALUE);
+        for (long element : (List<Long>) value) {
+          output.startMessage(ArrayValue.VALUES);
+          output.writeInt64(AnyValue.INT_VALUE, element);
+          output.endMessage();
+        }
+        output.endMessage();
+        break;
+      case BOOLEAN_ARRAY:
+        output.startMessage(AnyValue.ARRAY_VALUE);
+        for (boolean element : (List<Boolean>) value) {
+          output.startMessage(ArrayValue.VALUES);
+          output.writeBool(AnyValue.BOOL_VALUE, element);
+          output.endMessage();
+        }
+        output.endMessage();
+        break;
+      case DOUBLE_ARRAY:
+        output.startMessage(AnyValue.ARRAY_VALUE);
+        for (double element : (List<Double>) value) {
+          output.startMessage(ArrayValue.VALUES);
+          output.writeDouble(AnyValue.DOUBLE_VALUE, element);
+          output.endMessage();
+        }
+        output.endMessage();
+        break;
+    }
+    output.endMessage();
+  }
+
   private final byte[] keyUtf8;
   private final Marshaler value;
 
   @SuppressWarnings("unchecked")
   private static KeyValueMarshaler create(AttributeKey<?> attributeKey, Object value) {
-    byte[] keyUtf8;
-    if (attributeKey.getKey().isEmpty()) {
-      keyUtf8 = EMPTY_BYTES;
-    } else if (attributeKey instanceof InternalAttributeKeyImpl) {
-      keyUtf8 = ((InternalAttributeKeyImpl<?>) attributeKey).getKeyUtf8();
-    } else {
-      keyUtf8 = attributeKey.getKey().getBytes(StandardCharsets.UTF_8);
-    }
+    byte[] keyUtf8 = keyUtf8(attributeKey);
     switch (attributeKey.getType()) {
       case STRING:
         return new KeyValueMarshaler(
-            keyUtf8, new StringAnyValueMarshaler(MarshalerUtil.toBytes((String) value)));
+            keyUtf8, new StringAnyValueMarshaler(stringValueUtf8((String) value)));
       case LONG:
         return new KeyValueMarshaler(keyUtf8, new Int64AnyValueMarshaler((long) value));
       case BOOLEAN:
@@ -95,6 +181,21 @@ public final class KeyValueMarshaler extends MarshalerWithSize {
     throw new IllegalArgumentException("Unsupported attribute type.");
   }
 
+  private static byte[] keyUtf8(AttributeKey<?> attributeKey) {
+    if (attributeKey.getKey().isEmpty()) {
+      return EMPTY_BYTES;
+    }
+    if (attributeKey instanceof InternalAttributeKeyImpl) {
+      return ((InternalAttributeKeyImpl<?>) attributeKey).getKeyUtf8();
+    }
+    return KEY_CACHE.getBytes(attributeKey.getKey());
+  }
+
+  private static byte[] stringValueUtf8(String value) {
+    Utf8Cache cache = STRING_VALUE_CACHE;
+    return cache != null ? cache.getBytes(value) : MarshalerUtil.toBytes(value);
+  }
+
   private KeyValueMarshaler(byte[] keyUtf8, Marshaler value) {
     super(calculateSize(keyUtf8, value));
     this.keyUtf8 = keyUtf8;
@@ -201,7 +302,7 @@ public final class KeyValueMarshaler extends MarshalerWithSize {
       int len = values.size();
       Marshaler[] marshalers = new StringAnyValueMarshaler[len];
       for (int i = 0; i < len; i++) {
-        marshalers[i] = new StringAnyValueMarshaler(values.get(i).getBytes(StandardCharsets.UTF_8));
+        marshalers[i] = new StringAnyValueMarshaler(stringValueUtf8(values.get(i)));
       }
       return new ArrayValueMarshaler(marshalers);
     }
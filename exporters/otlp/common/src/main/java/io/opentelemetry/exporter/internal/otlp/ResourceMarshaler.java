@@ -26,7 +26,8 @@ public final class ResourceMarshaler extends MarshalerWithSize {
       RESOURCE_MARSHALER_CACHE = new WeakConcurrentMap.WithInlinedExpunction<>();
 
   private final byte[] serializedBinary;
-  private final String serializedJson;
+  private final byte[] serializedJson;
+  private final byte[] schemaUrlUtf8;
 
   /** Returns a Marshaler for Resource. */
   public static ResourceMarshaler create(io.opentelemetry.sdk.resources.Resource resource) {
@@ -48,18 +49,29 @@ public final class ResourceMarshaler extends MarshalerWithSize {
             "Serialization error, this is likely a bug in OpenTelemetry.", e);
       }
 
-      String json = MarshalerUtil.preserializeJsonFields(realMarshaler);
+      byte[] json = MarshalerUtil.preserializeJsonFields(realMarshaler);
 
-      cached = new ResourceMarshaler(binaryBos.toByteArray(), json);
+      cached =
+          new ResourceMarshaler(
+              binaryBos.toByteArray(), json, MarshalerUtil.toBytes(resource.getSchemaUrl()));
       RESOURCE_MARSHALER_CACHE.put(resource, cached);
     }
     return cached;
   }
 
-  private ResourceMarshaler(byte[] binary, String json) {
+  private ResourceMarshaler(byte[] binary, byte[] json, byte[] schemaUrlUtf8) {
     super(binary.length);
     serializedBinary = binary;
     serializedJson = json;
+    this.schemaUrlUtf8 = schemaUrlUtf8;
+  }
+
+  /**
+   * Returns the schema URL encoded as UTF-8, which is serialized in the message containing this
+   * one.
+   */
+  public byte[] getSchemaUrlUtf8() {
+    return schemaUrlUtf8;
   }
 
   @Override
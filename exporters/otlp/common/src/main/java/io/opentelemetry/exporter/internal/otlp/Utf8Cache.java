@@ -0,0 +1,61 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.otlp;
+
+import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
+
+/**
+ * A bounded cache of the UTF-8 encoding of strings, for strings that are exported over and over
+ * such as attribute keys and low-cardinality attribute values.
+ *
+ * <p>Each string maps to a single slot, which holds the most recently encoded string for it, so
+ * lookups never block and the cache never holds more than its size. Strings longer than {@code
+ * maxLength} are assumed to be unique and are always encoded.
+ */
+final class Utf8Cache {
+
+  private final Entry[] entries;
+  private final int mask;
+  private final int maxLength;
+
+  /** Creates a cache with at least {@code size} slots, rounded up to a power of two. */
+  Utf8Cache(int size, int maxLength) {
+    int slots = Integer.highestOneBit(Math.max(size, 1));
+    if (slots < size) {
+      slots <<= 1;
+    }
+    entries = new Entry[slots];
+    mask = slots - 1;
+    this.maxLength = maxLength;
+  }
+
+  /** Returns the UTF-8 encoding of {@code value}, which must not be modified. */
+  byte[] getBytes(String value) {
+    if (value.length() > maxLength) {
+      return MarshalerUtil.toBytes(value);
+    }
+    int hash = value.hashCode();
+    int index = (hash ^ (hash >>> 16)) & mask;
+    // Entries are immutable so reading a slot written by another thread is safe without locking.
+    Entry entry = entries[index];
+    if (entry != null && entry.value.equals(value)) {
+      return entry.utf8;
+    }
+    byte[] utf8 = MarshalerUtil.toBytes(value);
+    entries[index] = new Entry(value, utf8);
+    return utf8;
+  }
+
+  private static final class Entry {
+    private final String value;
+    private final byte[] utf8;
+
+    private Entry(String value, byte[] utf8) {
+      this.value = value;
+      this.utf8 = utf8;
+    }
+  }
+}
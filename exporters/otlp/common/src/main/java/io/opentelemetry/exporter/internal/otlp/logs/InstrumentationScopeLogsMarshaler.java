@@ -8,9 +8,12 @@ package io.opentelemetry.exporter.internal.otlp.logs;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.InstrumentationScopeMarshaler;
 import io.opentelemetry.proto.logs.v1.internal.ScopeLogs;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
 import java.io.IOException;
 import java.util.List;
 
@@ -29,6 +32,21 @@ final class InstrumentationScopeLogsMarshaler extends MarshalerWithSize {
     this.logMarshalers = logMarshalers;
   }
 
+  static void writeTo(
+      ProtoWriter output,
+      InstrumentationScopeInfo instrumentationScope,
+      List<LogRecordData> logRecords) {
+    InstrumentationScopeMarshaler scopeMarshaler =
+        InstrumentationScopeMarshaler.create(instrumentationScope);
+    output.serializeMessage(ScopeLogs.SCOPE, scopeMarshaler);
+    for (LogRecordData logRecord : logRecords) {
+      output.startMessage(ScopeLogs.LOG_RECORDS);
+      LogMarshaler.writeTo(output, logRecord);
+      output.endMessage();
+    }
+    output.serializeString(ScopeLogs.SCHEMA_URL, scopeMarshaler.getSchemaUrlUtf8());
+  }
+
   @Override
   public void writeTo(Serializer output) throws IOException {
     output.serializeMessage(ScopeLogs.SCOPE, instrumentationScope);
@@ -13,9 +13,11 @@ import io.opentelemetry.api.trace.TraceId;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
 import io.opentelemetry.exporter.internal.marshal.ProtoEnumInfo;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.KeyValueMarshaler;
 import io.opentelemetry.exporter.internal.otlp.StringAnyValueMarshaler;
+import io.opentelemetry.proto.common.v1.internal.AnyValue;
 import io.opentelemetry.proto.logs.v1.internal.LogRecord;
 import io.opentelemetry.proto.logs.v1.internal.SeverityNumber;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
@@ -57,6 +59,29 @@ final class LogMarshaler extends MarshalerWithSize {
         spanContext.getSpanId().equals(INVALID_SPAN_ID) ? null : spanContext.getSpanId());
   }
 
+  static void writeTo(ProtoWriter output, LogRecordData logRecordData) {
+    SpanContext spanContext = logRecordData.getSpanContext();
+    output.serializeFixed64(LogRecord.TIME_UNIX_NANO, logRecordData.getEpochNanos());
+    output.serializeEnum(
+        LogRecord.SEVERITY_NUMBER, toProtoSeverityNumber(logRecordData.getSeverity()));
+    output.serializeString(LogRecord.SEVERITY_TEXT, logRecordData.getSeverityText());
+    // For now, map all the bodies to String AnyValue.
+    output.startMessage(LogRecord.BODY);
+    output.writeString(AnyValue.STRING_VALUE, logRecordData.getBody().asString());
+    output.endMessage();
+    KeyValueMarshaler.writeRepeated(output, LogRecord.ATTRIBUTES, logRecordData.getAttributes());
+    output.serializeUInt32(
+        LogRecord.DROPPED_ATTRIBUTES_COUNT,
+        logRecordData.getTotalAttributeCount() - logRecordData.getAttributes().size());
+    output.serializeFixed32(LogRecord.FLAGS, toUnsignedInt(spanContext.getTraceFlags().asByte()));
+    output.serializeTraceId(
+        LogRecord.TRACE_ID,
+        spanContext.getTraceId().equals(INVALID_TRACE_ID) ? null : spanContext.getTraceId());
+    output.serializeSpanId(
+        LogRecord.SPAN_ID,
+        spanContext.getSpanId().equals(INVALID_SPAN_ID) ? null : spanContext.getSpanId());
+  }
+
   private LogMarshaler(
       long timeUnixNano,
       ProtoEnumInfo severityNumber,
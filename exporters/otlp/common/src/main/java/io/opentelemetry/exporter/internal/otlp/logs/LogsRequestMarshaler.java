@@ -8,40 +8,64 @@ package io.opentelemetry.exporter.internal.otlp.logs;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.internal.marshal.StreamingMarshaler;
 import io.opentelemetry.proto.collector.logs.v1.internal.ExportLogsServiceRequest;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
-import io.opentelemetry.sdk.trace.data.SpanData;
 import java.io.IOException;
 import java.util.Collection;
 
 /**
  * {@link Marshaler} to convert SDK {@link LogRecordData} to OTLP ExportLogsServiceRequest.
  *
+ * <p>The binary format is written directly from the {@link LogRecordData}, see {@link
+ * StreamingMarshaler}.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
-public final class LogsRequestMarshaler extends MarshalerWithSize {
+public final class LogsRequestMarshaler extends StreamingMarshaler {
 
-  private final ResourceLogsMarshaler[] resourceLogsMarshalers;
+  private final Collection<LogRecordData> logs;
 
   /**
    * Returns a {@link LogsRequestMarshaler} that can be used to convert the provided {@link
-   * SpanData} into a serialized OTLP ExportLogsServiceRequest.
+   * LogRecordData} into a serialized OTLP ExportLogsServiceRequest.
    */
   public static LogsRequestMarshaler create(Collection<LogRecordData> logs) {
-    return new LogsRequestMarshaler(ResourceLogsMarshaler.create(logs));
+    return new LogsRequestMarshaler(logs);
   }
 
-  private LogsRequestMarshaler(ResourceLogsMarshaler[] resourceLogsMarshalers) {
-    super(
-        MarshalerUtil.sizeRepeatedMessage(
-            ExportLogsServiceRequest.RESOURCE_LOGS, resourceLogsMarshalers));
-    this.resourceLogsMarshalers = resourceLogsMarshalers;
+  private LogsRequestMarshaler(Collection<LogRecordData> logs) {
+    this.logs = logs;
   }
 
   @Override
-  public void writeTo(Serializer output) throws IOException {
-    output.serializeRepeatedMessage(ExportLogsServiceRequest.RESOURCE_LOGS, resourceLogsMarshalers);
+  protected void writeTo(ProtoWriter output) {
+    ResourceLogsMarshaler.writeRepeated(output, ExportLogsServiceRequest.RESOURCE_LOGS, logs);
+  }
+
+  @Override
+  protected Marshaler createJsonMarshaler() {
+    return new JsonMarshaler(ResourceLogsMarshaler.create(logs));
+  }
+
+  private static final class JsonMarshaler extends MarshalerWithSize {
+
+    private final ResourceLogsMarshaler[] resourceLogsMarshalers;
+
+    private JsonMarshaler(ResourceLogsMarshaler[] resourceLogsMarshalers) {
+      super(
+          MarshalerUtil.sizeRepeatedMessage(
+              ExportLogsServiceRequest.RESOURCE_LOGS, resourceLogsMarshalers));
+      this.resourceLogsMarshalers = resourceLogsMarshalers;
+    }
+
+    @Override
+    public void writeTo(Serializer output) throws IOException {
+      output.serializeRepeatedMessage(
+          ExportLogsServiceRequest.RESOURCE_LOGS, resourceLogsMarshalers);
+    }
   }
 }
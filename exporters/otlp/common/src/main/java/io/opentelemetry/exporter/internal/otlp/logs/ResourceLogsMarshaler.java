@@ -8,6 +8,8 @@ package io.opentelemetry.exporter.internal.otlp.logs;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoFieldInfo;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.InstrumentationScopeMarshaler;
 import io.opentelemetry.exporter.internal.otlp.ResourceMarshaler;
@@ -19,6 +21,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * A Marshaler of ResourceLogs.
@@ -46,22 +49,48 @@ public final class ResourceLogsMarshaler extends MarshalerWithSize {
       int posInstrumentation = 0;
       for (Map.Entry<InstrumentationScopeInfo, List<Marshaler>> entryIs :
           entry.getValue().entrySet()) {
+        InstrumentationScopeMarshaler scopeMarshaler =
+            InstrumentationScopeMarshaler.create(entryIs.getKey());
         instrumentationLibrarySpansMarshalers[posInstrumentation++] =
             new InstrumentationScopeLogsMarshaler(
-                InstrumentationScopeMarshaler.create(entryIs.getKey()),
-                MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl()),
-                entryIs.getValue());
+                scopeMarshaler, scopeMarshaler.getSchemaUrlUtf8(), entryIs.getValue());
       }
+      ResourceMarshaler resourceMarshaler = ResourceMarshaler.create(entry.getKey());
       resourceLogsMarshalers[posResource++] =
           new ResourceLogsMarshaler(
-              ResourceMarshaler.create(entry.getKey()),
-              MarshalerUtil.toBytes(entry.getKey().getSchemaUrl()),
+              resourceMarshaler,
+              resourceMarshaler.getSchemaUrlUtf8(),
               instrumentationLibrarySpansMarshalers);
     }
 
     return resourceLogsMarshalers;
   }
 
+  /** Writes ResourceLogs for the provided logRecords directly, grouping them the same way. */
+  static void writeRepeated(
+      ProtoWriter output, ProtoFieldInfo field, Collection<LogRecordData> logs) {
+    Map<Resource, Map<InstrumentationScopeInfo, List<LogRecordData>>> resourceAndScopeMap =
+        MarshalerUtil.groupByResourceAndScope(
+            logs,
+            LogRecordData::getResource,
+            LogRecordData::getInstrumentationScopeInfo,
+            Function.identity());
+    for (Map.Entry<Resource, Map<InstrumentationScopeInfo, List<LogRecordData>>> entry :
+        resourceAndScopeMap.entrySet()) {
+      output.startLargeMessage(field);
+      ResourceMarshaler resourceMarshaler = ResourceMarshaler.create(entry.getKey());
+      output.serializeMessage(ResourceLogs.RESOURCE, resourceMarshaler);
+      for (Map.Entry<InstrumentationScopeInfo, List<LogRecordData>> entryIs :
+          entry.getValue().entrySet()) {
+        output.startLargeMessage(ResourceLogs.SCOPE_LOGS);
+        InstrumentationScopeLogsMarshaler.writeTo(output, entryIs.getKey(), entryIs.getValue());
+        output.endMessage();
+      }
+      output.serializeString(ResourceLogs.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
+      output.endMessage();
+    }
+  }
+
   ResourceLogsMarshaler(
       ResourceMarshaler resourceMarshaler,
       byte[] schemaUrl,
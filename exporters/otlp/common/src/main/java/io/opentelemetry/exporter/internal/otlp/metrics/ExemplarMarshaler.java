@@ -76,7 +76,7 @@ final class ExemplarMarshaler extends MarshalerWithSize {
     output.serializeFixed64(
         io.opentelemetry.proto.metrics.v1.internal.Exemplar.TIME_UNIX_NANO, timeUnixNano);
     if (valueField == io.opentelemetry.proto.metrics.v1.internal.Exemplar.AS_INT) {
-      output.serializeFixed64Optional(valueField, ((LongExemplarData) value).getValue());
+      output.serializeSFixed64Optional(valueField, ((LongExemplarData) value).getValue());
     } else {
       output.serializeDoubleOptional(valueField, ((DoubleExemplarData) value).getValue());
     }
@@ -5,18 +5,26 @@
 
 package io.opentelemetry.exporter.internal.otlp.metrics;
 
+import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.PreserializedFields;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.KeyValueMarshaler;
 import io.opentelemetry.proto.metrics.v1.internal.HistogramDataPoint;
 import io.opentelemetry.sdk.internal.PrimitiveLongList;
 import io.opentelemetry.sdk.metrics.data.HistogramPointData;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 final class HistogramDataPointMarshaler extends MarshalerWithSize {
+
+  // The SDK passes the same boundaries to every point of a histogram, on every collection.
+  private static final WeakConcurrentMap<List<Double>, PreserializedFields> EXPLICIT_BOUNDS_CACHE =
+      new WeakConcurrentMap.WithInlinedExpunction<>();
+
   private final long startTimeUnixNano;
   private final long timeUnixNano;
   private final long count;
@@ -26,7 +34,7 @@ final class HistogramDataPointMarshaler extends MarshalerWithSize {
   private final boolean hasMax;
   private final double max;
   private final List<Long> bucketCounts;
-  private final List<Double> explicitBounds;
+  private final PreserializedFields explicitBounds;
   private final ExemplarMarshaler[] exemplars;
   private final KeyValueMarshaler[] attributes;
 
@@ -54,11 +62,21 @@ final class HistogramDataPointMarshaler extends MarshalerWithSize {
         point.hasMax(),
         point.getMax(),
         point.getCounts(),
-        point.getBoundaries(),
+        explicitBounds(point.getBoundaries()),
         exemplarMarshalers,
         attributeMarshalers);
   }
 
+  private static PreserializedFields explicitBounds(List<Double> boundaries) {
+    PreserializedFields cached = EXPLICIT_BOUNDS_CACHE.get(boundaries);
+    if (cached == null) {
+      // The cached value must not reference the key or it would never be expunged.
+      cached = PreserializedFields.create(new ExplicitBoundsMarshaler(new ArrayList<>(boundaries)));
+      EXPLICIT_BOUNDS_CACHE.put(boundaries, cached);
+    }
+    return cached;
+  }
+
   private HistogramDataPointMarshaler(
       long startTimeUnixNano,
       long timeUnixNano,
@@ -69,7 +87,7 @@ final class HistogramDataPointMarshaler extends MarshalerWithSize {
       boolean hasMax,
       double max,
       List<Long> bucketCounts,
-      List<Double> explicitBounds,
+      PreserializedFields explicitBounds,
       ExemplarMarshaler[] exemplars,
       KeyValueMarshaler[] attributes) {
     super(
@@ -114,7 +132,7 @@ final class HistogramDataPointMarshaler extends MarshalerWithSize {
     }
     output.serializeRepeatedFixed64(
         HistogramDataPoint.BUCKET_COUNTS, PrimitiveLongList.toArray(bucketCounts));
-    output.serializeRepeatedDouble(HistogramDataPoint.EXPLICIT_BOUNDS, explicitBounds);
+    output.writeSerializedFields(explicitBounds);
     output.serializeRepeatedMessage(HistogramDataPoint.EXEMPLARS, exemplars);
     output.serializeRepeatedMessage(HistogramDataPoint.ATTRIBUTES, attributes);
   }
@@ -129,7 +147,7 @@ final class HistogramDataPointMarshaler extends MarshalerWithSize {
       boolean hasMax,
       double max,
       List<Long> bucketCounts,
-      List<Double> explicitBounds,
+      PreserializedFields explicitBounds,
       ExemplarMarshaler[] exemplars,
       KeyValueMarshaler[] attributes) {
     int size = 0;
@@ -144,9 +162,23 @@ final class HistogramDataPointMarshaler extends MarshalerWithSize {
       size += MarshalerUtil.sizeDoubleOptional(HistogramDataPoint.MAX, max);
     }
     size += MarshalerUtil.sizeRepeatedFixed64(HistogramDataPoint.BUCKET_COUNTS, bucketCounts);
-    size += MarshalerUtil.sizeRepeatedDouble(HistogramDataPoint.EXPLICIT_BOUNDS, explicitBounds);
+    size += explicitBounds.getBinarySerializedSize();
     size += MarshalerUtil.sizeRepeatedMessage(HistogramDataPoint.EXEMPLARS, exemplars);
     size += MarshalerUtil.sizeRepeatedMessage(HistogramDataPoint.ATTRIBUTES, attributes);
     return size;
   }
+
+  private static final class ExplicitBoundsMarshaler extends MarshalerWithSize {
+    private final List<Double> explicitBounds;
+
+    private ExplicitBoundsMarshaler(List<Double> explicitBounds) {
+      super(MarshalerUtil.sizeRepeatedDouble(HistogramDataPoint.EXPLICIT_BOUNDS, explicitBounds));
+      this.explicitBounds = explicitBounds;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      output.serializeRepeatedDouble(HistogramDataPoint.EXPLICIT_BOUNDS, explicitBounds);
+    }
+  }
 }
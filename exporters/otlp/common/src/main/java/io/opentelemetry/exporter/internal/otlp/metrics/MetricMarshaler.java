@@ -5,9 +5,11 @@
 
 package io.opentelemetry.exporter.internal.otlp.metrics;
 
+import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.PreserializedFields;
 import io.opentelemetry.exporter.internal.marshal.ProtoFieldInfo;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.proto.metrics.v1.internal.Metric;
@@ -16,18 +18,19 @@ import io.opentelemetry.sdk.metrics.internal.data.exponentialhistogram.Exponenti
 import java.io.IOException;
 
 final class MetricMarshaler extends MarshalerWithSize {
-  private final byte[] nameUtf8;
-  private final byte[] descriptionUtf8;
-  private final byte[] unitUtf8;
+
+  // The SDK creates new MetricData on every collection, but with the same name, description and
+  // unit instances for a given instrument, so the serialized descriptor is cached by name.
+  private static final WeakConcurrentMap<String, DescriptorMarshaler> DESCRIPTOR_CACHE =
+      new WeakConcurrentMap.WithInlinedExpunction<>();
+
+  private final PreserializedFields descriptor;
 
   private final Marshaler dataMarshaler;
   private final ProtoFieldInfo dataField;
 
   static Marshaler create(MetricData metric) {
-    // TODO(anuraaga): Cache these as they should be effectively singleton.
-    byte[] name = MarshalerUtil.toBytes(metric.getName());
-    byte[] description = MarshalerUtil.toBytes(metric.getDescription());
-    byte[] unit = MarshalerUtil.toBytes(metric.getUnit());
+    PreserializedFields descriptor = descriptor(metric);
 
     Marshaler dataMarshaler = null;
     ProtoFieldInfo dataField = null;
@@ -67,42 +70,86 @@ final class MetricMarshaler extends MarshalerWithSize {
       return NoopMarshaler.INSTANCE;
     }
 
-    return new MetricMarshaler(name, description, unit, dataMarshaler, dataField);
+    return new MetricMarshaler(descriptor, dataMarshaler, dataField);
+  }
+
+  private static PreserializedFields descriptor(MetricData metric) {
+    String name = metric.getName();
+    DescriptorMarshaler cached = DESCRIPTOR_CACHE.get(name);
+    if (cached == null
+        || !cached.description.equals(metric.getDescription())
+        || !cached.unit.equals(metric.getUnit())) {
+      // Since WeakConcurrentMap doesn't support computeIfAbsent, we may end up doing the conversion
+      // a few times until the cache gets filled which is fine.
+      cached = new DescriptorMarshaler(name, metric.getDescription(), metric.getUnit());
+      DESCRIPTOR_CACHE.put(name, cached);
+    }
+    return cached.preserialized;
   }
 
   private MetricMarshaler(
-      byte[] nameUtf8,
-      byte[] descriptionUtf8,
-      byte[] unitUtf8,
-      Marshaler dataMarshaler,
-      ProtoFieldInfo dataField) {
-    super(calculateSize(nameUtf8, descriptionUtf8, unitUtf8, dataMarshaler, dataField));
-    this.nameUtf8 = nameUtf8;
-    this.descriptionUtf8 = descriptionUtf8;
-    this.unitUtf8 = unitUtf8;
+      PreserializedFields descriptor, Marshaler dataMarshaler, ProtoFieldInfo dataField) {
+    super(calculateSize(descriptor, dataMarshaler, dataField));
+    this.descriptor = descriptor;
     this.dataMarshaler = dataMarshaler;
     this.dataField = dataField;
   }
 
   @Override
   public void writeTo(Serializer output) throws IOException {
-    output.serializeString(Metric.NAME, nameUtf8);
-    output.serializeString(Metric.DESCRIPTION, descriptionUtf8);
-    output.serializeString(Metric.UNIT, unitUtf8);
+    output.writeSerializedFields(descriptor);
     output.serializeMessage(dataField, dataMarshaler);
   }
 
   private static int calculateSize(
-      byte[] nameUtf8,
-      byte[] descriptionUtf8,
-      byte[] unitUtf8,
-      Marshaler dataMarshaler,
-      ProtoFieldInfo dataField) {
+      PreserializedFields descriptor, Marshaler dataMarshaler, ProtoFieldInfo dataField) {
     int size = 0;
-    size += MarshalerUtil.sizeBytes(Metric.NAME, nameUtf8);
-    size += MarshalerUtil.sizeBytes(Metric.DESCRIPTION, descriptionUtf8);
-    size += MarshalerUtil.sizeBytes(Metric.UNIT, unitUtf8);
+    size += descriptor.getBinarySerializedSize();
     size += MarshalerUtil.sizeMessage(dataField, dataMarshaler);
     return size;
   }
+
+  private static final class DescriptorMarshaler extends MarshalerWithSize {
+    private final String description;
+    private final String unit;
+    private final byte[] nameUtf8;
+    private final byte[] descriptionUtf8;
+    private final byte[] unitUtf8;
+    private final PreserializedFields preserialized;
+
+    private DescriptorMarshaler(String name, String description, String unit) {
+      this(
+          description,
+          unit,
+          MarshalerUtil.toBytes(name),
+          MarshalerUtil.toBytes(description),
+          MarshalerUtil.toBytes(unit));
+    }
+
+    private DescriptorMarshaler(
+        String description, String unit, byte[] nameUtf8, byte[] descriptionUtf8, byte[] unitUtf8) {
+      super(calculateSize(nameUtf8, descriptionUtf8, unitUtf8));
+      this.description = description;
+      this.unit = unit;
+      this.nameUtf8 = nameUtf8;
+      this.descriptionUtf8 = descriptionUtf8;
+      this.unitUtf8 = unitUtf8;
+      this.preserialized = PreserializedFields.create(this);
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      output.serializeString(Metric.NAME, nameUtf8);
+      output.serializeString(Metric.DESCRIPTION, descriptionUtf8);
+      output.serializeString(Metric.UNIT, unitUtf8);
+    }
+
+    private static int calculateSize(byte[] nameUtf8, byte[] descriptionUtf8, byte[] unitUtf8) {
+      int size = 0;
+      size += MarshalerUtil.sizeBytes(Metric.NAME, nameUtf8);
+      size += MarshalerUtil.sizeBytes(Metric.DESCRIPTION, descriptionUtf8);
+      size += MarshalerUtil.sizeBytes(Metric.UNIT, unitUtf8);
+      return size;
+    }
+  }
 }
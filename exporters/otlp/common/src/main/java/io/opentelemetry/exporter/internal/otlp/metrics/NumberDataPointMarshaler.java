@@ -80,7 +80,7 @@ final class NumberDataPointMarshaler extends MarshalerWithSize {
     output.serializeFixed64(NumberDataPoint.START_TIME_UNIX_NANO, startTimeUnixNano);
     output.serializeFixed64(NumberDataPoint.TIME_UNIX_NANO, timeUnixNano);
     if (valueField == NumberDataPoint.AS_INT) {
-      output.serializeFixed64Optional(valueField, ((LongPointData) value).getValue());
+      output.serializeSFixed64Optional(valueField, ((LongPointData) value).getValue());
     } else {
       output.serializeDoubleOptional(valueField, ((DoublePointData) value).getValue());
     }
@@ -7,9 +7,12 @@ package io.opentelemetry.exporter.internal.otlp.traces;
 
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.InstrumentationScopeMarshaler;
 import io.opentelemetry.proto.trace.v1.internal.ScopeSpans;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.trace.data.SpanData;
 import java.io.IOException;
 import java.util.List;
 
@@ -28,6 +31,19 @@ final class InstrumentationScopeSpansMarshaler extends MarshalerWithSize {
     this.spanMarshalers = spanMarshalers;
   }
 
+  static void writeTo(
+      ProtoWriter output, InstrumentationScopeInfo instrumentationScope, List<SpanData> spans) {
+    InstrumentationScopeMarshaler scopeMarshaler =
+        InstrumentationScopeMarshaler.create(instrumentationScope);
+    output.serializeMessage(ScopeSpans.SCOPE, scopeMarshaler);
+    for (SpanData span : spans) {
+      output.startMessage(ScopeSpans.SPANS);
+      SpanMarshaler.writeTo(output, span);
+      output.endMessage();
+    }
+    output.serializeString(ScopeSpans.SCHEMA_URL, scopeMarshaler.getSchemaUrlUtf8());
+  }
+
   @Override
   public void writeTo(Serializer output) throws IOException {
     output.serializeMessage(ScopeSpans.SCOPE, instrumentationScope);
@@ -7,6 +7,8 @@ package io.opentelemetry.exporter.internal.otlp.traces;
 
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoFieldInfo;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.InstrumentationScopeMarshaler;
 import io.opentelemetry.exporter.internal.otlp.ResourceMarshaler;
@@ -18,6 +20,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * A Marshaler of ResourceSpans.
@@ -45,21 +48,47 @@ public final class ResourceSpansMarshaler extends MarshalerWithSize {
       int posInstrumentation = 0;
       for (Map.Entry<InstrumentationScopeInfo, List<SpanMarshaler>> entryIs :
           entry.getValue().entrySet()) {
+        InstrumentationScopeMarshaler scopeMarshaler =
+            InstrumentationScopeMarshaler.create(entryIs.getKey());
         instrumentationScopeSpansMarshalers[posInstrumentation++] =
             new InstrumentationScopeSpansMarshaler(
-                InstrumentationScopeMarshaler.create(entryIs.getKey()),
-                MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl()),
-                entryIs.getValue());
+                scopeMarshaler, scopeMarshaler.getSchemaUrlUtf8(), entryIs.getValue());
       }
+      ResourceMarshaler resourceMarshaler = ResourceMarshaler.create(entry.getKey());
       resourceSpansMarshalers[posResource++] =
           new ResourceSpansMarshaler(
-              ResourceMarshaler.create(entry.getKey()),
-              MarshalerUtil.toBytes(entry.getKey().getSchemaUrl()),
+              resourceMarshaler,
+              resourceMarshaler.getSchemaUrlUtf8(),
               instrumentationScopeSpansMarshalers);
     }
     return resourceSpansMarshalers;
   }
 
+  /** Writes ResourceSpans for the provided SpanData directly, grouping them the same way. */
+  static void writeRepeated(
+      ProtoWriter output, ProtoFieldInfo field, Collection<SpanData> spanDataList) {
+    Map<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> resourceAndScopeMap =
+        MarshalerUtil.groupByResourceAndScope(
+            spanDataList,
+            SpanData::getResource,
+            SpanData::getInstrumentationScopeInfo,
+            Function.identity());
+    for (Map.Entry<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> entry :
+        resourceAndScopeMap.entrySet()) {
+      output.startLargeMessage(field);
+      ResourceMarshaler resourceMarshaler = ResourceMarshaler.create(entry.getKey());
+      output.serializeMessage(ResourceSpans.RESOURCE, resourceMarshaler);
+      for (Map.Entry<InstrumentationScopeInfo, List<SpanData>> entryIs :
+          entry.getValue().entrySet()) {
+        output.startLargeMessage(ResourceSpans.SCOPE_SPANS);
+        InstrumentationScopeSpansMarshaler.writeTo(output, entryIs.getKey(), entryIs.getValue());
+        output.endMessage();
+      }
+      output.serializeString(ResourceSpans.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
+      output.endMessage();
+    }
+  }
+
   ResourceSpansMarshaler(
       ResourceMarshaler resourceMarshaler,
       byte[] schemaUrlUtf8,
@@ -7,6 +7,7 @@ package io.opentelemetry.exporter.internal.otlp.traces;
 
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.KeyValueMarshaler;
 import io.opentelemetry.proto.trace.v1.internal.Span;
@@ -44,6 +45,15 @@ final class SpanEventMarshaler extends MarshalerWithSize {
         event.getTotalAttributeCount() - event.getAttributes().size());
   }
 
+  static void writeTo(ProtoWriter output, EventData event) {
+    output.serializeFixed64(Span.Event.TIME_UNIX_NANO, event.getEpochNanos());
+    output.serializeString(Span.Event.NAME, event.getName());
+    KeyValueMarshaler.writeRepeated(output, Span.Event.ATTRIBUTES, event.getAttributes());
+    output.serializeUInt32(
+        Span.Event.DROPPED_ATTRIBUTES_COUNT,
+        event.getTotalAttributeCount() - event.getAttributes().size());
+  }
+
   private SpanEventMarshaler(
       long epochNanos,
       byte[] name,
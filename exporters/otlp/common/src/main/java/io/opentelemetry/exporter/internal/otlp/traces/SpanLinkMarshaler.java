@@ -10,6 +10,7 @@ import static io.opentelemetry.api.trace.propagation.internal.W3CTraceContextEnc
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.KeyValueMarshaler;
 import io.opentelemetry.proto.trace.v1.internal.Span;
@@ -56,6 +57,18 @@ final class SpanLinkMarshaler extends MarshalerWithSize {
         link.getTotalAttributeCount() - link.getAttributes().size());
   }
 
+  static void writeTo(ProtoWriter output, LinkData link) {
+    TraceState traceState = link.getSpanContext().getTraceState();
+    output.serializeTraceId(Span.Link.TRACE_ID, link.getSpanContext().getTraceId());
+    output.serializeSpanId(Span.Link.SPAN_ID, link.getSpanContext().getSpanId());
+    output.serializeString(
+        Span.Link.TRACE_STATE, traceState.isEmpty() ? null : encodeTraceState(traceState));
+    KeyValueMarshaler.writeRepeated(output, Span.Link.ATTRIBUTES, link.getAttributes());
+    output.serializeUInt32(
+        Span.Link.DROPPED_ATTRIBUTES_COUNT,
+        link.getTotalAttributeCount() - link.getAttributes().size());
+  }
+
   private SpanLinkMarshaler(
       String traceId,
       String spanId,
@@ -7,14 +7,18 @@ package io.opentelemetry.exporter.internal.otlp.traces;
 
 import static io.opentelemetry.api.trace.propagation.internal.W3CTraceContextEncoding.encodeTraceState;
 
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
 import io.opentelemetry.exporter.internal.marshal.ProtoEnumInfo;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.otlp.KeyValueMarshaler;
 import io.opentelemetry.proto.trace.v1.internal.Span;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -75,6 +79,51 @@ final class SpanMarshaler extends MarshalerWithSize {
         SpanStatusMarshaler.create(spanData.getStatus()));
   }
 
+  static void writeTo(ProtoWriter output, SpanData spanData) {
+    SpanContext spanContext = spanData.getSpanContext();
+    TraceState traceState = spanContext.getTraceState();
+    output.serializeTraceId(Span.TRACE_ID, spanContext.getTraceId());
+    output.serializeSpanId(Span.SPAN_ID, spanContext.getSpanId());
+    output.serializeString(
+        Span.TRACE_STATE, traceState.isEmpty() ? null : encodeTraceState(traceState));
+    output.serializeSpanId(
+        Span.PARENT_SPAN_ID,
+        spanData.getParentSpanContext().isValid()
+            ? spanData.getParentSpanContext().getSpanId()
+            : null);
+    output.serializeString(Span.NAME, spanData.getName());
+
+    output.serializeEnum(Span.KIND, toProtoSpanKind(spanData.getKind()));
+
+    output.serializeFixed64(Span.START_TIME_UNIX_NANO, spanData.getStartEpochNanos());
+    output.serializeFixed64(Span.END_TIME_UNIX_NANO, spanData.getEndEpochNanos());
+
+    KeyValueMarshaler.writeRepeated(output, Span.ATTRIBUTES, spanData.getAttributes());
+    output.serializeUInt32(
+        Span.DROPPED_ATTRIBUTES_COUNT,
+        spanData.getTotalAttributeCount() - spanData.getAttributes().size());
+
+    for (EventData event : spanData.getEvents()) {
+      output.startMessage(Span.EVENTS);
+      SpanEventMarshaler.writeTo(output, event);
+      output.endMessage();
+    }
+    output.serializeUInt32(
+        Span.DROPPED_EVENTS_COUNT, spanData.getTotalRecordedEvents() - spanData.getEvents().size());
+
+    for (LinkData link : spanData.getLinks()) {
+      output.startMessage(Span.LINKS);
+      SpanLinkMarshaler.writeTo(output, link);
+      output.endMessage();
+    }
+    output.serializeUInt32(
+        Span.DROPPED_LINKS_COUNT, spanData.getTotalRecordedLinks() - spanData.getLinks().size());
+
+    output.startMessage(Span.STATUS);
+    SpanStatusMarshaler.writeTo(output, spanData.getStatus());
+    output.endMessage();
+  }
+
   private SpanMarshaler(
       String traceId,
       String spanId,
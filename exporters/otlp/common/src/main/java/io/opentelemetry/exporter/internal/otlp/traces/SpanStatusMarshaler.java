@@ -9,6 +9,7 @@ import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
 import io.opentelemetry.exporter.internal.marshal.ProtoEnumInfo;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.proto.trace.v1.internal.Status;
 import io.opentelemetry.sdk.trace.data.StatusData;
@@ -19,14 +20,22 @@ final class SpanStatusMarshaler extends MarshalerWithSize {
   private final byte[] descriptionUtf8;
 
   static SpanStatusMarshaler create(StatusData status) {
-    ProtoEnumInfo protoStatusCode = Status.StatusCode.STATUS_CODE_UNSET;
-    if (status.getStatusCode() == StatusCode.OK) {
-      protoStatusCode = Status.StatusCode.STATUS_CODE_OK;
-    } else if (status.getStatusCode() == StatusCode.ERROR) {
-      protoStatusCode = Status.StatusCode.STATUS_CODE_ERROR;
-    }
     byte[] description = MarshalerUtil.toBytes(status.getDescription());
-    return new SpanStatusMarshaler(protoStatusCode, description);
+    return new SpanStatusMarshaler(toProtoStatusCode(status.getStatusCode()), description);
+  }
+
+  static void writeTo(ProtoWriter output, StatusData status) {
+    output.serializeString(Status.MESSAGE, status.getDescription());
+    output.serializeEnum(Status.CODE, toProtoStatusCode(status.getStatusCode()));
+  }
+
+  private static ProtoEnumInfo toProtoStatusCode(StatusCode statusCode) {
+    if (statusCode == StatusCode.OK) {
+      return Status.StatusCode.STATUS_CODE_OK;
+    } else if (statusCode == StatusCode.ERROR) {
+      return Status.StatusCode.STATUS_CODE_ERROR;
+    }
+    return Status.StatusCode.STATUS_CODE_UNSET;
   }
 
   private SpanStatusMarshaler(ProtoEnumInfo protoStatusCode, byte[] descriptionUtf8) {
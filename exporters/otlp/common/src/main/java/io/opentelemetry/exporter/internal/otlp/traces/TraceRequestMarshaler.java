@@ -8,7 +8,9 @@ package io.opentelemetry.exporter.internal.otlp.traces;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.ProtoWriter;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.internal.marshal.StreamingMarshaler;
 import io.opentelemetry.proto.collector.trace.v1.internal.ExportTraceServiceRequest;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import java.io.IOException;
@@ -17,31 +19,54 @@ import java.util.Collection;
 /**
  * {@link Marshaler} to convert SDK {@link SpanData} to OTLP ExportTraceServiceRequest.
  *
+ * <p>The binary format is written directly from the {@link SpanData}, see {@link
+ * StreamingMarshaler}.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
-public final class TraceRequestMarshaler extends MarshalerWithSize {
+public final class TraceRequestMarshaler extends StreamingMarshaler {
 
-  private final ResourceSpansMarshaler[] resourceSpansMarshalers;
+  private final Collection<SpanData> spanDataList;
 
   /**
    * Returns a {@link TraceRequestMarshaler} that can be used to convert the provided {@link
    * SpanData} into a serialized OTLP ExportTraceServiceRequest.
    */
   public static TraceRequestMarshaler create(Collection<SpanData> spanDataList) {
-    return new TraceRequestMarshaler(ResourceSpansMarshaler.create(spanDataList));
+    return new TraceRequestMarshaler(spanDataList);
   }
 
-  private TraceRequestMarshaler(ResourceSpansMarshaler[] resourceSpansMarshalers) {
-    super(
-        MarshalerUtil.sizeRepeatedMessage(
-            ExportTraceServiceRequest.RESOURCE_SPANS, resourceSpansMarshalers));
-    this.resourceSpansMarshalers = resourceSpansMarshalers;
+  private TraceRequestMarshaler(Collection<SpanData> spanDataList) {
+    this.spanDataList = spanDataList;
   }
 
   @Override
-  public void writeTo(Serializer output) throws IOException {
-    output.serializeRepeatedMessage(
-        ExportTraceServiceRequest.RESOURCE_SPANS, resourceSpansMarshalers);
+  protected void writeTo(ProtoWriter output) {
+    ResourceSpansMarshaler.writeRepeated(
+        output, ExportTraceServiceRequest.RESOURCE_SPANS, spanDataList);
+  }
+
+  @Override
+  protected Marshaler createJsonMarshaler() {
+    return new JsonMarshaler(ResourceSpansMarshaler.create(spanDataList));
+  }
+
+  private static final class JsonMarshaler extends MarshalerWithSize {
+
+    private final ResourceSpansMarshaler[] resourceSpansMarshalers;
+
+    private JsonMarshaler(ResourceSpansMarshaler[] resourceSpansMarshalers) {
+      super(
+          MarshalerUtil.sizeRepeatedMessage(
+              ExportTraceServiceRequest.RESOURCE_SPANS, resourceSpansMarshalers));
+      this.resourceSpansMarshalers = resourceSpansMarshalers;
+    }
+
+    @Override
+    public void writeTo(Serializer output) throws IOException {
+      output.serializeRepeatedMessage(
+          ExportTraceServiceRequest.RESOURCE_SPANS, resourceSpansMarshalers);
+    }
   }
 }
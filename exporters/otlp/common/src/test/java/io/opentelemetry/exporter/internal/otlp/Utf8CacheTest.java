@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.otlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class Utf8CacheTest {
+
+  @Test
+  void getBytes() {
+    Utf8Cache cache = new Utf8Cache(16, 8);
+
+    byte[] utf8 = cache.getBytes("GET");
+    assertThat(utf8).isEqualTo("GET".getBytes(StandardCharsets.UTF_8));
+    assertThat(cache.getBytes(new String("GET"))).isSameAs(utf8);
+    assertThat(cache.getBytes("été")).isEqualTo("été".getBytes(StandardCharsets.UTF_8));
+    assertThat(cache.getBytes("")).isEmpty();
+  }
+
+  @Test
+  void getBytes_tooLong() {
+    Utf8Cache cache = new Utf8Cache(16, 8);
+
+    byte[] utf8 = cache.getBytes("/api/v1/users");
+    assertThat(utf8).isEqualTo("/api/v1/users".getBytes(StandardCharsets.UTF_8));
+    assertThat(cache.getBytes("/api/v1/users")).isNotSameAs(utf8);
+  }
+
+  @Test
+  void getBytes_bounded() {
+    Utf8Cache cache = new Utf8Cache(1, 8);
+
+    byte[] first = cache.getBytes("first");
+    assertThat(cache.getBytes("second")).isEqualTo("second".getBytes(StandardCharsets.UTF_8));
+    // The single slot now holds "second".
+    assertThat(cache.getBytes("first")).isEqualTo(first).isNotSameAs(first);
+  }
+}
@@ -21,6 +21,10 @@ import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceId;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
+import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
 import io.opentelemetry.proto.common.v1.AnyValue;
 import io.opentelemetry.proto.common.v1.InstrumentationScope;
 import io.opentelemetry.proto.common.v1.KeyValue;
@@ -28,14 +32,17 @@ import io.opentelemetry.proto.logs.v1.LogRecord;
 import io.opentelemetry.proto.logs.v1.ResourceLogs;
 import io.opentelemetry.proto.logs.v1.ScopeLogs;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.testing.logs.TestLogRecordData;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
@@ -94,6 +101,72 @@ class LogsRequestMarshalerTest {
                 .build());
   }
 
+  @Test
+  void toProtoRequest() {
+    Resource resource1 = Resource.builder().put("one", 1).setSchemaUrl("http://url").build();
+    Resource resource2 = Resource.builder().put("two", 2).build();
+    InstrumentationScopeInfo scope1 =
+        InstrumentationScopeInfo.builder("testLib").setSchemaUrl("http://url").build();
+    InstrumentationScopeInfo scope2 = InstrumentationScopeInfo.create("otherLib");
+    // Long enough to need more than one byte for the length of enclosing messages.
+    String longBody = String.join("", Collections.nCopies(100, BODY));
+    List<LogRecordData> logs = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      logs.add(
+          TestLogRecordData.builder()
+              .setResource(i < 4 ? resource1 : resource2)
+              .setInstrumentationScopeInfo(i % 3 == 0 ? scope1 : scope2)
+              .setBody(i % 2 == 0 ? longBody : "log " + i + " \u00e9\u4e2d\ud83d\ude00\ud800")
+              .setSeverity(Severity.values()[i])
+              .setSeverityText(i % 2 == 0 ? "" : "INFO")
+              .setSpanContext(
+                  i % 2 == 0
+                      ? SpanContext.getInvalid()
+                      : SpanContext.create(
+                          TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault()))
+              .setAttributes(
+                  Attributes.builder()
+                      .put("string", i % 2 == 0 ? longBody : "")
+                      .put("long", i)
+                      .put("double", i * 0.5)
+                      .put("boolean", i % 2 == 0)
+                      .put("strings", "a", "\u00e9")
+                      .build())
+              .setTotalAttributeCount(5 + i)
+              .setEpoch(12345 + i, TimeUnit.NANOSECONDS)
+              .build());
+    }
+
+    LogsRequestMarshaler requestMarshaler = LogsRequestMarshaler.create(logs);
+    ExportLogsServiceRequest request =
+        parse(ExportLogsServiceRequest.getDefaultInstance(), requestMarshaler);
+    assertThat(request.getResourceLogsCount()).isEqualTo(2);
+    assertThat(request.getResourceLogsList())
+        .flatExtracting(ResourceLogs::getScopeLogsList)
+        .flatExtracting(ScopeLogs::getLogRecordsList)
+        .hasSize(6);
+
+    // The request is written without intermediate marshalers, but must match them exactly.
+    ResourceLogsMarshaler[] resourceLogsMarshalers = ResourceLogsMarshaler.create(logs);
+    Marshaler expected =
+        new MarshalerWithSize(
+            MarshalerUtil.sizeRepeatedMessage(
+                io.opentelemetry.proto.collector.logs.v1.internal.ExportLogsServiceRequest
+                    .RESOURCE_LOGS,
+                resourceLogsMarshalers)) {
+          @Override
+          protected void writeTo(Serializer output) throws IOException {
+            output.serializeRepeatedMessage(
+                io.opentelemetry.proto.collector.logs.v1.internal.ExportLogsServiceRequest
+                    .RESOURCE_LOGS,
+                resourceLogsMarshalers);
+          }
+        };
+    assertThat(requestMarshaler.getBinarySerializedSize())
+        .isEqualTo(expected.getBinarySerializedSize());
+    assertThat(toByteArray(requestMarshaler)).isEqualTo(toByteArray(expected));
+  }
+
   @Test
   void toProtoLogRecord() {
     LogRecord logRecord =
@@ -189,11 +262,13 @@ class LogsRequestMarshalerTest {
     }
 
     if (result instanceof ResourceLogs) {
-      ResourceLogs.Builder fixed = (ResourceLogs.Builder) builder;
-      for (ScopeLogs.Builder ill : fixed.getScopeLogsBuilderList()) {
-        for (LogRecord.Builder span : ill.getLogRecordsBuilderList()) {
-          fixSpanJsonIds(span);
-        }
+      fixResourceLogsJsonIds((ResourceLogs.Builder) builder);
+    }
+
+    if (result instanceof ExportLogsServiceRequest) {
+      for (ResourceLogs.Builder resourceLogs :
+          ((ExportLogsServiceRequest.Builder) builder).getResourceLogsBuilderList()) {
+        fixResourceLogsJsonIds(resourceLogs);
       }
     }
 
@@ -202,6 +277,14 @@ class LogsRequestMarshalerTest {
     return result;
   }
 
+  private static void fixResourceLogsJsonIds(ResourceLogs.Builder resourceLogs) {
+    for (ScopeLogs.Builder ill : resourceLogs.getScopeLogsBuilderList()) {
+      for (LogRecord.Builder span : ill.getLogRecordsBuilderList()) {
+        fixSpanJsonIds(span);
+      }
+    }
+  }
+
   private static void fixSpanJsonIds(LogRecord.Builder span) {
     span.setTraceId(toHex(span.getTraceId()));
     span.setSpanId(toHex(span.getSpanId()));
@@ -65,6 +65,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
@@ -217,7 +218,7 @@ class MetricsRequestMarshalerTest {
             toNumberDataPoints(
                 ImmutableList.of(
                     ImmutableLongPointData.create(123, 456, Attributes.empty(), 5),
-                    ImmutableLongPointData.create(321, 654, KV_ATTR, 7))))
+                    ImmutableLongPointData.create(321, 654, KV_ATTR, -7))))
         .containsExactly(
             NumberDataPoint.newBuilder()
                 .setStartTimeUnixNano(123)
@@ -230,7 +231,7 @@ class MetricsRequestMarshalerTest {
                 .addAllAttributes(
                     singletonList(
                         KeyValue.newBuilder().setKey("k").setValue(stringValue("v")).build()))
-                .setAsInt(7)
+                .setAsInt(-7)
                 .build());
   }
 
@@ -817,6 +818,55 @@ class MetricsRequestMarshalerTest {
                 .build());
   }
 
+  @Test
+  void toProtoMetric_cachedFields() {
+    String name = "cached";
+    List<Double> boundaries = ImmutableList.of(1.0, 2.0);
+    for (String description : Arrays.asList("description", "description", "changed")) {
+      assertThat(
+              toProtoMetric(
+                  ImmutableMetricData.createDoubleHistogram(
+                      Resource.empty(),
+                      InstrumentationScopeInfo.empty(),
+                      name,
+                      description,
+                      "1",
+                      ImmutableHistogramData.create(
+                          AggregationTemporality.CUMULATIVE,
+                          singletonList(
+                              ImmutableHistogramPointData.create(
+                                  123,
+                                  456,
+                                  Attributes.empty(),
+                                  4.0,
+                                  1.0,
+                                  3.0,
+                                  boundaries,
+                                  ImmutableList.of(1L, 1L, 0L)))))))
+          .isEqualTo(
+              Metric.newBuilder()
+                  .setName(name)
+                  .setDescription(description)
+                  .setUnit("1")
+                  .setHistogram(
+                      Histogram.newBuilder()
+                          .setAggregationTemporality(AGGREGATION_TEMPORALITY_CUMULATIVE)
+                          .addDataPoints(
+                              HistogramDataPoint.newBuilder()
+                                  .setStartTimeUnixNano(123)
+                                  .setTimeUnixNano(456)
+                                  .setCount(2)
+                                  .setSum(4.0)
+                                  .setMin(1.0)
+                                  .setMax(3.0)
+                                  .addAllBucketCounts(ImmutableList.of(1L, 1L, 0L))
+                                  .addAllExplicitBounds(boundaries)
+                                  .build())
+                          .build())
+                  .build());
+    }
+  }
+
   @Test
   void toProtoMetric_exponentialHistogram() {
     assertThat(
@@ -27,6 +27,10 @@ import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceId;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
+import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import io.opentelemetry.proto.common.v1.AnyValue;
 import io.opentelemetry.proto.common.v1.ArrayValue;
 import io.opentelemetry.proto.common.v1.InstrumentationScope;
@@ -40,13 +44,17 @@ import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.testing.trace.TestSpanData;
 import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import org.junit.jupiter.api.Test;
 
@@ -110,6 +118,91 @@ class TraceRequestMarshalerTest {
                 .build());
   }
 
+  @Test
+  void toProtoRequest() {
+    Resource resource1 = Resource.builder().put("one", 1).setSchemaUrl("http://url").build();
+    Resource resource2 = Resource.builder().put("two", 2).build();
+    InstrumentationScopeInfo scope1 =
+        InstrumentationScopeInfo.builder("testLib").setSchemaUrl("http://url").build();
+    InstrumentationScopeInfo scope2 = InstrumentationScopeInfo.create("otherLib");
+    // Long enough to need more than one byte for the length of enclosing messages.
+    String longValue = String.join("", Collections.nCopies(100, "long value "));
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      spans.add(
+          TestSpanData.builder()
+              .setHasEnded(true)
+              .setSpanContext(SPAN_CONTEXT)
+              .setParentSpanContext(i % 2 == 0 ? SpanContext.getInvalid() : SPAN_CONTEXT)
+              .setName("span " + i + " \u00e9\u4e2d\ud83d\ude00\ud800")
+              .setKind(SpanKind.values()[i % SpanKind.values().length])
+              .setStartEpochNanos(12345)
+              .setEndEpochNanos(12349 + i)
+              .setAttributes(
+                  Attributes.builder()
+                      .put("string", i % 2 == 0 ? longValue : "")
+                      .put("long", i)
+                      .put("double", i * 0.5)
+                      .put("boolean", i % 2 == 0)
+                      .put("strings", "a", "\u00e9")
+                      .put("longs", 1L, -2L)
+                      .put("doubles", 1.5, 0)
+                      .put("booleans", true, false)
+                      .build())
+              .setTotalAttributeCount(9)
+              .setEvents(
+                  Arrays.asList(
+                      EventData.create(12347, "event", Attributes.empty()),
+                      EventData.create(
+                          12348, "event with attributes", Attributes.of(stringKey("k"), "v"), 2)))
+              .setTotalRecordedEvents(3)
+              .setLinks(
+                  Collections.singletonList(
+                      LinkData.create(SPAN_CONTEXT, Attributes.of(stringKey("k"), longValue))))
+              .setTotalRecordedLinks(1)
+              .setStatus(
+                  i % 3 == 0
+                      ? StatusData.unset()
+                      : StatusData.create(StatusCode.ERROR, "error " + i))
+              .setInstrumentationScopeInfo(i % 3 == 0 ? scope1 : scope2)
+              .setResource(i < 4 ? resource1 : resource2)
+              .build());
+    }
+
+    TraceRequestMarshaler requestMarshaler = TraceRequestMarshaler.create(spans);
+    ExportTraceServiceRequest request =
+        parse(ExportTraceServiceRequest.getDefaultInstance(), requestMarshaler);
+    assertThat(request.getResourceSpansCount()).isEqualTo(2);
+    assertThat(request.getResourceSpansList())
+        .flatExtracting(ResourceSpans::getScopeSpansList)
+        .flatExtracting(ScopeSpans::getSpansList)
+        .hasSize(6);
+
+    // The request is written without intermediate marshalers, but must match them exactly.
+    ResourceSpansMarshaler[] resourceSpansMarshalers = ResourceSpansMarshaler.create(spans);
+    Marshaler expected =
+        new MarshalerWithSize(
+            MarshalerUtil.sizeRepeatedMessage(
+                io.opentelemetry.proto.collector.trace.v1.internal.ExportTraceServiceRequest
+                    .RESOURCE_SPANS,
+                resourceSpansMarshalers)) {
+          @Override
+          protected void writeTo(Serializer output) throws IOException {
+            output.serializeRepeatedMessage(
+                io.opentelemetry.proto.collector.trace.v1.internal.ExportTraceServiceRequest
+                    .RESOURCE_SPANS,
+                resourceSpansMarshalers);
+          }
+        };
+    assertThat(requestMarshaler.getBinarySerializedSize())
+        .isEqualTo(expected.getBinarySerializedSize());
+    assertThat(toByteArray(requestMarshaler)).isEqualTo(toByteArray(expected));
+
+    // Serialized again after the buffer is returned to the pool.
+    requestMarshaler.release();
+    assertThat(toByteArray(requestMarshaler)).isEqualTo(toByteArray(expected));
+  }
+
   @Test
   void toProtoSpan() {
     Span span =
@@ -380,11 +473,13 @@ class TraceRequestMarshalerTest {
     }
 
     if (result instanceof ResourceSpans) {
-      ResourceSpans.Builder fixed = (ResourceSpans.Builder) builder;
-      for (ScopeSpans.Builder ss : fixed.getScopeSpansBuilderList()) {
-        for (Span.Builder span : ss.getSpansBuilderList()) {
-          fixSpanJsonIds(span);
-        }
+      fixResourceSpansJsonIds((ResourceSpans.Builder) builder);
+    }
+
+    if (result instanceof ExportTraceServiceRequest) {
+      for (ResourceSpans.Builder resourceSpans :
+          ((ExportTraceServiceRequest.Builder) builder).getResourceSpansBuilderList()) {
+        fixResourceSpansJsonIds(resourceSpans);
       }
     }
 
@@ -393,6 +488,14 @@ class TraceRequestMarshalerTest {
     return result;
   }
 
+  private static void fixResourceSpansJsonIds(ResourceSpans.Builder resourceSpans) {
+    for (ScopeSpans.Builder ss : resourceSpans.getScopeSpansBuilderList()) {
+      for (Span.Builder span : ss.getSpansBuilderList()) {
+        fixSpanJsonIds(span);
+      }
+    }
+  }
+
   private static void fixSpanJsonIds(Span.Builder span) {
     span.setTraceId(toHex(span.getTraceId()));
     span.setSpanId(toHex(span.getSpanId()));
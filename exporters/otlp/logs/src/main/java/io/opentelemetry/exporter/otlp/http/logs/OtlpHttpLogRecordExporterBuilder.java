@@ -59,13 +59,16 @@ public final class OtlpHttpLogRecordExporterBuilder {
 
   /**
    * Sets the method used to compress payloads. If unset, compression is disabled. Currently
-   * supported compression methods include "gzip" and "none".
+   * supported compression methods include "gzip" and "none", as well as "zstd" and "snappy" when
+   * {@code com.github.luben:zstd-jni} and {@code org.iq80.snappy:snappy} respectively are on the
+   * classpath.
+   *
+   * <p>gzip uses the default compression level. The level can only be changed by registering a
+   * {@code io.opentelemetry.exporter.internal.compression.CompressorProvider} for gzip with {@link
+   * java.util.ServiceLoader}.
    */
   public OtlpHttpLogRecordExporterBuilder setCompression(String compressionMethod) {
     requireNonNull(compressionMethod, "compressionMethod");
-    checkArgument(
-        compressionMethod.equals("gzip") || compressionMethod.equals("none"),
-        "Unsupported compression method. Supported compression methods include: gzip, none.");
     delegate.setCompression(compressionMethod);
     return this;
   }
@@ -8,6 +8,7 @@ package io.opentelemetry.exporter.otlp.testing.internal;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.junit.jupiter.api.Named.named;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -37,6 +38,7 @@ import io.opentelemetry.sdk.common.CompletableResultCode;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.Duration;
@@ -84,6 +86,9 @@ public abstract class AbstractGrpcTelemetryExporterTest<T, U extends Message> {
   private static final ConcurrentLinkedQueue<HttpRequest> httpRequests =
       new ConcurrentLinkedQueue<>();
 
+  private static final ConcurrentLinkedQueue<SocketAddress> remoteAddresses =
+      new ConcurrentLinkedQueue<>();
+
   @RegisterExtension
   @Order(1)
   static final SelfSignedCertificateExtension certificate = new SelfSignedCertificateExtension();
@@ -143,6 +148,7 @@ public abstract class AbstractGrpcTelemetryExporterTest<T, U extends Message> {
     @Override
     protected CompletionStage<byte[]> handleMessage(ServiceRequestContext ctx, byte[] message) {
       httpRequests.add(ctx.request());
+      remoteAddresses.add(ctx.remoteAddress());
       attempts.incrementAndGet();
       T request;
       try {
@@ -208,6 +214,7 @@ public abstract class AbstractGrpcTelemetryExporterTest<T, U extends Message> {
     grpcErrors.clear();
     attempts.set(0);
     httpRequests.clear();
+    remoteAddresses.clear();
   }
 
   @Test
@@ -237,6 +244,31 @@ public abstract class AbstractGrpcTelemetryExporterTest<T, U extends Message> {
     assertThat(exportedResourceTelemetry).containsExactlyElementsOf(expectedResourceTelemetry);
   }
 
+  @Test
+  void multipleConnections() {
+    assumeTrue(usingOkHttp(), "Connections of a channel are managed by the channel");
+
+    TelemetryExporter<T> exporter =
+        exporterBuilder()
+            .setEndpoint(server.httpUri().toString())
+            .setConnectionCount(3)
+            .setMaxConcurrentExports(6)
+            .build();
+    try {
+      List<CompletableResultCode> results = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        results.add(exporter.export(Collections.singletonList(generateFakeTelemetry())));
+      }
+      assertThat(CompletableResultCode.ofAll(results).join(10, TimeUnit.SECONDS).isSuccess())
+          .isTrue();
+      assertThat(exportedResourceTelemetry).hasSize(6);
+      // The first exports each go to an idle connection.
+      assertThat(remoteAddresses.stream().distinct()).hasSize(3);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
   @Test
   void authorityWithAuth() {
     TelemetryExporter<T> exporter =
@@ -637,6 +669,13 @@ public abstract class AbstractGrpcTelemetryExporterTest<T, U extends Message> {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage(
             "Unsupported compression method. Supported compression methods include: gzip, none.");
+
+    assertThatThrownBy(() -> exporterBuilder().setConnectionCount(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("connectionCount must be positive");
+    assertThatThrownBy(() -> exporterBuilder().setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentExports must be positive");
   }
 
   protected abstract TelemetryExporterBuilder<T> exporterBuilder();
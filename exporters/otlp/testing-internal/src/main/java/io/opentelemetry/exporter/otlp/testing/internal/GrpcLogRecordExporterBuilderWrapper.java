@@ -69,6 +69,18 @@ final class GrpcLogRecordExporterBuilderWrapper implements TelemetryExporterBuil
     return this;
   }
 
+  @Override
+  public TelemetryExporterBuilder<LogRecordData> setConnectionCount(int connectionCount) {
+    builder.setConnectionCount(connectionCount);
+    return this;
+  }
+
+  @Override
+  public TelemetryExporterBuilder<LogRecordData> setMaxConcurrentExports(int maxConcurrentExports) {
+    builder.setMaxConcurrentExports(maxConcurrentExports);
+    return this;
+  }
+
   @Override
   @SuppressWarnings("deprecation") // testing deprecated functionality
   public TelemetryExporterBuilder<LogRecordData> setChannel(ManagedChannel channel) {
@@ -69,6 +69,18 @@ final class GrpcMetricExporterBuilderWrapper implements TelemetryExporterBuilder
     return this;
   }
 
+  @Override
+  public TelemetryExporterBuilder<MetricData> setConnectionCount(int connectionCount) {
+    builder.setConnectionCount(connectionCount);
+    return this;
+  }
+
+  @Override
+  public TelemetryExporterBuilder<MetricData> setMaxConcurrentExports(int maxConcurrentExports) {
+    builder.setMaxConcurrentExports(maxConcurrentExports);
+    return this;
+  }
+
   @Override
   @SuppressWarnings("deprecation") // testing deprecated functionality
   public TelemetryExporterBuilder<MetricData> setChannel(ManagedChannel channel) {
@@ -70,6 +70,18 @@ final class GrpcSpanExporterBuilderWrapper implements TelemetryExporterBuilder<S
     return this;
   }
 
+  @Override
+  public TelemetryExporterBuilder<SpanData> setConnectionCount(int connectionCount) {
+    builder.setConnectionCount(connectionCount);
+    return this;
+  }
+
+  @Override
+  public TelemetryExporterBuilder<SpanData> setMaxConcurrentExports(int maxConcurrentExports) {
+    builder.setMaxConcurrentExports(maxConcurrentExports);
+    return this;
+  }
+
   @Override
   @SuppressWarnings("deprecation") // testing deprecated functionality
   public TelemetryExporterBuilder<SpanData> setChannel(ManagedChannel channel) {
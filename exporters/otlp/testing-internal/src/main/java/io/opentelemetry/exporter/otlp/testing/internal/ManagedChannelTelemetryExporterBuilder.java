@@ -123,6 +123,18 @@ public final class ManagedChannelTelemetryExporterBuilder<T>
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public TelemetryExporterBuilder<T> setConnectionCount(int connectionCount) {
+    delegate.setConnectionCount(connectionCount);
+    return this;
+  }
+
+  @Override
+  public TelemetryExporterBuilder<T> setMaxConcurrentExports(int maxConcurrentExports) {
+    delegate.setMaxConcurrentExports(maxConcurrentExports);
+    return this;
+  }
+
   @Override
   public TelemetryExporter<T> build() {
     requireNonNull(channelBuilder, "channel");
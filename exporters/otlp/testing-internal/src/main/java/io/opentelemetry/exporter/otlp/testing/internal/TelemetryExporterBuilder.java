@@ -48,5 +48,9 @@ public interface TelemetryExporterBuilder<T> {
 
   TelemetryExporterBuilder<T> setChannel(ManagedChannel channel);
 
+  TelemetryExporterBuilder<T> setConnectionCount(int connectionCount);
+
+  TelemetryExporterBuilder<T> setMaxConcurrentExports(int maxConcurrentExports);
+
   TelemetryExporter<T> build();
 }
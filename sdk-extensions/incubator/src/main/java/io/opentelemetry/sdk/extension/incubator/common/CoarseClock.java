@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.common;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link Clock} that trades resolution for speed: it returns times cached by a background thread,
+ * which refreshes them from the system clock at a fixed resolution. Reading the time is then a
+ * volatile read instead of a call to {@link System#nanoTime()} or {@link
+ * System#currentTimeMillis()}, which is significantly cheaper on hosts with slow clock sources.
+ *
+ * <p>Timestamps and durations recorded with this clock are only accurate to the configured
+ * resolution. Use it with {@code SdkTracerProviderBuilder#setClock(Clock)}, {@code
+ * SdkLoggerProviderBuilder#setClock(Clock)} or {@code SdkMeterProviderBuilder#setClock(Clock)}.
+ *
+ * <p>The background thread is a daemon thread, which stops when {@link #close()} is called or when
+ * the clock is no longer referenced.
+ */
+@ThreadSafe
+public final class CoarseClock implements Clock, Closeable {
+
+  private static final String TICKER_THREAD_NAME = "otel-coarse-clock";
+  private static final long MIN_RESOLUTION_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final long MAX_RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final Clock source;
+  private volatile long now;
+  private volatile long nanoTime;
+  private volatile boolean closed;
+
+  /**
+   * Returns a new {@link CoarseClock} refreshed from the system clock at the given resolution.
+   *
+   * @param resolution how often the time is refreshed, between 100 microseconds and 1 millisecond.
+   * @return a new {@link CoarseClock}.
+   */
+  public static CoarseClock create(Duration resolution) {
+    requireNonNull(resolution, "resolution");
+    long resolutionNanos = resolution.toNanos();
+    checkArgument(
+        resolutionNanos >= MIN_RESOLUTION_NANOS && resolutionNanos <= MAX_RESOLUTION_NANOS,
+        "resolution must be between 100 microseconds and 1 millisecond");
+    CoarseClock clock = new CoarseClock(Clock.getDefault());
+    Thread ticker =
+        new DaemonThreadFactory(TICKER_THREAD_NAME)
+            .newThread(new Ticker(new WeakReference<>(clock), resolutionNanos));
+    ticker.start();
+    return clock;
+  }
+
+  // Visible for testing
+  CoarseClock(Clock source) {
+    this.source = source;
+    tick();
+  }
+
+  @Override
+  public long now() {
+    return now;
+  }
+
+  @Override
+  public long nanoTime() {
+    return nanoTime;
+  }
+
+  /** Stops refreshing the time. Times returned after closing no longer advance. */
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  // Visible for testing
+  void tick() {
+    nanoTime = source.nanoTime();
+    now = source.now();
+  }
+
+  private static final class Ticker implements Runnable {
+
+    private final WeakReference<CoarseClock> clockReference;
+    private final long resolutionNanos;
+
+    private Ticker(WeakReference<CoarseClock> clockReference, long resolutionNanos) {
+      this.clockReference = clockReference;
+      this.resolutionNanos = resolutionNanos;
+    }
+
+    @Override
+    public void run() {
+      while (!Thread.currentThread().isInterrupted()) {
+        LockSupport.parkNanos(resolutionNanos);
+        CoarseClock clock = clockReference.get();
+        if (clock == null || clock.closed) {
+          return;
+        }
+        clock.tick();
+      }
+    }
+  }
+}
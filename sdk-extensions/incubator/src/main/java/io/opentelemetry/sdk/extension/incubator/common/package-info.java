@@ -0,0 +1,10 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/** Experimental utilities shared by the trace, metrics and logs SDKs. */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.sdk.extension.incubator.common;
+
+import javax.annotation.ParametersAreNonnullByDefault;
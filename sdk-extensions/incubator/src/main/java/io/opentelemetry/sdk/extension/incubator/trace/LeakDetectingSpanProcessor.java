@@ -5,58 +5,123 @@
 
 package io.opentelemetry.sdk.extension.incubator.trace;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static java.lang.Thread.currentThread;
 
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.lang.ref.Reference;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * A {@link SpanProcessor} which will detect spans that are never ended. It will detect spans that
  * are garbage collected without ever having `end()` called on them.
  *
- * <p>Note: using this SpanProcessor will definitely impact the performance of your application. It
- * is not recommended for production use, as it uses additional memory for each span to track where
- * a leaked span was created.
+ * <p>Capturing the stack trace where a span was started is what makes leaks easy to find, but it is
+ * also expensive. Processors created with {@link #create()} capture it for every span, which is not
+ * recommended for production use. Use {@link #builder()} to only capture it for a fraction of
+ * spans, and to count leaked spans by span name with a metric.
+ *
+ * <p>A span is no longer available once it is garbage collected, so leaks are reported and counted
+ * with the name the span had when it started, even if it was updated later.
  */
 public final class LeakDetectingSpanProcessor implements SpanProcessor {
   private static final Logger logger = Logger.getLogger(LeakDetectingSpanProcessor.class.getName());
 
+  private static final AttributeKey<String> SPAN_NAME = stringKey("span.name");
+
   private final PendingSpans pendingSpans;
+  private final double stackTraceRatio;
 
   /**
    * Create a new {@link LeakDetectingSpanProcessor} that will report any un-ended spans that get
-   * garbage collected.
+   * garbage collected, along with the stack trace where each of them was started.
    */
   public static LeakDetectingSpanProcessor create() {
-    return new LeakDetectingSpanProcessor(
-        (message, throwable) ->
-            logger.log(Level.WARNING, "Span garbage collected before being ended.", throwable));
+    return builder().build();
+  }
+
+  /**
+   * Returns a new {@link LeakDetectingSpanProcessorBuilder} to construct a {@link
+   * LeakDetectingSpanProcessor}.
+   *
+   * @return a new {@link LeakDetectingSpanProcessorBuilder}.
+   */
+  public static LeakDetectingSpanProcessorBuilder builder() {
+    return new LeakDetectingSpanProcessorBuilder();
+  }
+
+  static BiConsumer<String, Throwable> defaultReporter() {
+    ThrottlingLogger throttlingLogger = new ThrottlingLogger(logger);
+    return (message, throwable) -> throttlingLogger.log(Level.WARNING, message, throwable);
   }
 
   // Visible for testing
   LeakDetectingSpanProcessor(BiConsumer<String, Throwable> reporter) {
-    pendingSpans = PendingSpans.create(reporter);
+    this(
+        reporter,
+        1.0,
+        MeterProvider.noop(),
+        LeakDetectingSpanProcessorBuilder.DEFAULT_MAX_SPAN_NAMES);
+  }
+
+  LeakDetectingSpanProcessor(
+      BiConsumer<String, Throwable> reporter,
+      double stackTraceRatio,
+      MeterProvider meterProvider,
+      int maxSpanNames) {
+    this.stackTraceRatio = stackTraceRatio;
+    LongCounter leakedSpans =
+        meterProvider
+            .meterBuilder("io.opentelemetry.sdk.trace")
+            .build()
+            .counterBuilder("leakedSpans")
+            .setUnit("1")
+            .setDescription("The number of spans garbage collected before being ended.")
+            .build();
+    pendingSpans = PendingSpans.create(reporter, leakedSpans, maxSpanNames);
   }
 
   @Override
   public void onStart(Context parentContext, ReadWriteSpan span) {
-    CallerStackTrace caller = new CallerStackTrace(span);
-    StackTraceElement[] stackTrace = caller.getStackTrace();
+    pendingSpans.put(span, new PendingSpan(span, captureStackTrace()));
+  }
 
-    // take off the first 3 stack frames, as they are from the SDK itself.
+  @Nullable
+  private Throwable captureStackTrace() {
+    if (stackTraceRatio < 1.0 && ThreadLocalRandom.current().nextDouble() >= stackTraceRatio) {
+      return null;
+    }
+    Throwable caller = new Throwable();
+    StackTraceElement[] stackTrace = caller.getStackTrace();
+    // take off the first 4 stack frames, as they are from the SDK itself.
     caller.setStackTrace(
-        Arrays.copyOfRange(stackTrace, Math.min(3, stackTrace.length), stackTrace.length));
-
-    pendingSpans.put(span, caller);
+        Arrays.copyOfRange(stackTrace, Math.min(4, stackTrace.length), stackTrace.length));
+    return caller;
   }
 
   @Override
@@ -66,7 +131,10 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
 
   @Override
   public void onEnd(ReadableSpan span) {
-    pendingSpans.remove(span).ended = true;
+    PendingSpan pendingSpan = pendingSpans.remove(span);
+    if (pendingSpan != null) {
+      pendingSpan.ended = true;
+    }
   }
 
   @Override
@@ -74,14 +142,58 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
     return true;
   }
 
-  private static class PendingSpans extends WeakConcurrentMap<ReadableSpan, CallerStackTrace> {
+  /**
+   * Returns a description of the {@code maxSpans} oldest spans that have been started but not ended
+   * yet, oldest first, including the stack trace where they were started if it was captured. This
+   * iterates over all pending spans and is meant to be called on demand when diagnosing leaks.
+   */
+  public List<String> getOldestPendingSpans(int maxSpans) {
+    if (maxSpans <= 0) {
+      return new ArrayList<>();
+    }
+    Comparator<Map.Entry<ReadableSpan, PendingSpan>> byStart =
+        Comparator.comparingLong(entry -> entry.getValue().startNanos);
+    // Keep the youngest of the retained spans at the head so it can be evicted.
+    PriorityQueue<Map.Entry<ReadableSpan, PendingSpan>> oldest =
+        new PriorityQueue<>(maxSpans + 1, byStart.reversed());
+    for (Map.Entry<ReadableSpan, PendingSpan> entry : pendingSpans) {
+      if (entry.getValue().ended) {
+        continue;
+      }
+      oldest.add(entry);
+      if (oldest.size() > maxSpans) {
+        oldest.poll();
+      }
+    }
+    List<Map.Entry<ReadableSpan, PendingSpan>> sorted = new ArrayList<>(oldest);
+    sorted.sort(byStart);
+    long now = System.nanoTime();
+    List<String> result = new ArrayList<>(sorted.size());
+    for (Map.Entry<ReadableSpan, PendingSpan> entry : sorted) {
+      // The span is still reachable, so describe it with its current name.
+      result.add(entry.getValue().describe(entry.getKey().getName(), now));
+    }
+    return result;
+  }
 
-    private final ConcurrentHashMap<WeakKey<ReadableSpan>, CallerStackTrace> map;
+  private static class PendingSpans extends WeakConcurrentMap<ReadableSpan, PendingSpan> {
+
+    // ConcurrentHashMap locks per bin, so concurrent puts and removes of different spans rarely
+    // contend.
+    private final ConcurrentHashMap<WeakKey<ReadableSpan>, PendingSpan> map;
     private final BiConsumer<String, Throwable> reporter;
+    private final LongCounter leakedSpans;
+    private final int maxSpanNames;
+    // Only used by the cleaner thread.
+    private final Map<String, Attributes> attributesBySpanName = new HashMap<>();
+    private final Attributes overflowAttributes =
+        Attributes.of(SPAN_NAME, SpanMetricsProcessor.OVERFLOW_SPAN_NAME);
 
     @SuppressWarnings("ThreadPriorityCheck")
-    private static PendingSpans create(BiConsumer<String, Throwable> reporter) {
-      PendingSpans pendingSpans = new PendingSpans(new ConcurrentHashMap<>(), reporter);
+    private static PendingSpans create(
+        BiConsumer<String, Throwable> reporter, LongCounter leakedSpans, int maxSpanNames) {
+      PendingSpans pendingSpans =
+          new PendingSpans(new ConcurrentHashMap<>(), reporter, leakedSpans, maxSpanNames);
       // Start cleaner thread ourselves to make sure it runs after initializing our fields.
       Thread thread = new Thread(pendingSpans);
       thread.setName("weak-ref-cleaner-leakingspandetector");
@@ -92,11 +204,15 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
     }
 
     private PendingSpans(
-        ConcurrentHashMap<WeakKey<ReadableSpan>, CallerStackTrace> map,
-        BiConsumer<String, Throwable> reporter) {
+        ConcurrentHashMap<WeakKey<ReadableSpan>, PendingSpan> map,
+        BiConsumer<String, Throwable> reporter,
+        LongCounter leakedSpans,
+        int maxSpanNames) {
       super(/* cleanerThread= */ false, /* reuseKeys= */ false, map);
       this.map = map;
       this.reporter = reporter;
+      this.leakedSpans = leakedSpans;
+      this.maxSpanNames = maxSpanNames;
     }
 
     // Called by cleaner thread.
@@ -106,41 +222,84 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
         while (!Thread.interrupted()) {
           // call blocks until something is GC'd.
           Reference<? extends ReadableSpan> gcdReference = remove();
-          CallerStackTrace caller = map.remove(gcdReference);
-          if (caller != null && !caller.ended) {
-            reporter.accept("Span garbage collected before being ended.", callerError(caller));
+          PendingSpan pendingSpan = map.remove(gcdReference);
+          if (pendingSpan != null && !pendingSpan.ended) {
+            leakedSpans.add(1, attributesFor(pendingSpan.spanName), Context.root());
+            reporter.accept("Span garbage collected before being ended.", callerError(pendingSpan));
           }
         }
       } catch (InterruptedException ignored) {
         // do nothing
       }
     }
-  }
 
-  private static class CallerStackTrace extends Throwable {
+    private Attributes attributesFor(String spanName) {
+      Attributes attributes = attributesBySpanName.get(spanName);
+      if (attributes != null) {
+        return attributes;
+      }
+      if (attributesBySpanName.size() >= maxSpanNames) {
+        return overflowAttributes;
+      }
+      attributes = Attributes.of(SPAN_NAME, spanName);
+      attributesBySpanName.put(spanName, attributes);
+      return attributes;
+    }
+  }
 
-    private static final long serialVersionUID = 1234567896L;
+  private static class PendingSpan {
 
     final String threadName = currentThread().getName();
-    final String spanInformation;
+    final long startNanos = System.nanoTime();
+    final String spanName;
+    final SpanContext spanContext;
+    @Nullable final Throwable caller;
 
     volatile boolean ended;
 
-    CallerStackTrace(ReadableSpan span) {
-      super("Thread [" + currentThread().getName() + "] started span : " + span + " here:");
-      this.spanInformation = span.getName() + " [" + span.getSpanContext() + "]";
+    PendingSpan(ReadableSpan span, @Nullable Throwable caller) {
+      this.spanName = span.getName();
+      this.spanContext = span.getSpanContext();
+      this.caller = caller;
+    }
+
+    String spanInformation(String spanName) {
+      return spanName + " [" + spanContext + "]";
+    }
+
+    String describe(String spanName, long nowNanos) {
+      StringBuilder description =
+          new StringBuilder("Thread [")
+              .append(threadName)
+              .append("] started span : ")
+              .append(spanInformation(spanName))
+              .append(' ')
+              .append(TimeUnit.NANOSECONDS.toMillis(nowNanos - startNanos))
+              .append(" ms ago");
+      if (caller == null) {
+        return description.toString();
+      }
+      StringWriter stackTrace = new StringWriter();
+      try (PrintWriter printWriter = new PrintWriter(stackTrace)) {
+        for (StackTraceElement element : caller.getStackTrace()) {
+          printWriter.println();
+          printWriter.print("\tat " + element);
+        }
+      }
+      return description.append(" here:").append(stackTrace).toString();
     }
   }
 
-  private static AssertionError callerError(CallerStackTrace caller) {
+  private static AssertionError callerError(PendingSpan pendingSpan) {
     AssertionError toThrow =
         new AssertionError(
             "Span garbage collected before being ended. Thread: ["
-                + caller.threadName
+                + pendingSpan.threadName
                 + "] started span : "
-                + caller.spanInformation
-                + " here:");
-    toThrow.setStackTrace(caller.getStackTrace());
+                + pendingSpan.spanInformation(pendingSpan.spanName)
+                + (pendingSpan.caller == null ? "" : " here:"));
+    toThrow.setStackTrace(
+        pendingSpan.caller == null ? new StackTraceElement[0] : pendingSpan.caller.getStackTrace());
     return toThrow;
   }
 }
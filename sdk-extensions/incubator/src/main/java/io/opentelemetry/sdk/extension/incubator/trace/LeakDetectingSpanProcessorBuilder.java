@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+
+/** Builder class for {@link LeakDetectingSpanProcessor}. */
+public final class LeakDetectingSpanProcessorBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_MAX_SPAN_NAMES = 1000;
+
+  private double stackTraceRatio = 1.0;
+  private MeterProvider meterProvider = MeterProvider.noop();
+  private int maxSpanNames = DEFAULT_MAX_SPAN_NAMES;
+
+  LeakDetectingSpanProcessorBuilder() {}
+
+  /**
+   * Sets the fraction of spans for which the stack trace where they were started is captured, which
+   * is the expensive part of leak detection. Leaks of other spans are still reported and counted,
+   * just without their stack trace. If unset, defaults to {@code 1.0}, capturing it for all spans.
+   *
+   * @param stackTraceRatio the fraction of spans to capture the stack trace of, between {@code 0.0}
+   *     and {@code 1.0}.
+   */
+  public LeakDetectingSpanProcessorBuilder setStackTraceRatio(double stackTraceRatio) {
+    checkArgument(
+        stackTraceRatio >= 0.0 && stackTraceRatio <= 1.0,
+        "stackTraceRatio must be in range [0.0, 1.0]");
+    this.stackTraceRatio = stackTraceRatio;
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} to count leaked spans by span name with. If unset, leaked spans
+   * are only logged.
+   */
+  public LeakDetectingSpanProcessorBuilder setMeterProvider(MeterProvider meterProvider) {
+    requireNonNull(meterProvider, "meterProvider");
+    this.meterProvider = meterProvider;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of distinct span names leaked spans are counted by, bounding the
+   * cardinality of the metric. Leaked spans with names beyond this limit are counted with the span
+   * name {@value SpanMetricsProcessor#OVERFLOW_SPAN_NAME}. If unset, defaults to {@value
+   * DEFAULT_MAX_SPAN_NAMES}.
+   */
+  public LeakDetectingSpanProcessorBuilder setMaxSpanNames(int maxSpanNames) {
+    checkArgument(maxSpanNames > 0, "maxSpanNames must be positive");
+    this.maxSpanNames = maxSpanNames;
+    return this;
+  }
+
+  /**
+   * Returns a new {@link LeakDetectingSpanProcessor} with the configuration of this builder.
+   *
+   * @return a new {@link LeakDetectingSpanProcessor}.
+   */
+  public LeakDetectingSpanProcessor build() {
+    return new LeakDetectingSpanProcessor(
+        LeakDetectingSpanProcessor.defaultReporter(), stackTraceRatio, meterProvider, maxSpanNames);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link SpanProcessor} that records the duration of every ended span into a histogram, from
+ * which request rate, error rate and duration (RED) metrics can be derived without exporting the
+ * spans themselves.
+ *
+ * <p>Durations are recorded in the {@code spanDuration} histogram, in milliseconds, with the
+ * attributes {@code span.name}, {@code span.kind} and {@code status.code}. All recording spans are
+ * measured, whether sampled or not, so a head sampler returning {@link
+ * io.opentelemetry.sdk.trace.samplers.SamplingDecision#RECORD_ONLY} for the spans it does not
+ * sample keeps these metrics accurate.
+ *
+ * <p>The attributes of each combination of span name, kind and status are built once and reused, so
+ * recording a span does not allocate. The number of distinct span names is bounded, see {@link
+ * SpanMetricsProcessorBuilder#setMaxSpanNames(int)}.
+ */
+public final class SpanMetricsProcessor implements SpanProcessor {
+
+  static final String OVERFLOW_SPAN_NAME = "_OTHER";
+
+  private static final AttributeKey<String> SPAN_NAME = AttributeKey.stringKey("span.name");
+  private static final AttributeKey<String> SPAN_KIND = AttributeKey.stringKey("span.kind");
+  private static final AttributeKey<String> STATUS_CODE = AttributeKey.stringKey("status.code");
+
+  private static final SpanKind[] SPAN_KINDS = SpanKind.values();
+  private static final StatusCode[] STATUS_CODES = StatusCode.values();
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final DoubleHistogram durationHistogram;
+  private final int maxSpanNames;
+  private final ConcurrentMap<String, AttributesBySpanKindAndStatus> attributesBySpanName =
+      new ConcurrentHashMap<>();
+  private final AttributesBySpanKindAndStatus overflowAttributes =
+      new AttributesBySpanKindAndStatus(OVERFLOW_SPAN_NAME);
+
+  /**
+   * Returns a new {@link SpanMetricsProcessorBuilder} to construct a {@link SpanMetricsProcessor}.
+   *
+   * @param meterProvider the {@link MeterProvider} to record span durations with.
+   * @return a new {@link SpanMetricsProcessorBuilder}.
+   */
+  public static SpanMetricsProcessorBuilder builder(MeterProvider meterProvider) {
+    return new SpanMetricsProcessorBuilder(meterProvider);
+  }
+
+  SpanMetricsProcessor(MeterProvider meterProvider, int maxSpanNames) {
+    this.maxSpanNames = maxSpanNames;
+    this.durationHistogram =
+        meterProvider
+            .meterBuilder("io.opentelemetry.sdk.trace")
+            .build()
+            .histogramBuilder("spanDuration")
+            .setUnit("ms")
+            .setDescription("The duration of ended spans.")
+            .build();
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {}
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    Attributes attributes =
+        attributesFor(span.getName()).get(span.getKind(), span.getStatus().getStatusCode());
+    // Record with the root context, the span is not current when it ends.
+    durationHistogram.record(span.getLatencyNanos() / NANOS_PER_MILLI, attributes, Context.root());
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  private AttributesBySpanKindAndStatus attributesFor(String spanName) {
+    AttributesBySpanKindAndStatus attributes = attributesBySpanName.get(spanName);
+    if (attributes != null) {
+      return attributes;
+    }
+    // The size check is racy, so the limit may be exceeded by the number of concurrent callers.
+    if (attributesBySpanName.size() >= maxSpanNames) {
+      return overflowAttributes;
+    }
+    return attributesBySpanName.computeIfAbsent(spanName, AttributesBySpanKindAndStatus::new);
+  }
+
+  /** Lazily built {@link Attributes} for each span kind and status of a span name. */
+  private static final class AttributesBySpanKindAndStatus {
+
+    private final String spanName;
+    private final AtomicReferenceArray<Attributes> attributes =
+        new AtomicReferenceArray<>(SPAN_KINDS.length * STATUS_CODES.length);
+
+    private AttributesBySpanKindAndStatus(String spanName) {
+      this.spanName = spanName;
+    }
+
+    private Attributes get(SpanKind spanKind, StatusCode statusCode) {
+      int index = spanKind.ordinal() * STATUS_CODES.length + statusCode.ordinal();
+      Attributes result = attributes.get(index);
+      if (result == null) {
+        // Racing callers build equal attributes, so it does not matter which one is kept.
+        result =
+            Attributes.of(
+                SPAN_NAME, spanName, SPAN_KIND, spanKind.name(), STATUS_CODE, statusCode.name());
+        attributes.lazySet(index, result);
+      }
+      return result;
+    }
+  }
+}
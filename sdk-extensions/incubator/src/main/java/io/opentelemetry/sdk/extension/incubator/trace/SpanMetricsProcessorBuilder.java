@@ -0,0 +1,46 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+
+/** Builder class for {@link SpanMetricsProcessor}. */
+public final class SpanMetricsProcessorBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_MAX_SPAN_NAMES = 1000;
+
+  private final MeterProvider meterProvider;
+  private int maxSpanNames = DEFAULT_MAX_SPAN_NAMES;
+
+  SpanMetricsProcessorBuilder(MeterProvider meterProvider) {
+    this.meterProvider = requireNonNull(meterProvider, "meterProvider");
+  }
+
+  /**
+   * Sets the maximum number of distinct span names recorded, bounding the cardinality of the
+   * metrics. Durations of spans with names beyond this limit are recorded with the span name
+   * {@value SpanMetricsProcessor#OVERFLOW_SPAN_NAME}. If unset, defaults to {@value
+   * DEFAULT_MAX_SPAN_NAMES}.
+   */
+  public SpanMetricsProcessorBuilder setMaxSpanNames(int maxSpanNames) {
+    checkArgument(maxSpanNames > 0, "maxSpanNames must be positive");
+    this.maxSpanNames = maxSpanNames;
+    return this;
+  }
+
+  /**
+   * Returns a new {@link SpanMetricsProcessor} with the configuration of this builder.
+   *
+   * @return a new {@link SpanMetricsProcessor}.
+   */
+  public SpanMetricsProcessor build() {
+    return new SpanMetricsProcessor(meterProvider, maxSpanNames);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.time.Duration;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A policy used by {@link TailSamplingSpanProcessor} to decide, once all spans of a trace have been
+ * buffered, whether the trace should be forwarded to the delegate processor.
+ */
+@ThreadSafe
+@FunctionalInterface
+public interface TailSamplingPolicy {
+
+  /** Returns a policy which samples traces containing at least one span with an error status. */
+  static TailSamplingPolicy errorStatus() {
+    return spans -> {
+      for (SpanData span : spans) {
+        if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a policy which samples traces containing at least one span with a duration of at least
+   * {@code threshold}.
+   */
+  static TailSamplingPolicy latencyAtLeast(Duration threshold) {
+    requireNonNull(threshold, "threshold");
+    long thresholdNanos = threshold.toNanos();
+    return spans -> {
+      for (SpanData span : spans) {
+        if (span.getEndEpochNanos() - span.getStartEpochNanos() >= thresholdNanos) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a policy which samples traces containing at least one span with the attribute {@code
+   * key} set to {@code value}.
+   */
+  static <T> TailSamplingPolicy attributeEquals(AttributeKey<T> key, T value) {
+    requireNonNull(key, "key");
+    requireNonNull(value, "value");
+    return spans -> {
+      for (SpanData span : spans) {
+        if (value.equals(span.getAttributes().get(key))) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns whether the trace made of the given {@code spans} should be sampled. The spans are in
+   * the order they ended, the trace may be incomplete if it timed out or was evicted from the
+   * buffer.
+   */
+  boolean shouldSample(List<SpanData> spans);
+}
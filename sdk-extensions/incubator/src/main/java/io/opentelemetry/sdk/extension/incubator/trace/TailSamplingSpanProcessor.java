@@ -0,0 +1,344 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link SpanProcessor} which buffers ended spans per trace and only forwards the spans of a
+ * trace to a delegate {@link SpanProcessor} if one of the configured {@link TailSamplingPolicy}s
+ * samples it.
+ *
+ * <p>A decision is made for a trace when its local root span ends, when {@code decisionWait} has
+ * passed since its first span ended, or when the buffer is full and the trace is the oldest one.
+ * Spans ending after a decision has been made for their trace follow that decision. The policies
+ * are evaluated outside the lock guarding the buffer, so they do not block spans of other traces
+ * from ending.
+ *
+ * <p>{@link SpanProcessor#onStart(Context, ReadWriteSpan)} is forwarded to the delegate for every
+ * span, as the decision is not known yet when a span starts. The delegate is not called on end for
+ * spans of traces which are not sampled, so a delegate which requires start must not expect every
+ * started span to end.
+ *
+ * <p>Only spans which are recorded and sampled by the head {@link
+ * io.opentelemetry.sdk.trace.samplers.Sampler} reach this processor and the delegate, so the head
+ * sampler should sample every trace which should be considered for tail sampling, e.g. {@link
+ * io.opentelemetry.sdk.trace.samplers.Sampler#alwaysOn()}.
+ */
+public final class TailSamplingSpanProcessor implements SpanProcessor {
+
+  private static final Logger logger = Logger.getLogger(TailSamplingSpanProcessor.class.getName());
+
+  private static final String TIMER_THREAD_NAME =
+      TailSamplingSpanProcessor.class.getSimpleName() + "_TimerThread";
+  private static final AttributeKey<Boolean> SAMPLED_LABEL = AttributeKey.booleanKey("sampled");
+  private static final AttributeKey<String> REASON_LABEL = AttributeKey.stringKey("reason");
+  private static final String REASON_COMPLETED = "completed";
+  private static final String REASON_TIMEOUT = "timeout";
+  private static final String REASON_EVICTED = "evicted";
+  private static final long MAX_TIMER_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final SpanProcessor delegate;
+  private final List<TailSamplingPolicy> policies;
+  private final long decisionWaitNanos;
+  private final int maxTraces;
+  private final int maxSpans;
+  private final LongCounter decisionsCounter;
+  private final ScheduledExecutorService timer;
+  private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+  private final ThrottlingLogger throttlingLogger = new ThrottlingLogger(logger);
+
+  private final Object lock = new Object();
+
+  // Traces waiting for a decision, in the order their first span ended.
+  @GuardedBy("lock")
+  private final LinkedHashMap<String, PendingTrace> pendingTraces = new LinkedHashMap<>();
+
+  @GuardedBy("lock")
+  private int pendingSpans;
+
+  // Traces removed from the buffer whose policies are being evaluated.
+  @GuardedBy("lock")
+  private final Map<String, PendingTrace> decidingTraces = new HashMap<>();
+
+  // Decisions of recently decided traces, used for spans ending after the decision was made.
+  @GuardedBy("lock")
+  private final LinkedHashMap<String, Boolean> decidedTraces;
+
+  /**
+   * Returns a new Builder for {@link TailSamplingSpanProcessor}.
+   *
+   * @param delegate the {@link SpanProcessor} to which the spans of sampled traces are forwarded.
+   * @return a new {@link TailSamplingSpanProcessorBuilder}.
+   */
+  public static TailSamplingSpanProcessorBuilder builder(SpanProcessor delegate) {
+    return new TailSamplingSpanProcessorBuilder(delegate);
+  }
+
+  TailSamplingSpanProcessor(
+      SpanProcessor delegate,
+      List<TailSamplingPolicy> policies,
+      long decisionWaitNanos,
+      int maxTraces,
+      int maxSpans,
+      MeterProvider meterProvider) {
+    this.delegate = delegate;
+    this.policies = policies;
+    this.decisionWaitNanos = decisionWaitNanos;
+    this.maxTraces = maxTraces;
+    this.maxSpans = maxSpans;
+    this.decidedTraces =
+        new LinkedHashMap<String, Boolean>() {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > maxTraces;
+          }
+        };
+    this.decisionsCounter =
+        meterProvider
+            .meterBuilder("io.opentelemetry.sdk.trace")
+            .build()
+            .counterBuilder("tailSamplingDecisions")
+            .setUnit("1")
+            .setDescription(
+                "The number of traces for which the TailSamplingSpanProcessor made a decision. "
+                    + "[reason is one of completed, timeout or evicted]")
+            .build();
+    this.timer =
+        Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(TIMER_THREAD_NAME));
+    long timerIntervalNanos = Math.min(decisionWaitNanos, MAX_TIMER_INTERVAL_NANOS);
+    timer.scheduleAtFixedRate(
+        this::decideExpiredTraces, timerIntervalNanos, timerIntervalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+    delegate.onStart(parentContext, span);
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return delegate.isStartRequired();
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    if (!span.getSpanContext().isSampled()) {
+      return;
+    }
+    String traceId = span.getSpanContext().getTraceId();
+    List<Decision> decisions = new ArrayList<>(1);
+    synchronized (lock) {
+      Boolean decided = decidedTraces.get(traceId);
+      if (decided != null) {
+        if (!decided) {
+          return;
+        }
+      } else if (decidingTraces.containsKey(traceId)) {
+        decidingTraces.get(traceId).lateSpans.add(span);
+        return;
+      } else {
+        PendingTrace trace = pendingTraces.get(traceId);
+        if (trace == null) {
+          trace = new PendingTrace(traceId, System.nanoTime() + decisionWaitNanos);
+          pendingTraces.put(traceId, trace);
+        }
+        trace.spans.add(span);
+        pendingSpans++;
+        if (isLocalRoot(span)) {
+          decisions.add(remove(trace, REASON_COMPLETED));
+        }
+        while (!pendingTraces.isEmpty()
+            && (pendingTraces.size() > maxTraces || pendingSpans > maxSpans)) {
+          decisions.add(remove(pendingTraces.values().iterator().next(), REASON_EVICTED));
+        }
+        if (decisions.isEmpty()) {
+          return;
+        }
+      }
+    }
+    if (decisions.isEmpty()) {
+      // Late span of a trace which has already been sampled.
+      delegate.onEnd(span);
+      return;
+    }
+    decide(decisions);
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (isShutdown.getAndSet(true)) {
+      return CompletableResultCode.ofSuccess();
+    }
+    timer.shutdown();
+    decideAll();
+    return delegate.shutdown();
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    decideAll();
+    return delegate.forceFlush();
+  }
+
+  // Visible for testing
+  int getPendingTraceCount() {
+    synchronized (lock) {
+      return pendingTraces.size();
+    }
+  }
+
+  private void decideExpiredTraces() {
+    List<Decision> decisions = new ArrayList<>();
+    long now = System.nanoTime();
+    synchronized (lock) {
+      // Traces are ordered by their deadline, so we can stop at the first one which hasn't expired.
+      while (!pendingTraces.isEmpty()) {
+        PendingTrace oldest = pendingTraces.values().iterator().next();
+        if (oldest.deadlineNanos - now > 0) {
+          break;
+        }
+        decisions.add(remove(oldest, REASON_TIMEOUT));
+      }
+    }
+    decide(decisions);
+  }
+
+  private void decideAll() {
+    List<Decision> decisions = new ArrayList<>();
+    synchronized (lock) {
+      while (!pendingTraces.isEmpty()) {
+        decisions.add(remove(pendingTraces.values().iterator().next(), REASON_TIMEOUT));
+      }
+    }
+    decide(decisions);
+  }
+
+  // Removes the trace from the buffer, spans of it ending until it is decided are collected in it.
+  @GuardedBy("lock")
+  private Decision remove(PendingTrace trace, String reason) {
+    pendingTraces.remove(trace.traceId);
+    pendingSpans -= trace.spans.size();
+    decidingTraces.put(trace.traceId, trace);
+    return new Decision(trace, reason);
+  }
+
+  // Evaluates the policies for removed traces and forwards the spans of sampled ones.
+  private void decide(List<Decision> decisions) {
+    for (Decision decision : decisions) {
+      PendingTrace trace = decision.trace;
+      List<SpanData> spanData = new ArrayList<>(trace.spans.size());
+      for (ReadableSpan span : trace.spans) {
+        spanData.add(span.toSpanData());
+      }
+      boolean sampled = shouldSample(spanData);
+      synchronized (lock) {
+        decidingTraces.remove(trace.traceId);
+        decidedTraces.put(trace.traceId, sampled);
+      }
+      decisionsCounter.add(1, Attributes.of(SAMPLED_LABEL, sampled, REASON_LABEL, decision.reason));
+      if (sampled) {
+        for (ReadableSpan span : trace.spans) {
+          delegate.onEnd(span);
+        }
+        // No longer modified once the decision is recorded.
+        for (ReadableSpan span : trace.lateSpans) {
+          delegate.onEnd(span);
+        }
+      }
+    }
+  }
+
+  private boolean shouldSample(List<SpanData> spanData) {
+    for (TailSamplingPolicy policy : policies) {
+      // A policy which throws does not sample the trace, but must not keep it from being decided.
+      try {
+        if (policy.shouldSample(spanData)) {
+          return true;
+        }
+      } catch (RuntimeException e) {
+        throttlingLogger.log(
+            Level.WARNING, "Tail sampling policy " + policy + " failed to evaluate a trace.", e);
+      }
+    }
+    return false;
+  }
+
+  private static boolean isLocalRoot(ReadableSpan span) {
+    SpanContext parent = span.getParentSpanContext();
+    return !parent.isValid() || parent.isRemote();
+  }
+
+  private static final class PendingTrace {
+    private final String traceId;
+    private final long deadlineNanos;
+    private final List<ReadableSpan> spans = new ArrayList<>();
+    // Spans ending while the policies are evaluated.
+    private final List<ReadableSpan> lateSpans = new ArrayList<>();
+
+    private PendingTrace(String traceId, long deadlineNanos) {
+      this.traceId = traceId;
+      this.deadlineNanos = deadlineNanos;
+    }
+  }
+
+  private static final class Decision {
+    private final PendingTrace trace;
+    private final String reason;
+
+    private Decision(PendingTrace trace, String reason) {
+      this.trace = trace;
+      this.reason = reason;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TailSamplingSpanProcessor{"
+        + "delegate="
+        + delegate
+        + ", policies="
+        + policies
+        + ", decisionWaitNanos="
+        + decisionWaitNanos
+        + ", maxTraces="
+        + maxTraces
+        + ", maxSpans="
+        + maxSpans
+        + '}';
+  }
+}
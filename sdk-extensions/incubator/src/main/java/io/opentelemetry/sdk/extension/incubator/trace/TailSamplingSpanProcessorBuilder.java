@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Builder class for {@link TailSamplingSpanProcessor}. */
+public final class TailSamplingSpanProcessorBuilder {
+
+  // Visible for testing
+  static final long DEFAULT_DECISION_WAIT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_TRACES = 10_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_SPANS = 100_000;
+
+  private final SpanProcessor delegate;
+  private final List<TailSamplingPolicy> policies = new ArrayList<>();
+  private long decisionWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DECISION_WAIT_MILLIS);
+  private int maxTraces = DEFAULT_MAX_TRACES;
+  private int maxSpans = DEFAULT_MAX_SPANS;
+  private MeterProvider meterProvider = MeterProvider.noop();
+
+  TailSamplingSpanProcessorBuilder(SpanProcessor delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  /**
+   * Adds a {@link TailSamplingPolicy}. A trace is forwarded to the delegate if any of the policies
+   * samples it. If no policy is added, no trace is forwarded.
+   */
+  public TailSamplingSpanProcessorBuilder addPolicy(TailSamplingPolicy policy) {
+    requireNonNull(policy, "policy");
+    policies.add(policy);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the local root span of a trace to end after the first span of
+   * the trace ended. Once elapsed, a decision is made with the spans buffered so far. If unset,
+   * defaults to {@value DEFAULT_DECISION_WAIT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(Duration decisionWait) {
+    requireNonNull(decisionWait, "decisionWait");
+    checkArgument(
+        !decisionWait.isNegative() && !decisionWait.isZero(), "decisionWait must be positive");
+    decisionWaitNanos = decisionWait.toNanos();
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of traces buffered while waiting for a decision. When exceeded, a
+   * decision is made for the oldest trace with the spans buffered so far. If unset, defaults to
+   * {@value DEFAULT_MAX_TRACES}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxTraces(int maxTraces) {
+    checkArgument(maxTraces > 0, "maxTraces must be positive");
+    this.maxTraces = maxTraces;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of spans buffered across all traces, bounding the memory used by the
+   * buffer. When exceeded, decisions are made for the oldest traces with the spans buffered so far.
+   * If unset, defaults to {@value DEFAULT_MAX_SPANS}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxSpans(int maxSpans) {
+    checkArgument(maxSpans > 0, "maxSpans must be positive");
+    this.maxSpans = maxSpans;
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} to use to collect metrics related to sampling decisions. If not
+   * set, metrics will not be collected.
+   */
+  public TailSamplingSpanProcessorBuilder setMeterProvider(MeterProvider meterProvider) {
+    requireNonNull(meterProvider, "meterProvider");
+    this.meterProvider = meterProvider;
+    return this;
+  }
+
+  /** Returns a new {@link TailSamplingSpanProcessor}. */
+  public TailSamplingSpanProcessor build() {
+    return new TailSamplingSpanProcessor(
+        delegate, new ArrayList<>(policies), decisionWaitNanos, maxTraces, maxSpans, meterProvider);
+  }
+}
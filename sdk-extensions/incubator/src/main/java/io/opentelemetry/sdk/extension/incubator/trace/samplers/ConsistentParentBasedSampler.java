@@ -0,0 +1,47 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace.samplers;
+
+import java.util.Random;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link ConsistentSampler} that reuses the p-value of the parent span, and delegates to a root
+ * sampler for root spans. If the parent p-value is unknown, the sampling decision of the parent is
+ * followed.
+ */
+@Immutable
+final class ConsistentParentBasedSampler extends ConsistentSampler {
+
+  private final ConsistentSampler rootSampler;
+  private final String description;
+
+  ConsistentParentBasedSampler(ConsistentSampler rootSampler, Supplier<Random> randomSupplier) {
+    super(randomSupplier);
+    this.rootSampler = rootSampler;
+    this.description =
+        "ConsistentParentBasedSampler{rootSampler=" + rootSampler.getDescription() + '}';
+  }
+
+  @Override
+  int getP(int parentP, boolean isRoot) {
+    if (isRoot) {
+      return rootSampler.getP(parentP, true);
+    }
+    return parentP;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+}
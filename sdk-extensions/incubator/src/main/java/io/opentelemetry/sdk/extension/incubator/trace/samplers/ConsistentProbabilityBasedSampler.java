@@ -0,0 +1,40 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace.samplers;
+
+import java.util.Random;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.Immutable;
+
+/** A {@link ConsistentSampler} that samples spans with a fixed probability. */
+@Immutable
+final class ConsistentProbabilityBasedSampler extends ConsistentSampler {
+
+  private final double samplingProbability;
+  private final String description;
+
+  ConsistentProbabilityBasedSampler(double samplingProbability, Supplier<Random> randomSupplier) {
+    super(randomSupplier);
+    this.samplingProbability = samplingProbability;
+    this.description =
+        String.format("ConsistentProbabilityBasedSampler{%.6f}", samplingProbability);
+  }
+
+  @Override
+  int getP(int parentP, boolean isRoot) {
+    return getP(samplingProbability, randomSupplier.get());
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace.samplers;
+
+import io.opentelemetry.sdk.common.Clock;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link ConsistentSampler} that adjusts its sampling probability to a target rate of sampled
+ * spans.
+ *
+ * <p>The rate of spans is estimated with exponential smoothing of both the number of spans and the
+ * length of the observation window, i.e. observations age with a time constant of the configured
+ * adaptation time. The estimate is updated lock-free, so that concurrent callers never block each
+ * other.
+ */
+final class ConsistentRateLimitingSampler extends ConsistentSampler {
+
+  @Immutable
+  private static final class State {
+    private final double effectiveWindowCount;
+    private final double effectiveWindowNanos;
+    private final long lastNanoTime;
+
+    private State(double effectiveWindowCount, double effectiveWindowNanos, long lastNanoTime) {
+      this.effectiveWindowCount = effectiveWindowCount;
+      this.effectiveWindowNanos = effectiveWindowNanos;
+      this.lastNanoTime = lastNanoTime;
+    }
+  }
+
+  private final String description;
+  private final Clock clock;
+  private final double inverseAdaptationTimeNanos;
+  private final double targetSpansPerNanosecond;
+  private final AtomicReference<State> state;
+
+  ConsistentRateLimitingSampler(
+      double targetSpansPerSecond,
+      double adaptationTimeSeconds,
+      Clock clock,
+      Supplier<Random> randomSupplier) {
+    super(randomSupplier);
+    this.description =
+        String.format(
+            "ConsistentRateLimitingSampler{%.6f, %.6f}",
+            targetSpansPerSecond, adaptationTimeSeconds);
+    this.clock = clock;
+    this.inverseAdaptationTimeNanos = 1.0 / (adaptationTimeSeconds * TimeUnit.SECONDS.toNanos(1));
+    this.targetSpansPerNanosecond = targetSpansPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.state = new AtomicReference<>(new State(0, 0, clock.nanoTime()));
+  }
+
+  private State updateState(State oldState, long currentNanoTime) {
+    if (currentNanoTime <= oldState.lastNanoTime) {
+      return new State(
+          oldState.effectiveWindowCount + 1, oldState.effectiveWindowNanos, oldState.lastNanoTime);
+    }
+    long nanoTimeDelta = currentNanoTime - oldState.lastNanoTime;
+    double decayFactor = Math.exp(-nanoTimeDelta * inverseAdaptationTimeNanos);
+    double currentEffectiveWindowCount = oldState.effectiveWindowCount * decayFactor + 1;
+    double currentEffectiveWindowNanos =
+        oldState.effectiveWindowNanos * decayFactor + nanoTimeDelta;
+    return new State(currentEffectiveWindowCount, currentEffectiveWindowNanos, currentNanoTime);
+  }
+
+  @Override
+  int getP(int parentP, boolean isRoot) {
+    long currentNanoTime = clock.nanoTime();
+    State currentState;
+    while (true) {
+      State oldState = state.get();
+      currentState = updateState(oldState, currentNanoTime);
+      if (state.compareAndSet(oldState, currentState)) {
+        break;
+      }
+    }
+    double samplingProbability =
+        (currentState.effectiveWindowNanos * targetSpansPerNanosecond)
+            / currentState.effectiveWindowCount;
+    return getP(samplingProbability, randomSupplier.get());
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+}
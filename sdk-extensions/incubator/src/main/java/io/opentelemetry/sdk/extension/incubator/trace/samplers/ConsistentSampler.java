@@ -0,0 +1,235 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace.samplers;
+
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.RandomSupplier;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Sampler} that makes consistent sampling decisions across the spans of a trace.
+ *
+ * <p>Sampling probabilities are restricted to powers of two, {@code 2^-p}, and each trace carries a
+ * random value {@code r} that is shared by all of its spans. A span is sampled if {@code p <= r},
+ * so that a span sampled with some probability implies that all of its ancestors sampled with a
+ * higher or equal probability were sampled too. Both values are propagated in the {@code ot} entry
+ * of the {@link TraceState} (e.g. {@code ot=p:2;r:5}), which allows consumers to compute the
+ * adjusted count of each sampled span, {@code 2^p}, even if different services use different
+ * sampling probabilities. Other probabilities are supported by choosing randomly between the two
+ * nearest powers of two, which is unbiased on average.
+ */
+public abstract class ConsistentSampler implements Sampler {
+
+  /** Returns a {@link ConsistentSampler} that samples all spans. */
+  public static ConsistentSampler alwaysOn() {
+    return probabilityBased(1.0);
+  }
+
+  /** Returns a {@link ConsistentSampler} that does not sample any span. */
+  public static ConsistentSampler alwaysOff() {
+    return probabilityBased(0.0);
+  }
+
+  /**
+   * Returns a {@link ConsistentSampler} that samples each span with the given probability.
+   *
+   * @param samplingProbability the sampling probability, in the range [0.0, 1.0].
+   */
+  public static ConsistentSampler probabilityBased(double samplingProbability) {
+    return probabilityBased(samplingProbability, RandomSupplier.platformDefault());
+  }
+
+  static ConsistentSampler probabilityBased(
+      double samplingProbability, Supplier<Random> randomSupplier) {
+    if (!(samplingProbability >= 0.0 && samplingProbability <= 1.0)) {
+      throw new IllegalArgumentException("samplingProbability must be in range [0.0, 1.0]");
+    }
+    return new ConsistentProbabilityBasedSampler(samplingProbability, randomSupplier);
+  }
+
+  /**
+   * Returns a {@link ConsistentSampler} that respects the sampling probability of the parent span,
+   * and delegates to the given sampler for root spans.
+   */
+  public static ConsistentSampler parentBased(ConsistentSampler rootSampler) {
+    requireNonNull(rootSampler, "rootSampler");
+    return new ConsistentParentBasedSampler(rootSampler, rootSampler.randomSupplier);
+  }
+
+  /**
+   * Returns a {@link ConsistentSampler} that adapts its sampling probability to sample
+   * approximately {@code targetSpansPerSecond} spans per second.
+   *
+   * @param targetSpansPerSecond the desired number of sampled spans per second.
+   * @param adaptationTimeSeconds the time over which the observed span rate is averaged, which
+   *     determines how quickly the sampling probability follows changes of the span rate.
+   */
+  public static ConsistentSampler rateLimited(
+      double targetSpansPerSecond, double adaptationTimeSeconds) {
+    return rateLimited(
+        targetSpansPerSecond,
+        adaptationTimeSeconds,
+        Clock.getDefault(),
+        RandomSupplier.platformDefault());
+  }
+
+  static ConsistentSampler rateLimited(
+      double targetSpansPerSecond,
+      double adaptationTimeSeconds,
+      Clock clock,
+      Supplier<Random> randomSupplier) {
+    if (!(targetSpansPerSecond > 0)) {
+      throw new IllegalArgumentException("targetSpansPerSecond must be positive");
+    }
+    if (!(adaptationTimeSeconds > 0)) {
+      throw new IllegalArgumentException("adaptationTimeSeconds must be positive");
+    }
+    return new ConsistentRateLimitingSampler(
+        targetSpansPerSecond, adaptationTimeSeconds, clock, randomSupplier);
+  }
+
+  final Supplier<Random> randomSupplier;
+
+  ConsistentSampler(Supplier<Random> randomSupplier) {
+    this.randomSupplier = requireNonNull(randomSupplier, "randomSupplier");
+  }
+
+  /**
+   * Returns the p-value to use for a new span. An invalid p-value (e.g. {@link
+   * OtelTraceState#INVALID}) means the decision of the parent is followed without recording a
+   * probability.
+   *
+   * @param parentP the p-value of the parent span, or {@link OtelTraceState#INVALID} if unknown.
+   * @param isRoot whether the new span is a root span.
+   */
+  abstract int getP(int parentP, boolean isRoot);
+
+  @Override
+  public final SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    SpanContext parentSpanContext = Span.fromContext(parentContext).getSpanContext();
+    boolean isRoot = !parentSpanContext.isValid();
+    boolean isParentSampled = parentSpanContext.isSampled();
+
+    OtelTraceState otelTraceState =
+        OtelTraceState.parse(parentSpanContext.getTraceState().get(OtelTraceState.TRACE_STATE_KEY));
+    if (!OtelTraceState.isValidR(otelTraceState.getR())) {
+      otelTraceState.setR(generateR(randomSupplier.get()));
+      otelTraceState.invalidateP();
+    }
+    // A p-value that contradicts the sampled flag of the parent cannot be trusted.
+    int parentP = otelTraceState.getP();
+    if (OtelTraceState.isValidP(parentP) && (parentP <= otelTraceState.getR()) != isParentSampled) {
+      otelTraceState.invalidateP();
+    }
+
+    int p = getP(otelTraceState.getP(), isRoot);
+    boolean isSampled;
+    if (OtelTraceState.isValidP(p)) {
+      isSampled = p <= otelTraceState.getR();
+    } else {
+      isSampled = isParentSampled;
+    }
+    if (isSampled && OtelTraceState.isValidP(p)) {
+      otelTraceState.setP(p);
+    } else {
+      otelTraceState.invalidateP();
+    }
+
+    return new ConsistentSamplingResult(
+        isSampled ? SamplingDecision.RECORD_AND_SAMPLE : SamplingDecision.DROP,
+        otelTraceState.serialize());
+  }
+
+  /**
+   * Returns an r-value with a geometric distribution, {@code P(r >= n) = 2^-n}, capped at {@link
+   * OtelTraceState#MAX_R}.
+   */
+  static int generateR(Random random) {
+    return Math.min(Long.numberOfLeadingZeros(random.nextLong()), OtelTraceState.MAX_R);
+  }
+
+  /**
+   * Returns a p-value for the given sampling probability. Probabilities that are not a power of two
+   * are approximated by randomly choosing between the two nearest p-values, such that the expected
+   * sampling probability is the given one.
+   */
+  static int getP(double samplingProbability, Random random) {
+    if (samplingProbability <= 0.0) {
+      return OtelTraceState.MAX_P;
+    }
+    if (samplingProbability >= 1.0) {
+      return 0;
+    }
+    // 2^-pCeil <= samplingProbability < 2^-(pCeil - 1)
+    int pCeil = -Math.getExponent(samplingProbability);
+    // Probabilities below the smallest representable one, 2^-62, are treated as zero.
+    if (pCeil > OtelTraceState.MAX_R) {
+      return OtelTraceState.MAX_P;
+    }
+    double lowerProbability = Math.scalb(1.0, -pCeil);
+    // Sample with 2^-(pCeil - 1) = 2 * lowerProbability with the probability that makes the
+    // expected sampling probability match.
+    double upperWeight = samplingProbability / lowerProbability - 1.0;
+    if (upperWeight > 0.0 && random.nextDouble() < upperWeight) {
+      return pCeil - 1;
+    }
+    return pCeil;
+  }
+
+  private static final class ConsistentSamplingResult implements SamplingResult {
+
+    private final SamplingDecision decision;
+    private final String otelTraceStateValue;
+
+    private ConsistentSamplingResult(SamplingDecision decision, String otelTraceStateValue) {
+      this.decision = decision;
+      this.otelTraceStateValue = otelTraceStateValue;
+    }
+
+    @Override
+    public SamplingDecision getDecision() {
+      return decision;
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      return Attributes.empty();
+    }
+
+    @Override
+    public TraceState getUpdatedTraceState(TraceState parentTraceState) {
+      if (otelTraceStateValue.isEmpty()) {
+        if (parentTraceState.get(OtelTraceState.TRACE_STATE_KEY) == null) {
+          return parentTraceState;
+        }
+        return parentTraceState.toBuilder().remove(OtelTraceState.TRACE_STATE_KEY).build();
+      }
+      return parentTraceState.toBuilder()
+          .put(OtelTraceState.TRACE_STATE_KEY, otelTraceStateValue)
+          .build();
+    }
+  }
+}
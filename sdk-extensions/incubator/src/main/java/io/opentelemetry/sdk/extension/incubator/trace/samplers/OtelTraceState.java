@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace.samplers;
+
+import javax.annotation.Nullable;
+
+/**
+ * The parsed value of the {@code ot} entry of a {@link io.opentelemetry.api.trace.TraceState}, e.g.
+ * {@code p:2;r:5}. The p-value encodes the sampling probability {@code 2^-p} of the span, the
+ * r-value encodes the randomness {@code r} used for sampling decisions of the trace, with a span
+ * being sampled if {@code p <= r}. Other sub-keys are preserved.
+ */
+final class OtelTraceState {
+
+  static final String TRACE_STATE_KEY = "ot";
+
+  static final int INVALID = -1;
+  static final int MAX_P = 63;
+  static final int MAX_R = 62;
+
+  private static final int MAX_LENGTH = 256;
+
+  private int p;
+  private int r;
+  // Sub-keys other than p and r, without leading or trailing separator.
+  private final String rest;
+
+  private OtelTraceState(int p, int r, String rest) {
+    this.p = p;
+    this.r = r;
+    this.rest = rest;
+  }
+
+  static OtelTraceState parse(@Nullable String value) {
+    int p = INVALID;
+    int r = INVALID;
+    StringBuilder rest = new StringBuilder();
+    if (value != null && value.length() <= MAX_LENGTH) {
+      int start = 0;
+      while (start < value.length()) {
+        int end = value.indexOf(';', start);
+        if (end < 0) {
+          end = value.length();
+        }
+        if (end - start > 2 && value.charAt(start + 1) == ':') {
+          char key = value.charAt(start);
+          if (key == 'p') {
+            p = parseValue(value, start + 2, end, MAX_P);
+          } else if (key == 'r') {
+            r = parseValue(value, start + 2, end, MAX_R);
+          } else {
+            appendRest(rest, value, start, end);
+          }
+        } else if (end > start) {
+          appendRest(rest, value, start, end);
+        }
+        start = end + 1;
+      }
+    }
+    return new OtelTraceState(p, r, rest.toString());
+  }
+
+  static boolean isValidP(int p) {
+    return p >= 0 && p <= MAX_P;
+  }
+
+  static boolean isValidR(int r) {
+    return r >= 0 && r <= MAX_R;
+  }
+
+  int getP() {
+    return p;
+  }
+
+  void setP(int p) {
+    this.p = p;
+  }
+
+  void invalidateP() {
+    this.p = INVALID;
+  }
+
+  int getR() {
+    return r;
+  }
+
+  void setR(int r) {
+    this.r = r;
+  }
+
+  /** Returns the serialized value, empty if there is nothing to encode. */
+  String serialize() {
+    StringBuilder sb = new StringBuilder();
+    if (isValidP(p)) {
+      sb.append("p:").append(p);
+    }
+    if (isValidR(r)) {
+      if (sb.length() > 0) {
+        sb.append(';');
+      }
+      sb.append("r:").append(r);
+    }
+    if (!rest.isEmpty()) {
+      if (sb.length() > 0) {
+        sb.append(';');
+      }
+      sb.append(rest);
+    }
+    return sb.toString();
+  }
+
+  private static int parseValue(String value, int start, int end, int max) {
+    // Values are at most two decimal digits.
+    if (end - start > 2) {
+      return INVALID;
+    }
+    int result = 0;
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return INVALID;
+      }
+      result = result * 10 + (c - '0');
+    }
+    return result <= max ? result : INVALID;
+  }
+
+  private static void appendRest(StringBuilder rest, String value, int start, int end) {
+    if (rest.length() > 0) {
+      rest.append(';');
+    }
+    rest.append(value, start, end);
+  }
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/**
+ * Experimental consistent probability samplers, which record the sampling probability of each span
+ * in the {@code ot} entry of the {@link io.opentelemetry.api.trace.TraceState}.
+ */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.sdk.extension.incubator.trace.samplers;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.sdk.testing.time.TestClock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class CoarseClockTest {
+
+  @Test
+  void invalidResolution() {
+    assertThatThrownBy(() -> CoarseClock.create(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("resolution");
+    assertThatThrownBy(() -> CoarseClock.create(Duration.ofNanos(99_999)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("resolution must be between 100 microseconds and 1 millisecond");
+    assertThatThrownBy(() -> CoarseClock.create(Duration.ofMillis(2)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("resolution must be between 100 microseconds and 1 millisecond");
+  }
+
+  @Test
+  void returnsCachedTimeUntilTick() {
+    TestClock source = TestClock.create(Instant.ofEpochSecond(100));
+    CoarseClock clock = new CoarseClock(source);
+    long startNanoTime = clock.nanoTime();
+    assertThat(clock.now()).isEqualTo(source.now());
+
+    source.advance(Duration.ofMillis(5));
+    assertThat(clock.now()).isEqualTo(Instant.ofEpochSecond(100).toEpochMilli() * 1_000_000);
+    assertThat(clock.nanoTime()).isEqualTo(startNanoTime);
+
+    clock.tick();
+    assertThat(clock.now()).isEqualTo(source.now());
+    assertThat(clock.nanoTime() - startNanoTime).isEqualTo(Duration.ofMillis(5).toNanos());
+  }
+
+  @Test
+  void tickerAdvancesTime() {
+    CoarseClock clock = CoarseClock.create(Duration.ofMillis(1));
+    try {
+      long start = clock.nanoTime();
+      await().untilAsserted(() -> assertThat(clock.nanoTime()).isGreaterThan(start));
+      assertThat(Math.abs(clock.now() - System.currentTimeMillis() * 1_000_000))
+          .isLessThan(Duration.ofSeconds(1).toNanos());
+    } finally {
+      clock.close();
+    }
+  }
+
+  @Test
+  void closeStopsTicker() throws InterruptedException {
+    CoarseClock clock = CoarseClock.create(Duration.ofMillis(1));
+    clock.close();
+    // Let the ticker observe the close.
+    Thread.sleep(10);
+    long stopped = clock.nanoTime();
+    Thread.sleep(10);
+    assertThat(clock.nanoTime()).isEqualTo(stopped);
+  }
+}
@@ -5,12 +5,16 @@
 
 package io.opentelemetry.sdk.extension.incubator.trace;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.attributeEntry;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 import com.google.common.testing.GcFinalization;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import java.lang.ref.WeakReference;
 import java.time.Duration;
@@ -76,4 +80,146 @@ public class LeakDetectingSpanProcessorTest {
 
     assertThat(logs).isEmpty();
   }
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> LeakDetectingSpanProcessor.builder().setStackTraceRatio(1.1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("stackTraceRatio must be in range [0.0, 1.0]");
+    assertThatThrownBy(() -> LeakDetectingSpanProcessor.builder().setMeterProvider(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("meterProvider");
+    assertThatThrownBy(() -> LeakDetectingSpanProcessor.builder().setMaxSpanNames(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSpanNames must be positive");
+  }
+
+  @Test
+  void garbageCollectedUnendedSpan_WithoutStackTrace() {
+    List<Throwable> logs = new ArrayList<>();
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    LeakDetectingSpanProcessor spanProcessor =
+        new LeakDetectingSpanProcessor(
+            (message, callerStackTrace) -> logs.add(callerStackTrace),
+            0.0,
+            meterProvider,
+            LeakDetectingSpanProcessorBuilder.DEFAULT_MAX_SPAN_NAMES);
+
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder().addSpanProcessor(spanProcessor).build();
+
+    Tracer tracer = tracerProvider.get("test");
+
+    tracer.spanBuilder("testSpan").startSpan();
+
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(logs)
+                  .singleElement()
+                  .satisfies(
+                      callerStackTrace -> {
+                        assertThat(callerStackTrace.getMessage())
+                            .matches(
+                                "Span garbage collected before being ended\\. "
+                                    + "Thread: \\[.*\\] started span : testSpan .*\\]");
+                        assertThat(callerStackTrace.getStackTrace()).isEmpty();
+                      });
+            });
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("leakedSpans")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasValue(1)
+                                        .hasAttributes(attributeEntry("span.name", "testSpan")))));
+    meterProvider.shutdown();
+  }
+
+  @Test
+  void garbageCollectedUnendedSpans_MaxSpanNames() {
+    List<Throwable> logs = new ArrayList<>();
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    LeakDetectingSpanProcessor spanProcessor =
+        new LeakDetectingSpanProcessor(
+            (message, callerStackTrace) -> logs.add(callerStackTrace), 0.0, meterProvider, 1);
+
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder().addSpanProcessor(spanProcessor).build();
+
+    Tracer tracer = tracerProvider.get("test");
+
+    for (int i = 0; i < 3; i++) {
+      tracer.spanBuilder("span" + i).startSpan();
+    }
+
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(logs).hasSize(3);
+            });
+    // The first name reported is kept, the others are counted together.
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("leakedSpans")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point -> point.hasValue(1),
+                                point ->
+                                    point
+                                        .hasValue(2)
+                                        .hasAttributes(
+                                            attributeEntry(
+                                                "span.name",
+                                                SpanMetricsProcessor.OVERFLOW_SPAN_NAME)))));
+    meterProvider.shutdown();
+  }
+
+  @Test
+  void oldestPendingSpans() {
+    LeakDetectingSpanProcessor spanProcessor =
+        LeakDetectingSpanProcessor.builder().setStackTraceRatio(1.0).build();
+
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder().addSpanProcessor(spanProcessor).build();
+
+    Tracer tracer = tracerProvider.get("test");
+
+    List<Span> spans = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      spans.add(tracer.spanBuilder("span" + i).startSpan());
+    }
+    spans.get(0).end();
+    spans.get(2).updateName("renamed");
+
+    assertThat(spanProcessor.getOldestPendingSpans(2))
+        .satisfiesExactly(
+            description ->
+                assertThat(description)
+                    .matches(
+                        "(?s)Thread \\[.*\\] started span : span1 .* ms ago here:\n"
+                            + "\tat .*LeakDetectingSpanProcessorTest.oldestPendingSpans.*"),
+            description -> assertThat(description).contains("started span : renamed "));
+    assertThat(spanProcessor.getOldestPendingSpans(10)).hasSize(4);
+    assertThat(spanProcessor.getOldestPendingSpans(0)).isEmpty();
+
+    spans.forEach(Span::end);
+    assertThat(spanProcessor.getOldestPendingSpans(10)).isEmpty();
+  }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.attributeEntry;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SpanMetricsProcessorTest {
+
+  private final InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+  private final SdkMeterProvider meterProvider =
+      SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+
+  private SdkTracerProvider tracerProvider;
+
+  @AfterEach
+  void tearDown() {
+    if (tracerProvider != null) {
+      tracerProvider.shutdown();
+    }
+    meterProvider.shutdown();
+  }
+
+  private Tracer setUp(SpanMetricsProcessorBuilder builder, Sampler sampler) {
+    tracerProvider =
+        SdkTracerProvider.builder().setSampler(sampler).addSpanProcessor(builder.build()).build();
+    return tracerProvider.get("test");
+  }
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> SpanMetricsProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("meterProvider");
+    assertThatThrownBy(() -> SpanMetricsProcessor.builder(meterProvider).setMaxSpanNames(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSpanNames must be positive");
+  }
+
+  @Test
+  void recordsDurationByNameKindAndStatus() {
+    // Record-only spans are measured too.
+    Tracer tracer =
+        setUp(
+            SpanMetricsProcessor.builder(meterProvider),
+            new Sampler() {
+              @Override
+              public SamplingResult shouldSample(
+                  Context parentContext,
+                  String traceId,
+                  String name,
+                  SpanKind spanKind,
+                  Attributes attributes,
+                  List<LinkData> parentLinks) {
+                return SamplingResult.recordOnly();
+              }
+
+              @Override
+              public String getDescription() {
+                return "recordOnly";
+              }
+            });
+
+    tracer
+        .spanBuilder("GET /users")
+        .setSpanKind(SpanKind.SERVER)
+        .setStartTimestamp(1, TimeUnit.SECONDS)
+        .startSpan()
+        .end(1500, TimeUnit.MILLISECONDS);
+    tracer
+        .spanBuilder("GET /users")
+        .setSpanKind(SpanKind.SERVER)
+        .setStartTimestamp(2, TimeUnit.SECONDS)
+        .startSpan()
+        .end(2250, TimeUnit.MILLISECONDS);
+    tracer
+        .spanBuilder("GET /users")
+        .setSpanKind(SpanKind.SERVER)
+        .setStartTimestamp(3, TimeUnit.SECONDS)
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end(3100, TimeUnit.MILLISECONDS);
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("spanDuration")
+                    .hasUnit("ms")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasCount(2)
+                                        .hasSum(750)
+                                        .hasAttributes(
+                                            attributeEntry("span.name", "GET /users"),
+                                            attributeEntry("span.kind", "SERVER"),
+                                            attributeEntry("status.code", "UNSET")),
+                                point ->
+                                    point
+                                        .hasCount(1)
+                                        .hasSum(100)
+                                        .hasAttributes(
+                                            attributeEntry("span.name", "GET /users"),
+                                            attributeEntry("span.kind", "SERVER"),
+                                            attributeEntry("status.code", "ERROR")))));
+  }
+
+  @Test
+  void boundedSpanNames() {
+    Tracer tracer =
+        setUp(SpanMetricsProcessor.builder(meterProvider).setMaxSpanNames(1), Sampler.alwaysOn());
+
+    tracer.spanBuilder("first").startSpan().end();
+    tracer.spanBuilder("second").startSpan().end();
+    tracer.spanBuilder("third").startSpan().end();
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasCount(1)
+                                        .hasAttributes(
+                                            attributeEntry("span.name", "first"),
+                                            attributeEntry("span.kind", "INTERNAL"),
+                                            attributeEntry("status.code", "UNSET")),
+                                point ->
+                                    point
+                                        .hasCount(2)
+                                        .hasAttributes(
+                                            attributeEntry(
+                                                "span.name",
+                                                SpanMetricsProcessor.OVERFLOW_SPAN_NAME),
+                                            attributeEntry("span.kind", "INTERNAL"),
+                                            attributeEntry("status.code", "UNSET")))));
+  }
+}
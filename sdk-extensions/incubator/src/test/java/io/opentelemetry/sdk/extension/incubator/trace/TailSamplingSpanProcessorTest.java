@@ -0,0 +1,258 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TailSamplingSpanProcessorTest {
+
+  private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+  private SdkTracerProvider tracerProvider;
+
+  @AfterEach
+  void tearDown() {
+    if (tracerProvider != null) {
+      tracerProvider.shutdown();
+    }
+  }
+
+  private Tracer setUp(TailSamplingSpanProcessorBuilder builder) {
+    tracerProvider = SdkTracerProvider.builder().addSpanProcessor(builder.build()).build();
+    return tracerProvider.get("test");
+  }
+
+  private TailSamplingSpanProcessorBuilder builder() {
+    return TailSamplingSpanProcessor.builder(SimpleSpanProcessor.create(exporter));
+  }
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> TailSamplingSpanProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    assertThatThrownBy(() -> builder().addPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("policy");
+    assertThatThrownBy(() -> builder().setDecisionWait(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("decisionWait must be positive");
+    assertThatThrownBy(() -> builder().setMaxTraces(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxTraces must be positive");
+    assertThatThrownBy(() -> builder().setMaxSpans(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSpans must be positive");
+  }
+
+  @Test
+  void samplesTraceWithError() {
+    Tracer tracer = setUp(builder().addPolicy(TailSamplingPolicy.errorStatus()));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer
+        .spanBuilder("child")
+        .setParent(Context.root().with(root))
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end();
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    root.end();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child", "root");
+
+    Span ok = tracer.spanBuilder("ok").startSpan();
+    tracer.spanBuilder("okChild").setParent(Context.root().with(ok)).startSpan().end();
+    ok.end();
+    assertThat(exporter.getFinishedSpanItems()).hasSize(2);
+  }
+
+  @Test
+  void samplesSlowTrace() {
+    Tracer tracer =
+        setUp(builder().addPolicy(TailSamplingPolicy.latencyAtLeast(Duration.ofSeconds(1))));
+
+    tracer
+        .spanBuilder("fast")
+        .setStartTimestamp(1, TimeUnit.SECONDS)
+        .startSpan()
+        .end(1, TimeUnit.SECONDS);
+    tracer
+        .spanBuilder("slow")
+        .setStartTimestamp(1, TimeUnit.SECONDS)
+        .startSpan()
+        .end(3, TimeUnit.SECONDS);
+
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("slow");
+  }
+
+  @Test
+  void decidesIncompleteTraceAfterTimeout() {
+    AttributeKey<String> key = AttributeKey.stringKey("user");
+    TailSamplingSpanProcessorBuilder builder =
+        builder()
+            .addPolicy(TailSamplingPolicy.attributeEquals(key, "vip"))
+            .setDecisionWait(Duration.ofMillis(10));
+    Tracer tracer = setUp(builder);
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer
+        .spanBuilder("child")
+        .setParent(Context.root().with(root))
+        .setAttribute(key, "vip")
+        .startSpan()
+        .end();
+
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(exporter.getFinishedSpanItems())
+                    .extracting(SpanData::getName)
+                    .containsExactly("child"));
+
+    // The root ending late follows the decision made for its trace.
+    root.end();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child", "root");
+  }
+
+  @Test
+  void evictsOldestTrace() {
+    TailSamplingSpanProcessor processor =
+        builder().addPolicy(TailSamplingPolicy.errorStatus()).setMaxTraces(1).build();
+    tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+    Tracer tracer = tracerProvider.get("test");
+
+    Span root1 = tracer.spanBuilder("root1").startSpan();
+    tracer
+        .spanBuilder("child1")
+        .setParent(Context.root().with(root1))
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end();
+    assertThat(processor.getPendingTraceCount()).isEqualTo(1);
+
+    Span root2 = tracer.spanBuilder("root2").startSpan();
+    tracer.spanBuilder("child2").setParent(Context.root().with(root2)).startSpan().end();
+
+    // The first trace was evicted to make room for the second one, and sampled because of its
+    // error.
+    assertThat(processor.getPendingTraceCount()).isEqualTo(1);
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child1");
+  }
+
+  @Test
+  void forceFlushDecidesPendingTraces() {
+    TailSamplingSpanProcessor processor = builder().addPolicy(spans -> true).build();
+    tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+    Tracer tracer = tracerProvider.get("test");
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan().end();
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+    assertThat(processor.getPendingTraceCount()).isEqualTo(0);
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child");
+  }
+
+  @Test
+  void failingPolicyDoesNotSample() {
+    TailSamplingSpanProcessor processor =
+        builder()
+            .addPolicy(
+                spans -> {
+                  if (spans.get(0).getName().equals("bad")) {
+                    throw new IllegalStateException("policy failed");
+                  }
+                  return true;
+                })
+            .setDecisionWait(Duration.ofMillis(10))
+            .build();
+    tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+    Tracer tracer = tracerProvider.get("test");
+
+    Span root1 = tracer.spanBuilder("root1").startSpan();
+    tracer.spanBuilder("bad").setParent(Context.root().with(root1)).startSpan().end();
+    await().untilAsserted(() -> assertThat(processor.getPendingTraceCount()).isEqualTo(0));
+
+    // The timer keeps deciding traces after a policy failed on it.
+    Span root2 = tracer.spanBuilder("root2").startSpan();
+    tracer.spanBuilder("good").setParent(Context.root().with(root2)).startSpan().end();
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(exporter.getFinishedSpanItems())
+                    .extracting(SpanData::getName)
+                    .containsExactly("good"));
+
+    root1.end();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("good");
+  }
+
+  @Test
+  void evaluatesPoliciesOutsideLock() throws Exception {
+    CountDownLatch evaluating = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Tracer tracer =
+        setUp(
+            builder()
+                .addPolicy(
+                    spans -> {
+                      if (spans.get(0).getName().equals("root")) {
+                        evaluating.countDown();
+                        await().until(() -> release.getCount() == 0);
+                      }
+                      return true;
+                    }));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    Span child = tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan();
+    Thread thread = new Thread(root::end);
+    thread.start();
+    evaluating.await(10, TimeUnit.SECONDS);
+
+    // Other traces are decided, and spans of the trace being decided are kept for its decision.
+    tracer.spanBuilder("other").startSpan().end();
+    child.end();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("other");
+
+    release.countDown();
+    thread.join(10_000);
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("other", "root", "child");
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace.samplers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ConsistentSamplerTest {
+
+  private static final String TRACE_ID = "00000000000000000000000000000061";
+  private static final String SPAN_ID = "0000000000000062";
+
+  private static Context parentContext(boolean sampled, String otValue) {
+    TraceState traceState =
+        otValue == null ? TraceState.getDefault() : TraceState.builder().put("ot", otValue).build();
+    return Context.root()
+        .with(
+            Span.wrap(
+                SpanContext.create(
+                    TRACE_ID,
+                    SPAN_ID,
+                    sampled ? TraceFlags.getSampled() : TraceFlags.getDefault(),
+                    traceState)));
+  }
+
+  private static SamplingResult sample(ConsistentSampler sampler, Context parentContext) {
+    return sampler.shouldSample(
+        parentContext,
+        TRACE_ID,
+        "span",
+        SpanKind.INTERNAL,
+        Attributes.empty(),
+        Collections.emptyList());
+  }
+
+  private static String otValue(SamplingResult result, Context parentContext) {
+    return result
+        .getUpdatedTraceState(Span.fromContext(parentContext).getSpanContext().getTraceState())
+        .get("ot");
+  }
+
+  @Test
+  void parseAndSerialize() {
+    assertThat(OtelTraceState.parse("p:2;r:5").serialize()).isEqualTo("p:2;r:5");
+    assertThat(OtelTraceState.parse("r:5;x:abc;p:2").serialize()).isEqualTo("p:2;r:5;x:abc");
+    assertThat(OtelTraceState.parse("p:64;r:63").serialize()).isEmpty();
+    assertThat(OtelTraceState.parse("p:x1;r:100").getR()).isEqualTo(OtelTraceState.INVALID);
+    assertThat(OtelTraceState.parse(null).serialize()).isEmpty();
+  }
+
+  @Test
+  void alwaysOn_rootSpan() {
+    Context parent = Context.root();
+    SamplingResult result = sample(ConsistentSampler.alwaysOn(), parent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    OtelTraceState state = OtelTraceState.parse(otValue(result, parent));
+    assertThat(state.getP()).isEqualTo(0);
+    assertThat(OtelTraceState.isValidR(state.getR())).isTrue();
+  }
+
+  @Test
+  void alwaysOff_rootSpan() {
+    Context parent = Context.root();
+    SamplingResult result = sample(ConsistentSampler.alwaysOff(), parent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.DROP);
+    OtelTraceState state = OtelTraceState.parse(otValue(result, parent));
+    assertThat(state.getP()).isEqualTo(OtelTraceState.INVALID);
+    assertThat(OtelTraceState.isValidR(state.getR())).isTrue();
+  }
+
+  @Test
+  void probabilityBased_usesParentR() {
+    ConsistentSampler sampler = ConsistentSampler.probabilityBased(0.25);
+    Context sampledParent = parentContext(true, "p:0;r:2;x:y");
+    SamplingResult result = sample(sampler, sampledParent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(otValue(result, sampledParent)).isEqualTo("p:2;r:2;x:y");
+
+    Context lowRandomnessParent = parentContext(true, "p:0;r:1");
+    result = sample(sampler, lowRandomnessParent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.DROP);
+    assertThat(otValue(result, lowRandomnessParent)).isEqualTo("r:1");
+  }
+
+  @Test
+  void parentBased_followsParentP() {
+    ConsistentSampler sampler = ConsistentSampler.parentBased(ConsistentSampler.alwaysOff());
+    Context parent = parentContext(true, "p:3;r:4");
+    SamplingResult result = sample(sampler, parent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(otValue(result, parent)).isEqualTo("p:3;r:4");
+
+    // Without a known p-value, the sampled flag of the parent is followed.
+    parent = parentContext(false, null);
+    result = sample(sampler, parent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.DROP);
+    parent = parentContext(true, null);
+    result = sample(sampler, parent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(OtelTraceState.parse(otValue(result, parent)).getP())
+        .isEqualTo(OtelTraceState.INVALID);
+
+    assertThat(sampler.getDescription())
+        .isEqualTo(
+            "ConsistentParentBasedSampler{rootSampler=ConsistentProbabilityBasedSampler{0.000000}}");
+  }
+
+  @Test
+  void parentBased_inconsistentParentP() {
+    ConsistentSampler sampler = ConsistentSampler.parentBased(ConsistentSampler.alwaysOn());
+    // p:5 > r:2 contradicts the sampled flag, so the p-value is dropped.
+    Context parent = parentContext(true, "p:5;r:2");
+    SamplingResult result = sample(sampler, parent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(otValue(result, parent)).isEqualTo("r:2");
+  }
+
+  @Test
+  void getP_expectedProbability() {
+    Random random = new Random(1234);
+    assertThat(ConsistentSampler.getP(1.0, random)).isEqualTo(0);
+    assertThat(ConsistentSampler.getP(0.5, random)).isEqualTo(1);
+    assertThat(ConsistentSampler.getP(0.125, random)).isEqualTo(3);
+    assertThat(ConsistentSampler.getP(0.0, random)).isEqualTo(OtelTraceState.MAX_P);
+    assertThat(ConsistentSampler.getP(1e-30, random)).isEqualTo(OtelTraceState.MAX_P);
+
+    int iterations = 100_000;
+    double sum = 0;
+    for (int i = 0; i < iterations; i++) {
+      int p = ConsistentSampler.getP(0.3, random);
+      assertThat(p).isBetween(1, 2);
+      sum += Math.scalb(1.0, -p);
+    }
+    assertThat(sum / iterations).isCloseTo(0.3, within(0.01));
+  }
+
+  @Test
+  void generateR_geometric() {
+    Random random = new Random(1234);
+    int iterations = 100_000;
+    int atLeastOne = 0;
+    int atLeastTwo = 0;
+    for (int i = 0; i < iterations; i++) {
+      int r = ConsistentSampler.generateR(random);
+      if (r >= 1) {
+        atLeastOne++;
+      }
+      if (r >= 2) {
+        atLeastTwo++;
+      }
+    }
+    assertThat((double) atLeastOne / iterations).isCloseTo(0.5, within(0.01));
+    assertThat((double) atLeastTwo / iterations).isCloseTo(0.25, within(0.01));
+  }
+
+  @Test
+  void rateLimited_adaptsToRate() {
+    TestClock clock = TestClock.create();
+    Random random = new Random(1234);
+    ConsistentSampler sampler = ConsistentSampler.rateLimited(100, 1, clock, () -> random);
+
+    // 10000 spans per second for 10 seconds, with a target of 100 per second.
+    int sampled = 0;
+    for (int i = 0; i < 100_000; i++) {
+      clock.advance(Duration.ofNanos(100_000));
+      if (sample(sampler, Context.root()).getDecision() == SamplingDecision.RECORD_AND_SAMPLE) {
+        sampled++;
+      }
+    }
+    assertThat(sampled).isBetween(800, 1200);
+  }
+
+  @Test
+  void invalidArguments() {
+    assertThatThrownBy(() -> ConsistentSampler.probabilityBased(1.5))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("samplingProbability must be in range [0.0, 1.0]");
+    assertThatThrownBy(() -> ConsistentSampler.rateLimited(0, 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("targetSpansPerSecond must be positive");
+    assertThatThrownBy(() -> ConsistentSampler.rateLimited(1, -1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("adaptationTimeSeconds must be positive");
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.sdk.common.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the batch size and the number of concurrent exports of a processor to how its exporter
+ * copes, in the manner of TCP congestion control, i.e. additive increase, multiplicative decrease.
+ *
+ * <p>An export which completes successfully within the healthy latency grows the batch size by a
+ * fraction of the max batch size, and grows the number of concurrent exports by one once as many
+ * exports as are allowed concurrently have been healthy. A slow export halves the number of
+ * concurrent exports. A failed export, e.g. because the server is throttling or unavailable, halves
+ * both and backs off further exports, exponentially while exports keep failing.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class AdaptiveExportController {
+
+  // Visible for testing
+  static final long INITIAL_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+  // Visible for testing
+  static final long MAX_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private static final int BATCH_SIZE_STEPS = 16;
+
+  private final int maxBatchSize;
+  private final int batchSizeIncrement;
+  private final int maxConcurrentExports;
+  private final long healthyLatencyNanos;
+  private final Clock clock;
+
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private int batchSize;
+
+  @GuardedBy("lock")
+  private int concurrentExports = 1;
+
+  @GuardedBy("lock")
+  private int healthyExports;
+
+  @GuardedBy("lock")
+  private long backoffNanos;
+
+  @GuardedBy("lock")
+  private long backoffUntilNanos;
+
+  /**
+   * Creates a controller which starts from {@code maxBatchSize} and a single export at a time, and
+   * considers exports which take longer than {@code healthyLatencyNanos} to be slow.
+   */
+  public AdaptiveExportController(
+      int maxBatchSize, int maxConcurrentExports, long healthyLatencyNanos, Clock clock) {
+    this.maxBatchSize = maxBatchSize;
+    this.batchSizeIncrement = Math.max(1, maxBatchSize / BATCH_SIZE_STEPS);
+    this.maxConcurrentExports = maxConcurrentExports;
+    this.healthyLatencyNanos = healthyLatencyNanos;
+    this.clock = clock;
+    this.batchSize = maxBatchSize;
+  }
+
+  /** Records the completion of an export which took {@code latencyNanos}. */
+  public void onExportCompleted(boolean success, long latencyNanos) {
+    synchronized (lock) {
+      if (!success) {
+        batchSize = Math.max(1, batchSize / 2);
+        concurrentExports = Math.max(1, concurrentExports / 2);
+        healthyExports = 0;
+        backoffNanos =
+            backoffNanos == 0
+                ? INITIAL_BACKOFF_NANOS
+                : Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+        backoffUntilNanos = clock.nanoTime() + backoffNanos;
+        return;
+      }
+      backoffNanos = 0;
+      if (latencyNanos > healthyLatencyNanos) {
+        concurrentExports = Math.max(1, concurrentExports / 2);
+        healthyExports = 0;
+        return;
+      }
+      batchSize = Math.min(maxBatchSize, batchSize + batchSizeIncrement);
+      if (++healthyExports >= concurrentExports) {
+        concurrentExports = Math.min(maxConcurrentExports, concurrentExports + 1);
+        healthyExports = 0;
+      }
+    }
+  }
+
+  /** Returns the number of items to export in a batch. */
+  public int getBatchSize() {
+    synchronized (lock) {
+      return batchSize;
+    }
+  }
+
+  /** Returns the number of exports which may be in flight at the same time. */
+  public int getMaxConcurrentExports() {
+    synchronized (lock) {
+      return concurrentExports;
+    }
+  }
+
+  /** Returns how long to wait before the next export, or 0 if it can be started now. */
+  public long getBackoffRemainingNanos() {
+    synchronized (lock) {
+      if (backoffNanos == 0) {
+        return 0;
+      }
+      return Math.max(0, backoffUntilNanos - clock.nanoTime());
+    }
+  }
+}
@@ -11,14 +11,24 @@ import java.util.function.Supplier;
 /**
  * {@link RandomSupplier} instance that doesn't use {@link java.util.concurrent.ThreadLocalRandom},
  * which is broken on most versions of Android (it uses the same seed everytime it starts up).
+ *
+ * <p>Each thread gets its own {@link Xoshiro256PlusPlusRandom}, seeded from a shared {@link
+ * Random}, so that threads do not contend on the seed of a single shared {@link Random}.
  */
 enum AndroidFriendlyRandomHolder implements Supplier<Random> {
   INSTANCE;
 
-  private static final Random random = new Random();
+  private static final Random seeder = new Random();
+  private static final ThreadLocal<Random> random =
+      new ThreadLocal<Random>() {
+        @Override
+        protected Random initialValue() {
+          return Xoshiro256PlusPlusRandom.create(seeder);
+        }
+      };
 
   @Override
   public Random get() {
-    return random;
+    return random.get();
   }
 }
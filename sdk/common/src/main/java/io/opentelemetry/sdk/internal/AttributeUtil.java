@@ -95,4 +95,59 @@ public final class AttributeUtil {
     }
     return value;
   }
+
+  // Rough number of bytes used by the tags and length prefixes wrapping a serialized value.
+  private static final int SERIALIZED_FIELD_OVERHEAD = 4;
+
+  /**
+   * Returns an estimate of the number of bytes the {@code attributes} occupy when serialized. The
+   * estimate is cheap to compute but not exact, it is meant for bounding the size of batches of
+   * telemetry rather than for sizing buffers.
+   */
+  public static long estimateSerializedSize(Attributes attributes) {
+    if (attributes.isEmpty()) {
+      return 0;
+    }
+    long[] size = new long[1];
+    attributes.forEach((key, value) -> size[0] += estimateSerializedSize(key, value));
+    return size[0];
+  }
+
+  /**
+   * Returns an estimate of the number of bytes an attribute with the given {@code key} and {@code
+   * value} occupies when serialized.
+   *
+   * @see #estimateSerializedSize(Attributes)
+   */
+  public static long estimateSerializedSize(AttributeKey<?> key, Object value) {
+    return SERIALIZED_FIELD_OVERHEAD
+        + estimateSerializedSize(key.getKey())
+        + estimateValueSerializedSize(value);
+  }
+
+  /**
+   * Returns an estimate of the number of bytes {@code value} occupies when serialized, assuming
+   * mostly single byte UTF-8 characters.
+   */
+  public static long estimateSerializedSize(String value) {
+    return SERIALIZED_FIELD_OVERHEAD + value.length();
+  }
+
+  private static long estimateValueSerializedSize(Object value) {
+    if (value instanceof String) {
+      return estimateSerializedSize((String) value);
+    }
+    if (value instanceof List) {
+      long size = SERIALIZED_FIELD_OVERHEAD;
+      for (Object entry : (List<?>) value) {
+        size += estimateValueSerializedSize(entry);
+      }
+      return size;
+    }
+    if (value instanceof Boolean) {
+      return 2;
+    }
+    // long and double
+    return 9;
+  }
 }
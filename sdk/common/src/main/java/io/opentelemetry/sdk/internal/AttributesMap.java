@@ -8,16 +8,29 @@ package io.opentelemetry.sdk.internal;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
 /**
  * A map with a fixed capacity that drops attributes when the map gets full, and which truncates
  * string and array string attribute values to the {@link #lengthLimit}.
  *
+ * <p>Values added with {@link #putLazy(AttributeKey, Supplier)} are kept aside until they are
+ * computed, when they are first read, and are omitted if they are computed as {@code null}. {@link
+ * #get(AttributeKey)} only computes the requested value, while reading all the attributes computes
+ * all of them. Until then they count towards the capacity and the {@link #size()}, but are not part
+ * of the contents of the map. Like the map itself, they must be guarded by the owner of the map.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
@@ -25,9 +38,13 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
 
   private static final long serialVersionUID = -5072696312123632376L;
 
+  private static final Logger logger = Logger.getLogger(AttributesMap.class.getName());
+
   private final long capacity;
   private final int lengthLimit;
   private int totalAddedValues = 0;
+  // Values added with putLazy which are not computed yet.
+  @Nullable private Map<AttributeKey<?>, Supplier<?>> lazyValues;
 
   private AttributesMap(long capacity, int lengthLimit) {
     this.capacity = capacity;
@@ -44,13 +61,160 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
     return new AttributesMap(capacity, lengthLimit);
   }
 
-  /** Add the attribute key value pair, applying capacity and length limits. */
-  public <T> void put(AttributeKey<T> key, T value) {
+  /**
+   * Add the attribute key value pair, applying capacity and length limits. Returns whether the
+   * attribute was added.
+   */
+  public <T> boolean put(AttributeKey<T> key, T value) {
     totalAddedValues++;
-    if (size() >= capacity && !containsKey(key)) {
-      return;
+    if (isFull(key)) {
+      return false;
+    }
+    if (lazyValues != null) {
+      lazyValues.remove(key);
     }
     super.put(key, AttributeUtil.applyAttributeLengthLimit(value, lengthLimit));
+    return true;
+  }
+
+  /**
+   * Add the attribute key and a supplier of its value, applying capacity limits. The supplier is
+   * called at most once, when the attributes are first read, and length limits are applied to its
+   * result.
+   */
+  public <T> void putLazy(AttributeKey<T> key, Supplier<? extends T> valueSupplier) {
+    totalAddedValues++;
+    if (isFull(key)) {
+      return;
+    }
+    super.remove(key);
+    if (lazyValues == null) {
+      lazyValues = new LinkedHashMap<>();
+    }
+    lazyValues.put(key, valueSupplier);
+  }
+
+  private boolean isFull(AttributeKey<?> key) {
+    if (lazyValues == null) {
+      return super.size() >= capacity && !super.containsKey(key);
+    }
+    return super.size() + lazyValues.size() >= capacity
+        && !super.containsKey(key)
+        && !lazyValues.containsKey(key);
+  }
+
+  /**
+   * Computes all values added with {@link #putLazy(AttributeKey, Supplier)} and adds them to the
+   * map, omitting the attributes computed as {@code null}.
+   */
+  public void resolveLazyValues() {
+    resolveLazyValues(Long.MAX_VALUE);
+  }
+
+  /**
+   * Computes all values added with {@link #putLazy(AttributeKey, Supplier)} and adds them to the
+   * map, as long as the {@linkplain AttributeUtil#estimateSerializedSize(AttributeKey, Object)
+   * estimated size} of the added ones does not exceed {@code maxSerializedSize}. Returns the size
+   * of the added attributes, or {@code 0} if {@code maxSerializedSize} is {@link Long#MAX_VALUE},
+   * in which case sizes are not estimated.
+   */
+  public long resolveLazyValues(long maxSerializedSize) {
+    Map<AttributeKey<?>, Supplier<?>> lazyValues = this.lazyValues;
+    if (lazyValues == null) {
+      return 0;
+    }
+    this.lazyValues = null;
+    long size = 0;
+    for (Map.Entry<AttributeKey<?>, Supplier<?>> entry : lazyValues.entrySet()) {
+      size +=
+          resolve(
+              entry.getKey(),
+              entry.getValue(),
+              maxSerializedSize == Long.MAX_VALUE ? Long.MAX_VALUE : maxSerializedSize - size);
+    }
+    return size;
+  }
+
+  /**
+   * Like {@link #resolveLazyValues(long)}, but only computes the value of {@code key}, if it was
+   * added with {@link #putLazy(AttributeKey, Supplier)} and is not computed yet.
+   */
+  public long resolveLazyValue(AttributeKey<?> key, long maxSerializedSize) {
+    Map<AttributeKey<?>, Supplier<?>> lazyValues = this.lazyValues;
+    if (lazyValues == null) {
+      return 0;
+    }
+    Supplier<?> supplier = lazyValues.remove(key);
+    if (supplier == null) {
+      return 0;
+    }
+    if (lazyValues.isEmpty()) {
+      this.lazyValues = null;
+    }
+    return resolve(key, supplier, maxSerializedSize);
+  }
+
+  private long resolve(AttributeKey<?> key, Supplier<?> supplier, long maxSerializedSize) {
+    Object value = compute(supplier);
+    if (value == null) {
+      return 0;
+    }
+    long size = 0;
+    if (maxSerializedSize != Long.MAX_VALUE) {
+      size = AttributeUtil.estimateSerializedSize(key, value);
+      if (size > maxSerializedSize) {
+        return 0;
+      }
+    }
+    super.put(key, value);
+    return size;
+  }
+
+  @Nullable
+  private Object compute(Supplier<?> supplier) {
+    try {
+      Object value = supplier.get();
+      return value == null ? null : AttributeUtil.applyAttributeLengthLimit(value, lengthLimit);
+    } catch (RuntimeException e) {
+      logger.log(Level.WARNING, "Failed to compute attribute value, dropping it.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Removes the attributes which don't fit in {@code maxSerializedSize}, as estimated by {@link
+   * AttributeUtil#estimateSerializedSize(AttributeKey, Object)}, and returns the size of the
+   * remaining ones. Removed attributes are still counted in the total added values. Values added
+   * with {@link #putLazy(AttributeKey, Supplier)} are not computed nor accounted for, see {@link
+   * #resolveLazyValues(long)}.
+   */
+  public long retainWithinSize(long maxSerializedSize) {
+    long size = 0;
+    Iterator<Map.Entry<AttributeKey<?>, Object>> iterator = super.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<AttributeKey<?>, Object> entry = iterator.next();
+      long attributeSize = AttributeUtil.estimateSerializedSize(entry.getKey(), entry.getValue());
+      if (size + attributeSize > maxSerializedSize) {
+        iterator.remove();
+      } else {
+        size += attributeSize;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the value of the attribute, without computing values added with {@link
+   * #putLazy(AttributeKey, Supplier)}.
+   */
+  @Nullable
+  public Object getComputed(AttributeKey<?> key) {
+    return super.get(key);
+  }
+
+  /** Records an attribute that was dropped without being added, e.g. for other limits. */
+  public void recordDroppedValue() {
+    totalAddedValues++;
   }
 
   /** Get the total number of attributes added, including those dropped for capcity limits. */
@@ -62,11 +226,57 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
   @Override
   @Nullable
   public <T> T get(AttributeKey<T> key) {
+    resolveLazyValue(key, Long.MAX_VALUE);
     return (T) super.get(key);
   }
 
+  /**
+   * Returns the number of attributes, including the values added with {@link #putLazy(AttributeKey,
+   * Supplier)} which are not computed yet, even if they will be computed as {@code null}.
+   */
+  @Override
+  public int size() {
+    return super.size() + (lazyValues == null ? 0 : lazyValues.size());
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return super.isEmpty() && (lazyValues == null || lazyValues.isEmpty());
+  }
+
+  @Override
+  public Set<Map.Entry<AttributeKey<?>, Object>> entrySet() {
+    resolveLazyValues();
+    return super.entrySet();
+  }
+
+  @Override
+  public Set<AttributeKey<?>> keySet() {
+    resolveLazyValues();
+    return super.keySet();
+  }
+
+  @Override
+  public Collection<Object> values() {
+    resolveLazyValues();
+    return super.values();
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    resolveLazyValues();
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    resolveLazyValues();
+    return super.hashCode();
+  }
+
   @Override
   public Map<AttributeKey<?>, Object> asMap() {
+    resolveLazyValues();
     // Because Attributes is marked Immutable, IDEs may recognize this as redundant usage. However,
     // this class is private and is actually mutable, so we need to wrap with unmodifiableMap
     // anyways. We implement the immutable Attributes for this class to support the
@@ -82,6 +292,7 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
 
   @Override
   public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
+    resolveLazyValues();
     // https://github.com/open-telemetry/opentelemetry-java/issues/4161
     // Help out android desugaring by having an explicit call to HashMap.forEach, when forEach is
     // just called through Attributes.forEach desugaring is unable to correctly handle it.
@@ -90,9 +301,18 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
 
   @Override
   public String toString() {
+    // Values added with putLazy are not computed, AbstractMap.toString would read entrySet().
+    StringBuilder data = new StringBuilder("{");
+    for (Map.Entry<AttributeKey<?>, Object> entry : super.entrySet()) {
+      if (data.length() > 1) {
+        data.append(", ");
+      }
+      data.append(entry.getKey()).append('=').append(entry.getValue());
+    }
+    data.append('}');
     return "AttributesMap{"
         + "data="
-        + super.toString()
+        + data
         + ", capacity="
         + capacity
         + ", totalAddedValues="
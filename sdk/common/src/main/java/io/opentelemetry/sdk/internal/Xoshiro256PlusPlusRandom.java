@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} backed by the xoshiro256++ generator, see <a
+ * href="https://prng.di.unimi.it/">https://prng.di.unimi.it/</a>. It is not thread-safe, and is
+ * meant to be used through a {@link ThreadLocal} where {@link
+ * java.util.concurrent.ThreadLocalRandom} is not available, avoiding the contention of a shared
+ * {@link Random} across threads.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class Xoshiro256PlusPlusRandom extends Random {
+
+  private static final long serialVersionUID = 1L;
+
+  private long s0;
+  private long s1;
+  private long s2;
+  private long s3;
+
+  /** Returns a new {@link Xoshiro256PlusPlusRandom} with its state seeded from {@code seeder}. */
+  public static Xoshiro256PlusPlusRandom create(Random seeder) {
+    long s0 = seeder.nextLong();
+    long s1 = seeder.nextLong();
+    long s2 = seeder.nextLong();
+    long s3 = seeder.nextLong();
+    // An all-zero state would only ever generate zeros.
+    if ((s0 | s1 | s2 | s3) == 0) {
+      s0 = 1;
+    }
+    return new Xoshiro256PlusPlusRandom(s0, s1, s2, s3);
+  }
+
+  // Visible for testing
+  Xoshiro256PlusPlusRandom(long s0, long s1, long s2, long s3) {
+    this.s0 = s0;
+    this.s1 = s1;
+    this.s2 = s2;
+    this.s3 = s3;
+  }
+
+  @Override
+  public long nextLong() {
+    long result = Long.rotateLeft(s0 + s3, 23) + s0;
+    long t = s1 << 17;
+    s2 ^= s0;
+    s3 ^= s1;
+    s1 ^= s2;
+    s0 ^= s3;
+    s2 ^= t;
+    s3 = Long.rotateLeft(s3, 45);
+    return result;
+  }
+
+  @Override
+  protected int next(int bits) {
+    // The upper bits of xoshiro256++ are of the best quality.
+    return (int) (nextLong() >>> (64 - bits));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.sdk.testing.time.TestClock;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveExportControllerTest {
+
+  private static final long HEALTHY_LATENCY_NANOS = Duration.ofSeconds(1).toNanos();
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+  private final TestClock clock = TestClock.create();
+  private final AdaptiveExportController controller =
+      new AdaptiveExportController(512, 4, HEALTHY_LATENCY_NANOS, clock);
+
+  @Test
+  void initialState() {
+    assertThat(controller.getBatchSize()).isEqualTo(512);
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(1);
+    assertThat(controller.getBackoffRemainingNanos()).isZero();
+  }
+
+  @Test
+  void healthyExportsGrowConcurrencyAdditively() {
+    controller.onExportCompleted(true, FAST);
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(2);
+    controller.onExportCompleted(true, FAST);
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(2);
+    controller.onExportCompleted(true, FAST);
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(3);
+
+    for (int i = 0; i < 20; i++) {
+      controller.onExportCompleted(true, FAST);
+    }
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(4);
+  }
+
+  @Test
+  void slowExportsHalveConcurrency() {
+    for (int i = 0; i < 20; i++) {
+      controller.onExportCompleted(true, FAST);
+    }
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(4);
+
+    controller.onExportCompleted(true, SLOW);
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(2);
+    assertThat(controller.getBatchSize()).isEqualTo(512);
+    assertThat(controller.getBackoffRemainingNanos()).isZero();
+  }
+
+  @Test
+  void failuresShrinkAndBackOff() {
+    controller.onExportCompleted(false, FAST);
+    assertThat(controller.getBatchSize()).isEqualTo(256);
+    assertThat(controller.getBackoffRemainingNanos())
+        .isEqualTo(AdaptiveExportController.INITIAL_BACKOFF_NANOS);
+
+    controller.onExportCompleted(false, FAST);
+    assertThat(controller.getBatchSize()).isEqualTo(128);
+    assertThat(controller.getBackoffRemainingNanos())
+        .isEqualTo(2 * AdaptiveExportController.INITIAL_BACKOFF_NANOS);
+
+    clock.advance(Duration.ofSeconds(1));
+    assertThat(controller.getBackoffRemainingNanos())
+        .isEqualTo(AdaptiveExportController.INITIAL_BACKOFF_NANOS);
+
+    for (int i = 0; i < 20; i++) {
+      controller.onExportCompleted(false, FAST);
+    }
+    assertThat(controller.getBatchSize()).isEqualTo(1);
+    assertThat(controller.getMaxConcurrentExports()).isEqualTo(1);
+    assertThat(controller.getBackoffRemainingNanos())
+        .isEqualTo(AdaptiveExportController.MAX_BACKOFF_NANOS);
+  }
+
+  @Test
+  void successRecovers() {
+    controller.onExportCompleted(false, FAST);
+    controller.onExportCompleted(false, FAST);
+    assertThat(controller.getBatchSize()).isEqualTo(128);
+
+    controller.onExportCompleted(true, FAST);
+    assertThat(controller.getBackoffRemainingNanos()).isZero();
+    // Grows by a sixteenth of the max batch size per healthy export.
+    assertThat(controller.getBatchSize()).isEqualTo(160);
+
+    for (int i = 0; i < 20; i++) {
+      controller.onExportCompleted(true, FAST);
+    }
+    assertThat(controller.getBatchSize()).isEqualTo(512);
+
+    // The backoff starts over after a success.
+    controller.onExportCompleted(false, FAST);
+    assertThat(controller.getBackoffRemainingNanos())
+        .isEqualTo(AdaptiveExportController.INITIAL_BACKOFF_NANOS);
+  }
+}
@@ -6,9 +6,15 @@
 package io.opentelemetry.sdk.internal;
 
 import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class AttributesMapTest {
@@ -22,4 +28,105 @@ class AttributesMapTest {
     assertThat(attributesMap.asMap())
         .containsOnly(entry(longKey("one"), 1L), entry(longKey("two"), 2L));
   }
+
+  @Test
+  void putLazy() {
+    AtomicInteger calls = new AtomicInteger();
+    AttributesMap attributesMap = AttributesMap.create(2, 3);
+    attributesMap.putLazy(
+        stringKey("one"),
+        () -> {
+          calls.incrementAndGet();
+          return "value";
+        });
+    attributesMap.putLazy(stringKey("two"), () -> null);
+    attributesMap.putLazy(stringKey("three"), () -> "dropped for capacity");
+    assertThat(calls).hasValue(0);
+    assertThat(attributesMap.getTotalAddedValues()).isEqualTo(3);
+
+    assertThat(attributesMap.get(stringKey("one"))).isEqualTo("val");
+    assertThat(attributesMap.get(stringKey("two"))).isNull();
+    assertThat(calls).hasValue(1);
+    assertThat(attributesMap.immutableCopy()).isEqualTo(Attributes.of(stringKey("one"), "val"));
+    assertThat(attributesMap.asMap()).containsOnly(entry(stringKey("one"), "val"));
+    assertThat(calls).hasValue(1);
+
+    attributesMap.resolveLazyValues();
+    assertThat(attributesMap).hasSize(1);
+    assertThat(attributesMap.get(stringKey("one"))).isEqualTo("val");
+  }
+
+  @Test
+  void putLazy_ReadPathsAgree() {
+    AttributesMap attributesMap = AttributesMap.create(3, Integer.MAX_VALUE);
+    attributesMap.put(longKey("one"), 1L);
+    attributesMap.putLazy(longKey("two"), () -> 2L);
+    attributesMap.putLazy(longKey("three"), () -> null);
+
+    assertThat(attributesMap.getComputed(longKey("two"))).isNull();
+    // Pending values are counted without being computed.
+    assertThat(attributesMap.size()).isEqualTo(3);
+    assertThat(attributesMap.isEmpty()).isFalse();
+    assertThat(attributesMap.getComputed(longKey("two"))).isNull();
+    assertThat(attributesMap.entrySet()).hasSize(2);
+    assertThat(attributesMap.size()).isEqualTo(2);
+    Map<AttributeKey<?>, Object> expected = new HashMap<>();
+    expected.put(longKey("one"), 1L);
+    expected.put(longKey("two"), 2L);
+    assertThat(attributesMap).isEqualTo(expected);
+    assertThat(attributesMap.hashCode()).isEqualTo(expected.hashCode());
+
+    // The attribute computed as null no longer takes up capacity.
+    attributesMap.put(longKey("four"), 4L);
+    assertThat(attributesMap.size()).isEqualTo(3);
+  }
+
+  @Test
+  void putLazy_GetComputesOnlyKey() {
+    AtomicInteger calls = new AtomicInteger();
+    AttributesMap attributesMap = AttributesMap.create(2, Integer.MAX_VALUE);
+    attributesMap.putLazy(longKey("one"), () -> 1L);
+    attributesMap.putLazy(
+        longKey("two"),
+        () -> {
+          calls.incrementAndGet();
+          return 2L;
+        });
+
+    assertThat(attributesMap.get(longKey("one"))).isEqualTo(1L);
+    assertThat(attributesMap.getComputed(longKey("one"))).isEqualTo(1L);
+    assertThat(attributesMap.toString()).contains("data={one=1}");
+    assertThat(calls).hasValue(0);
+    assertThat(attributesMap.size()).isEqualTo(2);
+
+    assertThat(attributesMap.get(longKey("two"))).isEqualTo(2L);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void putLazy_ResolveWithinSize() {
+    AttributesMap attributesMap = AttributesMap.create(3, Integer.MAX_VALUE);
+    attributesMap.put(stringKey("eager"), "value");
+    attributesMap.putLazy(stringKey("lazy"), () -> "value");
+
+    // Only the computed attribute is accounted for.
+    long size = AttributeUtil.estimateSerializedSize(stringKey("eager"), "value");
+    assertThat(attributesMap.retainWithinSize(size)).isEqualTo(size);
+    assertThat(attributesMap.resolveLazyValues(0)).isEqualTo(0);
+    assertThat(attributesMap.asMap()).containsOnly(entry(stringKey("eager"), "value"));
+    assertThat(attributesMap.getTotalAddedValues()).isEqualTo(2);
+  }
+
+  @Test
+  void putLazy_SupplierThrows() {
+    AttributesMap attributesMap = AttributesMap.create(2, Integer.MAX_VALUE);
+    attributesMap.put(longKey("one"), 1L);
+    attributesMap.putLazy(
+        longKey("two"),
+        () -> {
+          throw new IllegalStateException("boom");
+        });
+
+    assertThat(attributesMap.immutableCopy()).isEqualTo(Attributes.of(longKey("one"), 1L));
+  }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class Xoshiro256PlusPlusRandomTest {
+
+  @Test
+  void referenceOutput() {
+    // Output of the reference C implementation for the state {1, 2, 3, 4}.
+    Xoshiro256PlusPlusRandom random = new Xoshiro256PlusPlusRandom(1, 2, 3, 4);
+    assertThat(random.nextLong()).isEqualTo(41943041L);
+    assertThat(random.nextLong()).isEqualTo(58720359L);
+    assertThat(random.nextLong()).isEqualTo(3588806011781223L);
+  }
+
+  @Test
+  void zeroStateAvoided() {
+    Random zeros =
+        new Random() {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          public long nextLong() {
+            return 0;
+          }
+        };
+    Xoshiro256PlusPlusRandom random = Xoshiro256PlusPlusRandom.create(zeros);
+    assertThat(random.nextLong()).isNotZero();
+  }
+
+  @Test
+  void uniform() {
+    Xoshiro256PlusPlusRandom random = Xoshiro256PlusPlusRandom.create(new Random(1234));
+    int iterations = 100_000;
+    double sum = 0;
+    int[] buckets = new int[10];
+    for (int i = 0; i < iterations; i++) {
+      double value = random.nextDouble();
+      assertThat(value).isBetween(0.0, 1.0);
+      sum += value;
+      buckets[random.nextInt(10)]++;
+    }
+    assertThat(sum / iterations).isCloseTo(0.5, within(0.01));
+    for (int bucket : buckets) {
+      assertThat(bucket).isCloseTo(iterations / 10, within(iterations / 100));
+    }
+  }
+
+  @Test
+  void androidFriendlyRandomIsPerThread() throws Exception {
+    Random mainThreadRandom = AndroidFriendlyRandomHolder.INSTANCE.get();
+    assertThat(AndroidFriendlyRandomHolder.INSTANCE.get()).isSameAs(mainThreadRandom);
+
+    Random[] otherThreadRandom = new Random[1];
+    Thread thread =
+        new Thread(() -> otherThreadRandom[0] = AndroidFriendlyRandomHolder.INSTANCE.get());
+    thread.start();
+    thread.join();
+    assertThat(otherThreadRandom[0])
+        .isInstanceOf(Xoshiro256PlusPlusRandom.class)
+        .isNotSameAs(mainThreadRandom);
+  }
+}
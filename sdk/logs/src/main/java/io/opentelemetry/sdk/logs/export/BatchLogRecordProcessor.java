@@ -10,7 +10,9 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.AdaptiveExportController;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
 import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
@@ -26,6 +28,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of the {@link LogRecordProcessor} that batches logs exported by the SDK then
@@ -35,6 +38,10 @@ import java.util.logging.Logger;
  * {@code maxQueueSize} maximum size, if queue is full logs are dropped). Logs are exported either
  * when there are {@code maxExportBatchSize} pending logs or {@code scheduleDelayNanos} has passed
  * since the last export finished.
+ *
+ * <p>If {@link BatchLogRecordProcessorBuilder#setAdaptiveBatching(boolean)} is enabled, the batch
+ * size is adapted to how the exporter copes, up to {@code maxExportBatchSize}, and exports are
+ * backed off after failures.
  */
 public final class BatchLogRecordProcessor implements LogRecordProcessor {
 
@@ -67,14 +74,25 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       long scheduleDelayNanos,
       int maxQueueSize,
       int maxExportBatchSize,
-      long exporterTimeoutNanos) {
+      long maxExportBatchBytes,
+      long exporterTimeoutNanos,
+      boolean adaptiveBatching) {
     this.worker =
         new Worker(
             logRecordExporter,
             meterProvider,
             scheduleDelayNanos,
             maxExportBatchSize,
+            maxExportBatchBytes,
             exporterTimeoutNanos,
+            adaptiveBatching
+                ? new AdaptiveExportController(
+                    maxExportBatchSize,
+                    /* maxConcurrentExports= */ 1,
+                    // Exports taking more than half the timeout are slow.
+                    exporterTimeoutNanos == 0 ? Long.MAX_VALUE : exporterTimeoutNanos / 2,
+                    Clock.getDefault())
+                : null,
             new ArrayBlockingQueue<>(maxQueueSize)); // TODO: use JcTools.newFixedSizeQueue(..)
     Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
     workerThread.start();
@@ -120,7 +138,9 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     private final LogRecordExporter logRecordExporter;
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
+    private final long maxExportBatchBytes;
     private final long exporterTimeoutNanos;
+    @Nullable private final AdaptiveExportController adaptiveController;
 
     private long nextExportTime;
 
@@ -136,18 +156,24 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
     private volatile boolean continueWork = true;
     private final ArrayList<LogRecordData> batch;
+    // Estimated serialized size of the batch, only tracked if maxExportBatchBytes is bounded.
+    private long batchBytes;
 
     private Worker(
         LogRecordExporter logRecordExporter,
         MeterProvider meterProvider,
         long scheduleDelayNanos,
         int maxExportBatchSize,
+        long maxExportBatchBytes,
         long exporterTimeoutNanos,
+        @Nullable AdaptiveExportController adaptiveController,
         Queue<ReadWriteLogRecord> queue) {
       this.logRecordExporter = logRecordExporter;
       this.scheduleDelayNanos = scheduleDelayNanos;
       this.maxExportBatchSize = maxExportBatchSize;
+      this.maxExportBatchBytes = maxExportBatchBytes;
       this.exporterTimeoutNanos = exporterTimeoutNanos;
+      this.adaptiveController = adaptiveController;
       this.queue = queue;
       this.signal = new ArrayBlockingQueue<>(1);
       Meter meter = meterProvider.meterBuilder("io.opentelemetry.sdk.logs").build();
@@ -204,37 +230,46 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
         if (flushRequested.get() != null) {
           flush();
         }
-        while (!queue.isEmpty() && batch.size() < maxExportBatchSize) {
-          batch.add(queue.poll().toLogRecordData());
+        int batchSize = batchSize();
+        while (!queue.isEmpty() && batch.size() < batchSize) {
+          addToBatch(queue.poll().toLogRecordData());
         }
-        if (batch.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
+        long backoffNanos = backoffNanos();
+        if (backoffNanos == 0
+            && (batch.size() >= batchSize
+                || batchBytes >= maxExportBatchBytes
+                || System.nanoTime() >= nextExportTime)) {
           exportCurrentBatch();
           updateNextExportTime();
         }
-        if (queue.isEmpty()) {
-          try {
+        try {
+          if (backoffNanos > 0) {
+            // Logs keep being queued while exports are backed off, only a flush wakes us up early.
+            signal.poll(backoffNanos, TimeUnit.NANOSECONDS);
+          } else if (queue.isEmpty()) {
             long pollWaitTime = nextExportTime - System.nanoTime();
             if (pollWaitTime > 0) {
-              logsNeeded.set(maxExportBatchSize - batch.size());
+              logsNeeded.set(batchSize() - batch.size());
               signal.poll(pollWaitTime, TimeUnit.NANOSECONDS);
               logsNeeded.set(Integer.MAX_VALUE);
             }
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return;
           }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
         }
       }
     }
 
+    // A flush exports everything queued right away, regardless of any backoff.
     private void flush() {
       int logsToFlush = queue.size();
       while (logsToFlush > 0) {
         ReadWriteLogRecord logRecord = queue.poll();
         assert logRecord != null;
-        batch.add(logRecord.toLogRecordData());
+        addToBatch(logRecord.toLogRecordData());
         logsToFlush--;
-        if (batch.size() >= maxExportBatchSize) {
+        if (batch.size() >= batchSize()) {
           exportCurrentBatch();
         }
       }
@@ -246,6 +281,27 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       }
     }
 
+    private int batchSize() {
+      return adaptiveController == null ? maxExportBatchSize : adaptiveController.getBatchSize();
+    }
+
+    private long backoffNanos() {
+      return adaptiveController == null ? 0 : adaptiveController.getBackoffRemainingNanos();
+    }
+
+    private void addToBatch(LogRecordData logRecord) {
+      if (maxExportBatchBytes != Long.MAX_VALUE) {
+        long size = LogRecordDataSizeEstimator.estimateSize(logRecord);
+        // Export what we have if adding this one would exceed the bound. A single log record which
+        // exceeds the bound on its own is still exported by itself.
+        if (!batch.isEmpty() && batchBytes + size > maxExportBatchBytes) {
+          exportCurrentBatch();
+        }
+        batchBytes += size;
+      }
+      batch.add(logRecord);
+    }
+
     private void updateNextExportTime() {
       nextExportTime = System.nanoTime() + scheduleDelayNanos;
     }
@@ -290,9 +346,14 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       }
 
       try {
+        long startNanos = System.nanoTime();
         CompletableResultCode result =
             logRecordExporter.export(Collections.unmodifiableList(batch));
         result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
+        if (adaptiveController != null) {
+          // An export which timed out has not succeeded, so it counts as failed.
+          adaptiveController.onExportCompleted(result.isSuccess(), System.nanoTime() - startNanos);
+        }
         if (result.isSuccess()) {
           processedLogsCounter.add(batch.size(), exportedAttrs);
         } else {
@@ -302,6 +363,7 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
         logger.log(Level.WARNING, "Exporter threw an Exception", e);
       } finally {
         batch.clear();
+        batchBytes = 0;
       }
     }
   }
@@ -28,7 +28,9 @@ public final class BatchLogRecordProcessorBuilder {
   private long scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SCHEDULE_DELAY_MILLIS);
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
+  private long maxExportBatchBytes = Long.MAX_VALUE;
   private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private boolean adaptiveBatching;
   private MeterProvider meterProvider = MeterProvider.noop();
 
   BatchLogRecordProcessorBuilder(LogRecordExporter logRecordExporter) {
@@ -122,6 +124,50 @@ public final class BatchLogRecordProcessorBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum estimated serialized size in bytes of every export. Batches are split so that
+   * the estimated size of their log records does not exceed this, in addition to {@code
+   * maxExportBatchSize}. This is useful to stay below request size limits of the backend, e.g., the
+   * default 4MB message limit of gRPC servers. The estimate is approximate, so some headroom should
+   * be left below the actual limit.
+   *
+   * <p>By default, batches are only bounded by {@code maxExportBatchSize}.
+   *
+   * @param maxExportBatchBytes the maximum estimated size in bytes of every export.
+   * @return this.
+   */
+  public BatchLogRecordProcessorBuilder setMaxExportBatchBytes(long maxExportBatchBytes) {
+    checkArgument(maxExportBatchBytes > 0, "maxExportBatchBytes must be positive.");
+    this.maxExportBatchBytes = maxExportBatchBytes;
+    return this;
+  }
+
+  // Visible for testing
+  long getMaxExportBatchBytes() {
+    return maxExportBatchBytes;
+  }
+
+  /**
+   * Sets whether to adapt the batch size to how the exporter copes. When enabled, a failed export,
+   * e.g. because the backend is throttling or unavailable, halves the batch size and backs off
+   * further exports, for longer while exports keep failing. Successful exports grow the batch size
+   * back to {@code maxExportBatchSize}.
+   *
+   * <p>By default, batches are always exported with the configured size.
+   *
+   * @param adaptiveBatching whether to adapt batching to the exporter.
+   * @return this.
+   */
+  public BatchLogRecordProcessorBuilder setAdaptiveBatching(boolean adaptiveBatching) {
+    this.adaptiveBatching = adaptiveBatching;
+    return this;
+  }
+
+  // Visible for testing
+  boolean getAdaptiveBatching() {
+    return adaptiveBatching;
+  }
+
   /**
    * Sets the {@link MeterProvider} to use to collect metrics related to batch export. If not set,
    * metrics will not be collected.
@@ -150,6 +196,8 @@ public final class BatchLogRecordProcessorBuilder {
         scheduleDelayNanos,
         maxQueueSize,
         maxExportBatchSize,
-        exporterTimeoutNanos);
+        maxExportBatchBytes,
+        exporterTimeoutNanos,
+        adaptiveBatching);
   }
 }
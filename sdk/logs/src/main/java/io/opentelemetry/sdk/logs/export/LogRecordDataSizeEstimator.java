@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.export;
+
+import io.opentelemetry.sdk.internal.AttributeUtil;
+import io.opentelemetry.sdk.logs.data.Body;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+
+/**
+ * Estimates the serialized size of {@link LogRecordData}, used to bound the size of export batches.
+ * The estimate does not account for the resource and instrumentation scope, which are shared by all
+ * log records of a batch.
+ */
+final class LogRecordDataSizeEstimator {
+
+  // Timestamp, severity number, trace ID, span ID, trace flags and the tags of the remaining
+  // fields.
+  private static final int LOG_RECORD_FIXED_SIZE = 9 + 2 + 16 + 8 + 5 + 12;
+
+  static long estimateSize(LogRecordData logRecord) {
+    long size =
+        LOG_RECORD_FIXED_SIZE + AttributeUtil.estimateSerializedSize(logRecord.getAttributes());
+    String severityText = logRecord.getSeverityText();
+    if (severityText != null) {
+      size += AttributeUtil.estimateSerializedSize(severityText);
+    }
+    Body body = logRecord.getBody();
+    if (body.getType() == Body.Type.STRING) {
+      size += AttributeUtil.estimateSerializedSize(body.asString());
+    }
+    return size;
+  }
+
+  private LogRecordDataSizeEstimator() {}
+}
@@ -24,6 +24,7 @@ import io.opentelemetry.sdk.testing.assertj.LogAssertions;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -78,6 +79,8 @@ class BatchLogRecordProcessorTest {
         .isEqualTo(
             TimeUnit.MILLISECONDS.toNanos(
                 BatchLogRecordProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(builder.getMaxExportBatchBytes()).isEqualTo(Long.MAX_VALUE);
+    assertThat(builder.getAdaptiveBatching()).isFalse();
   }
 
   @Test
@@ -111,6 +114,10 @@ class BatchLogRecordProcessorTest {
             () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setExporterTimeout(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
+    assertThatThrownBy(
+            () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setMaxExportBatchBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxExportBatchBytes must be positive.");
   }
 
   @Test
@@ -200,6 +207,33 @@ class BatchLogRecordProcessorTest {
     assertThat(exported.size()).isEqualTo(2);
   }
 
+  @Test
+  void exportBatchesBoundedByBytes() {
+    List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    when(mockLogRecordExporter.export(anyList()))
+        .thenAnswer(
+            invocation -> {
+              batchSizes.add(invocation.<List<LogRecordData>>getArgument(0).size());
+              return CompletableResultCode.ofSuccess();
+            });
+    BatchLogRecordProcessor batchLogRecordProcessor =
+        BatchLogRecordProcessor.builder(mockLogRecordExporter)
+            .setScheduleDelay(10, TimeUnit.SECONDS)
+            .setMaxExportBatchBytes(2500)
+            .build();
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder().addLogRecordProcessor(batchLogRecordProcessor).build();
+
+    String largeBody = String.join("", Collections.nCopies(1000, "a"));
+    for (int i = 0; i < 5; i++) {
+      emitLog(sdkLoggerProvider, largeBody);
+    }
+    batchLogRecordProcessor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    // Each log is estimated at just over 1000 bytes, so only two fit in a batch.
+    assertThat(batchSizes).containsExactly(2, 2, 1);
+  }
+
   @Test
   void emitLogsToMultipleExporters() {
     WaitingLogRecordExporter waitingLogRecordExporter1 =
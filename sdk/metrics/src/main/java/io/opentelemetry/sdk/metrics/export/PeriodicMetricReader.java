@@ -5,7 +5,9 @@
 
 package io.opentelemetry.sdk.metrics.export;
 
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.AdaptiveExportController;
 import io.opentelemetry.sdk.metrics.Aggregation;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
@@ -39,6 +41,7 @@ public final class PeriodicMetricReader implements MetricReader {
   private final ScheduledExecutorService scheduler;
   private final Scheduled scheduled;
   private final Object lock = new Object();
+  @Nullable private final AdaptiveExportController adaptiveController;
 
   private volatile MetricProducer metricProducer = MetricProducer.noop();
   @Nullable private volatile ScheduledFuture<?> scheduledFuture;
@@ -57,11 +60,24 @@ public final class PeriodicMetricReader implements MetricReader {
   }
 
   PeriodicMetricReader(
-      MetricExporter exporter, long intervalNanos, ScheduledExecutorService scheduler) {
+      MetricExporter exporter,
+      long intervalNanos,
+      ScheduledExecutorService scheduler,
+      boolean adaptiveExport) {
     this.exporter = exporter;
     this.intervalNanos = intervalNanos;
     this.scheduler = scheduler;
     this.scheduled = new Scheduled();
+    // Only the backoff is used, all metrics are exported in a single batch at a time. Exports
+    // taking more than half the interval are slow.
+    this.adaptiveController =
+        adaptiveExport
+            ? new AdaptiveExportController(
+                /* maxBatchSize= */ 1,
+                /* maxConcurrentExports= */ 1,
+                intervalNanos / 2,
+                Clock.getDefault())
+            : null;
   }
 
   @Override
@@ -144,6 +160,10 @@ public final class PeriodicMetricReader implements MetricReader {
 
     @Override
     public void run() {
+      if (adaptiveController != null && adaptiveController.getBackoffRemainingNanos() > 0) {
+        logger.log(Level.FINE, "Exports are backed off after failures - skipping read.");
+        return;
+      }
       // Ignore the CompletableResultCode from doRun() in order to keep run() asynchronous
       doRun();
     }
@@ -159,9 +179,14 @@ public final class PeriodicMetricReader implements MetricReader {
             flushResult.succeed();
             exportAvailable.set(true);
           } else {
+            long startNanos = System.nanoTime();
             CompletableResultCode result = exporter.export(metricData);
             result.whenComplete(
                 () -> {
+                  if (adaptiveController != null) {
+                    adaptiveController.onExportCompleted(
+                        result.isSuccess(), System.nanoTime() - startNanos);
+                  }
                   if (!result.isSuccess()) {
                     logger.log(Level.FINE, "Exporter failed");
                   }
@@ -30,6 +30,8 @@ public final class PeriodicMetricReaderBuilder {
 
   @Nullable private ScheduledExecutorService executor;
 
+  private boolean adaptiveExport;
+
   PeriodicMetricReaderBuilder(MetricExporter metricExporter) {
     this.metricExporter = metricExporter;
   }
@@ -59,6 +61,20 @@ public final class PeriodicMetricReaderBuilder {
     return this;
   }
 
+  /**
+   * Sets whether to back off reads after failed exports, e.g. because the backend is throttling or
+   * unavailable. When enabled, scheduled reads are skipped for a while after an export fails, for
+   * longer while exports keep failing, until an export succeeds again. Metrics which are not read
+   * in the meantime are exported by the next read, aggregated according to the aggregation
+   * temporality. Explicit flushes are not affected.
+   *
+   * <p>By default, metrics are read every interval regardless of failures.
+   */
+  public PeriodicMetricReaderBuilder setAdaptiveExport(boolean adaptiveExport) {
+    this.adaptiveExport = adaptiveExport;
+    return this;
+  }
+
   /** Build a {@link PeriodicMetricReader} with the configuration of this builder. */
   public PeriodicMetricReader build() {
     ScheduledExecutorService executor = this.executor;
@@ -66,6 +82,6 @@ public final class PeriodicMetricReaderBuilder {
       executor =
           Executors.newScheduledThreadPool(1, new DaemonThreadFactory("PeriodicMetricReader"));
     }
-    return new PeriodicMetricReader(metricExporter, intervalNanos, executor);
+    return new PeriodicMetricReader(metricExporter, intervalNanos, executor, adaptiveExport);
   }
 }
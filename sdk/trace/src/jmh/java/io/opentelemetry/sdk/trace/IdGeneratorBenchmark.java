@@ -0,0 +1,66 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.sdk.internal.Xoshiro256PlusPlusRandom;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the sources of randomness available to {@link IdGenerator#random()}: {@link
+ * ThreadLocalRandom} on the JVM, and a per-thread {@link Xoshiro256PlusPlusRandom} on Android,
+ * which replaced a {@link Random} shared by all threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 15, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+@Threads(4)
+public class IdGeneratorBenchmark {
+
+  private static final IdGenerator idGenerator = IdGenerator.random();
+  private static final Random sharedRandom = new Random();
+  private static final ThreadLocal<Random> xoshiroRandom =
+      ThreadLocal.withInitial(() -> Xoshiro256PlusPlusRandom.create(new Random()));
+
+  @Benchmark
+  public String generateSpanId() {
+    return idGenerator.generateSpanId();
+  }
+
+  @Benchmark
+  public String generateTraceId() {
+    return idGenerator.generateTraceId();
+  }
+
+  @Benchmark
+  public long threadLocalRandom() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  @Benchmark
+  public long sharedRandom() {
+    return sharedRandom.nextLong();
+  }
+
+  @Benchmark
+  public long threadLocalXoshiro() {
+    return xoshiroRandom.get().nextLong();
+  }
+}
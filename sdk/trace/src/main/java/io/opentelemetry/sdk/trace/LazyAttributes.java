@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import java.util.function.Supplier;
+
+/**
+ * Sets span attributes whose values are expensive to compute, such as sanitized queries or
+ * normalized URLs, so that they are only computed for spans that are recorded and read, usually
+ * when exported. Spans that are sampled out or dropped before export never call the supplier.
+ *
+ * <p>The supplier is called at most once, on whichever thread first reads the attribute, so it must
+ * be thread safe and should not depend on the state of the calling thread, like the current {@link
+ * io.opentelemetry.context.Context}. A {@code null} result, or an exception, drops the attribute.
+ * Spans and builders not created by the SDK compute the value immediately.
+ *
+ * <p>If {@link SpanLimits#getMaxSpanSizeBytes()} is configured, values are accounted for in the
+ * size of the span once computed, and are dropped if they don't fit.
+ */
+public final class LazyAttributes {
+
+  /**
+   * Sets an attribute on the {@code span} whose value is computed by the {@code valueSupplier} when
+   * first read.
+   */
+  public static <T> void setAttribute(
+      Span span, AttributeKey<T> key, Supplier<? extends T> valueSupplier) {
+    if (span instanceof SdkSpan) {
+      ((SdkSpan) span).setLazyAttribute(key, valueSupplier);
+    } else if (span.isRecording()) {
+      span.setAttribute(key, valueSupplier.get());
+    }
+  }
+
+  /**
+   * Sets an attribute on the {@code spanBuilder} whose value is computed by the {@code
+   * valueSupplier} when first read. Note that {@link io.opentelemetry.sdk.trace.samplers.Sampler}s
+   * reading the attribute compute it.
+   */
+  public static <T> SpanBuilder setAttribute(
+      SpanBuilder spanBuilder, AttributeKey<T> key, Supplier<? extends T> valueSupplier) {
+    if (spanBuilder instanceof SdkSpanBuilder) {
+      ((SdkSpanBuilder) spanBuilder).setLazyAttribute(key, valueSupplier);
+      return spanBuilder;
+    }
+    return spanBuilder.setAttribute(key, valueSupplier.get());
+  }
+
+  private LazyAttributes() {}
+}
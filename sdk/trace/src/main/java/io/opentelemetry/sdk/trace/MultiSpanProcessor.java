@@ -8,6 +8,7 @@ package io.opentelemetry.sdk.trace;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -17,8 +18,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * {@code SpanProcessor}s.
  */
 final class MultiSpanProcessor implements SpanProcessor {
-  private final List<SpanProcessor> spanProcessorsStart;
-  private final List<SpanProcessor> spanProcessorsEnd;
+  // Arrays rather than lists, as these are iterated for every span start and end.
+  private final SpanProcessor[] spanProcessorsStart;
+  private final SpanProcessor[] spanProcessorsEnd;
   private final List<SpanProcessor> spanProcessorsAll;
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
 
@@ -43,7 +45,7 @@ final class MultiSpanProcessor implements SpanProcessor {
 
   @Override
   public boolean isStartRequired() {
-    return !spanProcessorsStart.isEmpty();
+    return spanProcessorsStart.length != 0;
   }
 
   @Override
@@ -55,7 +57,7 @@ final class MultiSpanProcessor implements SpanProcessor {
 
   @Override
   public boolean isEndRequired() {
-    return !spanProcessorsEnd.isEmpty();
+    return spanProcessorsEnd.length != 0;
   }
 
   @Override
@@ -81,8 +83,8 @@ final class MultiSpanProcessor implements SpanProcessor {
 
   private MultiSpanProcessor(List<SpanProcessor> spanProcessors) {
     this.spanProcessorsAll = spanProcessors;
-    this.spanProcessorsStart = new ArrayList<>(spanProcessorsAll.size());
-    this.spanProcessorsEnd = new ArrayList<>(spanProcessorsAll.size());
+    List<SpanProcessor> spanProcessorsStart = new ArrayList<>(spanProcessorsAll.size());
+    List<SpanProcessor> spanProcessorsEnd = new ArrayList<>(spanProcessorsAll.size());
     for (SpanProcessor spanProcessor : spanProcessorsAll) {
       if (spanProcessor.isStartRequired()) {
         spanProcessorsStart.add(spanProcessor);
@@ -91,15 +93,17 @@ final class MultiSpanProcessor implements SpanProcessor {
         spanProcessorsEnd.add(spanProcessor);
       }
     }
+    this.spanProcessorsStart = spanProcessorsStart.toArray(new SpanProcessor[0]);
+    this.spanProcessorsEnd = spanProcessorsEnd.toArray(new SpanProcessor[0]);
   }
 
   @Override
   public String toString() {
     return "MultiSpanProcessor{"
         + "spanProcessorsStart="
-        + spanProcessorsStart
+        + Arrays.toString(spanProcessorsStart)
         + ", spanProcessorsEnd="
-        + spanProcessorsEnd
+        + Arrays.toString(spanProcessorsEnd)
         + ", spanProcessorsAll="
         + spanProcessorsAll
         + '}';
@@ -12,6 +12,7 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.internal.InstrumentationScopeUtil;
 import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
 import javax.annotation.Nullable;
 
 /** SDK representation of a {@code Span} that can be read. */
@@ -99,6 +100,17 @@ public interface ReadableSpan {
    */
   SpanKind getKind();
 
+  /**
+   * Returns the status of the span.
+   *
+   * <p>Note: the implementation of this method performs locking to ensure thread-safe behavior.
+   *
+   * @return the status of the span.
+   */
+  default StatusData getStatus() {
+    return toSpanData().getStatus();
+  }
+
   /**
    * Returns the value for the given {@link AttributeKey}, or {@code null} if not found.
    *
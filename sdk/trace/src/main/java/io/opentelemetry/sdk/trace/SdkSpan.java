@@ -24,10 +24,10 @@ import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
 import io.opentelemetry.sdk.trace.internal.data.ExceptionEventData;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -39,6 +39,9 @@ final class SdkSpan implements ReadWriteSpan {
 
   private static final Logger logger = Logger.getLogger(SdkSpan.class.getName());
 
+  // Estimated serialized size of the timestamp of an event.
+  private static final long EVENT_TIMESTAMP_SIZE = 9;
+
   // The config used when constructing this Span.
   private final SpanLimits spanLimits;
   // Contains the identifiers associated with this Span.
@@ -71,9 +74,14 @@ final class SdkSpan implements ReadWriteSpan {
   @GuardedBy("lock")
   @Nullable
   private AttributesMap attributes;
-  // List of recorded events.
+  // Recorded events. Allocated on the first event, as most spans have none.
+  @GuardedBy("lock")
+  @Nullable
+  private SpanEventBuffer events;
+  // The recorded events once the span has ended, materialized on first read.
   @GuardedBy("lock")
-  private final List<EventData> events;
+  @Nullable
+  private List<EventData> endedEvents;
   // Number of events recorded.
   @GuardedBy("lock")
   private int totalRecordedEvents = 0;
@@ -86,6 +94,9 @@ final class SdkSpan implements ReadWriteSpan {
   // True if the span is ended.
   @GuardedBy("lock")
   private boolean hasEnded;
+  // Estimated serialized size of the recorded data, only tracked if the span size is limited.
+  @GuardedBy("lock")
+  private long estimatedSize;
 
   private SdkSpan(
       SpanContext context,
@@ -114,8 +125,16 @@ final class SdkSpan implements ReadWriteSpan {
     this.clock = clock;
     this.startEpochNanos = startEpochNanos;
     this.attributes = attributes;
-    this.events = new ArrayList<>();
     this.spanLimits = spanLimits;
+    if (isSizeLimited()) {
+      this.estimatedSize = AttributeUtil.estimateSerializedSize(name);
+      // Like setAttribute, drop the attributes set on the builder or by the sampler which don't
+      // fit. Lazy values are accounted for once computed, see resolveLazyAttributes().
+      if (attributes != null) {
+        this.estimatedSize +=
+            attributes.retainWithinSize(spanLimits.getMaxSpanSizeBytes() - this.estimatedSize);
+      }
+    }
   }
 
   /**
@@ -214,7 +233,15 @@ final class SdkSpan implements ReadWriteSpan {
   @Nullable
   public <T> T getAttribute(AttributeKey<T> key) {
     synchronized (lock) {
-      return attributes == null ? null : attributes.get(key);
+      if (attributes == null) {
+        return null;
+      }
+      // Only computes the requested lazy value, the others may never be read.
+      if (isSizeLimited()) {
+        estimatedSize +=
+            attributes.resolveLazyValue(key, spanLimits.getMaxSpanSizeBytes() - estimatedSize);
+      }
+      return attributes.get(key);
     }
   }
 
@@ -271,6 +298,13 @@ final class SdkSpan implements ReadWriteSpan {
     }
   }
 
+  @Override
+  public StatusData getStatus() {
+    synchronized (lock) {
+      return status;
+    }
+  }
+
   /** Returns the {@link AnchoredClock} used by this {@link Span}. */
   AnchoredClock getClock() {
     return clock;
@@ -292,17 +326,57 @@ final class SdkSpan implements ReadWriteSpan {
                 spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
       }
 
+      if (isSizeLimited()) {
+        // A lazy value is not accounted for until computed, so it is replaced without being read.
+        Object previous = attributes.getComputed(key);
+        long sizeDelta =
+            AttributeUtil.estimateSerializedSize(
+                    key,
+                    AttributeUtil.applyAttributeLengthLimit(
+                        value, spanLimits.getMaxAttributeValueLength()))
+                - (previous == null ? 0 : AttributeUtil.estimateSerializedSize(key, previous));
+        if (estimatedSize + sizeDelta > spanLimits.getMaxSpanSizeBytes()) {
+          attributes.recordDroppedValue();
+          return this;
+        }
+        if (attributes.put(key, value)) {
+          estimatedSize += sizeDelta;
+        }
+        return this;
+      }
+
       attributes.put(key, value);
     }
     return this;
   }
 
+  /**
+   * Sets an attribute whose value is computed when first read, usually when the span is exported.
+   */
+  <T> void setLazyAttribute(AttributeKey<T> key, Supplier<? extends T> valueSupplier) {
+    if (key == null || key.getKey().isEmpty() || valueSupplier == null) {
+      return;
+    }
+    synchronized (lock) {
+      if (hasEnded) {
+        logger.log(Level.FINE, "Calling setAttribute() on an ended Span.");
+        return;
+      }
+      if (attributes == null) {
+        attributes =
+            AttributesMap.create(
+                spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
+      }
+      attributes.putLazy(key, valueSupplier);
+    }
+  }
+
   @Override
   public ReadWriteSpan addEvent(String name) {
     if (name == null) {
       return this;
     }
-    addTimedEvent(EventData.create(clock.now(), name, Attributes.empty(), 0));
+    addTimedEvent(name, clock.now());
     return this;
   }
 
@@ -311,7 +385,7 @@ final class SdkSpan implements ReadWriteSpan {
     if (name == null || unit == null) {
       return this;
     }
-    addTimedEvent(EventData.create(unit.toNanos(timestamp), name, Attributes.empty(), 0));
+    addTimedEvent(name, unit.toNanos(timestamp));
     return this;
   }
 
@@ -363,11 +437,75 @@ final class SdkSpan implements ReadWriteSpan {
         logger.log(Level.FINE, "Calling addEvent() on an ended Span.");
         return;
       }
-      if (events.size() < spanLimits.getMaxNumberOfEvents()) {
-        events.add(timedEvent);
+      totalRecordedEvents++;
+      if (!isSizeLimited()) {
+        eventBuffer().add(timedEvent);
+        return;
+      }
+      long sizeDelta = estimateEventSize(timedEvent) - estimateEvictedEventSize();
+      if (estimatedSize + sizeDelta <= spanLimits.getMaxSpanSizeBytes()
+          && eventBuffer().add(timedEvent)) {
+        estimatedSize += sizeDelta;
+      }
+    }
+  }
+
+  private void addTimedEvent(String name, long epochNanos) {
+    synchronized (lock) {
+      if (hasEnded) {
+        logger.log(Level.FINE, "Calling addEvent() on an ended Span.");
+        return;
       }
       totalRecordedEvents++;
+      if (!isSizeLimited()) {
+        eventBuffer().add(name, epochNanos);
+        return;
+      }
+      long sizeDelta =
+          AttributeUtil.estimateSerializedSize(name)
+              + EVENT_TIMESTAMP_SIZE
+              - estimateEvictedEventSize();
+      if (estimatedSize + sizeDelta <= spanLimits.getMaxSpanSizeBytes()
+          && eventBuffer().add(name, epochNanos)) {
+        estimatedSize += sizeDelta;
+      }
+    }
+  }
+
+  private boolean isSizeLimited() {
+    return spanLimits.getMaxSpanSizeBytes() != SpanLimits.DEFAULT_SPAN_MAX_SIZE_BYTES;
+  }
+
+  /** Returns the size of the event replaced by the next one added, if any. */
+  @GuardedBy("lock")
+  private long estimateEvictedEventSize() {
+    EventData evicted = eventBuffer().nextEvicted();
+    return evicted == null ? 0 : estimateEventSize(evicted);
+  }
+
+  private static long estimateEventSize(EventData event) {
+    long size = AttributeUtil.estimateSerializedSize(event.getName()) + EVENT_TIMESTAMP_SIZE;
+    if (event instanceof ExceptionEventData) {
+      // Avoid rendering the stack trace on the caller thread, it is bounded by
+      // SpanLimits#getMaxExceptionStackTraceFrames() instead.
+      ExceptionEventData exceptionEvent = (ExceptionEventData) event;
+      Throwable exception = exceptionEvent.getException();
+      String message = exception.getMessage();
+      return size
+          + AttributeUtil.estimateSerializedSize(exception.getClass().getName())
+          + (message == null ? 0 : AttributeUtil.estimateSerializedSize(message))
+          + AttributeUtil.estimateSerializedSize(exceptionEvent.getAdditionalAttributes());
+    }
+    return size + AttributeUtil.estimateSerializedSize(event.getAttributes());
+  }
+
+  @GuardedBy("lock")
+  private SpanEventBuffer eventBuffer() {
+    if (events == null) {
+      events =
+          new SpanEventBuffer(spanLimits.getMaxNumberOfEvents(), spanLimits.isDropOldestEvents());
     }
+    return events;
   }
 
   @Override
@@ -415,6 +553,11 @@ final class SdkSpan implements ReadWriteSpan {
         logger.log(Level.FINE, "Calling updateName() on an ended Span.");
         return this;
       }
+      if (isSizeLimited()) {
+        estimatedSize +=
+            AttributeUtil.estimateSerializedSize(name)
+                - AttributeUtil.estimateSerializedSize(this.name);
+      }
       this.name = name;
     }
     return this;
@@ -471,22 +614,29 @@ final class SdkSpan implements ReadWriteSpan {
 
   @GuardedBy("lock")
   private List<EventData> getImmutableTimedEvents() {
-    if (events.isEmpty()) {
+    if (events == null || events.size() == 0) {
       return Collections.emptyList();
     }
 
     // if the span has ended, then the events are unmodifiable
-    // so we can return them directly and save copying all the data.
+    // so we can materialize them once and save copying all the data.
     if (hasEnded) {
-      return Collections.unmodifiableList(events);
+      if (endedEvents == null) {
+        endedEvents = events.toList();
+      }
+      return endedEvents;
     }
 
-    return Collections.unmodifiableList(new ArrayList<>(events));
+    return events.toList();
   }
 
   @GuardedBy("lock")
   private Attributes getImmutableAttributes() {
-    if (attributes == null || attributes.isEmpty()) {
+    if (attributes == null) {
+      return Attributes.empty();
+    }
+    resolveLazyAttributes();
+    if (attributes.isEmpty()) {
       return Attributes.empty();
     }
     // if the span has ended, then the attributes are unmodifiable,
@@ -498,6 +648,23 @@ final class SdkSpan implements ReadWriteSpan {
     return attributes.immutableCopy();
   }
 
+  /**
+   * Computes the lazy attribute values, dropping the ones which don't fit in the span size limit,
+   * so that the attributes can be read outside the lock.
+   */
+  @GuardedBy("lock")
+  private void resolveLazyAttributes() {
+    if (attributes == null) {
+      return;
+    }
+    if (isSizeLimited()) {
+      estimatedSize +=
+          attributes.resolveLazyValues(spanLimits.getMaxSpanSizeBytes() - estimatedSize);
+    } else {
+      attributes.resolveLazyValues();
+    }
+  }
+
   @Override
   public String toString() {
     String name;
@@ -507,6 +674,7 @@ final class SdkSpan implements ReadWriteSpan {
     long endEpochNanos;
     synchronized (lock) {
       name = this.name;
+      // Lazy attribute values are not computed.
       attributes = String.valueOf(this.attributes);
       status = String.valueOf(this.status);
       totalRecordedEvents = this.totalRecordedEvents;
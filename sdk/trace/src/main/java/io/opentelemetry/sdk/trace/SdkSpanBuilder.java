@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /** {@link SdkSpanBuilder} is SDK implementation of {@link SpanBuilder}. */
@@ -154,6 +155,16 @@ final class SdkSpanBuilder implements SpanBuilder {
     return this;
   }
 
+  /**
+   * Sets an attribute whose value is computed when first read, usually when the span is exported.
+   */
+  <T> void setLazyAttribute(AttributeKey<T> key, Supplier<? extends T> valueSupplier) {
+    if (key == null || key.getKey().isEmpty() || valueSupplier == null) {
+      return;
+    }
+    attributes().putLazy(key, valueSupplier);
+  }
+
   @Override
   public SpanBuilder setStartTimestamp(long startTimestamp, TimeUnit unit) {
     if (startTimestamp < 0 || unit == null) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.trace.data.EventData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Stores the events of a span, up to a maximum number of events. Once full, either new events are
+ * dropped or they replace the oldest ones, in which case the storage is used as a ring buffer.
+ *
+ * <p>The name and timestamp of events are stored in parallel arrays, so events without attributes
+ * do not allocate an {@link EventData} until they are read. Other events are stored as is.
+ *
+ * <p>This class is not thread-safe, it must be guarded by the lock of the owning span.
+ */
+final class SpanEventBuffer {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final int maxEvents;
+  private final boolean dropOldest;
+
+  private String[] names;
+  private long[] epochNanos;
+  // Events that can't be represented by a name and a timestamp only, allocated on first use.
+  @Nullable private EventData[] events;
+  // Index of the oldest event, only non-zero once the buffer wrapped around.
+  private int start;
+  private int size;
+
+  SpanEventBuffer(int maxEvents, boolean dropOldest) {
+    this.maxEvents = maxEvents;
+    this.dropOldest = dropOldest;
+    int initialCapacity = Math.min(INITIAL_CAPACITY, maxEvents);
+    this.names = new String[initialCapacity];
+    this.epochNanos = new long[initialCapacity];
+  }
+
+  /** Adds an event without attributes, returning whether it was stored. */
+  boolean add(String name, long epochNanos) {
+    return add(name, epochNanos, null);
+  }
+
+  /** Adds an event, returning whether it was stored. */
+  boolean add(EventData event) {
+    return add(event.getName(), event.getEpochNanos(), event);
+  }
+
+  /**
+   * Returns the event which the next event added replaces, or {@code null} if it won't replace one.
+   */
+  @Nullable
+  EventData nextEvicted() {
+    if (size < maxEvents || !dropOldest) {
+      return null;
+    }
+    return get(start);
+  }
+
+  private boolean add(String name, long epochNanos, @Nullable EventData event) {
+    int index;
+    if (size < maxEvents) {
+      if (size == names.length) {
+        grow();
+      }
+      index = size;
+      size++;
+    } else if (dropOldest) {
+      index = start;
+      start = start + 1 == names.length ? 0 : start + 1;
+    } else {
+      return false;
+    }
+    names[index] = name;
+    this.epochNanos[index] = epochNanos;
+    if (event != null) {
+      if (events == null) {
+        events = new EventData[names.length];
+      }
+      events[index] = event;
+    } else if (events != null) {
+      events[index] = null;
+    }
+    return true;
+  }
+
+  private void grow() {
+    int capacity = (int) Math.min((long) names.length * 2, maxEvents);
+    names = Arrays.copyOf(names, capacity);
+    epochNanos = Arrays.copyOf(epochNanos, capacity);
+    if (events != null) {
+      events = Arrays.copyOf(events, capacity);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Returns a new unmodifiable list of the stored events, from oldest to newest. */
+  List<EventData> toList() {
+    if (size == 0) {
+      return Collections.emptyList();
+    }
+    List<EventData> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(get((start + i) % names.length));
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private EventData get(int index) {
+    EventData event = events == null ? null : events[index];
+    if (event == null) {
+      event = EventData.create(epochNanos[index], names[index], Attributes.empty(), 0);
+    }
+    return event;
+  }
+}
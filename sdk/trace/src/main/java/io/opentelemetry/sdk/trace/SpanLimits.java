@@ -20,6 +20,8 @@ import javax.annotation.concurrent.Immutable;
 public abstract class SpanLimits {
 
   static final int DEFAULT_SPAN_MAX_ATTRIBUTE_LENGTH = Integer.MAX_VALUE;
+  static final int DEFAULT_SPAN_MAX_EXCEPTION_STACK_TRACE_FRAMES = Integer.MAX_VALUE;
+  static final int DEFAULT_SPAN_MAX_SIZE_BYTES = Integer.MAX_VALUE;
 
   private static final SpanLimits DEFAULT = new SpanLimitsBuilder().build();
 
@@ -39,14 +41,20 @@ public abstract class SpanLimits {
       int maxNumLinks,
       int maxNumAttributesPerEvent,
       int maxNumAttributesPerLink,
-      int maxAttributeLength) {
+      int maxAttributeLength,
+      int maxExceptionStackTraceFrames,
+      boolean dropOldestEvents,
+      int maxSpanSizeBytes) {
     return new AutoValue_SpanLimits_SpanLimitsValue(
         maxNumAttributes,
         maxNumEvents,
         maxNumLinks,
         maxNumAttributesPerEvent,
         maxNumAttributesPerLink,
-        maxAttributeLength);
+        maxAttributeLength,
+        maxExceptionStackTraceFrames,
+        dropOldestEvents,
+        maxSpanSizeBytes);
   }
 
   /**
@@ -102,6 +110,37 @@ public abstract class SpanLimits {
     return DEFAULT_SPAN_MAX_ATTRIBUTE_LENGTH;
   }
 
+  /**
+   * Returns the max number of stack frames rendered per exception in the {@code
+   * exception.stacktrace} attribute of exception events. Applies to each cause and suppressed
+   * exception individually.
+   *
+   * @return the max number of stack frames rendered per exception.
+   */
+  public int getMaxExceptionStackTraceFrames() {
+    return DEFAULT_SPAN_MAX_EXCEPTION_STACK_TRACE_FRAMES;
+  }
+
+  /**
+   * Returns whether the oldest events of a {@link Span} are dropped to make room for new ones once
+   * {@link #getMaxNumberOfEvents()} is reached. If {@code false}, new events are dropped instead.
+   *
+   * @return whether the oldest events of a {@link Span} are dropped once the limit is reached.
+   */
+  public boolean isDropOldestEvents() {
+    return false;
+  }
+
+  /**
+   * Returns the max estimated serialized size in bytes of the name, attributes and events of a
+   * {@link Span}. Attributes and events that would exceed it are dropped, and counted as dropped.
+   *
+   * @return the max estimated serialized size in bytes of a {@link Span}.
+   */
+  public int getMaxSpanSizeBytes() {
+    return DEFAULT_SPAN_MAX_SIZE_BYTES;
+  }
+
   /**
    * Returns a {@link SpanLimitsBuilder} initialized to the same property values as the current
    * instance.
@@ -116,7 +155,10 @@ public abstract class SpanLimits {
         .setMaxNumberOfLinks(getMaxNumberOfLinks())
         .setMaxNumberOfAttributesPerEvent(getMaxNumberOfAttributesPerEvent())
         .setMaxNumberOfAttributesPerLink(getMaxNumberOfAttributesPerLink())
-        .setMaxAttributeValueLength(getMaxAttributeValueLength());
+        .setMaxAttributeValueLength(getMaxAttributeValueLength())
+        .setMaxExceptionStackTraceFrames(getMaxExceptionStackTraceFrames())
+        .setDropOldestEvents(isDropOldestEvents())
+        .setMaxSpanSizeBytes(getMaxSpanSizeBytes());
   }
 
   @AutoValue
@@ -129,5 +171,26 @@ public abstract class SpanLimits {
      */
     @Override
     public abstract int getMaxAttributeValueLength();
+
+    /**
+     * Override {@link SpanLimits#getMaxExceptionStackTraceFrames()} to be abstract so autovalue can
+     * implement it.
+     */
+    @Override
+    public abstract int getMaxExceptionStackTraceFrames();
+
+    /**
+     * Override {@link SpanLimits#isDropOldestEvents()} to be abstract so autovalue can implement
+     * it.
+     */
+    @Override
+    public abstract boolean isDropOldestEvents();
+
+    /**
+     * Override {@link SpanLimits#getMaxSpanSizeBytes()} to be abstract so autovalue can implement
+     * it.
+     */
+    @Override
+    public abstract int getMaxSpanSizeBytes();
   }
 }
@@ -23,6 +23,10 @@ public final class SpanLimitsBuilder {
   private int maxNumAttributesPerEvent = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_EVENT;
   private int maxNumAttributesPerLink = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_LINK;
   private int maxAttributeValueLength = SpanLimits.DEFAULT_SPAN_MAX_ATTRIBUTE_LENGTH;
+  private int maxExceptionStackTraceFrames =
+      SpanLimits.DEFAULT_SPAN_MAX_EXCEPTION_STACK_TRACE_FRAMES;
+  private boolean dropOldestEvents = false;
+  private int maxSpanSizeBytes = SpanLimits.DEFAULT_SPAN_MAX_SIZE_BYTES;
 
   SpanLimitsBuilder() {}
 
@@ -109,6 +113,53 @@ public final class SpanLimitsBuilder {
     return this;
   }
 
+  /**
+   * Sets the max number of stack frames rendered per exception in the {@code exception.stacktrace}
+   * attribute of exception events. Frames beyond the limit are replaced with a {@code ... n more}
+   * line. Applies to each cause and suppressed exception individually.
+   *
+   * @param maxExceptionStackTraceFrames the max number of stack frames rendered per exception. Must
+   *     be positive.
+   * @return this.
+   * @throws IllegalArgumentException if {@code maxExceptionStackTraceFrames} is not positive.
+   */
+  public SpanLimitsBuilder setMaxExceptionStackTraceFrames(int maxExceptionStackTraceFrames) {
+    Utils.checkArgument(
+        maxExceptionStackTraceFrames > 0, "maxExceptionStackTraceFrames must be greater than 0");
+    this.maxExceptionStackTraceFrames = maxExceptionStackTraceFrames;
+    return this;
+  }
+
+  /**
+   * Sets whether the oldest events of a {@link Span} are dropped to make room for new ones once the
+   * max number of events is reached, which keeps the latest events of long-running spans. By
+   * default, new events are dropped instead.
+   *
+   * @param dropOldestEvents whether to drop the oldest events once the limit is reached.
+   * @return this.
+   */
+  public SpanLimitsBuilder setDropOldestEvents(boolean dropOldestEvents) {
+    this.dropOldestEvents = dropOldestEvents;
+    return this;
+  }
+
+  /**
+   * Sets the max estimated serialized size in bytes of the name, attributes and events of a {@link
+   * Span}. Once reached, further attributes and events are dropped and counted as dropped. The size
+   * is an estimate of the encoded size, and does not include the stack traces of exception events,
+   * which can be bounded with {@link #setMaxExceptionStackTraceFrames(int)}.
+   *
+   * @param maxSpanSizeBytes the max estimated serialized size in bytes of a {@link Span}. Must be
+   *     positive.
+   * @return this.
+   * @throws IllegalArgumentException if {@code maxSpanSizeBytes} is not positive.
+   */
+  public SpanLimitsBuilder setMaxSpanSizeBytes(int maxSpanSizeBytes) {
+    Utils.checkArgument(maxSpanSizeBytes > 0, "maxSpanSizeBytes must be greater than 0");
+    this.maxSpanSizeBytes = maxSpanSizeBytes;
+    return this;
+  }
+
   /** Builds and returns a {@link SpanLimits} with the values of this builder. */
   public SpanLimits build() {
     return SpanLimits.create(
@@ -117,6 +168,9 @@ public final class SpanLimitsBuilder {
         maxNumLinks,
         maxNumAttributesPerEvent,
         maxNumAttributesPerLink,
-        maxAttributeValueLength);
+        maxAttributeValueLength,
+        maxExceptionStackTraceFrames,
+        dropOldestEvents,
+        maxSpanSizeBytes);
   }
 }
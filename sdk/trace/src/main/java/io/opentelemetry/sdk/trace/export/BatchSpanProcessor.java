@@ -11,7 +11,9 @@ import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.AdaptiveExportController;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import io.opentelemetry.sdk.internal.ThrowableUtil;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
@@ -19,8 +21,10 @@ import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.internal.JcTools;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -30,6 +34,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of the {@link SpanProcessor} that batches spans exported by the SDK then pushes
@@ -39,6 +44,14 @@ import java.util.logging.Logger;
  * {@code maxQueueSize} maximum size, if queue is full spans are dropped). Spans are exported either
  * when there are {@code maxExportBatchSize} pending spans or {@code scheduleDelayNanos} has passed
  * since the last export finished.
+ *
+ * <p>By default only one export is in flight at a time. If {@link
+ * BatchSpanProcessorBuilder#setMaxConcurrentExports(int)} is configured, the worker keeps batching
+ * spans while previous exports are still running, up to the configured number of exports.
+ *
+ * <p>If {@link BatchSpanProcessorBuilder#setAdaptiveBatching(boolean)} is enabled, the batch size
+ * and the number of concurrent exports are adapted to how the exporter copes, within the configured
+ * maximums, and exports are backed off after failures.
  */
 public final class BatchSpanProcessor implements SpanProcessor {
 
@@ -72,14 +85,27 @@ public final class BatchSpanProcessor implements SpanProcessor {
       long scheduleDelayNanos,
       int maxQueueSize,
       int maxExportBatchSize,
-      long exporterTimeoutNanos) {
+      long maxExportBatchBytes,
+      long exporterTimeoutNanos,
+      int maxConcurrentExports,
+      boolean adaptiveBatching) {
     this.worker =
         new Worker(
             spanExporter,
             meterProvider,
             scheduleDelayNanos,
             maxExportBatchSize,
+            maxExportBatchBytes,
             exporterTimeoutNanos,
+            maxConcurrentExports,
+            adaptiveBatching
+                ? new AdaptiveExportController(
+                    maxExportBatchSize,
+                    maxConcurrentExports,
+                    // Exports taking more than half the timeout are slow.
+                    exporterTimeoutNanos == 0 ? Long.MAX_VALUE : exporterTimeoutNanos / 2,
+                    Clock.getDefault())
+                : null,
             JcTools.newFixedSizeQueue(maxQueueSize));
     Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
     workerThread.start();
@@ -129,6 +155,11 @@ public final class BatchSpanProcessor implements SpanProcessor {
     return worker.queue;
   }
 
+  // Visible for testing
+  int getExportsInFlight() {
+    return worker.exportsInFlight.get();
+  }
+
   @Override
   public String toString() {
     return "BatchSpanProcessor{"
@@ -154,7 +185,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final SpanExporter spanExporter;
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
+    private final long maxExportBatchBytes;
     private final long exporterTimeoutNanos;
+    private final int maxConcurrentExports;
+    @Nullable private final AdaptiveExportController adaptiveController;
 
     private long nextExportTime;
 
@@ -170,18 +204,34 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
     private volatile boolean continueWork = true;
     private final ArrayList<SpanData> batch;
+    // Estimated serialized size of the batch, only tracked if maxExportBatchBytes is bounded.
+    private long batchBytes;
+    // Exports which have been handed to the exporter but whose completion has not yet been observed
+    // by the worker thread. Only accessed by the worker thread, the lock is notified whenever an
+    // export completes.
+    private final ArrayDeque<PendingExport> pendingExports = new ArrayDeque<>();
+    private final Object exportCompletionLock = new Object();
+    // Number of exports whose result has not completed yet, updated by the exporter's completion
+    // callbacks and read by the in-flight gauge.
+    private final AtomicInteger exportsInFlight = new AtomicInteger();
 
     private Worker(
         SpanExporter spanExporter,
         MeterProvider meterProvider,
         long scheduleDelayNanos,
         int maxExportBatchSize,
+        long maxExportBatchBytes,
         long exporterTimeoutNanos,
+        int maxConcurrentExports,
+        @Nullable AdaptiveExportController adaptiveController,
         Queue<ReadableSpan> queue) {
       this.spanExporter = spanExporter;
       this.scheduleDelayNanos = scheduleDelayNanos;
       this.maxExportBatchSize = maxExportBatchSize;
+      this.maxExportBatchBytes = maxExportBatchBytes;
       this.exporterTimeoutNanos = exporterTimeoutNanos;
+      this.maxConcurrentExports = maxConcurrentExports;
+      this.adaptiveController = adaptiveController;
       this.queue = queue;
       this.signal = new ArrayBlockingQueue<>(1);
       Meter meter = meterProvider.meterBuilder("io.opentelemetry.sdk.trace").build();
@@ -195,6 +245,16 @@ public final class BatchSpanProcessor implements SpanProcessor {
                   result.record(
                       queue.size(),
                       Attributes.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE)));
+      meter
+          .gaugeBuilder("exportsInFlight")
+          .ofLongs()
+          .setDescription("The number of span exports which have not completed yet")
+          .setUnit("1")
+          .buildWithCallback(
+              result ->
+                  result.record(
+                      exportsInFlight.get(),
+                      Attributes.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE)));
       processedSpansCounter =
           meter
               .counterBuilder("processedSpans")
@@ -237,41 +297,51 @@ public final class BatchSpanProcessor implements SpanProcessor {
         if (flushRequested.get() != null) {
           flush();
         }
+        int batchSize = batchSize();
         JcTools.drain(
-            queue, maxExportBatchSize - batch.size(), span -> batch.add(span.toSpanData()));
+            queue, Math.max(0, batchSize - batch.size()), span -> addToBatch(span.toSpanData()));
 
-        if (batch.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
+        long backoffNanos = backoffNanos();
+        if (backoffNanos == 0
+            && (batch.size() >= batchSize
+                || batchBytes >= maxExportBatchBytes
+                || System.nanoTime() >= nextExportTime)) {
           exportCurrentBatch();
           updateNextExportTime();
         }
-        if (queue.isEmpty()) {
-          try {
+        try {
+          if (backoffNanos > 0) {
+            // Spans keep being queued while exports are backed off, only a flush wakes us up early.
+            signal.poll(backoffNanos, TimeUnit.NANOSECONDS);
+          } else if (queue.isEmpty()) {
             long pollWaitTime = nextExportTime - System.nanoTime();
             if (pollWaitTime > 0) {
-              spansNeeded.set(maxExportBatchSize - batch.size());
+              spansNeeded.set(batchSize() - batch.size());
               signal.poll(pollWaitTime, TimeUnit.NANOSECONDS);
               spansNeeded.set(Integer.MAX_VALUE);
             }
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return;
           }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
         }
       }
     }
 
+    // A flush exports everything queued right away, regardless of any backoff.
     private void flush() {
       int spansToFlush = queue.size();
       while (spansToFlush > 0) {
         ReadableSpan span = queue.poll();
         assert span != null;
-        batch.add(span.toSpanData());
+        addToBatch(span.toSpanData());
         spansToFlush--;
-        if (batch.size() >= maxExportBatchSize) {
+        if (batch.size() >= batchSize()) {
           exportCurrentBatch();
         }
       }
       exportCurrentBatch();
+      awaitPendingExports(0);
       CompletableResultCode flushResult = flushRequested.get();
       if (flushResult != null) {
         flushResult.succeed();
@@ -279,6 +349,33 @@ public final class BatchSpanProcessor implements SpanProcessor {
       }
     }
 
+    private int batchSize() {
+      return adaptiveController == null ? maxExportBatchSize : adaptiveController.getBatchSize();
+    }
+
+    private int concurrentExports() {
+      return adaptiveController == null
+          ? maxConcurrentExports
+          : adaptiveController.getMaxConcurrentExports();
+    }
+
+    private long backoffNanos() {
+      return adaptiveController == null ? 0 : adaptiveController.getBackoffRemainingNanos();
+    }
+
+    private void addToBatch(SpanData span) {
+      if (maxExportBatchBytes != Long.MAX_VALUE) {
+        long size = SpanDataSizeEstimator.estimateSize(span);
+        // Export what we have if adding this one would exceed the bound. A single span which
+        // exceeds the bound on its own is still exported by itself.
+        if (!batch.isEmpty() && batchBytes + size > maxExportBatchBytes) {
+          exportCurrentBatch();
+        }
+        batchBytes += size;
+      }
+      batch.add(span);
+    }
+
     private void updateNextExportTime() {
       nextExportTime = System.nanoTime() + scheduleDelayNanos;
     }
@@ -323,19 +420,76 @@ public final class BatchSpanProcessor implements SpanProcessor {
       }
 
       try {
-        CompletableResultCode result = spanExporter.export(Collections.unmodifiableList(batch));
-        result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
-        if (result.isSuccess()) {
-          processedSpansCounter.add(batch.size(), exportedAttrs);
-        } else {
-          logger.log(Level.FINE, "Exporter failed");
-        }
+        // With a single export in flight the batch is never touched until the export completes or
+        // times out, so it can be handed to the exporter directly. Otherwise the worker goes on
+        // filling the batch while the exporter still reads it, so it needs its own copy.
+        List<SpanData> exportBatch =
+            maxConcurrentExports == 1
+                ? Collections.unmodifiableList(batch)
+                : Collections.unmodifiableList(new ArrayList<>(batch));
+        int batchSize = exportBatch.size();
+        long startNanos = System.nanoTime();
+        CompletableResultCode result = spanExporter.export(exportBatch);
+        PendingExport pendingExport = new PendingExport(startNanos + exporterTimeoutNanos);
+        exportsInFlight.incrementAndGet();
+        result.whenComplete(
+            () -> {
+              exportsInFlight.decrementAndGet();
+              if (adaptiveController != null) {
+                adaptiveController.onExportCompleted(
+                    result.isSuccess(), System.nanoTime() - startNanos);
+              }
+              if (result.isSuccess()) {
+                processedSpansCounter.add(batchSize, exportedAttrs);
+              } else {
+                logger.log(Level.FINE, "Exporter failed");
+              }
+              synchronized (exportCompletionLock) {
+                pendingExport.done = true;
+                exportCompletionLock.notifyAll();
+              }
+            });
+        pendingExports.add(pendingExport);
+        awaitPendingExports(concurrentExports() - 1);
       } catch (Throwable t) {
         ThrowableUtil.propagateIfFatal(t);
         logger.log(Level.WARNING, "Exporter threw an Exception", t);
       } finally {
         batch.clear();
+        batchBytes = 0;
+      }
+    }
+
+    // Blocks until at most maxPending exports are in flight. Exports which have exceeded the
+    // exporter timeout no longer count as in flight.
+    private void awaitPendingExports(int maxPending) {
+      synchronized (exportCompletionLock) {
+        while (true) {
+          long now = System.nanoTime();
+          pendingExports.removeIf(pending -> pending.done || now - pending.deadlineNanos >= 0);
+          if (pendingExports.size() <= maxPending) {
+            return;
+          }
+          // Exports are queued in start order so the first one is the next to time out.
+          long waitNanos = pendingExports.getFirst().deadlineNanos - now;
+          try {
+            TimeUnit.NANOSECONDS.timedWait(exportCompletionLock, waitNanos);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
       }
     }
   }
+
+  private static final class PendingExport {
+    private final long deadlineNanos;
+
+    private volatile boolean done;
+
+    private PendingExport(long deadlineNanos) {
+      this.deadlineNanos = deadlineNanos;
+    }
+  }
 }
@@ -23,12 +23,17 @@ public final class BatchSpanProcessorBuilder {
   static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
   // Visible for testing
   static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_CONCURRENT_EXPORTS = 1;
 
   private final SpanExporter spanExporter;
   private long scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SCHEDULE_DELAY_MILLIS);
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
+  private long maxExportBatchBytes = Long.MAX_VALUE;
   private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private int maxConcurrentExports = DEFAULT_MAX_CONCURRENT_EXPORTS;
+  private boolean adaptiveBatching;
   private MeterProvider meterProvider = MeterProvider.noop();
 
   BatchSpanProcessorBuilder(SpanExporter spanExporter) {
@@ -122,6 +127,77 @@ public final class BatchSpanProcessorBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of exports which may be in flight at the same time. While fewer exports
+   * than this are pending, the worker thread continues to batch spans and hands the next batch to
+   * the exporter without waiting for the previous {@link
+   * io.opentelemetry.sdk.common.CompletableResultCode} to complete. Each export is still subject to
+   * the exporter timeout.
+   *
+   * <p>Default value is {@code 1}, i.e. each export completes before the next one is started.
+   *
+   * @param maxConcurrentExports the maximum number of exports in flight.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#DEFAULT_MAX_CONCURRENT_EXPORTS
+   */
+  public BatchSpanProcessorBuilder setMaxConcurrentExports(int maxConcurrentExports) {
+    checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive.");
+    this.maxConcurrentExports = maxConcurrentExports;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxConcurrentExports() {
+    return maxConcurrentExports;
+  }
+
+  /**
+   * Sets the maximum estimated serialized size in bytes of every export. Batches are split so that
+   * the estimated size of their spans does not exceed this, in addition to {@code
+   * maxExportBatchSize}. This is useful to stay below request size limits of the backend, e.g., the
+   * default 4MB message limit of gRPC servers. The estimate is approximate, so some headroom should
+   * be left below the actual limit.
+   *
+   * <p>By default, batches are only bounded by {@code maxExportBatchSize}.
+   *
+   * @param maxExportBatchBytes the maximum estimated size in bytes of every export.
+   * @return this.
+   */
+  public BatchSpanProcessorBuilder setMaxExportBatchBytes(long maxExportBatchBytes) {
+    checkArgument(maxExportBatchBytes > 0, "maxExportBatchBytes must be positive.");
+    this.maxExportBatchBytes = maxExportBatchBytes;
+    return this;
+  }
+
+  // Visible for testing
+  long getMaxExportBatchBytes() {
+    return maxExportBatchBytes;
+  }
+
+  /**
+   * Sets whether to adapt the batch size and the number of concurrent exports to how the exporter
+   * copes. When enabled, the processor starts with a single export at a time and adds concurrent
+   * exports, up to {@code maxConcurrentExports}, while exports complete within half the exporter
+   * timeout. A failed export, e.g. because the backend is throttling or unavailable, halves both
+   * the batch size and the number of concurrent exports and backs off further exports, for longer
+   * while exports keep failing. Successful exports grow the batch size back to {@code
+   * maxExportBatchSize}.
+   *
+   * <p>By default, batches are always exported with the configured sizes.
+   *
+   * @param adaptiveBatching whether to adapt batching to the exporter.
+   * @return this.
+   */
+  public BatchSpanProcessorBuilder setAdaptiveBatching(boolean adaptiveBatching) {
+    this.adaptiveBatching = adaptiveBatching;
+    return this;
+  }
+
+  // Visible for testing
+  boolean getAdaptiveBatching() {
+    return adaptiveBatching;
+  }
+
   /**
    * Sets the {@link MeterProvider} to use to collect metrics related to batch export. If not set,
    * metrics will not be collected.
@@ -150,6 +226,9 @@ public final class BatchSpanProcessorBuilder {
         scheduleDelayNanos,
         maxQueueSize,
         maxExportBatchSize,
-        exporterTimeoutNanos);
+        maxExportBatchBytes,
+        exporterTimeoutNanos,
+        maxConcurrentExports,
+        adaptiveBatching);
   }
 }
@@ -79,6 +79,13 @@ public final class SimpleSpanProcessor implements SpanProcessor {
     try {
       List<SpanData> spans = Collections.singletonList(span.toSpanData());
       CompletableResultCode result = spanExporter.export(spans);
+      if (result.isDone()) {
+        // Synchronous exporters complete before returning, so there is nothing to track.
+        if (!result.isSuccess()) {
+          logger.log(Level.FINE, "Exporter failed");
+        }
+        return;
+      }
       pendingExports.add(result);
       result.whenComplete(
           () -> {
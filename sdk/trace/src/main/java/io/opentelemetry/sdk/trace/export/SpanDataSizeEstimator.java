@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.sdk.internal.AttributeUtil;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.List;
+
+/**
+ * Estimates the serialized size of {@link SpanData}, used to bound the size of export batches. The
+ * estimate does not account for the resource and instrumentation scope, which are shared by all
+ * spans of a batch.
+ */
+final class SpanDataSizeEstimator {
+
+  // Trace ID, span ID, parent span ID, start and end timestamps, kind, status code and the tags of
+  // the remaining fields.
+  private static final int SPAN_FIXED_SIZE = 16 + 8 + 8 + 9 + 9 + 2 + 2 + 16;
+  // Timestamp, dropped attributes count and tags.
+  private static final int EVENT_FIXED_SIZE = 9 + 4 + 4;
+  // Trace ID, span ID, dropped attributes count and tags.
+  private static final int LINK_FIXED_SIZE = 16 + 8 + 4 + 4;
+
+  static long estimateSize(SpanData span) {
+    long size =
+        SPAN_FIXED_SIZE
+            + AttributeUtil.estimateSerializedSize(span.getName())
+            + AttributeUtil.estimateSerializedSize(span.getAttributes());
+    String statusDescription = span.getStatus().getDescription();
+    if (!statusDescription.isEmpty()) {
+      size += AttributeUtil.estimateSerializedSize(statusDescription);
+    }
+    List<EventData> events = span.getEvents();
+    for (int i = 0; i < events.size(); i++) {
+      EventData event = events.get(i);
+      size +=
+          EVENT_FIXED_SIZE
+              + AttributeUtil.estimateSerializedSize(event.getName())
+              + AttributeUtil.estimateSerializedSize(event.getAttributes());
+    }
+    List<LinkData> links = span.getLinks();
+    for (int i = 0; i < links.size(); i++) {
+      size += LINK_FIXED_SIZE + AttributeUtil.estimateSerializedSize(links.get(i).getAttributes());
+    }
+    return size;
+  }
+
+  private SpanDataSizeEstimator() {}
+}
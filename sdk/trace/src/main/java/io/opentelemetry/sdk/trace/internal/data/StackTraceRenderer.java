@@ -0,0 +1,197 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.internal.data;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the stack trace of a {@link Throwable} in the format of {@link
+ * Throwable#printStackTrace()}, optionally truncating the frames of each throwable.
+ *
+ * <p>Renderings are cached in a small LRU cache keyed by the string representation and stack frames
+ * of each throwable in the chain, so that the same stack trace recorded repeatedly, e.g. during an
+ * outage, is only rendered once.
+ */
+final class StackTraceRenderer {
+
+  // Visible for testing
+  static final int MAX_CACHED_STACK_TRACES = 128;
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+  private static final String CAUSE_CAPTION = "Caused by: ";
+  private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+  private static final StackTraceElement[] EMPTY_TRACE = new StackTraceElement[0];
+
+  private static final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private static final Map<Key, String> cache =
+      new LinkedHashMap<Key, String>(16, 0.75f, /* accessOrder= */ true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+          return size() > MAX_CACHED_STACK_TRACES;
+        }
+      };
+
+  /**
+   * Returns the stack trace of {@code throwable}, rendering at most {@code maxFrames} frames per
+   * throwable in the chain.
+   */
+  static String render(Throwable throwable, int maxFrames) {
+    List<Object> parts = new ArrayList<>();
+    appendKey(parts, throwable, newDejaVu());
+    Key key = new Key(maxFrames, parts.toArray());
+
+    synchronized (lock) {
+      String cached = cache.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    StringBuilder sb = new StringBuilder();
+    appendStackTrace(sb, throwable, EMPTY_TRACE, "", "", maxFrames, newDejaVu());
+    String rendered = sb.toString();
+    synchronized (lock) {
+      cache.put(key, rendered);
+    }
+    return rendered;
+  }
+
+  // Visible for testing
+  static int cacheSize() {
+    synchronized (lock) {
+      return cache.size();
+    }
+  }
+
+  // Visible for testing
+  static void clearCache() {
+    synchronized (lock) {
+      cache.clear();
+    }
+  }
+
+  private static Set<Throwable> newDejaVu() {
+    return Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * Appends everything that affects the rendering of {@code throwable} to {@code parts}. Stack
+   * frames are added as the array returned by {@link Throwable#getStackTrace()}, without copying.
+   */
+  private static void appendKey(List<Object> parts, Throwable throwable, Set<Throwable> dejaVu) {
+    // Circular references are rendered by string representation only.
+    parts.add(throwable.toString());
+    if (!dejaVu.add(throwable)) {
+      return;
+    }
+    parts.add(throwable.getStackTrace());
+    for (Throwable suppressed : throwable.getSuppressed()) {
+      parts.add(SUPPRESSED_CAPTION);
+      appendKey(parts, suppressed, dejaVu);
+    }
+    Throwable cause = throwable.getCause();
+    if (cause != null) {
+      parts.add(CAUSE_CAPTION);
+      appendKey(parts, cause, dejaVu);
+    }
+  }
+
+  private static void appendStackTrace(
+      StringBuilder sb,
+      Throwable throwable,
+      StackTraceElement[] enclosingTrace,
+      String caption,
+      String prefix,
+      int maxFrames,
+      Set<Throwable> dejaVu) {
+    if (!dejaVu.add(throwable)) {
+      sb.append(prefix)
+          .append(caption)
+          .append("[CIRCULAR REFERENCE: ")
+          .append(throwable)
+          .append(']')
+          .append(LINE_SEPARATOR);
+      return;
+    }
+
+    StackTraceElement[] trace = throwable.getStackTrace();
+    // Frames in common with the enclosing trace are elided, like Throwable.printStackTrace does.
+    int m = trace.length - 1;
+    int n = enclosingTrace.length - 1;
+    while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+      m--;
+      n--;
+    }
+    int uniqueFrames = m + 1;
+    int printedFrames = Math.min(uniqueFrames, maxFrames);
+    int omittedFrames = trace.length - printedFrames;
+
+    sb.append(prefix).append(caption).append(throwable).append(LINE_SEPARATOR);
+    for (int i = 0; i < printedFrames; i++) {
+      sb.append(prefix).append("\tat ").append(trace[i]).append(LINE_SEPARATOR);
+    }
+    if (omittedFrames != 0) {
+      sb.append(prefix)
+          .append("\t... ")
+          .append(omittedFrames)
+          .append(" more")
+          .append(LINE_SEPARATOR);
+    }
+
+    for (Throwable suppressed : throwable.getSuppressed()) {
+      appendStackTrace(sb, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", maxFrames, dejaVu);
+    }
+    Throwable cause = throwable.getCause();
+    if (cause != null) {
+      appendStackTrace(sb, cause, trace, CAUSE_CAPTION, prefix, maxFrames, dejaVu);
+    }
+  }
+
+  /** The string representations and stack frames of a throwable chain, hashed once. */
+  private static final class Key {
+    private final int maxFrames;
+    private final Object[] parts;
+    private final int hashCode;
+
+    private Key(int maxFrames, Object[] parts) {
+      this.maxFrames = maxFrames;
+      this.parts = parts;
+      this.hashCode = 31 * maxFrames + Arrays.deepHashCode(parts);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return maxFrames == that.maxFrames
+          && hashCode == that.hashCode
+          && Arrays.deepEquals(parts, that.parts);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private StackTraceRenderer() {}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.samplers;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Sampler} that keeps the rate of sampled spans of each span name close to a target, by
+ * periodically adjusting a sampling probability to the observed rate of spans with that name.
+ *
+ * <p>Unlike a token bucket, which samples every span until the budget is exhausted and then none,
+ * this spreads the budget uniformly over each adjustment interval. Like {@link
+ * TraceIdRatioBasedSampler}, the decision is derived from the trace ID, so spans with the same name
+ * in the same trace get the same decision.
+ */
+final class AdaptiveRateLimitingSampler implements Sampler {
+
+  private static final SamplingResult POSITIVE_SAMPLING_RESULT = SamplingResult.recordAndSample();
+
+  private static final SamplingResult NEGATIVE_SAMPLING_RESULT = SamplingResult.drop();
+
+  private final double targetSpansPerNanosecond;
+  private final long adjustmentIntervalNanos;
+  private final int maxSpanNames;
+  private final Clock clock;
+  private final String description;
+  private final ConcurrentMap<String, RateEstimator> estimators = new ConcurrentHashMap<>();
+  // Shared by all span names beyond maxSpanNames.
+  private final RateEstimator overflowEstimator;
+
+  AdaptiveRateLimitingSampler(
+      double targetSpansPerSecond, long adjustmentIntervalNanos, int maxSpanNames, Clock clock) {
+    this.targetSpansPerNanosecond = targetSpansPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.adjustmentIntervalNanos = adjustmentIntervalNanos;
+    this.maxSpanNames = maxSpanNames;
+    this.clock = clock;
+    this.description = String.format("AdaptiveRateLimitingSampler{%.6f}", targetSpansPerSecond);
+    this.overflowEstimator = new RateEstimator(clock.nanoTime());
+  }
+
+  @Override
+  public SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    long idUpperBound = getEstimator(name).recordSpan(clock.nanoTime());
+    return Math.abs(OtelEncodingUtils.longFromBase16String(traceId, 16)) < idUpperBound
+        ? POSITIVE_SAMPLING_RESULT
+        : NEGATIVE_SAMPLING_RESULT;
+  }
+
+  private RateEstimator getEstimator(String name) {
+    RateEstimator estimator = estimators.get(name);
+    if (estimator != null) {
+      return estimator;
+    }
+    // The size check is racy, so the limit may be exceeded by the number of concurrent callers.
+    if (estimators.size() >= maxSpanNames) {
+      return overflowEstimator;
+    }
+    return estimators.computeIfAbsent(name, unused -> new RateEstimator(clock.nanoTime()));
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+
+  // Visible for testing
+  double getSamplingProbability(String name) {
+    RateEstimator estimator = estimators.get(name);
+    if (estimator == null) {
+      estimator = overflowEstimator;
+    }
+    return (double) estimator.idUpperBound / Long.MAX_VALUE;
+  }
+
+  /**
+   * Counts spans and recomputes the trace ID upper bound once per adjustment interval. All state is
+   * updated with atomic operations so that concurrent callers never block: the caller that wins the
+   * race to start a new interval computes the bound, the others keep using the previous one.
+   */
+  private final class RateEstimator {
+
+    private final AtomicLong spanCount = new AtomicLong();
+    private final AtomicLong intervalStartNanos;
+    // Sample everything until the first interval has been observed.
+    private volatile long idUpperBound = Long.MAX_VALUE;
+
+    private RateEstimator(long startNanos) {
+      this.intervalStartNanos = new AtomicLong(startNanos);
+    }
+
+    /** Records a span and returns the trace ID upper bound to sample it with. */
+    private long recordSpan(long nowNanos) {
+      spanCount.incrementAndGet();
+      long startNanos = intervalStartNanos.get();
+      long elapsedNanos = nowNanos - startNanos;
+      if (elapsedNanos >= adjustmentIntervalNanos
+          && intervalStartNanos.compareAndSet(startNanos, nowNanos)) {
+        long observedSpans = spanCount.getAndSet(0);
+        double probability = (targetSpansPerNanosecond * elapsedNanos) / observedSpans;
+        idUpperBound = probability >= 1.0 ? Long.MAX_VALUE : (long) (probability * Long.MAX_VALUE);
+      }
+      return idUpperBound;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.samplers;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.common.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** A builder for creating adaptive rate-limiting sampler instances. */
+public final class AdaptiveRateLimitingSamplerBuilder {
+
+  // Visible for testing
+  static final long DEFAULT_ADJUSTMENT_INTERVAL_MILLIS = 1000;
+  // Visible for testing
+  static final int DEFAULT_MAX_SPAN_NAMES = 1000;
+
+  private final double targetSpansPerSecond;
+  private long adjustmentIntervalNanos =
+      TimeUnit.MILLISECONDS.toNanos(DEFAULT_ADJUSTMENT_INTERVAL_MILLIS);
+  private int maxSpanNames = DEFAULT_MAX_SPAN_NAMES;
+  private Clock clock = Clock.getDefault();
+
+  AdaptiveRateLimitingSamplerBuilder(double targetSpansPerSecond) {
+    checkArgument(targetSpansPerSecond > 0, "targetSpansPerSecond must be positive.");
+    this.targetSpansPerSecond = targetSpansPerSecond;
+  }
+
+  /**
+   * Sets the interval at which the sampling probability of each span name is recomputed from the
+   * observed rate of spans. Shorter intervals react faster to traffic spikes, longer intervals give
+   * more stable probabilities. If unset, defaults to {@value DEFAULT_ADJUSTMENT_INTERVAL_MILLIS}ms.
+   *
+   * @return this Builder
+   */
+  public AdaptiveRateLimitingSamplerBuilder setAdjustmentInterval(long interval, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(interval > 0, "interval must be positive.");
+    this.adjustmentIntervalNanos = unit.toNanos(interval);
+    return this;
+  }
+
+  /**
+   * Sets the interval at which the sampling probability of each span name is recomputed from the
+   * observed rate of spans. Shorter intervals react faster to traffic spikes, longer intervals give
+   * more stable probabilities. If unset, defaults to {@value DEFAULT_ADJUSTMENT_INTERVAL_MILLIS}ms.
+   *
+   * @return this Builder
+   */
+  public AdaptiveRateLimitingSamplerBuilder setAdjustmentInterval(Duration interval) {
+    requireNonNull(interval, "interval");
+    return setAdjustmentInterval(interval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Sets the maximum number of distinct span names that get their own rate budget. Spans with names
+   * beyond this limit share a single budget. If unset, defaults to {@value DEFAULT_MAX_SPAN_NAMES}.
+   *
+   * @return this Builder
+   */
+  public AdaptiveRateLimitingSamplerBuilder setMaxSpanNames(int maxSpanNames) {
+    checkArgument(maxSpanNames > 0, "maxSpanNames must be positive.");
+    this.maxSpanNames = maxSpanNames;
+    return this;
+  }
+
+  // Visible for testing
+  AdaptiveRateLimitingSamplerBuilder setClock(Clock clock) {
+    requireNonNull(clock, "clock");
+    this.clock = clock;
+    return this;
+  }
+
+  /**
+   * Builds the adaptive rate-limiting sampler.
+   *
+   * @return the adaptive rate-limiting sampler.
+   */
+  public Sampler build() {
+    return new AdaptiveRateLimitingSampler(
+        targetSpansPerSecond, adjustmentIntervalNanos, maxSpanNames, clock);
+  }
+}
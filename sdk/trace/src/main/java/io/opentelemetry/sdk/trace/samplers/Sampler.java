@@ -89,6 +89,38 @@ public interface Sampler {
     return TraceIdRatioBasedSampler.create(ratio);
   }
 
+  /**
+   * Returns a new adaptive rate-limiting {@link Sampler}, which aims to sample {@code
+   * targetSpansPerSecond} spans per second for each span name. The sampling probability of each
+   * span name is periodically adjusted to the observed rate of spans with that name, which keeps
+   * the number of sampled spans flat during traffic spikes.
+   *
+   * <p>This method is equivalent to calling {@code
+   * #adaptiveRateLimitedBuilder(targetSpansPerSecond).build()}
+   *
+   * @param targetSpansPerSecond the desired number of sampled spans per second for each span name.
+   *     Must be positive.
+   * @return a new adaptive rate-limiting {@link Sampler}.
+   * @throws IllegalArgumentException if {@code targetSpansPerSecond} is not positive
+   */
+  static Sampler adaptiveRateLimited(double targetSpansPerSecond) {
+    return adaptiveRateLimitedBuilder(targetSpansPerSecond).build();
+  }
+
+  /**
+   * Returns an {@link AdaptiveRateLimitingSamplerBuilder} that enables configuration of the
+   * adaptive rate-limiting sampling strategy.
+   *
+   * @param targetSpansPerSecond the desired number of sampled spans per second for each span name.
+   *     Must be positive.
+   * @return a {@code AdaptiveRateLimitingSamplerBuilder}
+   * @throws IllegalArgumentException if {@code targetSpansPerSecond} is not positive
+   */
+  static AdaptiveRateLimitingSamplerBuilder adaptiveRateLimitedBuilder(
+      double targetSpansPerSecond) {
+    return new AdaptiveRateLimitingSamplerBuilder(targetSpansPerSecond);
+  }
+
   /**
    * Called during {@link Span} creation to make a sampling samplingResult.
    *
@@ -0,0 +1,124 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LazyAttributesTest {
+
+  private final List<ReadableSpan> endedSpans = new ArrayList<>();
+  private final AtomicInteger calls = new AtomicInteger();
+  private final SpanProcessor spanProcessor =
+      new SpanProcessor() {
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {}
+
+        @Override
+        public boolean isStartRequired() {
+          return false;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+          endedSpans.add(span);
+        }
+
+        @Override
+        public boolean isEndRequired() {
+          return true;
+        }
+      };
+
+  private String compute(String value) {
+    calls.incrementAndGet();
+    return value;
+  }
+
+  @Test
+  void computedOnExport() {
+    Tracer tracer = SdkTracerProvider.builder().addSpanProcessor(spanProcessor).build().get("test");
+
+    Span span =
+        LazyAttributes.setAttribute(
+                tracer.spanBuilder("span"), stringKey("builder"), () -> compute("a"))
+            .startSpan();
+    LazyAttributes.setAttribute(span, stringKey("span"), () -> compute("b"));
+    assertThat(calls).hasValue(0);
+    span.end();
+
+    assertThat(calls).hasValue(0);
+    ReadableSpan readableSpan = endedSpans.get(0);
+    assertThat(readableSpan.toString()).doesNotContain("builder=a");
+    // Reading one attribute only computes its value.
+    assertThat(readableSpan.getAttribute(stringKey("span"))).isEqualTo("b");
+    assertThat(calls).hasValue(1);
+    assertThat(endedSpans)
+        .singleElement()
+        .extracting(ReadableSpan::toSpanData)
+        .extracting(spanData -> spanData.getAttributes().asMap())
+        .isEqualTo(Attributes.of(stringKey("builder"), "a", stringKey("span"), "b").asMap());
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void notComputedWhenSampledOut() {
+    Tracer tracer =
+        SdkTracerProvider.builder()
+            .setSampler(Sampler.alwaysOff())
+            .addSpanProcessor(spanProcessor)
+            .build()
+            .get("test");
+
+    Span span =
+        LazyAttributes.setAttribute(
+                tracer.spanBuilder("span"), stringKey("builder"), () -> compute("a"))
+            .startSpan();
+    LazyAttributes.setAttribute(span, stringKey("span"), () -> compute("b"));
+    span.end();
+
+    assertThat(endedSpans).isEmpty();
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void spanSizeLimit() {
+    Tracer tracer =
+        SdkTracerProvider.builder()
+            .setSpanLimits(SpanLimits.builder().setMaxSpanSizeBytes(100).build())
+            .addSpanProcessor(spanProcessor)
+            .build()
+            .get("test");
+
+    Span span =
+        LazyAttributes.setAttribute(
+                tracer.spanBuilder("span"), stringKey("builder"), () -> compute("a"))
+            .startSpan();
+    char[] chars = new char[200];
+    Arrays.fill(chars, 'b');
+    LazyAttributes.setAttribute(span, stringKey("span"), () -> compute(new String(chars)));
+    span.end();
+    assertThat(calls).hasValue(0);
+
+    SpanData spanData = endedSpans.get(0).toSpanData();
+    assertThat(spanData.getAttributes().asMap())
+        .isEqualTo(Attributes.of(stringKey("builder"), "a").asMap());
+    assertThat(spanData.getTotalAttributeCount()).isEqualTo(2);
+    assertThat(calls).hasValue(2);
+  }
+}
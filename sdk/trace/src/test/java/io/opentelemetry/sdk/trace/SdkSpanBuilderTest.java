@@ -418,6 +418,28 @@ class SdkSpanBuilderTest {
     }
   }
 
+  @Test
+  void droppingAttributes_SpanSizeLimit() {
+    SpanLimits spanLimits = SpanLimits.builder().setMaxSpanSizeBytes(64 * 1024).build();
+    TracerProvider tracerProvider = SdkTracerProvider.builder().setSpanLimits(spanLimits).build();
+    char[] chars = new char[10_000];
+    Arrays.fill(chars, 'a');
+    String value = new String(chars);
+    SpanBuilder spanBuilder = tracerProvider.get("test").spanBuilder(SPAN_NAME);
+    for (int i = 0; i < 128; i++) {
+      spanBuilder.setAttribute("key" + i, value);
+    }
+    SdkSpan span = (SdkSpan) spanBuilder.startSpan();
+    try {
+      SpanData spanData = span.toSpanData();
+      // Each attribute is estimated at about 10KB.
+      assertThat(spanData.getAttributes().size()).isEqualTo(6);
+      assertThat(spanData.getTotalAttributeCount()).isEqualTo(128);
+    } finally {
+      span.end();
+    }
+  }
+
   @Test
   void addAttributes_OnlyViaSampler() {
 
@@ -300,6 +300,18 @@ class SdkSpanTest {
         .isEqualTo(StatusData.create(StatusCode.ERROR, "CANCELLED"));
   }
 
+  @Test
+  void getStatus() {
+    SdkSpan span = createTestSpan(SpanKind.CONSUMER);
+    try {
+      assertThat(span.getStatus()).isEqualTo(StatusData.unset());
+      span.setStatus(StatusCode.ERROR, "CANCELLED");
+      assertThat(span.getStatus()).isEqualTo(StatusData.create(StatusCode.ERROR, "CANCELLED"));
+    } finally {
+      span.end();
+    }
+  }
+
   @Test
   void toSpanData_Kind() {
     SdkSpan span = createTestSpan(SpanKind.SERVER);
@@ -896,6 +908,106 @@ class SdkSpanTest {
     }
   }
 
+  @Test
+  void droppingOldestEvents() {
+    int maxNumberOfEvents = 8;
+    SpanLimits spanLimits =
+        SpanLimits.builder()
+            .setMaxNumberOfEvents(maxNumberOfEvents)
+            .setDropOldestEvents(true)
+            .build();
+    SdkSpan span = createTestSpan(spanLimits);
+    try {
+      for (int i = 0; i < 2 * maxNumberOfEvents + 3; i++) {
+        if (i % 2 == 0) {
+          span.addEvent("event");
+        } else {
+          span.addEvent("event", Attributes.of(stringKey("index"), String.valueOf(i)));
+        }
+        testClock.advance(Duration.ofSeconds(1));
+      }
+    } finally {
+      span.end();
+    }
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getTotalRecordedEvents()).isEqualTo(2 * maxNumberOfEvents + 3);
+    assertThat(spanData.getEvents()).hasSize(maxNumberOfEvents);
+    // The latest events are kept, oldest first.
+    for (int i = 0; i < maxNumberOfEvents; i++) {
+      int index = maxNumberOfEvents + 3 + i;
+      Attributes attributes =
+          index % 2 == 0 ? Attributes.empty() : Attributes.of(stringKey("index"), "" + index);
+      assertThat(spanData.getEvents().get(i))
+          .isEqualTo(
+              EventData.create(
+                  START_EPOCH_NANOS + index * NANOS_PER_SECOND,
+                  "event",
+                  attributes,
+                  attributes.size()));
+    }
+  }
+
+  @Test
+  void spanSizeLimit() {
+    // The name is estimated at 14 bytes, each "value" attribute at 21 bytes and each event at 14.
+    SdkSpan span = createTestSpan(SpanLimits.builder().setMaxSpanSizeBytes(66).build());
+    try {
+      span.setAttribute("key1", "value");
+      span.setAttribute("key2", "value");
+      span.setAttribute("key3", "value");
+      span.addEvent("e");
+      // Shrinking an existing attribute frees up space.
+      span.setAttribute("key1", "v");
+      span.addEvent("e");
+    } finally {
+      span.end();
+    }
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getAttributes().size()).isEqualTo(2);
+    assertThat(spanData.getAttributes().get(stringKey("key1"))).isEqualTo("v");
+    assertThat(spanData.getAttributes().get(stringKey("key2"))).isEqualTo("value");
+    assertThat(spanData.getTotalAttributeCount()).isEqualTo(4);
+    assertThat(spanData.getEvents()).hasSize(1);
+    assertThat(spanData.getTotalRecordedEvents()).isEqualTo(2);
+  }
+
+  @Test
+  void spanSizeLimit_dropOldestEvents() {
+    // The name is estimated at 14 bytes and each event at 15.
+    SdkSpan span =
+        createTestSpan(
+            SpanLimits.builder()
+                .setMaxNumberOfEvents(2)
+                .setDropOldestEvents(true)
+                .setMaxSpanSizeBytes(50)
+                .build());
+    try {
+      for (int i = 0; i < 10; i++) {
+        span.addEvent("e" + i);
+      }
+    } finally {
+      span.end();
+    }
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getEvents()).extracting(EventData::getName).containsExactly("e8", "e9");
+    assertThat(spanData.getTotalRecordedEvents()).isEqualTo(10);
+  }
+
+  @Test
+  void spanSizeLimit_updateName() {
+    // The new name is estimated at 23 bytes and the attribute at 21.
+    SdkSpan span = createTestSpan(SpanLimits.builder().setMaxSpanSizeBytes(40).build());
+    try {
+      span.updateName("AMuchLongerSpanName");
+      span.setAttribute("key1", "value");
+    } finally {
+      span.end();
+    }
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getAttributes().isEmpty()).isTrue();
+    assertThat(spanData.getTotalAttributeCount()).isEqualTo(1);
+  }
+
   @Test
   void recordException() {
     IllegalStateException exception = new IllegalStateException("there was an exception");
@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.trace.data.EventData;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SpanEventBufferTest {
+
+  private static final Attributes ATTRIBUTES = Attributes.of(AttributeKey.stringKey("k"), "v");
+
+  @Test
+  void dropNewest() {
+    SpanEventBuffer buffer = new SpanEventBuffer(3, /* dropOldest= */ false);
+    for (int i = 0; i < 5; i++) {
+      assertThat(buffer.add("event" + i, i)).isEqualTo(i < 3);
+    }
+    assertThat(buffer.size()).isEqualTo(3);
+    assertThat(buffer.toList())
+        .extracting(EventData::getName)
+        .containsExactly("event0", "event1", "event2");
+  }
+
+  @Test
+  void dropOldest() {
+    SpanEventBuffer buffer = new SpanEventBuffer(3, /* dropOldest= */ true);
+    for (int i = 0; i < 7; i++) {
+      assertThat(buffer.add("event" + i, i)).isTrue();
+    }
+    assertThat(buffer.size()).isEqualTo(3);
+    assertThat(buffer.toList())
+        .extracting(EventData::getName)
+        .containsExactly("event4", "event5", "event6");
+    assertThat(buffer.toList()).extracting(EventData::getEpochNanos).containsExactly(4L, 5L, 6L);
+  }
+
+  @Test
+  void mixedEvents() {
+    SpanEventBuffer buffer = new SpanEventBuffer(10, /* dropOldest= */ true);
+    EventData withAttributes = EventData.create(2, "withAttributes", ATTRIBUTES);
+    buffer.add("first", 1);
+    buffer.add(withAttributes);
+    // Grows past the initial capacity after an event object was stored.
+    for (int i = 0; i < 10; i++) {
+      buffer.add("plain" + i, 3 + i);
+    }
+
+    List<EventData> events = buffer.toList();
+    assertThat(events).hasSize(10);
+    assertThat(events.get(0).getName()).isEqualTo("plain0");
+    assertThat(events.get(0).getAttributes()).isEqualTo(Attributes.empty());
+    assertThat(events.get(9).getName()).isEqualTo("plain9");
+    assertThat(events).doesNotContain(withAttributes);
+
+    // Overwrites a primitive slot with an event object and vice versa.
+    buffer.add(withAttributes);
+    buffer.add("last", 100);
+    events = buffer.toList();
+    assertThat(events.get(8)).isSameAs(withAttributes);
+    assertThat(events.get(9).getName()).isEqualTo("last");
+    assertThat(events.get(9).getAttributes()).isEqualTo(Attributes.empty());
+  }
+
+  @Test
+  void empty() {
+    assertThat(new SpanEventBuffer(5, false).toList()).isEmpty();
+  }
+}
@@ -20,6 +20,10 @@ class SpanLimitsTest {
     assertThat(SpanLimits.getDefault().getMaxNumberOfLinks()).isEqualTo(128);
     assertThat(SpanLimits.getDefault().getMaxNumberOfAttributesPerEvent()).isEqualTo(128);
     assertThat(SpanLimits.getDefault().getMaxNumberOfAttributesPerLink()).isEqualTo(128);
+    assertThat(SpanLimits.getDefault().getMaxExceptionStackTraceFrames())
+        .isEqualTo(Integer.MAX_VALUE);
+    assertThat(SpanLimits.getDefault().isDropOldestEvents()).isFalse();
+    assertThat(SpanLimits.getDefault().getMaxSpanSizeBytes()).isEqualTo(Integer.MAX_VALUE);
   }
 
   @Test
@@ -31,12 +35,18 @@ class SpanLimitsTest {
             .setMaxNumberOfLinks(11)
             .setMaxNumberOfAttributesPerEvent(1)
             .setMaxNumberOfAttributesPerLink(2)
+            .setMaxExceptionStackTraceFrames(20)
+            .setDropOldestEvents(true)
+            .setMaxSpanSizeBytes(4096)
             .build();
     assertThat(spanLimits.getMaxNumberOfAttributes()).isEqualTo(8);
     assertThat(spanLimits.getMaxNumberOfEvents()).isEqualTo(10);
     assertThat(spanLimits.getMaxNumberOfLinks()).isEqualTo(11);
     assertThat(spanLimits.getMaxNumberOfAttributesPerEvent()).isEqualTo(1);
     assertThat(spanLimits.getMaxNumberOfAttributesPerLink()).isEqualTo(2);
+    assertThat(spanLimits.getMaxExceptionStackTraceFrames()).isEqualTo(20);
+    assertThat(spanLimits.isDropOldestEvents()).isTrue();
+    assertThat(spanLimits.getMaxSpanSizeBytes()).isEqualTo(4096);
 
     // Preserves values
     SpanLimits spanLimitsDupe = spanLimits.toBuilder().build();
@@ -68,5 +78,9 @@ class SpanLimitsTest {
         .isInstanceOf(IllegalArgumentException.class);
     assertThatThrownBy(() -> SpanLimits.builder().setMaxAttributeValueLength(-1))
         .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> SpanLimits.builder().setMaxExceptionStackTraceFrames(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> SpanLimits.builder().setMaxSpanSizeBytes(0))
+        .isInstanceOf(IllegalArgumentException.class);
   }
 }
@@ -26,9 +26,11 @@ import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -92,6 +94,10 @@ class BatchSpanProcessorTest {
     assertThat(builder.getExporterTimeoutNanos())
         .isEqualTo(
             TimeUnit.MILLISECONDS.toNanos(BatchSpanProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(builder.getMaxExportBatchBytes()).isEqualTo(Long.MAX_VALUE);
+    assertThat(builder.getMaxConcurrentExports())
+        .isEqualTo(BatchSpanProcessorBuilder.DEFAULT_MAX_CONCURRENT_EXPORTS);
+    assertThat(builder.getAdaptiveBatching()).isFalse();
   }
 
   @Test
@@ -121,6 +127,13 @@ class BatchSpanProcessorTest {
     assertThatThrownBy(() -> BatchSpanProcessor.builder(mockSpanExporter).setExporterTimeout(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(mockSpanExporter).setMaxExportBatchBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxExportBatchBytes must be positive.");
+    assertThatThrownBy(
+            () -> BatchSpanProcessor.builder(mockSpanExporter).setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentExports must be positive.");
   }
 
   @Test
@@ -456,6 +469,124 @@ class BatchSpanProcessorTest {
     await().untilAsserted(() -> assertThat(bsp.getBatch()).isEmpty());
   }
 
+  @Test
+  @Timeout(10)
+  void exportBatchesBoundedByBytes() {
+    List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    when(mockSpanExporter.export(anyList()))
+        .thenAnswer(
+            invocation -> {
+              batchSizes.add(invocation.<List<SpanData>>getArgument(0).size());
+              return CompletableResultCode.ofSuccess();
+            });
+    BatchSpanProcessor bsp =
+        BatchSpanProcessor.builder(mockSpanExporter)
+            .setScheduleDelay(10, TimeUnit.SECONDS)
+            .setMaxExportBatchBytes(2500)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(bsp).build();
+
+    String largeValue = String.join("", Collections.nCopies(1000, "a"));
+    for (int i = 0; i < 5; i++) {
+      sdkTracerProvider
+          .get(getClass().getName())
+          .spanBuilder(SPAN_NAME_1)
+          .setAttribute("large", largeValue)
+          .startSpan()
+          .end();
+    }
+    bsp.forceFlush().join(5, TimeUnit.SECONDS);
+
+    // Each span is estimated at just over 1000 bytes, so only two fit in a batch.
+    assertThat(batchSizes).containsExactly(2, 2, 1);
+  }
+
+  @Test
+  @Timeout(10)
+  void concurrentExports() {
+    List<CompletableResultCode> results = Collections.synchronizedList(new ArrayList<>());
+    List<SpanData> exported = Collections.synchronizedList(new ArrayList<>());
+    when(mockSpanExporter.export(anyList()))
+        .thenAnswer(
+            invocation -> {
+              exported.addAll(invocation.getArgument(0));
+              CompletableResultCode result = new CompletableResultCode();
+              results.add(result);
+              return result;
+            });
+    BatchSpanProcessor bsp =
+        BatchSpanProcessor.builder(mockSpanExporter)
+            .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            .setMaxExportBatchSize(1)
+            .setMaxConcurrentExports(2)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(bsp).build();
+
+    ReadableSpan span1 = createEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createEndedSpan(SPAN_NAME_2);
+    ReadableSpan span3 = createEndedSpan(SPAN_NAME_1);
+
+    // Two exports are started without waiting for either one to complete.
+    await().untilAsserted(() -> assertThat(results).hasSize(2));
+    assertThat(bsp.getExportsInFlight()).isEqualTo(2);
+    assertThat(exported).containsExactly(span1.toSpanData(), span2.toSpanData());
+
+    // The third export only starts once a slot is free.
+    results.get(1).succeed();
+    await().untilAsserted(() -> assertThat(results).hasSize(3));
+    assertThat(exported)
+        .containsExactly(span1.toSpanData(), span2.toSpanData(), span3.toSpanData());
+
+    // A flush waits for all exports in flight.
+    CompletableResultCode flush = bsp.forceFlush();
+    assertThat(flush.isDone()).isFalse();
+    results.get(0).succeed();
+    results.get(2).succeed();
+    flush.join(5, TimeUnit.SECONDS);
+    assertThat(flush.isSuccess()).isTrue();
+    assertThat(bsp.getExportsInFlight()).isEqualTo(0);
+  }
+
+  @Test
+  @Timeout(10)
+  void adaptiveBatchingBacksOffAfterFailure() {
+    List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    when(mockSpanExporter.export(anyList()))
+        .thenAnswer(
+            invocation -> {
+              batchSizes.add(invocation.<List<SpanData>>getArgument(0).size());
+              return batchSizes.size() == 1
+                  ? CompletableResultCode.ofFailure()
+                  : CompletableResultCode.ofSuccess();
+            });
+    BatchSpanProcessor bsp =
+        BatchSpanProcessor.builder(mockSpanExporter)
+            .setScheduleDelay(10, TimeUnit.SECONDS)
+            .setMaxExportBatchSize(4)
+            .setAdaptiveBatching(true)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(bsp).build();
+
+    for (int i = 0; i < 4; i++) {
+      createEndedSpan(SPAN_NAME_1);
+    }
+    await().untilAsserted(() -> assertThat(batchSizes).containsExactly(4));
+
+    // The failure halves the batch size and holds off exports for a while.
+    for (int i = 0; i < 4; i++) {
+      createEndedSpan(SPAN_NAME_2);
+    }
+    await()
+        .during(Duration.ofMillis(500))
+        .atMost(Duration.ofSeconds(1))
+        .untilAsserted(() -> assertThat(batchSizes).hasSize(1));
+    await().untilAsserted(() -> assertThat(batchSizes).containsExactly(4, 2));
+
+    // The success grows the batch size again, so the remaining spans are only exported on flush.
+    bsp.forceFlush().join(5, TimeUnit.SECONDS);
+    assertThat(batchSizes).containsExactly(4, 2, 2);
+  }
+
   @Test
   void exportNotSampledSpans() {
     WaitingSpanExporter waitingSpanExporter =
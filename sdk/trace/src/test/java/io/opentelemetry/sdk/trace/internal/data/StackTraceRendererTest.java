@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.internal.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StackTraceRendererTest {
+
+  @BeforeEach
+  void setUp() {
+    StackTraceRenderer.clearCache();
+  }
+
+  private static String printStackTrace(Throwable throwable) {
+    StringWriter writer = new StringWriter();
+    throwable.printStackTrace(new PrintWriter(writer));
+    return writer.toString();
+  }
+
+  private static Throwable throwAfter(int depth) {
+    try {
+      recurse(depth);
+    } catch (IllegalStateException e) {
+      return e;
+    }
+    throw new AssertionError();
+  }
+
+  private static void recurse(int depth) {
+    if (depth == 0) {
+      throw new IllegalStateException("deep");
+    }
+    recurse(depth - 1);
+  }
+
+  @Test
+  void matchesPrintStackTrace() {
+    Throwable cause = new IllegalArgumentException("cause");
+    Throwable exception = new IllegalStateException("outer", cause);
+    exception.addSuppressed(new UnsupportedOperationException("suppressed"));
+
+    assertThat(StackTraceRenderer.render(exception, Integer.MAX_VALUE))
+        .isEqualTo(printStackTrace(exception));
+  }
+
+  @Test
+  void circularReference() {
+    Exception first = new Exception("first");
+    Exception second = new Exception("second", first);
+    first.initCause(second);
+
+    assertThat(StackTraceRenderer.render(first, Integer.MAX_VALUE))
+        .isEqualTo(printStackTrace(first));
+  }
+
+  @Test
+  void truncatesFrames() {
+    Throwable exception = throwAfter(50);
+    int totalFrames = exception.getStackTrace().length;
+
+    String rendered = StackTraceRenderer.render(exception, 3);
+
+    String[] lines = rendered.split(System.lineSeparator());
+    assertThat(lines).hasSize(5);
+    assertThat(lines[0]).isEqualTo("java.lang.IllegalStateException: deep");
+    assertThat(lines[1]).startsWith("\tat ");
+    assertThat(lines[4]).isEqualTo("\t... " + (totalFrames - 3) + " more");
+  }
+
+  @Test
+  void cachesIdenticalStackTraces() {
+    String first = null;
+    for (int i = 0; i < 10; i++) {
+      // Distinct throwables with the same stack trace hit the cache.
+      String rendered = StackTraceRenderer.render(throwAfter(5), Integer.MAX_VALUE);
+      if (first == null) {
+        first = rendered;
+      } else {
+        assertThat(rendered).isSameAs(first);
+      }
+    }
+    assertThat(StackTraceRenderer.cacheSize()).isEqualTo(1);
+
+    // Different truncation renders separately.
+    String truncated = StackTraceRenderer.render(throwAfter(5), 2);
+    assertThat(truncated).isNotEqualTo(first);
+    assertThat(StackTraceRenderer.cacheSize()).isEqualTo(2);
+
+    // So does a different stack trace or cause.
+    assertThat(StackTraceRenderer.render(throwAfter(6), Integer.MAX_VALUE)).isNotEqualTo(first);
+    Throwable withCause = throwAfter(5);
+    withCause.initCause(new IllegalArgumentException("cause"));
+    assertThat(StackTraceRenderer.render(withCause, Integer.MAX_VALUE))
+        .isEqualTo(printStackTrace(withCause));
+    assertThat(StackTraceRenderer.cacheSize()).isEqualTo(4);
+  }
+
+  @Test
+  void cacheEvictsLeastRecentlyUsed() {
+    Throwable recent = new IllegalStateException("recent");
+    String rendered = StackTraceRenderer.render(recent, Integer.MAX_VALUE);
+    for (int i = 0; i < StackTraceRenderer.MAX_CACHED_STACK_TRACES * 2; i++) {
+      StackTraceRenderer.render(new IllegalStateException("message " + i), Integer.MAX_VALUE);
+      // Keep using the first stack trace so it is not evicted.
+      assertThat(StackTraceRenderer.render(recent, Integer.MAX_VALUE)).isSameAs(rendered);
+    }
+    assertThat(StackTraceRenderer.cacheSize())
+        .isEqualTo(StackTraceRenderer.MAX_CACHED_STACK_TRACES);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.samplers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimitingSamplerTest {
+
+  private static final IdGenerator idsGenerator = IdGenerator.random();
+
+  private final TestClock clock = TestClock.create();
+
+  private static boolean isSampled(Sampler sampler, String name) {
+    return sampler
+            .shouldSample(
+                Context.root(),
+                idsGenerator.generateTraceId(),
+                name,
+                SpanKind.INTERNAL,
+                Attributes.empty(),
+                Collections.emptyList())
+            .getDecision()
+        == SamplingDecision.RECORD_AND_SAMPLE;
+  }
+
+  @Test
+  void samplesEverythingInitially() {
+    Sampler sampler = Sampler.adaptiveRateLimitedBuilder(10).setClock(clock).build();
+    for (int i = 0; i < 100; i++) {
+      assertThat(isSampled(sampler, "span")).isTrue();
+    }
+  }
+
+  @Test
+  void adjustsToObservedRate() {
+    AdaptiveRateLimitingSampler sampler =
+        (AdaptiveRateLimitingSampler)
+            Sampler.adaptiveRateLimitedBuilder(100).setClock(clock).build();
+
+    // 10000 spans per second, 100 of which should be sampled.
+    int sampled = 0;
+    for (int second = 0; second < 10; second++) {
+      for (int i = 0; i < 10_000; i++) {
+        clock.advance(Duration.ofNanos(100_000));
+        if (isSampled(sampler, "span") && second > 0) {
+          sampled++;
+        }
+      }
+    }
+    assertThat(sampler.getSamplingProbability("span")).isCloseTo(0.01, within(0.001));
+    assertThat(sampled).isBetween(800, 1000);
+
+    // Traffic drops below the target, so everything is sampled again.
+    for (int i = 0; i < 20; i++) {
+      clock.advance(Duration.ofMillis(100));
+      isSampled(sampler, "span");
+    }
+    assertThat(sampler.getSamplingProbability("span")).isEqualTo(1.0);
+  }
+
+  @Test
+  void budgetPerSpanName() {
+    AdaptiveRateLimitingSampler sampler =
+        (AdaptiveRateLimitingSampler)
+            Sampler.adaptiveRateLimitedBuilder(10).setClock(clock).build();
+
+    for (int i = 0; i < 2000; i++) {
+      clock.advance(Duration.ofMillis(1));
+      isSampled(sampler, "busy");
+      if (i % 200 == 0) {
+        isSampled(sampler, "quiet");
+      }
+    }
+    assertThat(sampler.getSamplingProbability("busy")).isCloseTo(0.01, within(0.001));
+    assertThat(sampler.getSamplingProbability("quiet")).isEqualTo(1.0);
+  }
+
+  @Test
+  void maxSpanNames() {
+    AdaptiveRateLimitingSampler sampler =
+        (AdaptiveRateLimitingSampler)
+            Sampler.adaptiveRateLimitedBuilder(10)
+                .setMaxSpanNames(1)
+                .setAdjustmentInterval(Duration.ofMillis(100))
+                .setClock(clock)
+                .build();
+
+    for (int i = 0; i < 1000; i++) {
+      clock.advance(Duration.ofMillis(1));
+      isSampled(sampler, "first");
+      isSampled(sampler, "second-" + i);
+    }
+    // All names beyond the first share one budget.
+    assertThat(sampler.getSamplingProbability("first")).isCloseTo(0.01, within(0.001));
+    assertThat(sampler.getSamplingProbability("second-999")).isCloseTo(0.01, within(0.001));
+  }
+
+  @Test
+  void invalidArguments() {
+    assertThatThrownBy(() -> Sampler.adaptiveRateLimited(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("targetSpansPerSecond must be positive.");
+    assertThatThrownBy(
+            () -> Sampler.adaptiveRateLimitedBuilder(1).setAdjustmentInterval(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("interval must be positive.");
+    assertThatThrownBy(() -> Sampler.adaptiveRateLimitedBuilder(1).setMaxSpanNames(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSpanNames must be positive.");
+  }
+
+  @Test
+  void getDescription() {
+    assertThat(Sampler.adaptiveRateLimited(2.5).getDescription())
+        .isEqualTo("AdaptiveRateLimitingSampler{2.500000}");
+  }
+}
@@ -37,6 +37,7 @@ include(":exporters:common")
 include(":exporters:jaeger")
 include(":exporters:jaeger-proto")
 include(":exporters:jaeger-thrift")
+include(":exporters:jdk-http")
 include(":exporters:logging")
 include(":exporters:logging-otlp")
 include(":exporters:otlp:all")